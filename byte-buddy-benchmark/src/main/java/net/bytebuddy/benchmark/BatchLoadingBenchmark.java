@@ -0,0 +1,212 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.DynamicType;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.any;
+
+/**
+ * A benchmark for loading many dynamic types. This benchmark compares loading each type by its own
+ * {@link net.bytebuddy.dynamic.loading.ByteArrayClassLoader} to loading all types by a single class loader as a
+ * {@link net.bytebuddy.dynamic.DynamicType.Batch}. Besides the time that is required for creating the class loaders,
+ * each class loader requires its own share of the metaspace. This share is reported by the metaspace benchmarks of this
+ * class which run in throughput mode and report the occupied metaspace as a secondary
+ * {@link net.bytebuddy.benchmark.BatchLoadingBenchmark.MetaspaceCounter} result. Dividing this result by the primary
+ * result of the same benchmark yields the number of bytes of metaspace that are occupied by the types of a single
+ * benchmark invocation.
+ */
+@State(Scope.Benchmark)
+public class BatchLoadingBenchmark {
+
+    /**
+     * The base class to be subclassed in all benchmarks.
+     */
+    public static final Class<?> BASE_CLASS = Object.class;
+
+    /**
+     * The number of types to load within each benchmark.
+     */
+    public static final int TYPE_COUNT = 100;
+
+    /**
+     * The maximum number of garbage collection attempts before a metaspace usage is measured.
+     */
+    private static final int GARBAGE_COLLECTION_ATTEMPTS = 5;
+
+    /**
+     * Indicates that the metaspace usage cannot be measured on the current virtual machine.
+     */
+    private static final long UNKNOWN_USAGE = -1L;
+
+    /**
+     * The types to load.
+     */
+    private List<DynamicType.Unloaded<?>> dynamicTypes;
+
+    /**
+     * The class loader that is the parent of any created class loader.
+     */
+    private ClassLoader classLoader;
+
+    /**
+     * Sets up this benchmark by creating the types to load.
+     */
+    @Setup
+    public void setUp() {
+        dynamicTypes = new ArrayList<DynamicType.Unloaded<?>>(TYPE_COUNT);
+        for (int index = 0; index < TYPE_COUNT; index++) {
+            dynamicTypes.add(new ByteBuddy()
+                    .withIgnoredMethods(any())
+                    .subclass(BASE_CLASS)
+                    .make());
+        }
+        classLoader = getClass().getClassLoader();
+    }
+
+    /**
+     * Performs a benchmark for loading each type by its own class loader.
+     *
+     * @return The class loaders of the loaded types, in order to avoid JIT removal.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ClassLoader> benchmarkIndividualLoading() {
+        List<ClassLoader> classLoaders = new ArrayList<ClassLoader>(TYPE_COUNT);
+        for (DynamicType.Unloaded<?> dynamicType : dynamicTypes) {
+            classLoaders.add(dynamicType.load(classLoader, ClassLoadingStrategy.Default.WRAPPER).getLoaded().getClassLoader());
+        }
+        return classLoaders;
+    }
+
+    /**
+     * Performs a benchmark for loading all types by a single class loader.
+     *
+     * @return The class loaders of the loaded types, in order to avoid JIT removal.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ClassLoader> benchmarkBatchLoading() {
+        List<ClassLoader> classLoaders = new ArrayList<ClassLoader>(TYPE_COUNT);
+        for (DynamicType.Loaded<?> loaded : new DynamicType.Batch(dynamicTypes).load(classLoader, ClassLoadingStrategy.Default.WRAPPER)) {
+            classLoaders.add(loaded.getLoaded().getClassLoader());
+        }
+        return classLoaders;
+    }
+
+    /**
+     * Returns the number of bytes of the metaspace, or of the permanent generation on virtual machines without a
+     * metaspace, that are currently in use after attempting a garbage collection.
+     *
+     * @return The number of bytes that are currently in use or {@code -1} if this number cannot be determined.
+     */
+    public static long metaspaceUsage() {
+        for (int attempt = 0; attempt < GARBAGE_COLLECTION_ATTEMPTS; attempt++) {
+            System.gc();
+        }
+        long usage = UNKNOWN_USAGE;
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (memoryPool.getName().equals("Metaspace") || memoryPool.getName().endsWith("Perm Gen")) {
+                usage = Math.max(usage, 0L) + memoryPool.getUsage().getUsed();
+            }
+        }
+        return usage;
+    }
+
+    /**
+     * Performs a benchmark for loading each type by its own class loader while measuring the occupied metaspace.
+     *
+     * @param metaspaceCounter The counter for the metaspace that is occupied by the loaded types.
+     * @return The class loaders of the loaded types, in order to avoid JIT removal.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<ClassLoader> benchmarkIndividualLoadingMetaspace(MetaspaceCounter metaspaceCounter) {
+        return metaspaceCounter.retain(benchmarkIndividualLoading());
+    }
+
+    /**
+     * Performs a benchmark for loading all types by a single class loader while measuring the occupied metaspace.
+     *
+     * @param metaspaceCounter The counter for the metaspace that is occupied by the loaded types.
+     * @return The class loaders of the loaded types, in order to avoid JIT removal.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<ClassLoader> benchmarkBatchLoadingMetaspace(MetaspaceCounter metaspaceCounter) {
+        return metaspaceCounter.retain(benchmarkBatchLoading());
+    }
+
+    /**
+     * A counter for the metaspace that is occupied by the types that are loaded by a benchmark. The metaspace usage is
+     * measured before and after each benchmark invocation while the class loaders that were created by the invocation
+     * are retained such that they cannot be unloaded before the measurement is completed. As an auxiliary counter,
+     * the accumulated number of bytes is reported by JMH relative to the measured time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters
+    public static class MetaspaceCounter {
+
+        /**
+         * The number of bytes of metaspace that were occupied by the benchmark invocations of the current iteration.
+         */
+        public long metaspace;
+
+        /**
+         * The metaspace usage that was measured before the current benchmark invocation.
+         */
+        private long baseline;
+
+        /**
+         * The class loaders that were created by the current benchmark invocation.
+         */
+        private List<ClassLoader> classLoaders;
+
+        /**
+         * Resets the counter before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            metaspace = 0L;
+        }
+
+        /**
+         * Measures the metaspace usage before a benchmark invocation.
+         */
+        @Setup(Level.Invocation)
+        public void before() {
+            baseline = metaspaceUsage();
+        }
+
+        /**
+         * Measures the metaspace usage after a benchmark invocation and releases the retained class loaders.
+         */
+        @TearDown(Level.Invocation)
+        public void after() {
+            metaspace += metaspaceUsage() - baseline;
+            classLoaders = null;
+        }
+
+        /**
+         * Retains the given class loaders until the metaspace usage of the current invocation is measured.
+         *
+         * @param classLoaders The class loaders that were created by the current benchmark invocation.
+         * @return The given class loaders.
+         */
+        protected List<ClassLoader> retain(List<ClassLoader> classLoaders) {
+            this.classLoaders = classLoaders;
+            return classLoaders;
+        }
+    }
+}
@@ -70,6 +70,27 @@ public class ClassByExtensionBenchmark {
                 .newInstance();
     }
 
+    /**
+     * Performs a benchmark of a class extension using Byte Buddy. This benchmark uses an annotation-based approach
+     * where the interceptor is invoked by an {@code invokedynamic} instruction that is linked to a constant call site.
+     *
+     * @return The created instance, in order to avoid JIT removal.
+     * @throws java.lang.Exception If the reflective invocation causes an exception.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ExampleClass benchmarkByteBuddyWithDynamicAnnotations() throws Exception {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(BASE_CLASS)
+                .method(isDeclaredBy(ExampleClass.class)).intercept(MethodDelegation.to(ByteBuddyInterceptor.class).withInvokeDynamic())
+                .make()
+                .load(newClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .newInstance();
+    }
+
     /**
      * Performs a benchmark of a class extension using Byte Buddy. This benchmark uses a specialized interception
      * strategy which is easier to inline by the compiler.
@@ -189,4 +210,30 @@ public class ClassByExtensionBenchmark {
             return zuper.call();
         }
     }
+
+    /**
+     * An interceptor for the Byte Buddy benchmark that is handed a super method proxy for a method that returns a
+     * reference type. As the interceptor is not annotated by {@link RuntimeType}, it only binds methods that return
+     * {@link Object} such that neither the arguments nor the return value of an intercepted method are boxed.
+     */
+    public static class ByteBuddyReferenceInterceptor {
+
+        /**
+         * The interceptor's constructor is not supposed to be invoked.
+         */
+        private ByteBuddyReferenceInterceptor() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Call the super method.
+         *
+         * @param zuper A proxy for invoking the super method.
+         * @return The return value of the super method invocation.
+         * @throws Exception As declared by {@link java.util.concurrent.Callable}'s contract.
+         */
+        public static Object intercept(@SuperCall Callable<?> zuper) throws Exception {
+            return zuper.call();
+        }
+    }
 }
@@ -6,6 +6,7 @@ import javassist.util.proxy.ProxyFactory;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.benchmark.specimen.ExampleInterface;
 import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.instrumentation.MethodDelegation;
 import net.bytebuddy.instrumentation.StubMethod;
 import net.sf.cglib.proxy.CallbackHelper;
 import net.sf.cglib.proxy.Enhancer;
@@ -115,6 +116,49 @@ public class ClassByImplementationBenchmark {
                 .newInstance();
     }
 
+    /**
+     * Performs a benchmark of an interface implementation using Byte Buddy. This benchmark delegates each method
+     * to a {@code static} stub method of {@link net.bytebuddy.benchmark.ClassByImplementationBenchmark.ByteBuddyStubTarget}.
+     *
+     * @return The created instance, in order to avoid JIT removal.
+     * @throws java.lang.Exception If the reflective invocation causes an exception.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ExampleInterface benchmarkByteBuddyWithDelegation() throws Exception {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(BASE_CLASS)
+                .method(isDeclaredBy(BASE_CLASS)).intercept(MethodDelegation.to(ByteBuddyStubTarget.class))
+                .make()
+                .load(newClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .newInstance();
+    }
+
+    /**
+     * Performs a benchmark of an interface implementation using Byte Buddy. This benchmark delegates each method
+     * to a {@code static} stub method of {@link net.bytebuddy.benchmark.ClassByImplementationBenchmark.ByteBuddyStubTarget}
+     * by an {@code invokedynamic} instruction.
+     *
+     * @return The created instance, in order to avoid JIT removal.
+     * @throws java.lang.Exception If the reflective invocation causes an exception.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ExampleInterface benchmarkByteBuddyWithDynamicDelegation() throws Exception {
+        return new ByteBuddy()
+                .withIgnoredMethods(none())
+                .subclass(BASE_CLASS)
+                .method(isDeclaredBy(BASE_CLASS)).intercept(MethodDelegation.to(ByteBuddyStubTarget.class).withInvokeDynamic())
+                .make()
+                .load(newClassLoader(), ClassLoadingStrategy.Default.INJECTION)
+                .getLoaded()
+                .newInstance();
+    }
+
     /**
      * Performs a benchmark of an interface implementation using cglib.
      *
@@ -247,4 +291,216 @@ public class ClassByImplementationBenchmark {
                 }
         );
     }
+
+    /**
+     * A delegation target for Byte Buddy that mirrors the methods of {@link net.bytebuddy.benchmark.specimen.ExampleInterface}
+     * by {@code static} methods that return the return type's default value.
+     */
+    public static class ByteBuddyStubTarget {
+
+        /**
+         * The stub target's constructor is not supposed to be invoked.
+         */
+        private ByteBuddyStubTarget() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Returns the default value for a {@code boolean} method.
+         *
+         * @param arg An ignored argument.
+         * @return The default value.
+         */
+        public static boolean method(boolean arg) {
+            return DEFAULT_BOOLEAN_VALUE;
+        }
+
+        /**
+         * Returns the default value for a {@code byte} method.
+         *
+         * @param arg An ignored argument.
+         * @return The default value.
+         */
+        public static byte method(byte arg) {
+            return DEFAULT_BYTE_VALUE;
+        }
+
+        /**
+         * Returns the default value for a {@code short} method.
+         *
+         * @param arg An ignored argument.
+         * @return The default value.
+         */
+        public static short method(short arg) {
+            return DEFAULT_SHORT_VALUE;
+        }
+
+        /**
+         * Returns the default value for a {@code int} method.
+         *
+         * @param arg An ignored argument.
+         * @return The default value.
+         */
+        public static int method(int arg) {
+            return DEFAULT_INT_VALUE;
+        }
+
+        /**
+         * Returns the default value for a {@code char} method.
+         *
+         * @param arg An ignored argument.
+         * @return The default value.
+         */
+        public static char method(char arg) {
+            return DEFAULT_CHAR_VALUE;
+        }
+
+        /**
+         * Returns the default value for a {@code long} method.
+         *
+         * @param arg An ignored argument.
+         * @return The default value.
+         */
+        public static long method(long arg) {
+            return DEFAULT_LONG_VALUE;
+        }
+
+        /**
+         * Returns the default value for a {@code float} method.
+         *
+         * @param arg An ignored argument.
+         * @return The default value.
+         */
+        public static float method(float arg) {
+            return DEFAULT_FLOAT_VALUE;
+        }
+
+        /**
+         * Returns the default value for a {@code double} method.
+         *
+         * @param arg An ignored argument.
+         * @return The default value.
+         */
+        public static double method(double arg) {
+            return DEFAULT_DOUBLE_VALUE;
+        }
+
+        /**
+         * Returns the default value for a {@code Object} method.
+         *
+         * @param arg An ignored argument.
+         * @return The default value.
+         */
+        public static Object method(Object arg) {
+            return DEFAULT_REFERENCE_VALUE;
+        }
+
+        /**
+         * Returns the default value for a {@code boolean[]} method.
+         *
+         * @param arg1 An ignored argument.
+         * @param arg2 An ignored argument.
+         * @param arg3 An ignored argument.
+         * @return The default value.
+         */
+        public static boolean[] method(boolean arg1, boolean arg2, boolean arg3) {
+            return null;
+        }
+
+        /**
+         * Returns the default value for a {@code byte[]} method.
+         *
+         * @param arg1 An ignored argument.
+         * @param arg2 An ignored argument.
+         * @param arg3 An ignored argument.
+         * @return The default value.
+         */
+        public static byte[] method(byte arg1, byte arg2, byte arg3) {
+            return null;
+        }
+
+        /**
+         * Returns the default value for a {@code short[]} method.
+         *
+         * @param arg1 An ignored argument.
+         * @param arg2 An ignored argument.
+         * @param arg3 An ignored argument.
+         * @return The default value.
+         */
+        public static short[] method(short arg1, short arg2, short arg3) {
+            return null;
+        }
+
+        /**
+         * Returns the default value for a {@code int[]} method.
+         *
+         * @param arg1 An ignored argument.
+         * @param arg2 An ignored argument.
+         * @param arg3 An ignored argument.
+         * @return The default value.
+         */
+        public static int[] method(int arg1, int arg2, int arg3) {
+            return null;
+        }
+
+        /**
+         * Returns the default value for a {@code char[]} method.
+         *
+         * @param arg1 An ignored argument.
+         * @param arg2 An ignored argument.
+         * @param arg3 An ignored argument.
+         * @return The default value.
+         */
+        public static char[] method(char arg1, char arg2, char arg3) {
+            return null;
+        }
+
+        /**
+         * Returns the default value for a {@code long[]} method.
+         *
+         * @param arg1 An ignored argument.
+         * @param arg2 An ignored argument.
+         * @param arg3 An ignored argument.
+         * @return The default value.
+         */
+        public static long[] method(long arg1, long arg2, long arg3) {
+            return null;
+        }
+
+        /**
+         * Returns the default value for a {@code float[]} method.
+         *
+         * @param arg1 An ignored argument.
+         * @param arg2 An ignored argument.
+         * @param arg3 An ignored argument.
+         * @return The default value.
+         */
+        public static float[] method(float arg1, float arg2, float arg3) {
+            return null;
+        }
+
+        /**
+         * Returns the default value for a {@code double[]} method.
+         *
+         * @param arg1 An ignored argument.
+         * @param arg2 An ignored argument.
+         * @param arg3 An ignored argument.
+         * @return The default value.
+         */
+        public static double[] method(double arg1, double arg2, double arg3) {
+            return null;
+        }
+
+        /**
+         * Returns the default value for a {@code Object[]} method.
+         *
+         * @param arg1 An ignored argument.
+         * @param arg2 An ignored argument.
+         * @param arg3 An ignored argument.
+         * @return The default value.
+         */
+        public static Object[] method(Object arg1, Object arg2, Object arg3) {
+            return null;
+        }
+    }
 }
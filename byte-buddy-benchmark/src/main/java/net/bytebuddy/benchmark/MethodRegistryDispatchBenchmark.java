@@ -0,0 +1,159 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.benchmark.specimen.ExampleInterface;
+import net.bytebuddy.dynamic.scaffold.BridgeMethodResolver;
+import net.bytebuddy.dynamic.scaffold.MethodRegistry;
+import net.bytebuddy.dynamic.scaffold.TypeWriter;
+import net.bytebuddy.dynamic.scaffold.subclass.SubclassInstrumentationTarget;
+import net.bytebuddy.dynamic.scaffold.subclass.SubclassInstrumentedType;
+import net.bytebuddy.instrumentation.StubMethod;
+import net.bytebuddy.instrumentation.attribute.MethodAttributeAppender;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.MethodLookupEngine;
+import net.bytebuddy.instrumentation.method.matcher.MethodMatcher;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.*;
+
+/**
+ * A benchmark for looking up the rule that intercepts a method of an implementation of
+ * {@link net.bytebuddy.benchmark.specimen.ExampleInterface} where each method is intercepted by its own rule. This
+ * benchmark measures the overhead of dispatching methods to their intercepting rules by a compiled
+ * {@link net.bytebuddy.dynamic.scaffold.MethodRegistry} by comparing matchers that can be indexed by a method's
+ * signature or name with matchers that need to be applied to every method. The registries are compiled by each
+ * benchmark thread before the benchmark such that only the lookup of all invokable methods of the instrumented type
+ * is measured.
+ */
+@State(Scope.Thread)
+public class MethodRegistryDispatchBenchmark {
+
+    /**
+     * The base class to be implemented in all benchmarks.
+     */
+    public static final Class<? extends ExampleInterface> BASE_CLASS = ExampleInterface.class;
+
+    /**
+     * The prefix of the names of the instrumented types.
+     */
+    private static final String PREFIX = "ByteBuddy";
+
+    /**
+     * A compiled registry where each method of the base class is matched by its exact signature.
+     */
+    private MethodRegistry.Compiled exactRegistry;
+
+    /**
+     * A compiled registry where each method of the base class is matched by its name and its parameter types.
+     */
+    private MethodRegistry.Compiled namedRegistry;
+
+    /**
+     * A compiled registry where each method of the base class is matched by its parameter types only.
+     */
+    private MethodRegistry.Compiled opaqueRegistry;
+
+    /**
+     * Compiles a method registry for an implementation of the base class where each method is intercepted by a rule
+     * of the given matchers.
+     *
+     * @param methodMatchers The matchers of which each represents a rule.
+     * @return The compiled method registry.
+     */
+    private static MethodRegistry.Compiled compile(MethodMatcher[] methodMatchers) {
+        MethodRegistry methodRegistry = new MethodRegistry.Default();
+        for (MethodMatcher methodMatcher : methodMatchers) {
+            methodRegistry = methodRegistry.append(new MethodRegistry.LatentMethodMatcher.Simple(methodMatcher),
+                    StubMethod.INSTANCE,
+                    MethodAttributeAppender.NoOp.INSTANCE);
+        }
+        return methodRegistry.prepare(new SubclassInstrumentedType(ClassFileVersion.forCurrentJavaVersion(),
+                TypeDescription.ForLoadedType.of(Object.class),
+                Collections.<TypeDescription>singletonList(TypeDescription.ForLoadedType.of(BASE_CLASS)),
+                Modifier.PUBLIC,
+                new NamingStrategy.SuffixingRandom(PREFIX)))
+                .compile(new SubclassInstrumentationTarget.Factory(BridgeMethodResolver.Simple.Factory.FAIL_ON_REQUEST,
+                                SubclassInstrumentationTarget.OriginTypeIdentifier.SUPER_TYPE),
+                        MethodLookupEngine.Default.Factory.INSTANCE.make(ClassFileVersion.forCurrentJavaVersion().isSupportsDefaultMethods()),
+                        MethodRegistry.Compiled.Entry.Skip.INSTANCE);
+    }
+
+    /**
+     * Looks up the entry of every invokable method of a compiled method registry.
+     *
+     * @param compiledMethodRegistry The compiled method registry to query.
+     * @return The number of methods that are defined by an entry of the registry.
+     */
+    private static int target(MethodRegistry.Compiled compiledMethodRegistry) {
+        int defined = 0;
+        for (MethodDescription methodDescription : compiledMethodRegistry.getInvokableMethods()) {
+            TypeWriter.MethodPool.Entry entry = compiledMethodRegistry.target(methodDescription);
+            if (entry.isDefineMethod()) {
+                defined++;
+            }
+        }
+        return defined;
+    }
+
+    /**
+     * Sets up this benchmark by compiling a method registry for each kind of matcher.
+     */
+    @Setup
+    public void setUp() {
+        Method[] method = BASE_CLASS.getDeclaredMethods();
+        MethodMatcher[] exactMatchers = new MethodMatcher[method.length];
+        MethodMatcher[] namedMatchers = new MethodMatcher[method.length];
+        MethodMatcher[] opaqueMatchers = new MethodMatcher[method.length];
+        for (int index = 0; index < method.length; index++) {
+            exactMatchers[index] = is(method[index]);
+            namedMatchers[index] = named(method[index].getName()).and(takesArguments(method[index].getParameterTypes()));
+            opaqueMatchers[index] = isDeclaredBy(BASE_CLASS).and(takesArguments(method[index].getParameterTypes()));
+        }
+        exactRegistry = compile(exactMatchers);
+        namedRegistry = compile(namedMatchers);
+        opaqueRegistry = compile(opaqueMatchers);
+    }
+
+    /**
+     * Performs a benchmark for looking up all methods where each method is matched by its exact signature.
+     *
+     * @return The number of methods that are defined by a rule, in order to avoid JIT removal.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int benchmarkExactMatchers() {
+        return target(exactRegistry);
+    }
+
+    /**
+     * Performs a benchmark for looking up all methods where each method is matched by its name and parameter types.
+     *
+     * @return The number of methods that are defined by a rule, in order to avoid JIT removal.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int benchmarkNamedMatchers() {
+        return target(namedRegistry);
+    }
+
+    /**
+     * Performs a benchmark for looking up all methods where each method is matched by matchers that cannot be indexed.
+     *
+     * @return The number of methods that are defined by a rule, in order to avoid JIT removal.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int benchmarkOpaqueMatchers() {
+        return target(opaqueRegistry);
+    }
+}
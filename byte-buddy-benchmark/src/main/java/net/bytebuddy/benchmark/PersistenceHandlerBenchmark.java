@@ -0,0 +1,159 @@
+package net.bytebuddy.benchmark;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.benchmark.specimen.ExampleClass;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.instrumentation.StubMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.isDeclaredBy;
+
+/**
+ * A benchmark for loading types by a {@link net.bytebuddy.dynamic.loading.ByteArrayClassLoader} that retains the
+ * class files of all loaded types and exposes them as resources. This benchmark compares retaining the class files
+ * as they are to retaining them in a compressed format. Each benchmark measures the time for loading all types and
+ * for reading the class file of each type as a resource. Each benchmark returns the number of bytes that the class
+ * loader retains for the class files of its types after loading them, which represents the heap cost of each
+ * persistence handler.
+ */
+@State(Scope.Benchmark)
+public class PersistenceHandlerBenchmark {
+
+    /**
+     * The base class to be subclassed in all benchmarks.
+     */
+    public static final Class<?> BASE_CLASS = ExampleClass.class;
+
+    /**
+     * The number of types to load within each benchmark.
+     */
+    public static final int TYPE_COUNT = 50;
+
+    /**
+     * The suffix of files in the Java class file format.
+     */
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    /**
+     * The class files of the types to load by their names.
+     */
+    private Map<String, byte[]> typeDefinitions;
+
+    /**
+     * Sets up this benchmark by creating the types to load.
+     */
+    @Setup
+    public void setUp() {
+        typeDefinitions = new HashMap<String, byte[]>(TYPE_COUNT);
+        for (int index = 0; index < TYPE_COUNT; index++) {
+            DynamicType.Unloaded<?> dynamicType = new ByteBuddy()
+                    .subclass(BASE_CLASS)
+                    .method(isDeclaredBy(BASE_CLASS)).intercept(StubMethod.INSTANCE)
+                    .make();
+            typeDefinitions.put(dynamicType.getTypeDescription().getName(), dynamicType.getBytes());
+        }
+    }
+
+    /**
+     * Loads all types and reads their class files as resources.
+     *
+     * @param persistenceHandler The persistence handler to apply.
+     * @return The number of bytes that are retained by the class loader for the loaded types' class files.
+     * @throws Exception If an exception occurs.
+     */
+    private long load(ByteArrayClassLoader.PersistenceHandler persistenceHandler) throws Exception {
+        MeasuringClassLoader classLoader = new MeasuringClassLoader(typeDefinitions, persistenceHandler);
+        long readBytes = 0L;
+        for (String name : typeDefinitions.keySet()) {
+            classLoader.loadClass(name);
+            readBytes += read(classLoader.getResourceAsStream(name.replace('.', '/') + CLASS_FILE_SUFFIX));
+        }
+        if (readBytes == 0L) {
+            throw new IllegalStateException("Expected class files to be readable");
+        }
+        return classLoader.getRetainedBytes();
+    }
+
+    /**
+     * Reads an input stream entirely.
+     *
+     * @param inputStream The input stream to read.
+     * @return The number of bytes that were read.
+     * @throws IOException If an I/O exception occurs.
+     */
+    private static long read(InputStream inputStream) throws IOException {
+        try {
+            long count = 0L;
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                count += length;
+            }
+            return count;
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Performs a benchmark for retaining class files as they are.
+     *
+     * @return The number of bytes that are retained for the class files, in order to avoid JIT removal.
+     * @throws Exception If an exception occurs.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long benchmarkManifest() throws Exception {
+        return load(ByteArrayClassLoader.PersistenceHandler.MANIFEST);
+    }
+
+    /**
+     * Performs a benchmark for retaining class files in a compressed format.
+     *
+     * @return The number of bytes that are retained for the class files, in order to avoid JIT removal.
+     * @throws Exception If an exception occurs.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long benchmarkCompressedManifest() throws Exception {
+        return load(ByteArrayClassLoader.PersistenceHandler.MANIFEST_COMPRESSED);
+    }
+
+    /**
+     * A byte array class loader that is able to report the number of bytes it retains for class files.
+     */
+    private static class MeasuringClassLoader extends ByteArrayClassLoader {
+
+        /**
+         * Creates a new measuring class loader.
+         *
+         * @param typeDefinitions    A map of fully qualified class names pointing to their binary representations.
+         * @param persistenceHandler The persistence handler of this class loader.
+         */
+        private MeasuringClassLoader(Map<String, byte[]> typeDefinitions, PersistenceHandler persistenceHandler) {
+            super(MeasuringClassLoader.class.getClassLoader(), typeDefinitions, null, persistenceHandler);
+        }
+
+        /**
+         * Returns the number of bytes that this class loader retains for class files.
+         *
+         * @return The number of bytes that this class loader retains for class files.
+         */
+        private long getRetainedBytes() {
+            long retainedBytes = 0L;
+            for (byte[] binaryRepresentation : typeDefinitions.values()) {
+                retainedBytes += binaryRepresentation.length;
+            }
+            return retainedBytes;
+        }
+    }
+}
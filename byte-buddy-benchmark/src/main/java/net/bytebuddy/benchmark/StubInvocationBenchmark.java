@@ -64,6 +64,17 @@ public class StubInvocationBenchmark {
      */
     private ExampleInterface byteBuddyInstance;
 
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance delegates to stub methods.
+     */
+    private ExampleInterface byteBuddyWithDelegationInstance;
+
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance delegates to stub methods
+     * by {@code invokedynamic} instructions.
+     */
+    private ExampleInterface byteBuddyWithDynamicDelegationInstance;
+
     /**
      * An instance created by cglib for performing benchmarks on.
      */
@@ -89,6 +100,8 @@ public class StubInvocationBenchmark {
     public void setUp() throws Exception {
         ClassByImplementationBenchmark classByImplementationBenchmark = new ClassByImplementationBenchmark();
         byteBuddyInstance = classByImplementationBenchmark.benchmarkByteBuddy();
+        byteBuddyWithDelegationInstance = classByImplementationBenchmark.benchmarkByteBuddyWithDelegation();
+        byteBuddyWithDynamicDelegationInstance = classByImplementationBenchmark.benchmarkByteBuddyWithDynamicDelegation();
         cglibInstance = classByImplementationBenchmark.benchmarkCglib();
         javassistInstance = classByImplementationBenchmark.benchmarkJavassist();
         jdkProxyInstance = classByImplementationBenchmark.benchmarkJdkProxy();
@@ -126,6 +139,71 @@ public class StubInvocationBenchmark {
         blackHole.consume(byteBuddyInstance.method(STRING_VALUE, STRING_VALUE, STRING_VALUE));
     }
 
+    /**
+     * Performs a benchmark for a trivial class creation using Byte Buddy where all methods delegate to stub methods.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyWithDelegation(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithDelegationInstance.method(BOOLEAN_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(BYTE_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(SHORT_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(INT_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(CHAR_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(INT_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(LONG_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(FLOAT_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(DOUBLE_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(STRING_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(BOOLEAN_VALUE, BOOLEAN_VALUE, BOOLEAN_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(BYTE_VALUE, BYTE_VALUE, BYTE_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(SHORT_VALUE, SHORT_VALUE, SHORT_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(INT_VALUE, INT_VALUE, INT_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(CHAR_VALUE, CHAR_VALUE, CHAR_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(INT_VALUE, INT_VALUE, INT_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(LONG_VALUE, LONG_VALUE, LONG_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(FLOAT_VALUE, FLOAT_VALUE, FLOAT_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(DOUBLE_VALUE, DOUBLE_VALUE, DOUBLE_VALUE));
+        blackHole.consume(byteBuddyWithDelegationInstance.method(STRING_VALUE, STRING_VALUE, STRING_VALUE));
+    }
+
+    /**
+     * Performs a benchmark for a trivial class creation using Byte Buddy where all methods delegate to stub methods
+     * by {@code invokedynamic} instructions.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyWithDynamicDelegation(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(BOOLEAN_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(BYTE_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(SHORT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(INT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(CHAR_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(INT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(LONG_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(FLOAT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(DOUBLE_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(STRING_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(BOOLEAN_VALUE, BOOLEAN_VALUE, BOOLEAN_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(BYTE_VALUE, BYTE_VALUE, BYTE_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(SHORT_VALUE, SHORT_VALUE, SHORT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(INT_VALUE, INT_VALUE, INT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(CHAR_VALUE, CHAR_VALUE, CHAR_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(INT_VALUE, INT_VALUE, INT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(LONG_VALUE, LONG_VALUE, LONG_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(FLOAT_VALUE, FLOAT_VALUE, FLOAT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(DOUBLE_VALUE, DOUBLE_VALUE, DOUBLE_VALUE));
+        blackHole.consume(byteBuddyWithDynamicDelegationInstance.method(STRING_VALUE, STRING_VALUE, STRING_VALUE));
+    }
+
     /**
      * Performs a benchmark for a trivial class creation using cglib.
      *
@@ -1,11 +1,17 @@
 package net.bytebuddy.benchmark;
 
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.benchmark.specimen.ExampleClass;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.instrumentation.MethodDelegation;
 import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
 import java.util.concurrent.TimeUnit;
 
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.isDeclaredBy;
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.returns;
+
 /**
  * This benchmark measures the invocation speed of stub method invocations. All classes implement
  * {@link net.bytebuddy.benchmark.specimen.ExampleClass} and call this class's super method invocation. Since it
@@ -65,6 +71,19 @@ public class SuperClassInvocationBenchmark {
      */
     private ExampleClass byteBuddyWithAnnotationsInstance;
 
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance is created by adding
+     * auxiliary classes that allow for an invocation of a method from a delegation target where the delegation
+     * target is invoked by an {@code invokedynamic} instruction.
+     */
+    private ExampleClass byteBuddyWithDynamicAnnotationsInstance;
+
+    /**
+     * An instance created by Byte Buddy for performing benchmarks on. This instance only intercepts methods that
+     * return {@link Object} such that the intercepted method does not box any value.
+     */
+    private ExampleClass byteBuddyWithReferenceAnnotationsInstance;
+
     /**
      * An instance created by Byte Buddy for performing benchmarks on. This instance is created by hard-coding
      * a super method invocation into the intercepted method.
@@ -91,6 +110,9 @@ public class SuperClassInvocationBenchmark {
     public void setUp() throws Exception {
         ClassByExtensionBenchmark classByExtensionBenchmark = new ClassByExtensionBenchmark();
         byteBuddyWithAnnotationsInstance = classByExtensionBenchmark.benchmarkByteBuddyWithAnnotations();
+        byteBuddyWithDynamicAnnotationsInstance = classByExtensionBenchmark.benchmarkByteBuddyWithDynamicAnnotations();
+        byteBuddyWithReferenceAnnotationsInstance
+                = referenceInterception(ClassByExtensionBenchmark.ByteBuddyReferenceInterceptor.class);
         byteBuddySpecializedInstance = classByExtensionBenchmark.benchmarkByteBuddySpecialized();
         cglibInstance = classByExtensionBenchmark.benchmarkCglib();
         javassistInstance = classByExtensionBenchmark.benchmarkJavassist();
@@ -129,6 +151,76 @@ public class SuperClassInvocationBenchmark {
         blackHole.consume(byteBuddyWithAnnotationsInstance.method(STRING_VALUE, STRING_VALUE, STRING_VALUE));
     }
 
+    /**
+     * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark uses an annotation-based
+     * approach where the delegation target is invoked by an {@code invokedynamic} instruction.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @OperationsPerInvocation(20)
+    public void benchmarkByteBuddyWithDynamicAnnotations(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(BOOLEAN_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(BYTE_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(SHORT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(INT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(CHAR_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(INT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(LONG_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(FLOAT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(DOUBLE_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(STRING_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(BOOLEAN_VALUE, BOOLEAN_VALUE, BOOLEAN_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(BYTE_VALUE, BYTE_VALUE, BYTE_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(SHORT_VALUE, SHORT_VALUE, SHORT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(INT_VALUE, INT_VALUE, INT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(CHAR_VALUE, CHAR_VALUE, CHAR_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(INT_VALUE, INT_VALUE, INT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(LONG_VALUE, LONG_VALUE, LONG_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(FLOAT_VALUE, FLOAT_VALUE, FLOAT_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(DOUBLE_VALUE, DOUBLE_VALUE, DOUBLE_VALUE));
+        blackHole.consume(byteBuddyWithDynamicAnnotationsInstance.method(STRING_VALUE, STRING_VALUE, STRING_VALUE));
+    }
+
+    /**
+     * Creates an instance of a subclass of {@link net.bytebuddy.benchmark.specimen.ExampleClass} that delegates any
+     * method that returns {@link Object} to the given interceptor.
+     *
+     * @param interceptor The interceptor to delegate to.
+     * @return An instance of the created subclass.
+     * @throws Exception If the instance cannot be created.
+     */
+    private static ExampleClass referenceInterception(Class<?> interceptor) throws Exception {
+        return new ByteBuddy()
+                .subclass(ExampleClass.class)
+                .method(isDeclaredBy(ExampleClass.class).and(returns(Object.class)))
+                .intercept(MethodDelegation.to(interceptor))
+                .make()
+                .load(ExampleClass.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded()
+                .newInstance();
+    }
+
+    /**
+     * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark uses an annotation-based
+     * approach for a method that returns a reference type such that no value is boxed. Once the interceptor is inlined,
+     * the super method proxy does not escape the intercepted method and is not allocated. This can be checked by
+     * running this benchmark together with
+     * {@link SuperClassInvocationBenchmark#benchmarkByteBuddyWithAnnotations(Blackhole)} using the {@code gc}
+     * profiler ({@code -prof gc}) which does not report any garbage collection for this benchmark while the boxing
+     * benchmark triggers garbage collections throughout its measurement.
+     *
+     * @param blackHole A black hole for avoiding JIT erasure.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void benchmarkByteBuddyWithReferenceAnnotations(Blackhole blackHole) {
+        blackHole.consume(byteBuddyWithReferenceAnnotationsInstance.method(STRING_VALUE));
+    }
+
     /**
      * Performs a benchmark of a super method invocation using Byte Buddy. This benchmark uses a specialized
      * interception strategy which is easier to inline by the compiler.
@@ -0,0 +1,62 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BatchLoadingBenchmarkTest {
+
+    private BatchLoadingBenchmark batchLoadingBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        batchLoadingBenchmark = new BatchLoadingBenchmark();
+        batchLoadingBenchmark.setUp();
+    }
+
+    @Test
+    public void testIndividualLoading() throws Exception {
+        List<ClassLoader> classLoaders = batchLoadingBenchmark.benchmarkIndividualLoading();
+        assertThat(classLoaders.size(), is(BatchLoadingBenchmark.TYPE_COUNT));
+        assertThat(new HashSet<ClassLoader>(classLoaders).size(), is(BatchLoadingBenchmark.TYPE_COUNT));
+    }
+
+    @Test
+    public void testBatchLoading() throws Exception {
+        List<ClassLoader> classLoaders = batchLoadingBenchmark.benchmarkBatchLoading();
+        assertThat(classLoaders.size(), is(BatchLoadingBenchmark.TYPE_COUNT));
+        assertThat(new HashSet<ClassLoader>(classLoaders).size(), is(1));
+    }
+
+    @Test
+    public void testMetaspaceUsage() throws Exception {
+        assertThat(BatchLoadingBenchmark.metaspaceUsage() > 0L, is(true));
+    }
+
+    @Test
+    public void testIndividualLoadingMetaspace() throws Exception {
+        BatchLoadingBenchmark.MetaspaceCounter metaspaceCounter = new BatchLoadingBenchmark.MetaspaceCounter();
+        metaspaceCounter.reset();
+        metaspaceCounter.before();
+        List<ClassLoader> classLoaders = batchLoadingBenchmark.benchmarkIndividualLoadingMetaspace(metaspaceCounter);
+        metaspaceCounter.after();
+        assertThat(classLoaders.size(), is(BatchLoadingBenchmark.TYPE_COUNT));
+        assertThat(metaspaceCounter.metaspace > 0L, is(true));
+    }
+
+    @Test
+    public void testBatchLoadingMetaspace() throws Exception {
+        BatchLoadingBenchmark.MetaspaceCounter metaspaceCounter = new BatchLoadingBenchmark.MetaspaceCounter();
+        metaspaceCounter.reset();
+        metaspaceCounter.before();
+        List<ClassLoader> classLoaders = batchLoadingBenchmark.benchmarkBatchLoadingMetaspace(metaspaceCounter);
+        metaspaceCounter.after();
+        assertThat(classLoaders.size(), is(BatchLoadingBenchmark.TYPE_COUNT));
+        assertThat(metaspaceCounter.metaspace > 0L, is(true));
+    }
+}
@@ -0,0 +1,23 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+import static org.junit.Assert.fail;
+
+public class ClassByImplementationBenchmarkByteBuddyStubTargetTest {
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCannotInstantiateClass() throws Exception {
+        Constructor<?> constructor = ClassByImplementationBenchmark.ByteBuddyStubTarget.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        try {
+            constructor.newInstance();
+            fail();
+        } catch (InvocationTargetException e) {
+            throw (UnsupportedOperationException) e.getCause();
+        }
+    }
+}
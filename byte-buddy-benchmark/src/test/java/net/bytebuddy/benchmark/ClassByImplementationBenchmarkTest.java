@@ -72,6 +72,24 @@ public class ClassByImplementationBenchmarkTest {
         assertReturnValues(instance);
     }
 
+    @Test
+    public void testByteBuddyWithDelegationClassCreation() throws Exception {
+        ExampleInterface instance = classByImplementationBenchmark.benchmarkByteBuddyWithDelegation();
+        assertThat(Arrays.asList(instance.getClass().getInterfaces()), hasItem(ClassByImplementationBenchmark.BASE_CLASS));
+        assertEquals(Object.class, instance.getClass().getSuperclass());
+        assertNotEquals(instance.getClass(), classByImplementationBenchmark.benchmarkByteBuddyWithDelegation());
+        assertReturnValues(instance);
+    }
+
+    @Test
+    public void testByteBuddyWithDynamicDelegationClassCreation() throws Exception {
+        ExampleInterface instance = classByImplementationBenchmark.benchmarkByteBuddyWithDynamicDelegation();
+        assertThat(Arrays.asList(instance.getClass().getInterfaces()), hasItem(ClassByImplementationBenchmark.BASE_CLASS));
+        assertEquals(Object.class, instance.getClass().getSuperclass());
+        assertNotEquals(instance.getClass(), classByImplementationBenchmark.benchmarkByteBuddyWithDynamicDelegation());
+        assertReturnValues(instance);
+    }
+
     @Test
     public void testCglibClassCreation() throws Exception {
         ExampleInterface instance = classByImplementationBenchmark.benchmarkCglib();
@@ -0,0 +1,36 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MethodRegistryDispatchBenchmarkTest {
+
+    private MethodRegistryDispatchBenchmark methodRegistryDispatchBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        methodRegistryDispatchBenchmark = new MethodRegistryDispatchBenchmark();
+        methodRegistryDispatchBenchmark.setUp();
+    }
+
+    @Test
+    public void testExactMatchers() throws Exception {
+        assertThat(methodRegistryDispatchBenchmark.benchmarkExactMatchers(),
+                is(MethodRegistryDispatchBenchmark.BASE_CLASS.getDeclaredMethods().length));
+    }
+
+    @Test
+    public void testNamedMatchers() throws Exception {
+        assertThat(methodRegistryDispatchBenchmark.benchmarkNamedMatchers(),
+                is(MethodRegistryDispatchBenchmark.BASE_CLASS.getDeclaredMethods().length));
+    }
+
+    @Test
+    public void testOpaqueMatchers() throws Exception {
+        assertThat(methodRegistryDispatchBenchmark.benchmarkOpaqueMatchers(),
+                is(MethodRegistryDispatchBenchmark.BASE_CLASS.getDeclaredMethods().length));
+    }
+}
@@ -0,0 +1,27 @@
+package net.bytebuddy.benchmark;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PersistenceHandlerBenchmarkTest {
+
+    private PersistenceHandlerBenchmark persistenceHandlerBenchmark;
+
+    @Before
+    public void setUp() throws Exception {
+        persistenceHandlerBenchmark = new PersistenceHandlerBenchmark();
+        persistenceHandlerBenchmark.setUp();
+    }
+
+    @Test
+    public void testCompressedManifestRetainsLessMemory() throws Exception {
+        long manifest = persistenceHandlerBenchmark.benchmarkManifest();
+        long compressedManifest = persistenceHandlerBenchmark.benchmarkCompressedManifest();
+        assertThat(manifest > 0L, is(true));
+        assertThat(compressedManifest > 0L, is(true));
+        assertThat(compressedManifest < manifest, is(true));
+    }
+}
@@ -18,6 +18,16 @@ public class StubInvocationBenchmarkTest extends AbstractBlackHoleTest {
         stubInvocationBenchmark.benchmarkByteBuddy(blackHole);
     }
 
+    @Test
+    public void testByteBuddyWithDelegationBenchmark() throws Exception {
+        stubInvocationBenchmark.benchmarkByteBuddyWithDelegation(blackHole);
+    }
+
+    @Test
+    public void testByteBuddyWithDynamicDelegationBenchmark() throws Exception {
+        stubInvocationBenchmark.benchmarkByteBuddyWithDynamicDelegation(blackHole);
+    }
+
     @Test
     public void testCglibBenchmark() throws Exception {
         stubInvocationBenchmark.benchmarkCglib(blackHole);
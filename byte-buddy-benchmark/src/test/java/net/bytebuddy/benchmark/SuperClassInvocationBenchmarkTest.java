@@ -18,6 +18,16 @@ public class SuperClassInvocationBenchmarkTest extends AbstractBlackHoleTest {
         superClassInvocationBenchmark.benchmarkByteBuddyWithAnnotations(blackHole);
     }
 
+    @Test
+    public void testByteBuddyWithDynamicAnnotationsBenchmark() throws Exception {
+        superClassInvocationBenchmark.benchmarkByteBuddyWithDynamicAnnotations(blackHole);
+    }
+
+    @Test
+    public void testByteBuddyWithReferenceAnnotationsBenchmark() throws Exception {
+        superClassInvocationBenchmark.benchmarkByteBuddyWithReferenceAnnotations(blackHole);
+    }
+
     @Test
     public void testByteBuddySpecializedBenchmark() throws Exception {
         superClassInvocationBenchmark.benchmarkByteBuddySpecialized(blackHole);
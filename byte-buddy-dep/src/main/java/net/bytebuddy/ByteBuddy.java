@@ -316,7 +316,7 @@ public class ByteBuddy {
      * @return A dynamic type builder for this configuration that extends or implements the given loaded type.
      */
     public <T> DynamicType.Builder<T> subclass(Class<T> superType, ConstructorStrategy constructorStrategy) {
-        return subclass(new TypeDescription.ForLoadedType(superType), constructorStrategy);
+        return subclass(TypeDescription.ForLoadedType.of(superType), constructorStrategy);
     }
 
     /**
@@ -344,7 +344,7 @@ public class ByteBuddy {
         TypeDescription actualSuperType = isExtendable(superType);
         List<TypeDescription> interfaceTypes = this.interfaceTypes;
         if (nonNull(superType).isInterface()) {
-            actualSuperType = new TypeDescription.ForLoadedType(Object.class);
+            actualSuperType = TypeDescription.ForLoadedType.of(Object.class);
             interfaceTypes = join(superType, interfaceTypes);
         }
         return new SubclassDynamicTypeBuilder<T>(classFileVersion,
@@ -382,7 +382,7 @@ public class ByteBuddy {
      * @return A dynamic type builder for this configuration that redefines the given type description.
      */
     public <T> DynamicType.Builder<T> redefine(Class<T> levelType) {
-        return redefine(new TypeDescription.ForLoadedType(levelType), ClassFileLocator.Compound.makeDefault());
+        return redefine(TypeDescription.ForLoadedType.of(levelType), ClassFileLocator.Compound.makeDefault());
     }
 
     /**
@@ -401,7 +401,7 @@ public class ByteBuddy {
      * @return A dynamic type builder for this configuration that redefines the given type description.
      */
     public <T> DynamicType.Builder<T> redefine(Class<T> levelType, ClassFileLocator classFileLocator) {
-        return redefine(new TypeDescription.ForLoadedType(levelType), classFileLocator);
+        return redefine(TypeDescription.ForLoadedType.of(levelType), classFileLocator);
     }
 
     /**
@@ -478,7 +478,7 @@ public class ByteBuddy {
      * @return A dynamic type builder for this configuration that creates a rebased version of the given type.
      */
     public <T> DynamicType.Builder<T> rebase(Class<T> levelType) {
-        return rebase(new TypeDescription.ForLoadedType(levelType), ClassFileLocator.Compound.makeDefault());
+        return rebase(TypeDescription.ForLoadedType.of(levelType), ClassFileLocator.Compound.makeDefault());
     }
 
     /**
@@ -499,7 +499,7 @@ public class ByteBuddy {
      * @return A dynamic type builder for this configuration that creates a rebased version of the given type.
      */
     public <T> DynamicType.Builder<T> rebase(Class<T> levelType, ClassFileLocator classFileLocator) {
-        return rebase(new TypeDescription.ForLoadedType(levelType), classFileLocator);
+        return rebase(TypeDescription.ForLoadedType.of(levelType), classFileLocator);
     }
 
     /**
@@ -680,7 +680,7 @@ public class ByteBuddy {
         TypeDescription[] typeDescription = new TypeDescription[type.length];
         int index = 0;
         for (Class<?> aType : type) {
-            typeDescription[index++] = new TypeDescription.ForLoadedType(aType);
+            typeDescription[index++] = TypeDescription.ForLoadedType.of(aType);
         }
         return withImplementing(typeDescription);
     }
@@ -7,9 +7,11 @@ import net.bytebuddy.modifier.TypeManifestation;
 import net.bytebuddy.modifier.Visibility;
 import net.bytebuddy.utility.ByteBuddyCommons;
 import net.bytebuddy.utility.RandomString;
+import net.bytebuddy.utility.StructuralDigest;
 import org.objectweb.asm.Opcodes;
 
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -79,10 +81,31 @@ public interface NamingStrategy {
          */
         ClassFileVersion getClassFileVersion();
 
+        /**
+         * An unnamed type that additionally describes the configuration of the type to be named, such as its
+         * registered fields and methods, by a fingerprint. A fingerprint is a value that has an equal structure as
+         * another fingerprint, as defined by {@link net.bytebuddy.utility.StructuralDigest}, if and only if both
+         * represent the same configuration.
+         */
+        static interface Fingerprinted extends UnnamedType {
+
+            /**
+             * Returns a fingerprint of the configuration of the type to be named.
+             *
+             * @return A fingerprint of the configuration of the type to be named.
+             */
+            Object getFingerprint();
+        }
+
         /**
          * An unnamed type which is to be named by a naming strategy.
          */
-        static class Default implements UnnamedType {
+        static class Default implements Fingerprinted {
+
+            /**
+             * Represents an unnamed type without a known configuration.
+             */
+            public static final Object NO_FINGERPRINT = "";
 
             /**
              * The unnamed type's super class.
@@ -105,7 +128,12 @@ public interface NamingStrategy {
             private final ClassFileVersion classFileVersion;
 
             /**
-             * Creates a new unnamed type.
+             * A fingerprint of the configuration of the unnamed type.
+             */
+            private final Object fingerprint;
+
+            /**
+             * Creates a new unnamed type without a known configuration.
              *
              * @param superClass       The unnamed type's super class.
              * @param interfaces       The unnamed type's interfaces.
@@ -116,10 +144,28 @@ public interface NamingStrategy {
                            List<TypeDescription> interfaces,
                            int modifiers,
                            ClassFileVersion classFileVersion) {
+                this(superClass, interfaces, modifiers, classFileVersion, NO_FINGERPRINT);
+            }
+
+            /**
+             * Creates a new unnamed type.
+             *
+             * @param superClass       The unnamed type's super class.
+             * @param interfaces       The unnamed type's interfaces.
+             * @param modifiers        The unnamed type's modifiers.
+             * @param classFileVersion The class file version of the unnamed type.
+             * @param fingerprint      A fingerprint of the configuration of the unnamed type.
+             */
+            public Default(TypeDescription superClass,
+                           List<TypeDescription> interfaces,
+                           int modifiers,
+                           ClassFileVersion classFileVersion,
+                           Object fingerprint) {
                 this.superClass = superClass;
                 this.interfaces = interfaces;
                 this.modifiers = modifiers;
                 this.classFileVersion = classFileVersion;
+                this.fingerprint = fingerprint;
             }
 
             @Override
@@ -172,6 +218,11 @@ public interface NamingStrategy {
                 return classFileVersion;
             }
 
+            @Override
+            public Object getFingerprint() {
+                return fingerprint;
+            }
+
             @Override
             public boolean equals(Object other) {
                 if (this == other) return true;
@@ -180,7 +231,8 @@ public interface NamingStrategy {
                 return modifiers == aDefault.modifiers
                         && classFileVersion.equals(aDefault.classFileVersion)
                         && interfaces.equals(aDefault.interfaces)
-                        && superClass.equals(aDefault.superClass);
+                        && superClass.equals(aDefault.superClass)
+                        && fingerprint.equals(aDefault.fingerprint);
             }
 
             @Override
@@ -189,6 +241,7 @@ public interface NamingStrategy {
                 result = 31 * result + interfaces.hashCode();
                 result = 31 * result + modifiers;
                 result = 31 * result + classFileVersion.hashCode();
+                result = 31 * result + fingerprint.hashCode();
                 return result;
             }
 
@@ -199,6 +252,7 @@ public interface NamingStrategy {
                         ", interfaces=" + interfaces +
                         ", modifiers=" + modifiers +
                         ", classFileVersion=" + classFileVersion +
+                        ", fingerprint=" + fingerprint +
                         '}';
             }
         }
@@ -304,6 +358,130 @@ public interface NamingStrategy {
         }
     }
 
+    /**
+     * A naming strategy that always creates the same name for equal unnamed types. When a subclass is named by such
+     * a naming strategy, Byte Buddy also names the type's auxiliary types, accessor methods and cache fields
+     * deterministically such that equal inputs result in equal class files. Rebased and redefined types keep their
+     * name such that their auxiliary types, accessor methods and cache fields are always named randomly.
+     */
+    static interface Deterministic extends NamingStrategy {
+        /* marker interface */
+    }
+
+    /**
+     * A naming strategy that creates a name by concatenating:
+     * <ol>
+     * <li>The super classes package and name</li>
+     * <li>A given suffix string</li>
+     * <li>A {@link net.bytebuddy.utility.StructuralDigest} of the unnamed type's super class, interfaces, modifiers,
+     * class file version and, for a {@link net.bytebuddy.NamingStrategy.UnnamedType.Fingerprinted} unnamed type, its
+     * configuration fingerprint</li>
+     * </ol>
+     * Between all these elements, a {@code $} sign is included into the name to improve readability. Types that
+     * subclass classes from the {@code java.**} packages or signed types are renamed as by the
+     * {@link net.bytebuddy.NamingStrategy.SuffixingRandom} naming strategy.
+     * <p>&nbsp;</p>
+     * Types that are created by a {@link net.bytebuddy.dynamic.DynamicType.Builder} are fingerprinted by their
+     * builder's configuration, including any registered fields and methods and their instrumentations. As the digest
+     * covers the entire structure of this configuration, two types only share a name if their configurations are
+     * structurally equal. A configuration without a defined structure, for example because it references a component
+     * that holds a type of the Java class library such as a {@link java.util.Random}, is named randomly instead.
+     */
+    static class SuffixingHash implements Deterministic {
+
+        /**
+         * The package prefix of the {@code java.**} packages for which the definition of non-bootstrap types is
+         * illegal.
+         */
+        private static final String JAVA_PACKAGE = "java.";
+
+        /**
+         * The default package for defining types that are renamed to not be contained in the
+         * {@link net.bytebuddy.NamingStrategy.SuffixingHash#JAVA_PACKAGE} package.
+         */
+        private static final String BYTE_BUDDY_RENAME_PACKAGE = "net.bytebuddy.renamed";
+
+        /**
+         * The suffix to attach to a super type name.
+         */
+        private final String suffix;
+
+        /**
+         * The renaming location for types of the {@link net.bytebuddy.NamingStrategy.SuffixingHash#JAVA_PACKAGE}.
+         */
+        private final String javaLangPackagePrefix;
+
+        /**
+         * An instance for creating random names for types that cannot be named deterministically. This field is
+         * transient as it does not describe the configuration of this naming strategy.
+         */
+        private final transient RandomString randomString;
+
+        /**
+         * Creates an immutable naming strategy with a given suffix but moves types that subclass types within
+         * the {@code java.lang} package into ByteBuddy's package namespace.
+         *
+         * @param suffix The suffix for the generated class.
+         */
+        public SuffixingHash(String suffix) {
+            this(suffix, BYTE_BUDDY_RENAME_PACKAGE);
+        }
+
+        /**
+         * Creates an immutable naming strategy with a given suffix but moves types that subclass types within
+         * the {@code java.lang} package into a given namespace.
+         *
+         * @param suffix                The suffix for the generated class.
+         * @param javaLangPackagePrefix The fallback namespace for type's that subclass types within the
+         *                              {@code java.lang} namespace.
+         */
+        public SuffixingHash(String suffix, String javaLangPackagePrefix) {
+            this.suffix = suffix;
+            this.javaLangPackagePrefix = javaLangPackagePrefix;
+            randomString = new RandomString();
+        }
+
+        @Override
+        public String name(UnnamedType unnamedType) {
+            String superClassName = unnamedType.getSuperClass().getName();
+            if (superClassName.startsWith(JAVA_PACKAGE) || unnamedType.getSuperClass().isSealed()) {
+                superClassName = javaLangPackagePrefix + "." + superClassName;
+            }
+            byte[] digest = StructuralDigest.of(Arrays.<Object>asList(unnamedType.getSuperClass(),
+                    unnamedType.getDeclaredInterfaces(),
+                    unnamedType.getVisibility().getMask(),
+                    unnamedType.getTypeManifestation().getMask(),
+                    unnamedType.getSyntheticState().getMask(),
+                    unnamedType.getClassFileVersion().getVersionNumber(),
+                    unnamedType instanceof UnnamedType.Fingerprinted
+                            ? ((UnnamedType.Fingerprinted) unnamedType).getFingerprint()
+                            : UnnamedType.Default.NO_FINGERPRINT));
+            return String.format("%s$%s$%s", superClassName, suffix, digest == null
+                    ? randomString.nextString()
+                    : RandomString.hashOf(digest));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && javaLangPackagePrefix.equals(((SuffixingHash) other).javaLangPackagePrefix)
+                    && suffix.equals(((SuffixingHash) other).suffix);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * suffix.hashCode() + javaLangPackagePrefix.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "NamingStrategy.SuffixingHash{" +
+                    "suffix='" + suffix + '\'' +
+                    ", javaLangPackagePrefix='" + javaLangPackagePrefix + '\'' +
+                    '}';
+        }
+    }
+
     /**
      * A naming strategy that creates a name by prefixing a given class and its package with another package and
      * by appending a random number to the class's simple name.
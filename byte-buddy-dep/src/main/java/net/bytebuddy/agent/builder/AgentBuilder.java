@@ -0,0 +1,1084 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoaderByteArrayInjector;
+import net.bytebuddy.dynamic.scaffold.inline.ClassFileLocator;
+import net.bytebuddy.instrumentation.LoadedTypeInitializer;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.utility.WeakConcurrentMap;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.security.ProtectionDomain;
+import java.util.*;
+
+/**
+ * <p>
+ * An agent builder creates a {@link java.lang.instrument.ClassFileTransformer} that rebases classes while they are
+ * loaded. Any class is first matched by a {@link net.bytebuddy.agent.builder.AgentBuilder.RawMatcher} that only
+ * inspects the class's raw class file such that classes that are not matched are rejected without parsing them
+ * into a {@link net.bytebuddy.instrumentation.type.TypeDescription}. Only a matched class is described by a
+ * {@link net.bytebuddy.pool.TypePool} and rebased by applying a
+ * {@link net.bytebuddy.agent.builder.AgentBuilder.Transformer} to a
+ * {@link net.bytebuddy.ByteBuddy#rebase(net.bytebuddy.instrumentation.type.TypeDescription, ClassFileLocator)}
+ * builder which writes the class file by a
+ * {@link net.bytebuddy.dynamic.scaffold.TypeWriter.Engine.ForRedefinition} engine.
+ * </p>
+ * <p>
+ * <b>Note</b>: A class is only transformed when it is loaded for the first time as rebasing adds methods to a class
+ * what is not permitted when retransforming or redefining a loaded class. A transformation must not require a live
+ * {@link net.bytebuddy.instrumentation.LoadedTypeInitializer} as a class cannot be initialized before it is loaded.
+ * Auxiliary types are injected into the class loader of the transformed class what is not possible for classes of
+ * the bootstrap class loader or for auxiliary types that subclass the transformed class.
+ * </p>
+ */
+public interface AgentBuilder {
+
+    /**
+     * Rebases any class that is matched by the given matcher by applying the given transformer. If several
+     * matchers match a class, only the transformer of the first matcher is applied.
+     *
+     * @param rawMatcher  The matcher that identifies the classes to transform from their class files.
+     * @param transformer The transformer to apply to any matched class.
+     * @return A new agent builder that additionally applies the given transformation.
+     */
+    AgentBuilder rebase(RawMatcher rawMatcher, Transformer transformer);
+
+    /**
+     * Registers a listener that is notified on the transformation of a class.
+     *
+     * @param listener The listener to notify.
+     * @return A new agent builder that notifies the given listener.
+     */
+    AgentBuilder withListener(Listener listener);
+
+    /**
+     * Creates a class file transformer that applies this agent builder's transformations without registering it.
+     *
+     * @return A class file transformer that applies this agent builder's transformations.
+     */
+    ClassFileTransformer makeRaw();
+
+    /**
+     * Creates a class file transformer that applies this agent builder's transformations and registers it with
+     * the given instrumentation.
+     *
+     * @param instrumentation The instrumentation to register the class file transformer with.
+     * @return The registered class file transformer which can be used for removing the transformer.
+     */
+    ClassFileTransformer installOn(Instrumentation instrumentation);
+
+    /**
+     * A matcher that decides if a class should be transformed by only inspecting its class file.
+     */
+    static interface RawMatcher {
+
+        /**
+         * Decides if the given class should be transformed.
+         *
+         * @param classFile A view on the class file of the class.
+         * @return {@code true} if the class should be transformed.
+         */
+        boolean matches(ClassFile classFile);
+
+        /**
+         * A matcher that matches any class whose name starts with any of the given prefixes. The prefixes are
+         * stored in a trie such that matching a class name only requires a single pass over the name, independently
+         * of the number of prefixes. This matcher does not require the class file to be parsed.
+         */
+        static class ForNamePrefix implements RawMatcher {
+
+            /**
+             * The matched prefixes in their non-internal form.
+             */
+            private final Set<String> prefixes;
+
+            /**
+             * The root of a trie of the matched prefixes in their internal form.
+             */
+            private final Node root;
+
+            /**
+             * Creates a new name prefix matcher.
+             *
+             * @param prefix The prefixes of the matched class names in their non-internal form, for example
+             *               {@code com.example.}.
+             */
+            public ForNamePrefix(String... prefix) {
+                prefixes = new HashSet<String>(Arrays.asList(prefix));
+                root = new Node();
+                for (String aPrefix : prefixes) {
+                    root.add(aPrefix.replace('.', '/'));
+                }
+            }
+
+            @Override
+            public boolean matches(ClassFile classFile) {
+                return root.matches(classFile.getInternalName());
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && prefixes.equals(((ForNamePrefix) other).prefixes);
+            }
+
+            @Override
+            public int hashCode() {
+                return prefixes.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.RawMatcher.ForNamePrefix{prefixes=" + prefixes + '}';
+            }
+
+            /**
+             * A node of a trie of name prefixes.
+             */
+            protected static class Node {
+
+                /**
+                 * The children of this node by the next character of a prefix.
+                 */
+                private final Map<Character, Node> children;
+
+                /**
+                 * {@code true} if a prefix ends at this node.
+                 */
+                private boolean terminal;
+
+                /**
+                 * Creates a new node without children.
+                 */
+                protected Node() {
+                    children = new HashMap<Character, Node>();
+                }
+
+                /**
+                 * Adds a prefix to the trie below this node.
+                 *
+                 * @param prefix The prefix to add.
+                 */
+                protected void add(String prefix) {
+                    Node node = this;
+                    for (int index = 0; index < prefix.length(); index++) {
+                        Node child = node.children.get(prefix.charAt(index));
+                        if (child == null) {
+                            child = new Node();
+                            node.children.put(prefix.charAt(index), child);
+                        }
+                        node = child;
+                    }
+                    node.terminal = true;
+                }
+
+                /**
+                 * Checks if the given name starts with any prefix of the trie below this node.
+                 *
+                 * @param name The name to match.
+                 * @return {@code true} if the name starts with any prefix of this trie.
+                 */
+                protected boolean matches(String name) {
+                    Node node = this;
+                    for (int index = 0; !node.terminal; index++) {
+                        if (index == name.length()) {
+                            return false;
+                        }
+                        node = node.children.get(name.charAt(index));
+                        if (node == null) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.RawMatcher.ForNamePrefix.Node{" +
+                            "children=" + children.keySet() +
+                            ", terminal=" + terminal +
+                            '}';
+                }
+            }
+        }
+
+        /**
+         * A matcher that matches any class with a given direct super class. The super class is read from the
+         * header of the class file without parsing the class file's members.
+         */
+        static class ForSuperClass implements RawMatcher {
+
+            /**
+             * The internal name of the matched super class.
+             */
+            private final String internalName;
+
+            /**
+             * Creates a new super class matcher.
+             *
+             * @param typeName The fully qualified, non-internal name of the matched super class.
+             */
+            public ForSuperClass(String typeName) {
+                internalName = typeName.replace('.', '/');
+            }
+
+            @Override
+            public boolean matches(ClassFile classFile) {
+                return internalName.equals(classFile.getSuperClassInternalName());
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && internalName.equals(((ForSuperClass) other).internalName);
+            }
+
+            @Override
+            public int hashCode() {
+                return internalName.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.RawMatcher.ForSuperClass{internalName='" + internalName + '\'' + '}';
+            }
+        }
+
+        /**
+         * A matcher that matches any class that directly implements a given interface. The interfaces are read
+         * from the header of the class file without parsing the class file's members.
+         */
+        static class ForInterface implements RawMatcher {
+
+            /**
+             * The internal name of the matched interface.
+             */
+            private final String internalName;
+
+            /**
+             * Creates a new interface matcher.
+             *
+             * @param typeName The fully qualified, non-internal name of the matched interface.
+             */
+            public ForInterface(String typeName) {
+                internalName = typeName.replace('.', '/');
+            }
+
+            @Override
+            public boolean matches(ClassFile classFile) {
+                for (String interfaceInternalName : classFile.getInterfaceInternalNames()) {
+                    if (internalName.equals(interfaceInternalName)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && internalName.equals(((ForInterface) other).internalName);
+            }
+
+            @Override
+            public int hashCode() {
+                return internalName.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.RawMatcher.ForInterface{internalName='" + internalName + '\'' + '}';
+            }
+        }
+
+        /**
+         * A matcher that matches any class that declares an annotation of a given type. The annotations are read
+         * from the class file while skipping the class file's members.
+         */
+        static class ForAnnotation implements RawMatcher {
+
+            /**
+             * The descriptor of the matched annotation type.
+             */
+            private final String descriptor;
+
+            /**
+             * Creates a new annotation matcher.
+             *
+             * @param typeName The fully qualified, non-internal name of the matched annotation type.
+             */
+            public ForAnnotation(String typeName) {
+                descriptor = "L" + typeName.replace('.', '/') + ";";
+            }
+
+            @Override
+            public boolean matches(ClassFile classFile) {
+                return classFile.getAnnotationDescriptors().contains(descriptor);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && descriptor.equals(((ForAnnotation) other).descriptor);
+            }
+
+            @Override
+            public int hashCode() {
+                return descriptor.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.RawMatcher.ForAnnotation{descriptor='" + descriptor + '\'' + '}';
+            }
+        }
+
+        /**
+         * A matcher that matches a class if all of its matchers match the class. The matchers are applied in
+         * their given order such that inexpensive matchers, for example name matchers, should be given first.
+         */
+        static class Conjunction implements RawMatcher {
+
+            /**
+             * The matchers to apply in their application order.
+             */
+            private final List<? extends RawMatcher> rawMatchers;
+
+            /**
+             * Creates a new conjunction matcher.
+             *
+             * @param rawMatcher The matchers to apply in their application order.
+             */
+            public Conjunction(RawMatcher... rawMatcher) {
+                rawMatchers = Arrays.asList(rawMatcher);
+            }
+
+            @Override
+            public boolean matches(ClassFile classFile) {
+                for (RawMatcher rawMatcher : rawMatchers) {
+                    if (!rawMatcher.matches(classFile)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && rawMatchers.equals(((Conjunction) other).rawMatchers);
+            }
+
+            @Override
+            public int hashCode() {
+                return rawMatchers.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.RawMatcher.Conjunction{rawMatchers=" + rawMatchers + '}';
+            }
+        }
+
+        /**
+         * A matcher that matches a class if any of its matchers matches the class. The matchers are applied in
+         * their given order.
+         */
+        static class Disjunction implements RawMatcher {
+
+            /**
+             * The matchers to apply in their application order.
+             */
+            private final List<? extends RawMatcher> rawMatchers;
+
+            /**
+             * Creates a new disjunction matcher.
+             *
+             * @param rawMatcher The matchers to apply in their application order.
+             */
+            public Disjunction(RawMatcher... rawMatcher) {
+                rawMatchers = Arrays.asList(rawMatcher);
+            }
+
+            @Override
+            public boolean matches(ClassFile classFile) {
+                for (RawMatcher rawMatcher : rawMatchers) {
+                    if (rawMatcher.matches(classFile)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && rawMatchers.equals(((Disjunction) other).rawMatchers);
+            }
+
+            @Override
+            public int hashCode() {
+                return rawMatchers.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.RawMatcher.Disjunction{rawMatchers=" + rawMatchers + '}';
+            }
+        }
+    }
+
+    /**
+     * A view on the class file of a class that is about to be loaded. The class file is only parsed as far as
+     * it is required by a matcher: The header of the class file is only read when its super class or interfaces
+     * are queried and its annotations are only read when they are queried. Each piece of information is read
+     * at most once.
+     */
+    static class ClassFile {
+
+        /**
+         * The reader flags for reading a class's annotations where any member's code is skipped.
+         */
+        private static final int READER_FLAGS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+        /**
+         * The internal name of the class.
+         */
+        private final String internalName;
+
+        /**
+         * The binary representation of the class.
+         */
+        private final byte[] binaryRepresentation;
+
+        /**
+         * A class reader for the class file or {@code null} if the class file was not yet read.
+         */
+        private ClassReader classReader;
+
+        /**
+         * The descriptors of the class's declared annotations or {@code null} if they were not yet read.
+         */
+        private Set<String> annotationDescriptors;
+
+        /**
+         * Creates a new class file view.
+         *
+         * @param internalName         The internal name of the class.
+         * @param binaryRepresentation The binary representation of the class.
+         */
+        public ClassFile(String internalName, byte[] binaryRepresentation) {
+            this.internalName = internalName;
+            this.binaryRepresentation = binaryRepresentation;
+        }
+
+        /**
+         * Returns the internal name of the class.
+         *
+         * @return The internal name of the class.
+         */
+        public String getInternalName() {
+            return internalName;
+        }
+
+        /**
+         * Returns the fully qualified, non-internal name of the class.
+         *
+         * @return The fully qualified, non-internal name of the class.
+         */
+        public String getTypeName() {
+            return internalName.replace('/', '.');
+        }
+
+        /**
+         * Returns the binary representation of the class.
+         *
+         * @return The binary representation of the class.
+         */
+        public byte[] getBinaryRepresentation() {
+            return binaryRepresentation;
+        }
+
+        /**
+         * Returns the internal name of the class's direct super class.
+         *
+         * @return The internal name of the class's direct super class or {@code null} for {@link java.lang.Object}.
+         */
+        public String getSuperClassInternalName() {
+            return classReader().getSuperName();
+        }
+
+        /**
+         * Returns the internal names of the class's directly implemented interfaces.
+         *
+         * @return The internal names of the class's directly implemented interfaces.
+         */
+        public String[] getInterfaceInternalNames() {
+            return classReader().getInterfaces();
+        }
+
+        /**
+         * Returns the descriptors of the class's declared annotations that are visible or invisible at runtime.
+         *
+         * @return The descriptors of the class's declared annotations.
+         */
+        public Set<String> getAnnotationDescriptors() {
+            if (annotationDescriptors == null) {
+                AnnotationCollector annotationCollector = new AnnotationCollector();
+                classReader().accept(annotationCollector, READER_FLAGS);
+                annotationDescriptors = annotationCollector.getAnnotationDescriptors();
+            }
+            return annotationDescriptors;
+        }
+
+        /**
+         * Returns a class reader for the class file which only reads the class file's header on creation.
+         *
+         * @return A class reader for the class file.
+         */
+        private ClassReader classReader() {
+            if (classReader == null) {
+                classReader = new ClassReader(binaryRepresentation);
+            }
+            return classReader;
+        }
+
+        @Override
+        public String toString() {
+            return "AgentBuilder.ClassFile{internalName='" + internalName + '\'' + '}';
+        }
+
+        /**
+         * A class visitor that collects the descriptors of a class's declared annotations and that skips any
+         * field and method.
+         */
+        protected static class AnnotationCollector extends ClassVisitor {
+
+            /**
+             * Indicates that an annotation's values are not visited.
+             */
+            private static final AnnotationVisitor IGNORE_ANNOTATION = null;
+
+            /**
+             * The collected annotation descriptors.
+             */
+            private final Set<String> annotationDescriptors;
+
+            /**
+             * Creates a new annotation collector.
+             */
+            protected AnnotationCollector() {
+                super(Opcodes.ASM5);
+                annotationDescriptors = new HashSet<String>();
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                annotationDescriptors.add(descriptor);
+                return IGNORE_ANNOTATION;
+            }
+
+            /**
+             * Returns the collected annotation descriptors.
+             *
+             * @return The collected annotation descriptors.
+             */
+            protected Set<String> getAnnotationDescriptors() {
+                return annotationDescriptors;
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.ClassFile.AnnotationCollector{annotationDescriptors=" + annotationDescriptors + '}';
+            }
+        }
+    }
+
+    /**
+     * A transformer that defines the rebasing of a matched class.
+     */
+    static interface Transformer {
+
+        /**
+         * Defines the rebasing of a matched class.
+         *
+         * @param builder         A builder that rebases the matched class.
+         * @param typeDescription A description of the matched class.
+         * @return A builder that defines the rebasing of the matched class.
+         */
+        DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription);
+    }
+
+    /**
+     * A listener that is notified on the transformation of a class. A listener is not notified on classes that
+     * are not matched.
+     */
+    static interface Listener {
+
+        /**
+         * Invoked after a class was transformed.
+         *
+         * @param dynamicType The dynamic type that represents the transformed class.
+         */
+        void onTransformation(DynamicType dynamicType);
+
+        /**
+         * Invoked if the transformation of a matched class failed. The class is then loaded without being
+         * transformed.
+         *
+         * @param typeName  The fully qualified, non-internal name of the class.
+         * @param throwable The cause of the failure.
+         */
+        void onError(String typeName, Throwable throwable);
+
+        /**
+         * A listener that does not react to any event.
+         */
+        static enum NoOp implements Listener {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public void onTransformation(DynamicType dynamicType) {
+                /* do nothing */
+            }
+
+            @Override
+            public void onError(String typeName, Throwable throwable) {
+                /* do nothing */
+            }
+        }
+    }
+
+    /**
+     * The default implementation of an agent builder.
+     */
+    static class Default implements AgentBuilder {
+
+        /**
+         * The Byte Buddy instance that is used for rebasing classes.
+         */
+        private final ByteBuddy byteBuddy;
+
+        /**
+         * The listener to notify on transformations.
+         */
+        private final Listener listener;
+
+        /**
+         * The transformations to apply in their application order.
+         */
+        private final List<Entry> entries;
+
+        /**
+         * Creates a new agent builder with a default Byte Buddy configuration.
+         */
+        public Default() {
+            this(new ByteBuddy());
+        }
+
+        /**
+         * Creates a new agent builder.
+         *
+         * @param byteBuddy The Byte Buddy instance that is used for rebasing classes.
+         */
+        public Default(ByteBuddy byteBuddy) {
+            this(byteBuddy, Listener.NoOp.INSTANCE, Collections.<Entry>emptyList());
+        }
+
+        /**
+         * Creates a new agent builder.
+         *
+         * @param byteBuddy The Byte Buddy instance that is used for rebasing classes.
+         * @param listener  The listener to notify on transformations.
+         * @param entries   The transformations to apply in their application order.
+         */
+        protected Default(ByteBuddy byteBuddy, Listener listener, List<Entry> entries) {
+            this.byteBuddy = byteBuddy;
+            this.listener = listener;
+            this.entries = entries;
+        }
+
+        @Override
+        public AgentBuilder rebase(RawMatcher rawMatcher, Transformer transformer) {
+            List<Entry> entries = new ArrayList<Entry>(this.entries.size() + 1);
+            entries.addAll(this.entries);
+            entries.add(new Entry(rawMatcher, transformer));
+            return new Default(byteBuddy, listener, entries);
+        }
+
+        @Override
+        public AgentBuilder withListener(Listener listener) {
+            return new Default(byteBuddy, listener, entries);
+        }
+
+        @Override
+        public ClassFileTransformer makeRaw() {
+            return new ExecutingTransformer(byteBuddy, listener, entries);
+        }
+
+        @Override
+        public ClassFileTransformer installOn(Instrumentation instrumentation) {
+            ClassFileTransformer classFileTransformer = makeRaw();
+            instrumentation.addTransformer(classFileTransformer);
+            return classFileTransformer;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Default aDefault = (Default) other;
+            return byteBuddy.equals(aDefault.byteBuddy)
+                    && listener.equals(aDefault.listener)
+                    && entries.equals(aDefault.entries);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = byteBuddy.hashCode();
+            result = 31 * result + listener.hashCode();
+            result = 31 * result + entries.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "AgentBuilder.Default{" +
+                    "byteBuddy=" + byteBuddy +
+                    ", listener=" + listener +
+                    ", entries=" + entries +
+                    '}';
+        }
+
+        /**
+         * A transformation that is applied to any class that is matched by a matcher.
+         */
+        protected static class Entry {
+
+            /**
+             * The matcher that identifies the classes to transform.
+             */
+            private final RawMatcher rawMatcher;
+
+            /**
+             * The transformer to apply to any matched class.
+             */
+            private final Transformer transformer;
+
+            /**
+             * Creates a new entry.
+             *
+             * @param rawMatcher  The matcher that identifies the classes to transform.
+             * @param transformer The transformer to apply to any matched class.
+             */
+            protected Entry(RawMatcher rawMatcher, Transformer transformer) {
+                this.rawMatcher = rawMatcher;
+                this.transformer = transformer;
+            }
+
+            /**
+             * Returns the matcher that identifies the classes to transform.
+             *
+             * @return The matcher that identifies the classes to transform.
+             */
+            protected RawMatcher getRawMatcher() {
+                return rawMatcher;
+            }
+
+            /**
+             * Returns the transformer to apply to any matched class.
+             *
+             * @return The transformer to apply to any matched class.
+             */
+            protected Transformer getTransformer() {
+                return transformer;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && rawMatcher.equals(((Entry) other).rawMatcher)
+                        && transformer.equals(((Entry) other).transformer);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * rawMatcher.hashCode() + transformer.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Default.Entry{" +
+                        "rawMatcher=" + rawMatcher +
+                        ", transformer=" + transformer +
+                        '}';
+            }
+        }
+
+        /**
+         * A class file transformer that applies the transformations of an agent builder. Classes that are loaded
+         * while a class is transformed on the same thread, for example Byte Buddy's own classes, are never
+         * transformed in order to avoid circular class loading.
+         * <p>&nbsp;</p>
+         * Types are described by a single type pool per class loader such that the types that a transformed class
+         * references, for example its super types, are only parsed once per class loader. Such a type pool and its
+         * type descriptions only reference their class loader weakly. A type pool is therefore discarded once its
+         * class loader is garbage collected. Additionally, a type pool is referenced softly such that its parsed type
+         * descriptions can be reclaimed when the JVM is running low on memory.
+         */
+        protected static class ExecutingTransformer implements ClassFileTransformer {
+
+            /**
+             * Indicates that a class file is not transformed.
+             */
+            private static final byte[] NO_TRANSFORMATION = null;
+
+            /**
+             * The Byte Buddy instance that is used for rebasing classes.
+             */
+            private final ByteBuddy byteBuddy;
+
+            /**
+             * The listener to notify on transformations.
+             */
+            private final Listener listener;
+
+            /**
+             * The transformations to apply in their application order.
+             */
+            private final List<Entry> entries;
+
+            /**
+             * The class file that the current thread is currently transforming or {@code null} if the current
+             * thread does not transform a class.
+             */
+            private final ThreadLocal<ClassFile> transforming;
+
+            /**
+             * The softly referenced type pools of class loaders other than the bootstrap class loader. These type
+             * pools only reference their class loader weakly.
+             */
+            private final WeakConcurrentMap<ClassLoader, Reference<TypePool>> typePools;
+
+            /**
+             * The type pool of the bootstrap class loader.
+             */
+            private final TypePool bootstrapTypePool;
+
+            /**
+             * Creates a new executing transformer.
+             *
+             * @param byteBuddy The Byte Buddy instance that is used for rebasing classes.
+             * @param listener  The listener to notify on transformations.
+             * @param entries   The transformations to apply in their application order.
+             */
+            protected ExecutingTransformer(ByteBuddy byteBuddy, Listener listener, List<Entry> entries) {
+                this.byteBuddy = byteBuddy;
+                this.listener = listener;
+                this.entries = entries;
+                transforming = new ThreadLocal<ClassFile>();
+                typePools = new WeakConcurrentMap<ClassLoader, Reference<TypePool>>();
+                bootstrapTypePool = makeTypePool(null);
+            }
+
+            @Override
+            public byte[] transform(ClassLoader classLoader,
+                                    String internalName,
+                                    Class<?> classBeingRedefined,
+                                    ProtectionDomain protectionDomain,
+                                    byte[] binaryRepresentation) {
+                if (internalName == null || classBeingRedefined != null || transforming.get() != null) {
+                    return NO_TRANSFORMATION;
+                }
+                ClassFile classFile = new ClassFile(internalName, binaryRepresentation);
+                transforming.set(classFile);
+                try {
+                    for (Entry entry : entries) {
+                        if (entry.getRawMatcher().matches(classFile)) {
+                            return transform(classLoader, protectionDomain, classFile, entry.getTransformer());
+                        }
+                    }
+                    return NO_TRANSFORMATION;
+                } catch (Throwable throwable) {
+                    listener.onError(classFile.getTypeName(), throwable);
+                    return NO_TRANSFORMATION;
+                } finally {
+                    transforming.remove();
+                }
+            }
+
+            /**
+             * Returns the type pool of a class loader.
+             *
+             * @param classLoader The class loader or {@code null} for the bootstrap class loader.
+             * @return The type pool of the given class loader.
+             */
+            private TypePool typePoolFor(ClassLoader classLoader) {
+                if (classLoader == null) {
+                    return bootstrapTypePool;
+                }
+                Reference<TypePool> reference = typePools.get(classLoader);
+                TypePool typePool = reference == null
+                        ? null
+                        : reference.get();
+                if (typePool == null) {
+                    typePool = makeTypePool(classLoader);
+                    typePools.put(classLoader, new SoftReference<TypePool>(typePool));
+                }
+                return typePool;
+            }
+
+            /**
+             * Creates a type pool for a class loader that locates the class file that is currently transformed
+             * by the current thread before querying the class loader. The type pool of a class loader other than the
+             * bootstrap class loader only references its class loader weakly.
+             *
+             * @param classLoader The class loader or {@code null} for the bootstrap class loader.
+             * @return A type pool for the given class loader.
+             */
+            private TypePool makeTypePool(ClassLoader classLoader) {
+                TypePool.ClassLoaderReference classLoaderReference = classLoader == null
+                        ? new TypePool.ClassLoaderReference.Strong(null)
+                        : new TypePool.ClassLoaderReference.Weak(classLoader);
+                return new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                        new ClassFileLocator.Compound(new TransformedClassFileLocator(), new ReferencedClassFileLocator(classLoaderReference)),
+                        classLoaderReference);
+            }
+
+            /**
+             * Rebases a matched class.
+             *
+             * @param classLoader      The class loader of the class or {@code null} for the bootstrap class loader.
+             * @param protectionDomain The protection domain of the class.
+             * @param classFile        The class file of the class.
+             * @param transformer      The transformer to apply.
+             * @return The binary representation of the rebased class.
+             */
+            private byte[] transform(ClassLoader classLoader,
+                                     ProtectionDomain protectionDomain,
+                                     ClassFile classFile,
+                                     Transformer transformer) {
+                ClassFileLocator classFileLocator = new ClassFileLocator.Compound(
+                        new ClassFileLocator.Simple(classFile.getTypeName(), classFile.getBinaryRepresentation()),
+                        new ClassFileLocator.ForClassLoader(classLoader));
+                TypeDescription typeDescription = typePoolFor(classLoader).describe(classFile.getTypeName());
+                DynamicType.Unloaded<?> dynamicType = transformer
+                        .transform(byteBuddy.rebase(typeDescription, classFileLocator), typeDescription)
+                        .make();
+                for (Map.Entry<TypeDescription, LoadedTypeInitializer> entry : dynamicType.getLoadedTypeInitializers().entrySet()) {
+                    if (entry.getValue().isAlive()) {
+                        throw new IllegalStateException("Cannot apply a live type initializer for " + entry.getKey());
+                    }
+                }
+                Map<TypeDescription, byte[]> auxiliaryTypes = dynamicType.getRawAuxiliaryTypes();
+                if (!auxiliaryTypes.isEmpty()) {
+                    if (classLoader == null) {
+                        throw new IllegalStateException("Cannot inject auxiliary types into the bootstrap class loader");
+                    }
+                    new ClassLoaderByteArrayInjector(classLoader, protectionDomain).inject(auxiliaryTypes);
+                }
+                listener.onTransformation(dynamicType);
+                return dynamicType.getBytes();
+            }
+
+            @Override
+            public String toString() {
+                return "AgentBuilder.Default.ExecutingTransformer{" +
+                        "byteBuddy=" + byteBuddy +
+                        ", listener=" + listener +
+                        ", entries=" + entries +
+                        ", typePools=" + typePools +
+                        '}';
+            }
+
+            /**
+             * A class file locator that locates the class file that the current thread is currently transforming.
+             */
+            protected class TransformedClassFileLocator implements ClassFileLocator.Named {
+
+                @Override
+                public InputStream classFileFor(TypeDescription typeDescription) {
+                    return classFileFor(typeDescription.getName());
+                }
+
+                @Override
+                public InputStream classFileFor(String typeName) {
+                    ClassFile classFile = transforming.get();
+                    return classFile == null || !classFile.getTypeName().equals(typeName)
+                            ? null
+                            : new ByteArrayInputStream(classFile.getBinaryRepresentation());
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.Default.ExecutingTransformer.TransformedClassFileLocator{" +
+                            "transformer=" + ExecutingTransformer.this +
+                            '}';
+                }
+            }
+
+            /**
+             * A class file locator that queries a referenced class loader for a type's class file.
+             */
+            protected static class ReferencedClassFileLocator implements ClassFileLocator.Named {
+
+                /**
+                 * A reference to the class loader that is queried for class files.
+                 */
+                private final TypePool.ClassLoaderReference classLoaderReference;
+
+                /**
+                 * Creates a new class file locator for a referenced class loader.
+                 *
+                 * @param classLoaderReference A reference to the class loader that is queried for class files.
+                 */
+                protected ReferencedClassFileLocator(TypePool.ClassLoaderReference classLoaderReference) {
+                    this.classLoaderReference = classLoaderReference;
+                }
+
+                @Override
+                public InputStream classFileFor(TypeDescription typeDescription) {
+                    return classFileFor(typeDescription.getName());
+                }
+
+                @Override
+                public InputStream classFileFor(String typeName) {
+                    return new ClassFileLocator.ForClassLoader(classLoaderReference.getClassLoader()).classFileFor(typeName);
+                }
+
+                @Override
+                public boolean equals(Object other) {
+                    return this == other || !(other == null || getClass() != other.getClass())
+                            && classLoaderReference.equals(((ReferencedClassFileLocator) other).classLoaderReference);
+                }
+
+                @Override
+                public int hashCode() {
+                    return classLoaderReference.hashCode();
+                }
+
+                @Override
+                public String toString() {
+                    return "AgentBuilder.Default.ExecutingTransformer.ReferencedClassFileLocator{" +
+                            "classLoaderReference=" + classLoaderReference +
+                            '}';
+                }
+            }
+        }
+    }
+}
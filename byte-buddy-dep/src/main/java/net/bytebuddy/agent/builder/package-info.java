@@ -0,0 +1,5 @@
+/**
+ * This package contains an agent builder that applies Byte Buddy transformations to classes while they are loaded
+ * by registering a {@link java.lang.instrument.ClassFileTransformer}.
+ */
+package net.bytebuddy.agent.builder;
@@ -5,7 +5,9 @@ import net.bytebuddy.dynamic.loading.ClassLoaderByteArrayInjector;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 
 import java.security.ProtectionDomain;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A strategy for loading a collection of types.
@@ -272,6 +274,223 @@ public interface ClassLoadingStrategy {
         }
     }
 
+    /**
+     * A class loading strategy that first looks up any type by its name in the given class loader where a type
+     * might have been pregenerated at build time, for example by the Byte Buddy Maven plugin. Types are either all
+     * taken from the given class loader or, if any type was not pregenerated, all loaded by a delegate class loading
+     * strategy as an instrumented type cannot see auxiliary types that are defined by another class loader. If the
+     * delegate strategy resolves any of the regenerated types from its parent class loader, such as a parent-first
+     * strategy does for a type that was pregenerated, an exception is thrown. For this to work, any type must be named
+     * deterministically, i.e. a pregenerated type must be given the same name as a type that is created at runtime
+     * from the same configuration. In order to avoid the creation of a type altogether, a type can be looked up by
+     * {@link net.bytebuddy.dynamic.ClassLoadingStrategy.ForPregeneratedTypes#locate(ClassLoader, String)} before
+     * it is created.
+     */
+    static class ForPregeneratedTypes implements ClassLoadingStrategy {
+
+        /**
+         * The class loading strategy to apply for types that were not pregenerated.
+         */
+        private final ClassLoadingStrategy classLoadingStrategy;
+
+        /**
+         * Creates a new class loading strategy for pregenerated types.
+         *
+         * @param classLoadingStrategy The class loading strategy to apply for types that were not pregenerated.
+         */
+        public ForPregeneratedTypes(ClassLoadingStrategy classLoadingStrategy) {
+            this.classLoadingStrategy = classLoadingStrategy;
+        }
+
+        /**
+         * Looks up a pregenerated type without initializing it.
+         *
+         * @param classLoader The class loader to query or {@code null} for the bootstrap class loader.
+         * @param name        The name of the pregenerated type.
+         * @return The pregenerated type or {@code null} if the type was not pregenerated.
+         */
+        public Class<?> locate(ClassLoader classLoader, String name) {
+            try {
+                return Class.forName(name, false, classLoader);
+            } catch (ClassNotFoundException ignored) {
+                return null;
+            }
+        }
+
+        @Override
+        public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+            Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+            for (TypeDescription typeDescription : types.keySet()) {
+                Class<?> type = locate(classLoader, typeDescription.getName());
+                if (type == null) {
+                    return regenerate(classLoader, types);
+                }
+                loadedTypes.put(typeDescription, type);
+            }
+            return loadedTypes;
+        }
+
+        /**
+         * Loads all given types by the delegate class loading strategy and validates that all of them are defined
+         * by the same class loader.
+         *
+         * @param classLoader The class loader that was queried for pregenerated types.
+         * @param types       Byte array representations of the types to load mapped by their descriptions.
+         * @return A map of the given type descriptions pointing to their loaded representations.
+         */
+        private Map<TypeDescription, Class<?>> regenerate(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+            Map<TypeDescription, Class<?>> loadedTypes = classLoadingStrategy.load(classLoader, types);
+            ClassLoader definingClassLoader = null;
+            for (Class<?> type : loadedTypes.values()) {
+                if (definingClassLoader == null) {
+                    definingClassLoader = type.getClassLoader();
+                } else if (definingClassLoader != type.getClassLoader()) {
+                    throw new IllegalStateException("Types are only partially pregenerated and " + classLoadingStrategy
+                            + " resolved some of them from " + classLoader + " - use a child-first strategy instead: " + types.keySet());
+                }
+            }
+            return loadedTypes;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && classLoadingStrategy.equals(((ForPregeneratedTypes) other).classLoadingStrategy);
+        }
+
+        @Override
+        public int hashCode() {
+            return classLoadingStrategy.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ClassLoadingStrategy.ForPregeneratedTypes{classLoadingStrategy=" + classLoadingStrategy + '}';
+        }
+    }
+
+    /**
+     * A class loading strategy that registers all types with a newly created
+     * {@link net.bytebuddy.dynamic.loading.ByteArrayClassLoader} but only defines a subset of these types eagerly.
+     * Any other type is only defined by the byte array class loader once it is resolved for the first time, for
+     * example when an auxiliary type is first used by the instrumented type. When applied via
+     * {@link net.bytebuddy.dynamic.DynamicType.Unloaded#loadLazily(ClassLoader, ClassLoadingStrategy.Lazy)},
+     * only the instrumented type and any auxiliary type with a live
+     * {@link net.bytebuddy.instrumentation.LoadedTypeInitializer} are defined eagerly. When applied as a regular
+     * class loading strategy, all types are defined eagerly.
+     */
+    static class Lazy implements ClassLoadingStrategy {
+
+        /**
+         * A lazy class loading strategy that creates a class loader with parent-first semantics which does not
+         * expose the binary representations of its types as resources.
+         */
+        public static final Lazy WRAPPER = new Lazy(Default.DEFAULT_PROTECTION_DOMAIN,
+                ByteArrayClassLoader.PersistenceHandler.LATENT,
+                Default.PARENT_FIRST);
+
+        /**
+         * A lazy class loading strategy that creates a class loader with child-first semantics which does not
+         * expose the binary representations of its types as resources.
+         */
+        public static final Lazy CHILD_FIRST = new Lazy(Default.DEFAULT_PROTECTION_DOMAIN,
+                ByteArrayClassLoader.PersistenceHandler.LATENT,
+                Default.PARENT_LAST);
+
+        /**
+         * The protection domain to apply where {@code null} references an implicit protection domain.
+         */
+        private final ProtectionDomain protectionDomain;
+
+        /**
+         * The persistence handler to apply.
+         */
+        private final ByteArrayClassLoader.PersistenceHandler persistenceHandler;
+
+        /**
+         * {@code true} if the created class loader should apply child-first semantics.
+         */
+        private final boolean childFirst;
+
+        /**
+         * Creates a new lazy class loading strategy.
+         *
+         * @param protectionDomain   The protection domain to apply where {@code null} references an implicit
+         *                           protection domain.
+         * @param persistenceHandler The persistence handler to apply.
+         * @param childFirst         {@code true} if the created class loader should apply child-first semantics.
+         */
+        public Lazy(ProtectionDomain protectionDomain,
+                    ByteArrayClassLoader.PersistenceHandler persistenceHandler,
+                    boolean childFirst) {
+            this.protectionDomain = protectionDomain;
+            this.persistenceHandler = persistenceHandler;
+            this.childFirst = childFirst;
+        }
+
+        @Override
+        public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+            return load(classLoader, types, types.keySet());
+        }
+
+        /**
+         * Registers all given types with a new class loader but only defines the given eager types.
+         *
+         * @param classLoader The parent class loader.
+         * @param types       Byte array representations of all types to be registered mapped by their descriptions.
+         * @param eagerTypes  The types to define eagerly, all of which must be contained in {@code types}.
+         * @return A map of the eager types pointing to their loaded representations in the iteration order
+         * of the given types.
+         */
+        public Map<TypeDescription, Class<?>> load(ClassLoader classLoader,
+                                                   Map<TypeDescription, byte[]> types,
+                                                   Set<? extends TypeDescription> eagerTypes) {
+            ClassLoader byteArrayClassLoader = ByteArrayClassLoader.of(classLoader,
+                    types,
+                    protectionDomain,
+                    persistenceHandler,
+                    childFirst);
+            Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(eagerTypes.size());
+            for (TypeDescription typeDescription : types.keySet()) {
+                if (eagerTypes.contains(typeDescription)) {
+                    try {
+                        loadedTypes.put(typeDescription, byteArrayClassLoader.loadClass(typeDescription.getName()));
+                    } catch (ClassNotFoundException e) {
+                        throw new IllegalStateException("Cannot load class " + typeDescription, e);
+                    }
+                }
+            }
+            return loadedTypes;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Lazy lazy = (Lazy) other;
+            return childFirst == lazy.childFirst
+                    && persistenceHandler == lazy.persistenceHandler
+                    && !(protectionDomain != null ? !protectionDomain.equals(lazy.protectionDomain) : lazy.protectionDomain != null);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = protectionDomain != null ? protectionDomain.hashCode() : 0;
+            result = 31 * result + persistenceHandler.hashCode();
+            result = 31 * result + (childFirst ? 1 : 0);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "ClassLoadingStrategy.Lazy{" +
+                    "protectionDomain=" + protectionDomain +
+                    ", persistenceHandler=" + persistenceHandler +
+                    ", childFirst=" + childFirst +
+                    '}';
+        }
+    }
+
     /**
      * A {@link net.bytebuddy.dynamic.ClassLoadingStrategy} that applies a default {@link java.security.ProtectionDomain}.
      */
@@ -860,7 +860,7 @@ public interface DynamicType {
                 TypeDescription[] typeDescription = new TypeDescription[interfaceType.length];
                 int index = 0;
                 for (Class<?> type : interfaceType) {
-                    typeDescription[index++] = new TypeDescription.ForLoadedType(type);
+                    typeDescription[index++] = TypeDescription.ForLoadedType.of(type);
                 }
                 return implement(typeDescription);
             }
@@ -869,7 +869,7 @@ public interface DynamicType {
             public FieldValueTarget<S> defineField(String name,
                                                    Class<?> fieldType,
                                                    ModifierContributor.ForField... modifier) {
-                return defineField(name, new TypeDescription.ForLoadedType(fieldType), modifier);
+                return defineField(name, TypeDescription.ForLoadedType.of(fieldType), modifier);
             }
 
             @Override
@@ -878,7 +878,7 @@ public interface DynamicType {
                                                                          List<Class<?>> parameterTypes,
                                                                          ModifierContributor.ForMethod... modifier) {
                 return defineMethod(name,
-                        new TypeDescription.ForLoadedType(returnType),
+                        TypeDescription.ForLoadedType.of(returnType),
                         new TypeList.ForLoadedType(parameterTypes),
                         modifier);
             }
@@ -1156,6 +1156,31 @@ public interface DynamicType {
                                                       List<FieldToken> fieldTokens,
                                                       List<MethodToken> methodTokens);
 
+            /**
+             * Returns the components of this builder's configuration that determine the created type. The naming
+             * strategy and the method lookup engine factory are not included as they do not determine the created
+             * type's members or their instrumentations. The returned list is a fingerprint of the builder's
+             * configuration that can be digested by a {@link net.bytebuddy.utility.StructuralDigest}.
+             *
+             * @return The components of this builder's configuration that determine the created type.
+             */
+            protected List<Object> getConfiguration() {
+                return new ArrayList<Object>(Arrays.<Object>asList(classFileVersion,
+                        targetType,
+                        interfaceTypes,
+                        modifiers,
+                        attributeAppender,
+                        ignoredMethods,
+                        bridgeMethodResolverFactory,
+                        classVisitorWrapperChain,
+                        fieldRegistry,
+                        methodRegistry,
+                        defaultFieldAttributeAppenderFactory,
+                        defaultMethodAttributeAppenderFactory,
+                        fieldTokens,
+                        methodTokens));
+            }
+
             @Override
             public boolean equals(Object other) {
                 if (this == other) return true;
@@ -1243,7 +1268,7 @@ public interface DynamicType {
                                    List<? extends TypeDescription> exceptionTypes,
                                    int modifiers) {
                     this(MethodDescription.CONSTRUCTOR_INTERNAL_NAME,
-                            new TypeDescription.ForLoadedType(void.class),
+                            TypeDescription.ForLoadedType.of(void.class),
                             parameterTypes,
                             exceptionTypes,
                             modifiers);
@@ -2197,7 +2222,10 @@ public interface DynamicType {
         Class<? extends T> getLoaded();
 
         /**
-         * Returns a map of all loaded auxiliary types to this dynamic type.
+         * Returns a map of all loaded auxiliary types to this dynamic type. If this dynamic type was loaded by
+         * {@link DynamicType.Unloaded#loadLazily(ClassLoader, ClassLoadingStrategy.Lazy)}, calling this method
+         * has the side effect of defining any auxiliary type that was not yet defined by its class loader. The
+         * static initializers of these types are however not run.
          *
          * @return A mapping from the fully qualified names of all auxiliary types to their loaded class representations.
          */
@@ -2221,6 +2249,125 @@ public interface DynamicType {
          * @see net.bytebuddy.dynamic.ClassLoadingStrategy.Default
          */
         Loaded<T> load(ClassLoader classLoader, ClassLoadingStrategy classLoadingStrategy);
+
+        /**
+         * Attempts to load this dynamic type where any auxiliary type is only registered with the created class
+         * loader but only defined once it is resolved for the first time. Auxiliary types that require a live
+         * {@link net.bytebuddy.instrumentation.LoadedTypeInitializer} are still defined eagerly. Lazily defined
+         * auxiliary types are resolved by {@link DynamicType.Loaded#getLoadedAuxiliaryTypes()} on demand. Note
+         * that calling this method therefore defines all auxiliary types that were not yet defined such that it
+         * should be avoided if the lazy definition of auxiliary types is desired.
+         *
+         * @param classLoader          The class loader to use for this class loading.
+         * @param classLoadingStrategy The lazy class loader strategy which should be used for this class loading.
+         * @return This dynamic type in its loaded state.
+         */
+        Loaded<T> loadLazily(ClassLoader classLoader, ClassLoadingStrategy.Lazy classLoadingStrategy);
+    }
+
+    /**
+     * A batch of independent dynamic types that are loaded together. This way, many dynamic types can be loaded
+     * by a single class loader in a single pass instead of creating a class loader for each dynamic type. Each
+     * dynamic type of a batch remains a dynamic type of its own: After loading the batch, each dynamic type is
+     * represented by its own {@link net.bytebuddy.dynamic.DynamicType.Loaded} instance that only contains this
+     * dynamic type's own auxiliary types.
+     */
+    static class Batch {
+
+        /**
+         * The dynamic types of this batch.
+         */
+        private final List<? extends Unloaded<?>> dynamicTypes;
+
+        /**
+         * Creates a new batch of dynamic types.
+         *
+         * @param dynamicTypes The dynamic types of this batch.
+         */
+        public Batch(List<? extends Unloaded<?>> dynamicTypes) {
+            this.dynamicTypes = dynamicTypes;
+        }
+
+        /**
+         * Creates a new batch of dynamic types.
+         *
+         * @param dynamicType The dynamic types of this batch.
+         * @return A batch of the given dynamic types.
+         */
+        public static Batch of(Unloaded<?>... dynamicType) {
+            return new Batch(Arrays.asList(dynamicType));
+        }
+
+        /**
+         * Loads all dynamic types of this batch, including their auxiliary types, by a single application of the
+         * given class loading strategy.
+         *
+         * @param classLoader          The class loader to use for this class loading.
+         * @param classLoadingStrategy The class loader strategy which should be used for this class loading.
+         * @return The loaded dynamic types in the order of this batch.
+         */
+        public List<Loaded<?>> load(ClassLoader classLoader, ClassLoadingStrategy classLoadingStrategy) {
+            LinkedHashMap<TypeDescription, byte[]> types = new LinkedHashMap<TypeDescription, byte[]>();
+            for (Unloaded<?> dynamicType : dynamicTypes) {
+                for (Map.Entry<TypeDescription, byte[]> entry : dynamicType.getRawAuxiliaryTypes().entrySet()) {
+                    register(types, entry.getKey(), entry.getValue());
+                }
+                register(types, dynamicType.getTypeDescription(), dynamicType.getBytes());
+            }
+            Map<TypeDescription, Class<?>> loadedTypes = classLoadingStrategy.load(classLoader, types);
+            List<Loaded<?>> loaded = new ArrayList<Loaded<?>>(dynamicTypes.size());
+            for (Unloaded<?> dynamicType : dynamicTypes) {
+                Map<TypeDescription, LoadedTypeInitializer> loadedTypeInitializers = dynamicType.getLoadedTypeInitializers();
+                List<DynamicType> auxiliaryTypes = new ArrayList<DynamicType>();
+                Map<TypeDescription, Class<?>> ownLoadedTypes = new HashMap<TypeDescription, Class<?>>();
+                for (Map.Entry<TypeDescription, byte[]> entry : dynamicType.getRawAuxiliaryTypes().entrySet()) {
+                    auxiliaryTypes.add(new Default(entry.getKey(),
+                            entry.getValue(),
+                            loadedTypeInitializers.get(entry.getKey()),
+                            Collections.<DynamicType>emptyList()));
+                    ownLoadedTypes.put(entry.getKey(), loadedTypes.get(entry.getKey()));
+                }
+                ownLoadedTypes.put(dynamicType.getTypeDescription(), loadedTypes.get(dynamicType.getTypeDescription()));
+                for (Map.Entry<TypeDescription, Class<?>> entry : ownLoadedTypes.entrySet()) {
+                    loadedTypeInitializers.get(entry.getKey()).onLoad(entry.getValue());
+                }
+                loaded.add(new Default.Loaded<Object>(dynamicType.getTypeDescription(),
+                        dynamicType.getBytes(),
+                        loadedTypeInitializers.get(dynamicType.getTypeDescription()),
+                        auxiliaryTypes,
+                        ownLoadedTypes));
+            }
+            return loaded;
+        }
+
+        /**
+         * Registers a type of this batch.
+         *
+         * @param types                The types of this batch that were registered so far.
+         * @param typeDescription      A description of the type to register.
+         * @param binaryRepresentation The binary representation of the type to register.
+         */
+        private static void register(Map<TypeDescription, byte[]> types, TypeDescription typeDescription, byte[] binaryRepresentation) {
+            if (types.put(typeDescription, binaryRepresentation) != null) {
+                throw new IllegalArgumentException(typeDescription + " is contained more than once in a batch");
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && dynamicTypes.equals(((Batch) other).dynamicTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return dynamicTypes.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "DynamicType.Batch{dynamicTypes=" + dynamicTypes + '}';
+        }
     }
 
     /**
@@ -2507,6 +2654,24 @@ public interface DynamicType {
                         initialize(classLoadingStrategy.load(classLoader, types)));
             }
 
+            @Override
+            public DynamicType.Loaded<T> loadLazily(ClassLoader classLoader, ClassLoadingStrategy.Lazy classLoadingStrategy) {
+                LinkedHashMap<TypeDescription, byte[]> types = new LinkedHashMap<TypeDescription, byte[]>(getRawAuxiliaryTypes());
+                types.put(typeDescription, binaryRepresentation);
+                Set<TypeDescription> eagerTypes = new HashSet<TypeDescription>();
+                for (Map.Entry<TypeDescription, LoadedTypeInitializer> entry : getLoadedTypeInitializers().entrySet()) {
+                    if (entry.getValue().isAlive()) {
+                        eagerTypes.add(entry.getKey());
+                    }
+                }
+                eagerTypes.add(typeDescription);
+                return new Default.Loaded<T>(typeDescription,
+                        binaryRepresentation,
+                        loadedTypeInitializer,
+                        auxiliaryTypes,
+                        initialize(classLoadingStrategy.load(classLoader, types, eagerTypes)));
+            }
+
             /**
              * Runs all loaded type initializers for all loaded classes.
              *
@@ -2573,9 +2738,29 @@ public interface DynamicType {
             public Map<TypeDescription, Class<?>> getLoadedAuxiliaryTypes() {
                 Map<TypeDescription, Class<?>> loadedAuxiliaryTypes = new HashMap<TypeDescription, Class<?>>(loadedTypes);
                 loadedAuxiliaryTypes.remove(typeDescription);
+                for (TypeDescription auxiliaryType : getRawAuxiliaryTypes().keySet()) {
+                    if (!auxiliaryType.equals(typeDescription) && !loadedAuxiliaryTypes.containsKey(auxiliaryType)) {
+                        loadedAuxiliaryTypes.put(auxiliaryType, resolve(auxiliaryType));
+                    }
+                }
                 return loadedAuxiliaryTypes;
             }
 
+            /**
+             * Resolves an auxiliary type that was not defined eagerly by the class loader of the main type. This
+             * defines the type if it was not yet defined but does not initialize it.
+             *
+             * @param auxiliaryType The auxiliary type to resolve.
+             * @return The loaded auxiliary type.
+             */
+            private Class<?> resolve(TypeDescription auxiliaryType) {
+                try {
+                    return Class.forName(auxiliaryType.getName(), false, getLoaded().getClassLoader());
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Cannot resolve lazily defined auxiliary type " + auxiliaryType, e);
+                }
+            }
+
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
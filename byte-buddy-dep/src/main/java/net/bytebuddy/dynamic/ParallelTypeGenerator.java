@@ -0,0 +1,150 @@
+package net.bytebuddy.dynamic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Creates independent dynamic types concurrently by submitting the creation of each type to an
+ * {@link java.util.concurrent.ExecutorService}. Any dynamic type is created on a single thread together with its
+ * auxiliary types such that the creation of a single type is not affected. The created types are returned in the
+ * order of their builders, independently of the order in which their creation completes. In order to load all
+ * created types by a single class loader, they can be combined into a {@link net.bytebuddy.dynamic.DynamicType.Batch}.
+ * <p>&nbsp;</p>
+ * All builders must be independent of one another, i.e. a builder must not reference a type that is created by
+ * another builder of the same batch.
+ */
+public class ParallelTypeGenerator {
+
+    /**
+     * The executor service that creates the dynamic types.
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * Creates a new parallel type generator.
+     *
+     * @param executorService The executor service that creates the dynamic types.
+     */
+    public ParallelTypeGenerator(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Creates the dynamic types of the given builders concurrently.
+     *
+     * @param builder The builders of the dynamic types to create.
+     * @return The created dynamic types in the order of the given builders.
+     */
+    public List<DynamicType.Unloaded<?>> make(DynamicType.Builder<?>... builder) {
+        return make(Arrays.asList(builder));
+    }
+
+    /**
+     * Creates the dynamic types of the given builders concurrently. If the creation of any dynamic type fails,
+     * the creation of all other dynamic types that were not yet completed is cancelled and the failure is rethrown.
+     *
+     * @param builders The builders of the dynamic types to create.
+     * @return The created dynamic types in the order of the given builders.
+     */
+    public List<DynamicType.Unloaded<?>> make(List<? extends DynamicType.Builder<?>> builders) {
+        List<Future<DynamicType.Unloaded<?>>> futures = new ArrayList<Future<DynamicType.Unloaded<?>>>(builders.size());
+        try {
+            for (DynamicType.Builder<?> builder : builders) {
+                futures.add(executorService.submit(new Creation(builder)));
+            }
+            List<DynamicType.Unloaded<?>> dynamicTypes = new ArrayList<DynamicType.Unloaded<?>>(builders.size());
+            for (Future<DynamicType.Unloaded<?>> future : futures) {
+                dynamicTypes.add(future.get());
+            }
+            return dynamicTypes;
+        } catch (InterruptedException exception) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the creation of dynamic types", exception);
+        } catch (ExecutionException exception) {
+            cancel(futures);
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            } else if (exception.getCause() instanceof Error) {
+                throw (Error) exception.getCause();
+            }
+            throw new IllegalStateException("Could not create dynamic type", exception.getCause());
+        } catch (RuntimeException exception) {
+            cancel(futures);
+            throw exception;
+        }
+    }
+
+    /**
+     * Cancels the creation of all dynamic types that is not yet completed.
+     *
+     * @param futures The futures representing the creation of dynamic types.
+     */
+    private static void cancel(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && executorService.equals(((ParallelTypeGenerator) other).executorService);
+    }
+
+    @Override
+    public int hashCode() {
+        return executorService.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelTypeGenerator{executorService=" + executorService + '}';
+    }
+
+    /**
+     * A callable that creates a dynamic type from a builder.
+     */
+    protected static class Creation implements Callable<DynamicType.Unloaded<?>> {
+
+        /**
+         * The builder of the dynamic type to create.
+         */
+        private final DynamicType.Builder<?> builder;
+
+        /**
+         * Creates a new creation of a dynamic type.
+         *
+         * @param builder The builder of the dynamic type to create.
+         */
+        protected Creation(DynamicType.Builder<?> builder) {
+            this.builder = builder;
+        }
+
+        @Override
+        public DynamicType.Unloaded<?> call() {
+            return builder.make();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && builder.equals(((Creation) other).builder);
+        }
+
+        @Override
+        public int hashCode() {
+            return builder.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ParallelTypeGenerator.Creation{builder=" + builder + '}';
+        }
+    }
+}
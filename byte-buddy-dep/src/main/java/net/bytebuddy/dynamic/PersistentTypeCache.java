@@ -0,0 +1,599 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.dynamic.scaffold.inline.ClassFileLocator;
+import net.bytebuddy.instrumentation.LoadedTypeInitializer;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.pool.TypePool;
+import net.bytebuddy.utility.StructuralDigest;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Type;
+
+import java.io.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * A cache that persists the class files of dynamic types such that a type does not need to be created again when it
+ * is requested in another run of the same application. Any entry of this cache is identified by a key that is a
+ * {@link net.bytebuddy.utility.StructuralDigest} of the builder that creates the type. This digest covers the builder's
+ * naming strategy and its entire configuration, including any registered fields and methods and their
+ * instrumentations. Additionally, any
+ * entry records a checksum of the class file of every type that the created type is derived from or that the created
+ * type or any of its auxiliary types reference, such as the created type's super classes, all interfaces that it
+ * inherits, the type itself if it is redefined and any interceptor or delegation target. When any of these class files
+ * changes, the cached entry is considered stale and is replaced by a newly created type. An entry that cannot be read,
+ * for example because it was truncated or corrupted, is treated as if it was not cached and is removed.
+ * <p>&nbsp;</p>
+ * A type is only cached if neither the type nor any of its auxiliary types require a live
+ * {@link net.bytebuddy.instrumentation.LoadedTypeInitializer} as such an initializer cannot be persisted. A type is
+ * neither cached if its builder's configuration has no defined structure, for example because it references a
+ * component that holds a type of the Java class library such as a {@link java.util.Random}, as such a configuration
+ * cannot be recognized in another run. Also, a type should be named deterministically, for example by
+ * a {@link net.bytebuddy.NamingStrategy.SuffixingHash}, as a cached type is otherwise returned with a different name
+ * than a newly created type.
+ */
+public class PersistentTypeCache {
+
+    /**
+     * A marker that introduces a persisted cache entry.
+     */
+    private static final int MAGIC = 0xB0DDCAC7;
+
+    /**
+     * The algorithm that is used for creating checksums of class files.
+     */
+    private static final String CHECKSUM_ALGORITHM = "SHA-1";
+
+    /**
+     * The tag of a {@code CONSTANT_Class} entry of a class file's constant pool.
+     */
+    private static final int CONSTANT_CLASS = 7;
+
+    /**
+     * The size of a reading buffer.
+     */
+    private static final int BUFFER_SIZE = 1024;
+
+    /**
+     * The storage for the persisted entries of this cache.
+     */
+    private final Storage storage;
+
+    /**
+     * The class file locator for locating the class files of the types a cached type is created from.
+     */
+    private final ClassFileLocator.Named classFileLocator;
+
+    /**
+     * Creates a new persistent type cache which stores its entries in the given directory and which locates class
+     * files on the class path.
+     *
+     * @param directory The directory in which the cache entries are stored.
+     */
+    public PersistentTypeCache(File directory) {
+        this(new Storage.ForDirectory(directory), ClassFileLocator.Default.CLASS_PATH);
+    }
+
+    /**
+     * Creates a new persistent type cache.
+     *
+     * @param storage          The storage for the persisted entries of this cache.
+     * @param classFileLocator The class file locator for locating the class files of the types a cached type is
+     *                         created from.
+     */
+    public PersistentTypeCache(Storage storage, ClassFileLocator classFileLocator) {
+        this.storage = storage;
+        this.classFileLocator = ClassFileLocator.Named.Adapter.of(classFileLocator);
+    }
+
+    /**
+     * Derives the key of the cache entry for a type that is created by the given builder.
+     *
+     * @param builder The builder that creates the type.
+     * @return A key of hexadecimal digits that uniquely describes the configuration of the given builder or
+     * {@code null} if the configuration has no defined structure.
+     */
+    protected static String keyOf(DynamicType.Builder<?> builder) {
+        while (builder instanceof DynamicType.Builder.AbstractBase<?>.AbstractDelegatingBuilder<?>) {
+            builder = ((DynamicType.Builder.AbstractBase<?>.AbstractDelegatingBuilder<?>) builder).materialize();
+        }
+        if (!(builder instanceof DynamicType.Builder.AbstractBase<?>)) {
+            return null;
+        }
+        byte[] digest = StructuralDigest.of(Arrays.<Object>asList(builder.getClass(),
+                ((DynamicType.Builder.AbstractBase<?>) builder).namingStrategy,
+                ((DynamicType.Builder.AbstractBase<?>) builder).getConfiguration()));
+        return digest == null
+                ? null
+                : StructuralDigest.toHexString(digest);
+    }
+
+    /**
+     * Returns a cached type for the configuration of the given builder or creates a type from the given builder if
+     * no valid entry is cached. A newly created type is cached if possible.
+     *
+     * @param builder The builder to create the type from if no valid entry is cached.
+     * @param <T>     The loaded type of the created type.
+     * @return An unloaded dynamic type that is read from this cache or that was newly created.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> DynamicType.Unloaded<T> make(DynamicType.Builder<T> builder) {
+        String key = keyOf(builder);
+        if (key == null) {
+            return builder.make();
+        }
+        DynamicType.Unloaded<?> dynamicType = find(key);
+        if (dynamicType == null) {
+            DynamicType.Unloaded<T> createdType = builder.make();
+            store(key, createdType);
+            return createdType;
+        }
+        return (DynamicType.Unloaded<T>) dynamicType;
+    }
+
+    /**
+     * Looks up a cached type. Stale, truncated or otherwise unreadable entries are removed from the storage.
+     *
+     * @param key A key that uniquely describes the configuration of the cached type.
+     * @return The cached type or {@code null} if no valid entry is cached for the given key.
+     */
+    protected DynamicType.Unloaded<?> find(String key) {
+        byte[] entry;
+        try {
+            entry = storage.read(key);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not read cache entry for " + key, exception);
+        }
+        if (entry == null) {
+            return null;
+        }
+        DynamicType.Unloaded<?> dynamicType;
+        try {
+            dynamicType = parse(key, entry);
+        } catch (IOException ignored) {
+            dynamicType = null;
+        } catch (RuntimeException ignored) {
+            dynamicType = null;
+        }
+        if (dynamicType == null) {
+            remove(key);
+        }
+        return dynamicType;
+    }
+
+    /**
+     * Parses a persisted entry.
+     *
+     * @param key   A key that uniquely describes the configuration of the cached type.
+     * @param entry The persisted entry.
+     * @return The cached type or {@code null} if the entry is stale or does not represent the given key.
+     * @throws IOException If the entry is truncated or corrupted.
+     */
+    private DynamicType.Unloaded<?> parse(String key, byte[] entry) throws IOException {
+        DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(entry));
+        if (inputStream.readInt() != MAGIC || !inputStream.readUTF().equals(key)) {
+            return null;
+        }
+        int originCount = readLength(inputStream);
+        for (int index = 0; index < originCount; index++) {
+            String name = inputStream.readUTF();
+            byte[] checksum = new byte[readLength(inputStream)];
+            inputStream.readFully(checksum);
+            if (!Arrays.equals(checksum, checksumOf(name))) {
+                return null;
+            }
+        }
+        Map<String, byte[]> types = new LinkedHashMap<String, byte[]>();
+        int typeCount = readLength(inputStream);
+        if (typeCount == 0) {
+            throw new StreamCorruptedException("Cache entry for " + key + " does not contain a type");
+        }
+        for (int index = 0; index < typeCount; index++) {
+            String name = inputStream.readUTF();
+            byte[] binaryRepresentation = new byte[readLength(inputStream)];
+            inputStream.readFully(binaryRepresentation);
+            types.put(name, binaryRepresentation);
+        }
+        if (inputStream.available() > 0) {
+            throw new StreamCorruptedException("Cache entry for " + key + " contains trailing data");
+        }
+        return resolve(types);
+    }
+
+    /**
+     * Reads a length or a count of a persisted entry. As any counted element occupies at least one byte, a valid
+     * length never exceeds the number of bytes that remain to be read.
+     *
+     * @param inputStream The input stream of the entry.
+     * @return The length that was read.
+     * @throws IOException If the length is negative or exceeds the remaining bytes of the entry.
+     */
+    private static int readLength(DataInputStream inputStream) throws IOException {
+        int length = inputStream.readInt();
+        if (length < 0 || length > inputStream.available()) {
+            throw new StreamCorruptedException("Illegal length of cache entry element: " + length);
+        }
+        return length;
+    }
+
+    /**
+     * Stores a created type in this cache unless it requires a live loaded type initializer.
+     *
+     * @param key         A key that uniquely describes the configuration of the given type.
+     * @param dynamicType The type to store.
+     * @return {@code true} if the type was stored.
+     */
+    protected boolean store(String key, DynamicType dynamicType) {
+        if (dynamicType.hasAliveLoadedTypeInitializers()) {
+            return false;
+        }
+        try {
+            ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+            DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream);
+            outputStream.writeInt(MAGIC);
+            outputStream.writeUTF(key);
+            List<String> origins = originsOf(dynamicType);
+            outputStream.writeInt(origins.size());
+            for (String origin : origins) {
+                byte[] checksum = checksumOf(origin);
+                outputStream.writeUTF(origin);
+                outputStream.writeInt(checksum.length);
+                outputStream.write(checksum);
+            }
+            Map<TypeDescription, byte[]> auxiliaryTypes = dynamicType.getRawAuxiliaryTypes();
+            outputStream.writeInt(auxiliaryTypes.size() + 1);
+            write(outputStream, dynamicType.getTypeDescription(), dynamicType.getBytes());
+            for (Map.Entry<TypeDescription, byte[]> entry : auxiliaryTypes.entrySet()) {
+                write(outputStream, entry.getKey(), entry.getValue());
+            }
+            outputStream.close();
+            storage.write(key, byteArrayOutputStream.toByteArray());
+            return true;
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not write cache entry for " + key, exception);
+        }
+    }
+
+    /**
+     * Removes a cached entry.
+     *
+     * @param key A key that uniquely describes the configuration of the cached type.
+     */
+    protected void remove(String key) {
+        try {
+            storage.remove(key);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Could not remove cache entry for " + key, exception);
+        }
+    }
+
+    /**
+     * Writes a type to an output stream.
+     *
+     * @param outputStream         The output stream to write to.
+     * @param typeDescription      A description of the type to write.
+     * @param binaryRepresentation The type's binary representation.
+     * @throws IOException If an I/O exception occurs.
+     */
+    private static void write(DataOutputStream outputStream,
+                              TypeDescription typeDescription,
+                              byte[] binaryRepresentation) throws IOException {
+        outputStream.writeUTF(typeDescription.getName());
+        outputStream.writeInt(binaryRepresentation.length);
+        outputStream.write(binaryRepresentation);
+    }
+
+    /**
+     * Returns the names of the types a type is created from.
+     *
+     * @param dynamicType The created type.
+     * @return The names of the created type, all of its super classes, all interfaces it inherits and all types
+     * that are referenced by the created type or by any of its auxiliary types, excluding the auxiliary types.
+     */
+    private static List<String> originsOf(DynamicType dynamicType) {
+        Set<String> origins = new LinkedHashSet<String>();
+        LinkedList<TypeDescription> remainingTypes = new LinkedList<TypeDescription>();
+        remainingTypes.add(dynamicType.getTypeDescription());
+        while (!remainingTypes.isEmpty()) {
+            TypeDescription currentType = remainingTypes.removeFirst();
+            if (origins.add(currentType.getName())) {
+                if (currentType.getSupertype() != null) {
+                    remainingTypes.add(currentType.getSupertype());
+                }
+                remainingTypes.addAll(currentType.getInterfaces());
+            }
+        }
+        Map<TypeDescription, byte[]> auxiliaryTypes = dynamicType.getRawAuxiliaryTypes();
+        Set<String> referencedTypes = referencesOf(dynamicType.getBytes());
+        for (byte[] binaryRepresentation : auxiliaryTypes.values()) {
+            referencedTypes.addAll(referencesOf(binaryRepresentation));
+        }
+        for (TypeDescription auxiliaryType : auxiliaryTypes.keySet()) {
+            referencedTypes.remove(auxiliaryType.getName());
+        }
+        origins.addAll(referencedTypes);
+        return new ArrayList<String>(origins);
+    }
+
+    /**
+     * Returns the names of all non-array types that are referenced by a {@code CONSTANT_Class} entry of a class
+     * file's constant pool. This includes the type itself, its direct super types and any type of which a member is
+     * accessed, such as an interceptor or a delegation target. The element type of a referenced array is included.
+     *
+     * @param binaryRepresentation The class file to inspect.
+     * @return The names of all types that are referenced by the given class file.
+     */
+    private static Set<String> referencesOf(byte[] binaryRepresentation) {
+        ClassReader classReader = new ClassReader(binaryRepresentation);
+        char[] buffer = new char[classReader.getMaxStringLength()];
+        Set<String> referencedTypes = new LinkedHashSet<String>();
+        for (int index = 1; index < classReader.getItemCount(); index++) {
+            int offset = classReader.getItem(index);
+            if (offset > 0 && classReader.b[offset - 1] == CONSTANT_CLASS) {
+                Type type = Type.getObjectType(classReader.readUTF8(offset, buffer));
+                if (type.getSort() == Type.ARRAY) {
+                    type = type.getElementType();
+                }
+                if (type.getSort() == Type.OBJECT) {
+                    referencedTypes.add(type.getClassName());
+                }
+            }
+        }
+        return referencedTypes;
+    }
+
+    /**
+     * Creates a checksum of the class file of a type.
+     *
+     * @param name The name of the type.
+     * @return A checksum of the type's class file or an empty array if no class file is found.
+     * @throws IOException If an I/O exception occurs.
+     */
+    private byte[] checksumOf(String name) throws IOException {
+        InputStream inputStream = classFileLocator.classFileFor(name);
+        if (inputStream == null) {
+            return new byte[0];
+        }
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                messageDigest.update(buffer, 0, length);
+            }
+            return messageDigest.digest();
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Cannot create checksums without " + CHECKSUM_ALGORITHM, exception);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Resolves a dynamic type from the class files of a cache entry.
+     *
+     * @param types The class files of a cache entry by their type names where the first entry represents
+     *              the main type.
+     * @return An unloaded dynamic type that represents the given class files.
+     */
+    private DynamicType.Unloaded<?> resolve(Map<String, byte[]> types) {
+        TypePool typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                new ClassFileLocator.Compound(new EntryClassFileLocator(types), classFileLocator),
+                (ClassLoader) null);
+        Iterator<Map.Entry<String, byte[]>> iterator = types.entrySet().iterator();
+        Map.Entry<String, byte[]> mainType = iterator.next();
+        List<DynamicType> auxiliaryTypes = new ArrayList<DynamicType>(types.size() - 1);
+        while (iterator.hasNext()) {
+            Map.Entry<String, byte[]> auxiliaryType = iterator.next();
+            auxiliaryTypes.add(new DynamicType.Default(typePool.describe(auxiliaryType.getKey()),
+                    auxiliaryType.getValue(),
+                    LoadedTypeInitializer.NoOp.INSTANCE,
+                    Collections.<DynamicType>emptyList()));
+        }
+        return new DynamicType.Default.Unloaded<Object>(typePool.describe(mainType.getKey()),
+                mainType.getValue(),
+                LoadedTypeInitializer.NoOp.INSTANCE,
+                auxiliaryTypes);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && storage.equals(((PersistentTypeCache) other).storage)
+                && classFileLocator.equals(((PersistentTypeCache) other).classFileLocator);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * storage.hashCode() + classFileLocator.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentTypeCache{" +
+                "storage=" + storage +
+                ", classFileLocator=" + classFileLocator +
+                '}';
+    }
+
+    /**
+     * A storage for the persisted entries of a {@link net.bytebuddy.dynamic.PersistentTypeCache}.
+     */
+    public static interface Storage {
+
+        /**
+         * Reads a persisted entry.
+         *
+         * @param key The key of the entry.
+         * @return The persisted entry or {@code null} if no such entry exists.
+         * @throws IOException If an I/O exception occurs.
+         */
+        byte[] read(String key) throws IOException;
+
+        /**
+         * Persists an entry and replaces any previous entry of the same key.
+         *
+         * @param key   The key of the entry.
+         * @param entry The entry to persist.
+         * @throws IOException If an I/O exception occurs.
+         */
+        void write(String key, byte[] entry) throws IOException;
+
+        /**
+         * Removes a persisted entry if it exists.
+         *
+         * @param key The key of the entry.
+         * @throws IOException If an I/O exception occurs.
+         */
+        void remove(String key) throws IOException;
+
+        /**
+         * A storage that persists each entry in a file of a given directory. The file is named by the entry's key
+         * which must therefore be a valid file name. Any key that is created by a
+         * {@link net.bytebuddy.dynamic.PersistentTypeCache} only consists of hexadecimal digits.
+         */
+        static class ForDirectory implements Storage {
+
+            /**
+             * The file name extension of cache entries.
+             */
+            private static final String FILE_EXTENSION = ".cache";
+
+            /**
+             * The file name extension of the temporary files of cache entries that are not yet completely written.
+             */
+            private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+            /**
+             * The directory in which the entries are stored.
+             */
+            private final File directory;
+
+            /**
+             * Creates a new storage for a directory.
+             *
+             * @param directory The directory in which the entries are stored.
+             */
+            public ForDirectory(File directory) {
+                this.directory = directory;
+            }
+
+            @Override
+            public byte[] read(String key) throws IOException {
+                File file = fileFor(key);
+                if (!file.isFile()) {
+                    return null;
+                }
+                InputStream inputStream = new FileInputStream(file);
+                try {
+                    ByteArrayOutputStream outputStream = new ByteArrayOutputStream((int) file.length());
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int length;
+                    while ((length = inputStream.read(buffer)) != -1) {
+                        outputStream.write(buffer, 0, length);
+                    }
+                    return outputStream.toByteArray();
+                } finally {
+                    inputStream.close();
+                }
+            }
+
+            @Override
+            public void write(String key, byte[] entry) throws IOException {
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    throw new IOException("Could not create directory " + directory);
+                }
+                File file = fileFor(key);
+                File temporary = File.createTempFile(file.getName(), TEMPORARY_FILE_EXTENSION, directory);
+                try {
+                    OutputStream outputStream = new FileOutputStream(temporary);
+                    try {
+                        outputStream.write(entry);
+                    } finally {
+                        outputStream.close();
+                    }
+                    if (file.exists() && !file.delete() || !temporary.renameTo(file)) {
+                        throw new IOException("Could not write " + file);
+                    }
+                } finally {
+                    if (temporary.exists() && !temporary.delete()) {
+                        temporary.deleteOnExit();
+                    }
+                }
+            }
+
+            @Override
+            public void remove(String key) throws IOException {
+                File file = fileFor(key);
+                if (file.exists() && !file.delete()) {
+                    throw new IOException("Could not delete " + file);
+                }
+            }
+
+            /**
+             * Returns the file that stores the entry of a given key.
+             *
+             * @param key The key of the entry.
+             * @return The file that stores the entry of the given key.
+             */
+            private File fileFor(String key) {
+                return new File(directory, key + FILE_EXTENSION);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && directory.equals(((ForDirectory) other).directory);
+            }
+
+            @Override
+            public int hashCode() {
+                return directory.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "PersistentTypeCache.Storage.ForDirectory{directory=" + directory + '}';
+            }
+        }
+    }
+
+    /**
+     * A class file locator for the class files of a cache entry.
+     */
+    private static class EntryClassFileLocator implements ClassFileLocator.Named {
+
+        /**
+         * The class files of a cache entry by their type names.
+         */
+        private final Map<String, byte[]> types;
+
+        /**
+         * Creates a new class file locator for a cache entry.
+         *
+         * @param types The class files of a cache entry by their type names.
+         */
+        private EntryClassFileLocator(Map<String, byte[]> types) {
+            this.types = types;
+        }
+
+        @Override
+        public InputStream classFileFor(TypeDescription typeDescription) {
+            return classFileFor(typeDescription.getName());
+        }
+
+        @Override
+        public InputStream classFileFor(String typeName) {
+            byte[] binaryRepresentation = types.get(typeName);
+            return binaryRepresentation == null
+                    ? null
+                    : new ByteArrayInputStream(binaryRepresentation);
+        }
+
+        @Override
+        public String toString() {
+            return "PersistentTypeCache.EntryClassFileLocator{types=" + types.keySet() + '}';
+        }
+    }
+}
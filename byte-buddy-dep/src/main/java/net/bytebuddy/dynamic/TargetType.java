@@ -11,7 +11,7 @@ public final class TargetType {
     /**
      * A description representation of the {@link net.bytebuddy.dynamic.TargetType}.
      */
-    public static final TypeDescription DESCRIPTION = new TypeDescription.ForLoadedType(TargetType.class);
+    public static final TypeDescription DESCRIPTION = TypeDescription.ForLoadedType.of(TargetType.class);
 
     /**
      * As the {@link net.bytebuddy.dynamic.TargetType} is only to be used as a marker, its constructor is hidden.
@@ -0,0 +1,398 @@
+package net.bytebuddy.dynamic;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A cache for dynamically created types which maps a class loader and a key describing a type's configuration to
+ * the type that was created for this configuration. As any part of Byte Buddy's configuration, including a
+ * {@link net.bytebuddy.ByteBuddy} instance, a {@link net.bytebuddy.dynamic.DynamicType.Builder} and any of Byte
+ * Buddy's {@link net.bytebuddy.instrumentation.Instrumentation}s, implements value equality, such a configuration
+ * can be used as a key for this cache. Class loaders are referenced weakly and cached types are referenced softly
+ * or weakly, depending on the cache's {@link net.bytebuddy.dynamic.TypeCache.Sort}.
+ * <p>&nbsp;</p>
+ * <b>Important</b>: Keys are referenced strongly for as long as their class loader is alive. A key must therefore
+ * never reference the class loader it is registered for, neither directly nor by referencing any of the class
+ * loader's types or instances of such types. Otherwise, the class loader remains strongly reachable from this cache
+ * and is never collected. A configuration that only references types of the class loader's parents fulfills this
+ * requirement. Additionally, a softly referenced type keeps its class loader softly reachable until the garbage
+ * collector clears soft references due to memory pressure. Applications that require a class loader to become
+ * collectable as soon as it is no longer used should use a cache of {@link net.bytebuddy.dynamic.TypeCache.Sort#WEAK}
+ * references.
+ * <p>&nbsp;</p>
+ * This cache is thread-safe. Entries are distributed over a fixed number of segments which are locked separately.
+ * When a type is requested concurrently for the same class loader and key, the type is only created once while
+ * all other threads wait for its creation.
+ *
+ * @param <T> The type of the keys that describe a cached type's configuration.
+ */
+public class TypeCache<T> {
+
+    /**
+     * The default number of segments of a type cache.
+     */
+    public static final int DEFAULT_SEGMENT_COUNT = 16;
+
+    /**
+     * The sort of references that this type cache uses for referencing cached types.
+     */
+    private final Sort sort;
+
+    /**
+     * The segments of this type cache.
+     */
+    private final Segment<T>[] segments;
+
+    /**
+     * Creates a new type cache with the default number of segments that references cached types softly.
+     */
+    public TypeCache() {
+        this(Sort.SOFT);
+    }
+
+    /**
+     * Creates a new type cache with the default number of segments.
+     *
+     * @param sort The sort of references that this type cache uses for referencing cached types.
+     */
+    public TypeCache(Sort sort) {
+        this(sort, DEFAULT_SEGMENT_COUNT);
+    }
+
+    /**
+     * Creates a new type cache that references cached types softly.
+     *
+     * @param segmentCount The number of segments of this type cache where each segment is locked separately.
+     */
+    public TypeCache(int segmentCount) {
+        this(Sort.SOFT, segmentCount);
+    }
+
+    /**
+     * Creates a new type cache.
+     *
+     * @param sort         The sort of references that this type cache uses for referencing cached types.
+     * @param segmentCount The number of segments of this type cache where each segment is locked separately.
+     */
+    @SuppressWarnings("unchecked")
+    public TypeCache(Sort sort, int segmentCount) {
+        if (segmentCount < 1) {
+            throw new IllegalArgumentException("A type cache requires at least one segment: " + segmentCount);
+        }
+        this.sort = sort;
+        segments = (Segment<T>[]) new Segment<?>[segmentCount];
+        for (int index = 0; index < segmentCount; index++) {
+            segments[index] = new Segment<T>();
+        }
+    }
+
+    /**
+     * Looks up a previously cached type.
+     *
+     * @param classLoader The class loader for which the type was cached or {@code null} for the bootstrap class loader.
+     * @param key         The key that describes the type's configuration.
+     * @return The cached type or {@code null} if no such type is cached.
+     */
+    public Class<?> find(ClassLoader classLoader, T key) {
+        Segment<T> segment = segmentFor(classLoader, key);
+        synchronized (segment) {
+            return segment.find(classLoader, key);
+        }
+    }
+
+    /**
+     * Caches a type unless another type was already cached for the given class loader and key.
+     *
+     * @param classLoader The class loader for which the type is cached or {@code null} for the bootstrap class loader.
+     * @param key         The key that describes the type's configuration. The key must not reference the given
+     *                    class loader or any of its types.
+     * @param type        The type to cache.
+     * @return The type that is cached for the given class loader and key after this operation.
+     */
+    public Class<?> insert(ClassLoader classLoader, T key, Class<?> type) {
+        Segment<T> segment = segmentFor(classLoader, key);
+        synchronized (segment) {
+            Class<?> cachedType = segment.find(classLoader, key);
+            if (cachedType != null) {
+                return cachedType;
+            }
+            segment.put(classLoader, key, sort.wrap(type));
+            return type;
+        }
+    }
+
+    /**
+     * Looks up a cached type or creates and caches a type if no such type is cached. If several threads request
+     * a type for the same class loader and key concurrently, the type is only created once. The given type
+     * creator must not request the type that it creates from this cache.
+     *
+     * @param classLoader The class loader for which the type is cached or {@code null} for the bootstrap class loader.
+     * @param key         The key that describes the type's configuration. The key must not reference the given
+     *                    class loader or any of its types.
+     * @param typeCreator A callable that creates the type if no type is cached.
+     * @return The cached or the newly created type.
+     */
+    public Class<?> findOrInsert(ClassLoader classLoader, T key, Callable<Class<?>> typeCreator) {
+        Segment<T> segment = segmentFor(classLoader, key);
+        FutureTask<Class<?>> creation;
+        boolean owner = false;
+        synchronized (segment) {
+            Object entry = segment.get(classLoader, key);
+            if (entry instanceof FutureTask<?>) {
+                @SuppressWarnings("unchecked")
+                FutureTask<Class<?>> pendingCreation = (FutureTask<Class<?>>) entry;
+                creation = pendingCreation;
+            } else {
+                Class<?> cachedType = Segment.resolve(entry);
+                if (cachedType != null) {
+                    return cachedType;
+                }
+                creation = new FutureTask<Class<?>>(typeCreator);
+                segment.put(classLoader, key, creation);
+                owner = true;
+            }
+        }
+        if (owner) {
+            creation.run();
+        }
+        try {
+            Class<?> type = creation.get();
+            if (owner) {
+                synchronized (segment) {
+                    if (segment.get(classLoader, key) == creation) {
+                        segment.put(classLoader, key, sort.wrap(type));
+                    }
+                }
+            }
+            return type;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the creation of a type for " + key, exception);
+        } catch (ExecutionException exception) {
+            if (owner) {
+                synchronized (segment) {
+                    if (segment.get(classLoader, key) == creation) {
+                        segment.remove(classLoader, key);
+                    }
+                }
+            }
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            } else if (exception.getCause() instanceof Error) {
+                throw (Error) exception.getCause();
+            }
+            throw new IllegalStateException("Could not create type for " + key, exception.getCause());
+        }
+    }
+
+    /**
+     * Removes all types that were cached for a given class loader.
+     *
+     * @param classLoader The class loader for which all cached types are removed or {@code null} for
+     *                    the bootstrap class loader.
+     */
+    public void clear(ClassLoader classLoader) {
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                segment.clear(classLoader);
+            }
+        }
+    }
+
+    /**
+     * Removes all cached types.
+     */
+    public void clear() {
+        for (Segment<T> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Locates the segment that is responsible for a given class loader and key.
+     *
+     * @param classLoader The class loader of the entry.
+     * @param key         The key of the entry.
+     * @return The segment that is responsible for the given class loader and key.
+     */
+    private Segment<T> segmentFor(ClassLoader classLoader, T key) {
+        int hash = 31 * System.identityHashCode(classLoader) + key.hashCode();
+        hash ^= (hash >>> 20) ^ (hash >>> 12);
+        hash ^= (hash >>> 7) ^ (hash >>> 4);
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    @Override
+    public String toString() {
+        return "TypeCache{" +
+                "sort=" + sort +
+                ", segments=" + segments.length +
+                '}';
+    }
+
+    /**
+     * Determines the sort of references that a type cache uses for referencing cached types.
+     */
+    public static enum Sort {
+
+        /**
+         * Cached types are referenced weakly. A cached type and its class loader are collected as soon as the type
+         * is no longer referenced outside of the cache.
+         */
+        WEAK {
+            @Override
+            protected Reference<Class<?>> wrap(Class<?> type) {
+                return new WeakReference<Class<?>>(type);
+            }
+        },
+
+        /**
+         * Cached types are referenced softly. A cached type and its class loader are only collected once the
+         * garbage collector clears soft references due to memory pressure.
+         */
+        SOFT {
+            @Override
+            protected Reference<Class<?>> wrap(Class<?> type) {
+                return new SoftReference<Class<?>>(type);
+            }
+        };
+
+        /**
+         * Wraps a type in a reference of this sort.
+         *
+         * @param type The type to wrap.
+         * @return A reference of this sort to the given type.
+         */
+        protected abstract Reference<Class<?>> wrap(Class<?> type);
+    }
+
+    /**
+     * A segment of a type cache. A segment is not thread-safe and must only be accessed while holding its monitor.
+     * Any entry of a segment is either a reference to a cached type or a future representing a type's
+     * pending creation.
+     *
+     * @param <S> The type of the keys that describe a cached type's configuration.
+     */
+    private static class Segment<S> {
+
+        /**
+         * The entries of this segment by their class loader which is referenced weakly. The entries of a class
+         * loader must not reference the class loader strongly as it would otherwise never be collected.
+         */
+        private final Map<ClassLoader, Map<S, Object>> entries;
+
+        /**
+         * Creates a new empty segment.
+         */
+        private Segment() {
+            entries = new WeakHashMap<ClassLoader, Map<S, Object>>();
+        }
+
+        /**
+         * Resolves a cached type from an entry.
+         *
+         * @param entry The entry to resolve or {@code null} if no entry exists.
+         * @return The cached type or {@code null} if the entry does not represent a type that is still available.
+         */
+        private static Class<?> resolve(Object entry) {
+            if (entry instanceof Reference<?>) {
+                return (Class<?>) ((Reference<?>) entry).get();
+            } else {
+                return null;
+            }
+        }
+
+        /**
+         * Returns the entry for a given class loader and key.
+         *
+         * @param classLoader The class loader of the entry.
+         * @param key         The key of the entry.
+         * @return The entry or {@code null} if no such entry exists.
+         */
+        private Object get(ClassLoader classLoader, S key) {
+            Map<S, Object> classLoaderEntries = entries.get(classLoader);
+            return classLoaderEntries == null
+                    ? null
+                    : classLoaderEntries.get(key);
+        }
+
+        /**
+         * Returns the cached type for a given class loader and key. Any entry of a type that was garbage
+         * collected is removed.
+         *
+         * @param classLoader The class loader of the entry.
+         * @param key         The key of the entry.
+         * @return The cached type or {@code null} if no such type is cached.
+         */
+        private Class<?> find(ClassLoader classLoader, S key) {
+            Object entry = get(classLoader, key);
+            Class<?> type = resolve(entry);
+            if (type == null && entry instanceof Reference<?>) {
+                remove(classLoader, key);
+            }
+            return type;
+        }
+
+        /**
+         * Registers an entry for a given class loader and key.
+         *
+         * @param classLoader The class loader of the entry.
+         * @param key         The key of the entry.
+         * @param entry       The entry to register.
+         */
+        private void put(ClassLoader classLoader, S key, Object entry) {
+            Map<S, Object> classLoaderEntries = entries.get(classLoader);
+            if (classLoaderEntries == null) {
+                classLoaderEntries = new HashMap<S, Object>();
+                entries.put(classLoader, classLoaderEntries);
+            }
+            classLoaderEntries.put(key, entry);
+        }
+
+        /**
+         * Removes the entry of a given class loader and key.
+         *
+         * @param classLoader The class loader of the entry.
+         * @param key         The key of the entry.
+         */
+        private void remove(ClassLoader classLoader, S key) {
+            Map<S, Object> classLoaderEntries = entries.get(classLoader);
+            if (classLoaderEntries != null) {
+                classLoaderEntries.remove(key);
+                if (classLoaderEntries.isEmpty()) {
+                    entries.remove(classLoader);
+                }
+            }
+        }
+
+        /**
+         * Removes all entries of a given class loader.
+         *
+         * @param classLoader The class loader of which all entries are removed.
+         */
+        private void clear(ClassLoader classLoader) {
+            entries.remove(classLoader);
+        }
+
+        /**
+         * Removes all entries of this segment.
+         */
+        private void clear() {
+            entries.clear();
+        }
+
+        @Override
+        public String toString() {
+            return "TypeCache.Segment{entries=" + entries + '}';
+        }
+    }
+}
@@ -3,21 +3,63 @@ package net.bytebuddy.dynamic.loading;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.security.*;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * A {@link java.lang.ClassLoader} that is capable of loading explicitly defined classes. The class loader will free
  * any binary resources once a class that is defined by its binary data is loaded. This class loader is thread safe since
- * the class loading mechanics are only called from synchronized context.
+ * the class loading mechanics are only called while holding the class loading lock of the loaded class's name. On
+ * VMs that support parallel capable class loaders, this class loader registers itself as parallel capable such
+ * that this lock is specific to a class's name. Otherwise, the lock is this class loader itself.
  */
 public class ByteArrayClassLoader extends ClassLoader {
 
+    /**
+     * The method for retrieving a class loader's class loading lock or {@code null} if this method is not
+     * available on the current VM.
+     */
+    private static final Method CLASS_LOADING_LOCK;
+
+    /**
+     * Resolves the method for retrieving a class loading lock and registers this class loader as parallel capable
+     * if the current VM supports parallel capable class loaders. The lock is retrieved from a protected method that
+     * is invoked on instances of this class and is therefore accessible without altering its accessibility. This class
+     * loader is only registered if the lock can be retrieved as its locks would otherwise differ from the locks that
+     * are held by {@link java.lang.ClassLoader#loadClass(String, boolean)}.
+     */
+    static {
+        Method classLoadingLock;
+        try {
+            classLoadingLock = ClassLoader.class.getDeclaredMethod("getClassLoadingLock", String.class);
+        } catch (NoSuchMethodException ignored) {
+            classLoadingLock = null;
+        }
+        CLASS_LOADING_LOCK = classLoadingLock;
+        if (CLASS_LOADING_LOCK != null) {
+            try {
+                Method registerAsParallelCapable = ClassLoader.class.getDeclaredMethod("registerAsParallelCapable");
+                registerAsParallelCapable.setAccessible(true);
+                registerAsParallelCapable.invoke(null);
+            } catch (Exception ignored) {
+                /* The class loading lock of any name remains this class loader */
+            }
+        }
+    }
+
     /**
      * A mutable map of type names mapped to their binary representation.
      */
@@ -52,7 +94,7 @@ public class ByteArrayClassLoader extends ClassLoader {
                                 ProtectionDomain protectionDomain,
                                 PersistenceHandler persistenceHandler) {
         super(parent);
-        this.typeDefinitions = new HashMap<String, byte[]>(typeDefinitions);
+        this.typeDefinitions = new ConcurrentHashMap<String, byte[]>(typeDefinitions);
         this.protectionDomain = protectionDomain;
         this.persistenceHandler = persistenceHandler;
         accessControlContext = AccessController.getContext();
@@ -113,11 +155,73 @@ public class ByteArrayClassLoader extends ClassLoader {
         return loadedTypes;
     }
 
+    /**
+     * Appends additional type definitions to this class loader. The type definitions are only appended if none of
+     * the given types is already defined by this class loader or pending to be defined. Each type definition is
+     * appended while holding the class loading lock of its name only. If a type cannot be appended, any type
+     * definition that was appended before is removed again.
+     *
+     * @param typeDefinitions A map of fully qualified class names pointing to their binary representations.
+     * @return {@code true} if the type definitions were appended.
+     */
+    protected boolean append(Map<String, byte[]> typeDefinitions) {
+        List<String> appendedNames = new ArrayList<String>(typeDefinitions.size());
+        for (Map.Entry<String, byte[]> entry : typeDefinitions.entrySet()) {
+            if (!append(entry.getKey(), entry.getValue())) {
+                for (String name : appendedNames) {
+                    synchronized (classLoadingLock(name)) {
+                        this.typeDefinitions.remove(name);
+                    }
+                }
+                return false;
+            }
+            appendedNames.add(entry.getKey());
+        }
+        return true;
+    }
+
+    /**
+     * Appends a single type definition to this class loader if a type of the given name is neither defined by this
+     * class loader nor pending to be defined.
+     *
+     * @param name                 The fully qualified name of the type.
+     * @param binaryRepresentation The binary representation of the type.
+     * @return {@code true} if the type definition was appended.
+     */
+    private boolean append(String name, byte[] binaryRepresentation) {
+        synchronized (classLoadingLock(name)) {
+            if (typeDefinitions.containsKey(name) || findLoadedClass(name) != null) {
+                return false;
+            }
+            typeDefinitions.put(name, binaryRepresentation);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the lock to hold when loading a class of the given name.
+     *
+     * @param name The name of the class to be loaded.
+     * @return The lock to hold when loading the class.
+     */
+    protected Object classLoadingLock(String name) {
+        if (CLASS_LOADING_LOCK == null) {
+            return this;
+        }
+        try {
+            return CLASS_LOADING_LOCK.invoke(this, name);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not access class loading lock", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Could not retrieve class loading lock", e.getCause());
+        }
+    }
+
     @Override
     protected Class<?> findClass(String name) throws ClassNotFoundException {
         try {
-            // This does not need synchronization because this method is only called from within
-            // ClassLoader in a synchronized context.
+            // This does not need further synchronization because this method is only called from within
+            // ClassLoader while holding the class loading lock of the given name.
             return AccessController.doPrivileged(new ClassLoadingAction(name), accessControlContext);
         } catch (PrivilegedActionException e) {
             throw (ClassNotFoundException) e.getCause();
@@ -173,6 +277,42 @@ public class ByteArrayClassLoader extends ClassLoader {
             }
         },
 
+        /**
+         * The compressed manifest persistence handler retains all class file representations and makes them
+         * accessible. Once a class is loaded, its class file representation is retained in a compressed format
+         * and is only decompressed when it is requested as a resource. This reduces the memory footprint of
+         * retained class files that are rarely read.
+         */
+        MANIFEST_COMPRESSED(true) {
+            @Override
+            protected byte[] lookup(String name, Map<String, byte[]> typeDefinitions) {
+                byte[] binaryRepresentation = typeDefinitions.get(name);
+                if (binaryRepresentation == null) {
+                    return null;
+                } else if (isCompressed(binaryRepresentation)) {
+                    return inflate(binaryRepresentation);
+                }
+                typeDefinitions.put(name, deflate(binaryRepresentation));
+                return binaryRepresentation;
+            }
+
+            @Override
+            protected InputStream inputStream(String resourceName, Map<String, byte[]> typeDefinitions) {
+                if (!resourceName.endsWith(CLASS_FILE_SUFFIX)) {
+                    return null;
+                }
+                byte[] binaryRepresentation = typeDefinitions.get(resourceName.replace('/', '.')
+                        .substring(0, resourceName.length() - CLASS_FILE_SUFFIX.length()));
+                if (binaryRepresentation == null) {
+                    return null;
+                }
+                InputStream inputStream = new ByteArrayInputStream(binaryRepresentation);
+                return isCompressed(binaryRepresentation)
+                        ? new InflaterInputStream(inputStream)
+                        : inputStream;
+            }
+        },
+
         /**
          * The latent persistence handler hides all class file representations and does not make them accessible
          * even before they are loaded.
@@ -194,6 +334,18 @@ public class ByteArrayClassLoader extends ClassLoader {
          */
         private static final String CLASS_FILE_SUFFIX = ".class";
 
+        /**
+         * The first byte of any Java class file which is part of the class file's magic number {@code 0xCAFEBABE}.
+         * A compressed class file never starts with this byte as the header of the compression format does not
+         * permit this value.
+         */
+        private static final byte CLASS_FILE_MAGIC = (byte) 0xCA;
+
+        /**
+         * The size of a reading buffer.
+         */
+        private static final int BUFFER_SIZE = 1024;
+
         /**
          * {@code true} if this persistence handler represents manifest class file storage.
          */
@@ -208,6 +360,65 @@ public class ByteArrayClassLoader extends ClassLoader {
             this.manifest = manifest;
         }
 
+        /**
+         * Checks if a retained class file representation is compressed.
+         *
+         * @param binaryRepresentation The retained class file representation.
+         * @return {@code true} if the given class file representation is compressed.
+         */
+        private static boolean isCompressed(byte[] binaryRepresentation) {
+            return binaryRepresentation.length > 0 && binaryRepresentation[0] != CLASS_FILE_MAGIC;
+        }
+
+        /**
+         * Compresses a class file representation.
+         *
+         * @param binaryRepresentation The class file representation to compress.
+         * @return The compressed class file representation.
+         */
+        private static byte[] deflate(byte[] binaryRepresentation) {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                deflater.setInput(binaryRepresentation);
+                deflater.finish();
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream(binaryRepresentation.length / 2);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while (!deflater.finished()) {
+                    outputStream.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return outputStream.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        /**
+         * Decompresses a class file representation.
+         *
+         * @param binaryRepresentation The compressed class file representation.
+         * @return The decompressed class file representation.
+         */
+        private static byte[] inflate(byte[] binaryRepresentation) {
+            InputStream inputStream = new InflaterInputStream(new ByteArrayInputStream(binaryRepresentation));
+            try {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream(binaryRepresentation.length * 2);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int length;
+                while ((length = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, length);
+                }
+                return outputStream.toByteArray();
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not decompress class file", e);
+            } finally {
+                try {
+                    inputStream.close();
+                } catch (IOException ignored) {
+                    /* do nothing */
+                }
+            }
+        }
+
         /**
          * Checks if this persistence handler represents manifest class file storage.
          *
@@ -247,6 +458,22 @@ public class ByteArrayClassLoader extends ClassLoader {
          */
         private static final String CLASS_FILE_SUFFIX = ".class";
 
+        /**
+         * Registers this class loader as parallel capable if the class loading lock of its super class can be
+         * retrieved. This registration must be triggered from within this class as it is specific to the calling class.
+         */
+        static {
+            if (CLASS_LOADING_LOCK != null) {
+                try {
+                    Method registerAsParallelCapable = ClassLoader.class.getDeclaredMethod("registerAsParallelCapable");
+                    registerAsParallelCapable.setAccessible(true);
+                    registerAsParallelCapable.invoke(null);
+                } catch (Exception ignored) {
+                    /* The class loading lock of any name remains this class loader */
+                }
+            }
+        }
+
         /**
          * Creates a new child-first byte array class loader.
          *
@@ -264,22 +491,24 @@ public class ByteArrayClassLoader extends ClassLoader {
         }
 
         @Override
-        protected synchronized Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
-            Class<?> type = findLoadedClass(name);
-            if (type != null) {
-                return type;
-            }
-            try {
-                type = findClass(name);
-                if (resolve) {
-                    resolveClass(type);
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            synchronized (classLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if (type != null) {
+                    return type;
+                }
+                try {
+                    type = findClass(name);
+                    if (resolve) {
+                        resolveClass(type);
+                    }
+                    return type;
+                } catch (ClassNotFoundException e) {
+                    // If an unknown class is loaded, this implementation causes the findClass method of this instance
+                    // to be triggered twice. This is however of minor importance because this would result in a
+                    // ClassNotFoundException which is rather uncommon.
+                    return super.loadClass(name, resolve);
                 }
-                return type;
-            } catch (ClassNotFoundException e) {
-                // If an unknown class is loaded, this implementation causes the findClass method of this instance
-                // to be triggered twice. This is however of minor importance because this would result in a
-                // ClassNotFoundException which is rather uncommon.
-                return super.loadClass(name, resolve);
             }
         }
 
@@ -309,9 +538,9 @@ public class ByteArrayClassLoader extends ClassLoader {
             if (!resourceName.endsWith(CLASS_FILE_SUFFIX)) {
                 return false;
             }
+            String typeName = resourceName.replace('/', '.').substring(0, resourceName.length() - CLASS_FILE_SUFFIX.length());
             // This synchronization is required to avoid a racing condition to the actual class loading.
-            synchronized (this) {
-                String typeName = resourceName.replace('/', '.').substring(0, resourceName.length() - CLASS_FILE_SUFFIX.length());
+            synchronized (classLoadingLock(typeName)) {
                 if (typeDefinitions.containsKey(typeName)) {
                     return true;
                 }
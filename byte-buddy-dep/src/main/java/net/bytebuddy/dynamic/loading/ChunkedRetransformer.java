@@ -0,0 +1,457 @@
+package net.bytebuddy.dynamic.loading;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Retransforms a large number of loaded classes by applying all retransformation-capable
+ * {@link java.lang.instrument.ClassFileTransformer}s that are registered with an instrumentation. Retransforming
+ * all classes by a single call stops the virtual machine for a long time while retransforming each class by its own
+ * call is slow overall. Therefore, this retransformer splits the classes into chunks of an adaptive size where the
+ * size of the next chunk is estimated from the measured duration of the previous chunks such that each chunk
+ * stops the virtual machine for about a given target pause.
+ * </p>
+ * <p>
+ * Classes that cannot be modified are skipped up front. Any other class is retransformed after its super class
+ * and its interfaces if those are retransformed as well. If the retransformation of a chunk fails, each class of
+ * the chunk is retransformed individually such that a single failing class does not prevent the retransformation
+ * of the other classes. The duration of this fallback is recorded separately from the duration of the failed
+ * bulk retransformation. Neither duration is considered when estimating the size of the next chunk: the fallback
+ * does not stop the virtual machine for more than a single class at a time and a failed bulk retransformation
+ * might be aborted before all classes of the chunk are retransformed. Instead, the next chunk retains the size of
+ * the failed chunk. The outcome of a retransformation is described by a
+ * {@link net.bytebuddy.dynamic.loading.ChunkedRetransformer.Report}.
+ * </p>
+ */
+public class ChunkedRetransformer {
+
+    /**
+     * The factor by which the size of a chunk can grow at most from one chunk to the next.
+     */
+    private static final int MAXIMUM_GROWTH = 2;
+
+    /**
+     * The instrumentation to be used for retransforming classes.
+     */
+    private final Instrumentation instrumentation;
+
+    /**
+     * The target pause of a single chunk in nanoseconds.
+     */
+    private final long targetPause;
+
+    /**
+     * The size of the first chunk.
+     */
+    private final int initialChunkSize;
+
+    /**
+     * Creates a new chunked retransformer.
+     *
+     * @param instrumentation  The instrumentation to be used for retransforming classes which must support
+     *                         retransformation.
+     * @param targetPause      The target pause of a single chunk.
+     * @param timeUnit         The time unit of the target pause.
+     * @param initialChunkSize The size of the first chunk.
+     */
+    public ChunkedRetransformer(Instrumentation instrumentation, long targetPause, TimeUnit timeUnit, int initialChunkSize) {
+        if (!instrumentation.isRetransformClassesSupported()) {
+            throw new IllegalArgumentException("Instrumentation does not support class retransformation: " + instrumentation);
+        } else if (initialChunkSize < 1) {
+            throw new IllegalArgumentException("The initial chunk size must be positive: " + initialChunkSize);
+        }
+        this.instrumentation = instrumentation;
+        this.targetPause = timeUnit.toNanos(targetPause);
+        this.initialChunkSize = initialChunkSize;
+    }
+
+    /**
+     * Returns the depth of a type within its type hierarchy where a type without super class and interfaces has
+     * a depth of zero.
+     *
+     * @param type   The type for which to compute the depth.
+     * @param depths A cache of already computed depths.
+     * @return The depth of the given type.
+     */
+    private static int depthOf(Class<?> type, Map<Class<?>, Integer> depths) {
+        Integer depth = depths.get(type);
+        if (depth == null) {
+            int maximum = -1;
+            if (type.getSuperclass() != null) {
+                maximum = depthOf(type.getSuperclass(), depths);
+            }
+            for (Class<?> interfaceType : type.getInterfaces()) {
+                maximum = Math.max(maximum, depthOf(interfaceType, depths));
+            }
+            depth = maximum + 1;
+            depths.put(type, depth);
+        }
+        return depth;
+    }
+
+    /**
+     * Orders the given types such that any type is placed after its super class and its interfaces.
+     *
+     * @param types The types to order.
+     * @return A list of the given types ordered by their hierarchy.
+     */
+    protected static List<Class<?>> orderByHierarchy(Collection<? extends Class<?>> types) {
+        final Map<Class<?>, Integer> depths = new HashMap<Class<?>, Integer>();
+        for (Class<?> type : types) {
+            depthOf(type, depths);
+        }
+        List<Class<?>> ordered = new ArrayList<Class<?>>(types);
+        Collections.sort(ordered, new Comparator<Class<?>>() {
+            @Override
+            public int compare(Class<?> left, Class<?> right) {
+                return depths.get(left).compareTo(depths.get(right));
+            }
+        });
+        return ordered;
+    }
+
+    /**
+     * Retransforms the given classes in chunks.
+     *
+     * @param type The classes to retransform.
+     * @return A report of the retransformation.
+     */
+    public Report retransform(Class<?>... type) {
+        return retransform(Arrays.asList(type));
+    }
+
+    /**
+     * Retransforms the given classes in chunks.
+     *
+     * @param types The classes to retransform.
+     * @return A report of the retransformation.
+     */
+    public Report retransform(Collection<? extends Class<?>> types) {
+        List<Class<?>> modifiable = new ArrayList<Class<?>>(types.size());
+        List<Class<?>> skipped = new ArrayList<Class<?>>();
+        for (Class<?> type : new LinkedHashSet<Class<?>>(types)) {
+            if (instrumentation.isModifiableClass(type)) {
+                modifiable.add(type);
+            } else {
+                skipped.add(type);
+            }
+        }
+        List<Class<?>> ordered = orderByHierarchy(modifiable);
+        List<Chunk> chunks = new ArrayList<Chunk>();
+        Map<Class<?>, Throwable> failures = new LinkedHashMap<Class<?>, Throwable>();
+        int index = 0, chunkSize = initialChunkSize;
+        while (index < ordered.size()) {
+            List<Class<?>> chunk = ordered.subList(index, Math.min(index + chunkSize, ordered.size()));
+            Chunk retransformed = retransform(chunk, failures);
+            chunks.add(retransformed);
+            index += chunk.size();
+            if (!retransformed.isRetransformedIndividually()) {
+                chunkSize = nextChunkSize(chunk.size(), retransformed.getPause(TimeUnit.NANOSECONDS));
+            }
+        }
+        return new Report(chunks, skipped, failures);
+    }
+
+    /**
+     * Retransforms a single chunk of classes and falls back to retransforming each class individually if the
+     * retransformation of the chunk fails.
+     *
+     * @param chunk    The classes to retransform.
+     * @param failures A map to which any class that cannot be retransformed is added with the cause.
+     * @return A description of the retransformed chunk.
+     */
+    private Chunk retransform(List<Class<?>> chunk, Map<Class<?>, Throwable> failures) {
+        long startTime = System.nanoTime();
+        try {
+            instrumentation.retransformClasses(chunk.toArray(new Class<?>[chunk.size()]));
+            return new Chunk(chunk.size(), System.nanoTime() - startTime, Chunk.NO_FALLBACK);
+        } catch (UnmodifiableClassException ignored) {
+            return retransformIndividually(chunk, failures, System.nanoTime() - startTime);
+        } catch (RuntimeException ignored) {
+            return retransformIndividually(chunk, failures, System.nanoTime() - startTime);
+        } catch (LinkageError ignored) {
+            return retransformIndividually(chunk, failures, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Retransforms each of the given classes individually.
+     *
+     * @param chunk    The classes to retransform.
+     * @param failures A map to which any class that cannot be retransformed is added with the cause.
+     * @param pause    The duration of the failed retransformation of the entire chunk in nanoseconds.
+     * @return A description of the retransformed chunk.
+     */
+    private Chunk retransformIndividually(List<Class<?>> chunk, Map<Class<?>, Throwable> failures, long pause) {
+        long startTime = System.nanoTime();
+        for (Class<?> type : chunk) {
+            try {
+                instrumentation.retransformClasses(type);
+            } catch (UnmodifiableClassException exception) {
+                failures.put(type, exception);
+            } catch (RuntimeException exception) {
+                failures.put(type, exception);
+            } catch (LinkageError error) {
+                failures.put(type, error);
+            }
+        }
+        return new Chunk(chunk.size(), pause, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Estimates the size of the next chunk from the duration of the previous chunk. The size of a chunk grows
+     * by at most a constant factor from one chunk to the next.
+     *
+     * @param chunkSize The size of the previous chunk.
+     * @param pause     The duration of the previous chunk in nanoseconds.
+     * @return The size of the next chunk.
+     */
+    protected int nextChunkSize(int chunkSize, long pause) {
+        long maximum = (long) chunkSize * MAXIMUM_GROWTH;
+        if (pause <= 0L) {
+            return (int) Math.min(maximum, Integer.MAX_VALUE);
+        }
+        long estimate = (long) (chunkSize * ((double) targetPause / pause));
+        return (int) Math.max(1L, Math.min(Math.min(maximum, estimate), Integer.MAX_VALUE));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+        ChunkedRetransformer that = (ChunkedRetransformer) other;
+        return initialChunkSize == that.initialChunkSize
+                && targetPause == that.targetPause
+                && instrumentation.equals(that.instrumentation);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = instrumentation.hashCode();
+        result = 31 * result + (int) (targetPause ^ (targetPause >>> 32));
+        result = 31 * result + initialChunkSize;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ChunkedRetransformer{" +
+                "instrumentation=" + instrumentation +
+                ", targetPause=" + targetPause +
+                ", initialChunkSize=" + initialChunkSize +
+                '}';
+    }
+
+    /**
+     * A description of a single retransformed chunk.
+     */
+    public static class Chunk {
+
+        /**
+         * Indicates that a chunk did not require retransforming its classes individually.
+         */
+        protected static final long NO_FALLBACK = -1L;
+
+        /**
+         * The number of classes of this chunk.
+         */
+        private final int size;
+
+        /**
+         * The duration of this chunk's retransformation in nanoseconds. If the chunk could not be retransformed
+         * as a whole, this is the duration of the failed attempt.
+         */
+        private final long pause;
+
+        /**
+         * The duration of retransforming this chunk's classes individually after the chunk could not be
+         * retransformed as a whole in nanoseconds or
+         * {@link net.bytebuddy.dynamic.loading.ChunkedRetransformer.Chunk#NO_FALLBACK} if the chunk was
+         * retransformed as a whole.
+         */
+        private final long fallback;
+
+        /**
+         * Creates a new chunk description.
+         *
+         * @param size     The number of classes of this chunk.
+         * @param pause    The duration of this chunk's retransformation in nanoseconds. If the chunk could not be
+         *                 retransformed as a whole, this is the duration of the failed attempt.
+         * @param fallback The duration of retransforming this chunk's classes individually in nanoseconds or
+         *                 {@link net.bytebuddy.dynamic.loading.ChunkedRetransformer.Chunk#NO_FALLBACK} if the
+         *                 chunk was retransformed as a whole.
+         */
+        protected Chunk(int size, long pause, long fallback) {
+            this.size = size;
+            this.pause = pause;
+            this.fallback = fallback;
+        }
+
+        /**
+         * Returns the number of classes of this chunk.
+         *
+         * @return The number of classes of this chunk.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Returns the duration of this chunk's retransformation.
+         *
+         * @param timeUnit The time unit in which to return the duration.
+         * @return The duration of this chunk's retransformation.
+         */
+        public long getPause(TimeUnit timeUnit) {
+            return timeUnit.convert(pause, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the duration of retransforming this chunk's classes individually after the chunk could not be
+         * retransformed as a whole. This duration is not a single pause of the virtual machine.
+         *
+         * @param timeUnit The time unit in which to return the duration.
+         * @return The duration of retransforming this chunk's classes individually or zero if the chunk was
+         * retransformed as a whole.
+         */
+        public long getFallback(TimeUnit timeUnit) {
+            return isRetransformedIndividually()
+                    ? timeUnit.convert(fallback, TimeUnit.NANOSECONDS)
+                    : 0L;
+        }
+
+        /**
+         * Determines if this chunk could not be retransformed as a whole such that its classes were retransformed
+         * individually.
+         *
+         * @return {@code true} if this chunk's classes were retransformed individually.
+         */
+        public boolean isRetransformedIndividually() {
+            return fallback != NO_FALLBACK;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && size == ((Chunk) other).size
+                    && pause == ((Chunk) other).pause
+                    && fallback == ((Chunk) other).fallback;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = 31 * size + (int) (pause ^ (pause >>> 32));
+            return 31 * result + (int) (fallback ^ (fallback >>> 32));
+        }
+
+        @Override
+        public String toString() {
+            return "ChunkedRetransformer.Chunk{size=" + size + ", pause=" + pause + ", fallback=" + fallback + '}';
+        }
+    }
+
+    /**
+     * A report of a chunked retransformation.
+     */
+    public static class Report {
+
+        /**
+         * The retransformed chunks in their application order.
+         */
+        private final List<Chunk> chunks;
+
+        /**
+         * The classes that were skipped as they cannot be modified.
+         */
+        private final List<Class<?>> skipped;
+
+        /**
+         * The classes that could not be retransformed mapped to the cause of the failure.
+         */
+        private final Map<Class<?>, Throwable> failures;
+
+        /**
+         * Creates a new report.
+         *
+         * @param chunks   The retransformed chunks in their application order.
+         * @param skipped  The classes that were skipped as they cannot be modified.
+         * @param failures The classes that could not be retransformed mapped to the cause of the failure.
+         */
+        protected Report(List<Chunk> chunks, List<Class<?>> skipped, Map<Class<?>, Throwable> failures) {
+            this.chunks = chunks;
+            this.skipped = skipped;
+            this.failures = failures;
+        }
+
+        /**
+         * Returns the retransformed chunks in their application order.
+         *
+         * @return The retransformed chunks in their application order.
+         */
+        public List<Chunk> getChunks() {
+            return chunks;
+        }
+
+        /**
+         * Returns the classes that were skipped as they cannot be modified.
+         *
+         * @return The classes that were skipped as they cannot be modified.
+         */
+        public List<Class<?>> getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * Returns the classes that could not be retransformed mapped to the cause of the failure.
+         *
+         * @return The classes that could not be retransformed mapped to the cause of the failure.
+         */
+        public Map<Class<?>, Throwable> getFailures() {
+            return failures;
+        }
+
+        /**
+         * Returns the longest pause of any chunk.
+         *
+         * @param timeUnit The time unit in which to return the pause.
+         * @return The longest pause of any chunk.
+         */
+        public long getMaximumPause(TimeUnit timeUnit) {
+            long maximumPause = 0L;
+            for (Chunk chunk : chunks) {
+                maximumPause = Math.max(maximumPause, chunk.getPause(TimeUnit.NANOSECONDS));
+            }
+            return timeUnit.convert(maximumPause, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Report report = (Report) other;
+            return chunks.equals(report.chunks)
+                    && skipped.equals(report.skipped)
+                    && failures.equals(report.failures);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = chunks.hashCode();
+            result = 31 * result + skipped.hashCode();
+            result = 31 * result + failures.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "ChunkedRetransformer.Report{" +
+                    "chunks=" + chunks +
+                    ", skipped=" + skipped +
+                    ", failures=" + failures +
+                    '}';
+        }
+    }
+}
@@ -2,15 +2,30 @@ package net.bytebuddy.dynamic.loading;
 
 import net.bytebuddy.instrumentation.type.TypeDescription;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.security.*;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * An injector that loads classes by reflectively invoking non-public methods on a given {@link java.lang.ClassLoader}.
+ * The non-public methods are resolved once when this class is loaded. Where the {@code java.lang.invoke} package is
+ * available, the resolved methods are invoked via cached method handles. Otherwise, they are invoked by reflection.
+ * When a class is injected, the injector only locks the class loader's class loading lock for the injected class's
+ * name, if the class loader is parallel capable, instead of locking the entire class loader.
+ * <p>&nbsp;</p>
+ * By default, classes are defined by the class loader's {@code defineClass} method such that the class loader
+ * applies its usual validation of the defined class's name and its package's certificates. An injector that
+ * defines classes by {@code sun.misc.Unsafe#defineClass} instead, which skips this validation, can be created by
+ * {@link net.bytebuddy.dynamic.loading.ClassLoaderByteArrayInjector#usingUnsafe(ClassLoader, java.security.ProtectionDomain)}.
  * <p>&nbsp;</p>
  * Note that the injector is only able to load classes in a linear manner. Thus, classes that refer to other classes
  * which are not yet loaded cannot be injected but will result in a {@link java.lang.NoClassDefFoundError}. This becomes
@@ -25,32 +40,56 @@ public class ClassLoaderByteArrayInjector {
      */
     private static final ProtectionDomain DEFAULT_PROTECTION_DOMAIN = null;
 
+    /**
+     * The name of the type that indicates the availability of method handles on the current VM.
+     */
+    private static final String METHOD_HANDLES_TYPE = "java.lang.invoke.MethodHandles";
+
     /**
      * A storage for the reflection method representations that are obtained on loading this classes.
      */
     private static final ReflectionStore REFLECTION_STORE;
 
+    /**
+     * A class definition that uses {@code sun.misc.Unsafe} or a class definition that indicates the unavailability
+     * of {@code sun.misc.Unsafe} on the current VM.
+     */
+    private static final ClassDefinition UNSAFE_CLASS_DEFINITION;
+
     /**
      * Obtains the reflective instances used by this injector or a no-op instance that throws the exception
      * that occurred when attempting to obtain the reflective member instances.
      */
     static {
+        boolean methodHandles;
+        try {
+            Class.forName(METHOD_HANDLES_TYPE);
+            methodHandles = true;
+        } catch (ClassNotFoundException ignored) {
+            methodHandles = false;
+        }
         ReflectionStore reflectionStore;
         try {
-            Method findLoadedClassMethod = ClassLoader.class.getDeclaredMethod("findLoadedClass", String.class);
-            findLoadedClassMethod.setAccessible(true);
-            Method loadByteArrayMethod = ClassLoader.class.getDeclaredMethod("defineClass",
-                    String.class,
-                    byte[].class,
-                    int.class,
-                    int.class,
-                    ProtectionDomain.class);
-            loadByteArrayMethod.setAccessible(true);
-            reflectionStore = new ReflectionStore.Resolved(findLoadedClassMethod, loadByteArrayMethod);
+            Invoker classLoadingLock;
+            try {
+                classLoadingLock = invokerFor(ClassLoader.class.getDeclaredMethod("getClassLoadingLock", String.class), methodHandles);
+            } catch (NoSuchMethodException ignored) {
+                classLoadingLock = null;
+            }
+            reflectionStore = new ReflectionStore.Resolved(invokerFor(ClassLoader.class.getDeclaredMethod("findLoadedClass", String.class), methodHandles),
+                    ClassDefinition.ForClassLoader.make(methodHandles),
+                    classLoadingLock);
         } catch (Exception e) {
             reflectionStore = new ReflectionStore.Faulty(e);
         }
         REFLECTION_STORE = reflectionStore;
+        ClassDefinition unsafeClassDefinition;
+        try {
+            unsafeClassDefinition = ClassDefinition.ForUnsafe.make(methodHandles);
+        } catch (Exception e) {
+            unsafeClassDefinition = new ClassDefinition.Unavailable(e);
+        }
+        UNSAFE_CLASS_DEFINITION = unsafeClassDefinition;
     }
 
     /**
@@ -63,6 +102,11 @@ public class ClassLoaderByteArrayInjector {
      */
     private final ProtectionDomain protectionDomain;
 
+    /**
+     * The class definition that is used for defining classes.
+     */
+    private final ClassDefinition classDefinition;
+
     /**
      * The access control context of this class loader's instantiation.
      */
@@ -85,11 +129,56 @@ public class ClassLoaderByteArrayInjector {
      * @param protectionDomain The protection domain to apply during class definition.
      */
     public ClassLoaderByteArrayInjector(ClassLoader classLoader, ProtectionDomain protectionDomain) {
+        this(classLoader, protectionDomain, REFLECTION_STORE.getClassDefinition());
+    }
+
+    /**
+     * Creates a new injector for the given {@link java.lang.ClassLoader} and {@link java.security.ProtectionDomain}.
+     *
+     * @param classLoader      The {@link java.lang.ClassLoader} into which new class definitions are to be injected.
+     * @param protectionDomain The protection domain to apply during class definition.
+     * @param classDefinition  The class definition that is used for defining classes.
+     */
+    private ClassLoaderByteArrayInjector(ClassLoader classLoader, ProtectionDomain protectionDomain, ClassDefinition classDefinition) {
         this.classLoader = classLoader;
         this.protectionDomain = protectionDomain;
+        this.classDefinition = classDefinition;
         accessControlContext = AccessController.getContext();
     }
 
+    /**
+     * Creates an injector that defines classes by {@code sun.misc.Unsafe#defineClass}. Such classes are registered
+     * with the given class loader just as by the class loader's own {@code defineClass} method but the class loader
+     * does not validate the defined classes. In particular, classes can be defined within the {@code java.*}
+     * packages and classes of a package can be defined with differing certificates. This injector must therefore only
+     * be used for class files that are known to be valid. If no protection domain is specified, a class is assigned
+     * the class loader's default protection domain which is read from the class loader's non-public
+     * {@code defaultDomain} field. Using this injector fails if {@code sun.misc.Unsafe} or this field is not
+     * available on the current VM.
+     *
+     * @param classLoader      The {@link java.lang.ClassLoader} into which new class definitions are to be injected.
+     * @param protectionDomain The protection domain to apply during class definition.
+     * @return An injector that defines classes by {@code sun.misc.Unsafe}.
+     */
+    public static ClassLoaderByteArrayInjector usingUnsafe(ClassLoader classLoader, ProtectionDomain protectionDomain) {
+        return new ClassLoaderByteArrayInjector(classLoader, protectionDomain, UNSAFE_CLASS_DEFINITION);
+    }
+
+    /**
+     * Creates an invoker for the given method and makes the method accessible.
+     *
+     * @param method        The method to invoke.
+     * @param methodHandles {@code true} if method handles are available on the current VM.
+     * @return An invoker for the given method.
+     * @throws IllegalAccessException If no method handle can be created for the given method.
+     */
+    private static Invoker invokerFor(Method method, boolean methodHandles) throws IllegalAccessException {
+        method.setAccessible(true);
+        return methodHandles
+                ? Invoker.ForMethodHandle.of(method)
+                : new Invoker.ForMethod(method);
+    }
+
     /**
      * Injects a given type mapping into a class loader byte array injector.
      *
@@ -99,11 +188,7 @@ public class ClassLoaderByteArrayInjector {
      */
     public static Map<TypeDescription, Class<?>> inject(ClassLoaderByteArrayInjector classLoaderByteArrayInjector,
                                                         Map<TypeDescription, byte[]> types) {
-        Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
-        for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
-            loadedTypes.put(entry.getKey(), classLoaderByteArrayInjector.inject(entry.getKey().getName(), entry.getValue()));
-        }
-        return loadedTypes;
+        return classLoaderByteArrayInjector.inject(types);
     }
 
     /**
@@ -114,35 +199,352 @@ public class ClassLoaderByteArrayInjector {
      * @return The loaded class that is a result of the class loading attempt.
      */
     public Class<?> inject(String name, byte[] binaryRepresentation) {
+        return load(Collections.singletonMap(name, binaryRepresentation)).get(name);
+    }
+
+    /**
+     * Explicitly loads several {@link java.lang.Class}es by reflective access into the represented class loader
+     * in the iteration order of the given map. All classes are loaded within a single privileged action.
+     *
+     * @param types A mapping of types to their binary representation.
+     * @return A map of loaded classes in the iteration order of the given map.
+     */
+    public Map<TypeDescription, Class<?>> inject(Map<TypeDescription, byte[]> types) {
+        Map<String, byte[]> binaryRepresentations = new LinkedHashMap<String, byte[]>(types.size());
+        for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+            binaryRepresentations.put(entry.getKey().getName(), entry.getValue());
+        }
+        Map<String, Class<?>> injectedTypes = load(binaryRepresentations);
+        Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+        for (TypeDescription typeDescription : types.keySet()) {
+            loadedTypes.put(typeDescription, injectedTypes.get(typeDescription.getName()));
+        }
+        return loadedTypes;
+    }
+
+    /**
+     * Loads classes by reflective access into the represented class loader within a single privileged action.
+     *
+     * @param binaryRepresentations A mapping of type names to their binary representation.
+     * @return A mapping of the given type names to their loaded classes.
+     */
+    private Map<String, Class<?>> load(Map<String, byte[]> binaryRepresentations) {
         try {
-            synchronized (classLoader) {
-                Class<?> type = (Class<?>) REFLECTION_STORE.getFindLoadedClassMethod().invoke(classLoader, name);
-                if (type != null) {
-                    return type;
-                } else {
-                    try {
-                        return AccessController.doPrivileged(new ClassLoadingAction(name, binaryRepresentation), accessControlContext);
-                    } catch (PrivilegedActionException e) {
-                        if (e.getCause() instanceof IllegalAccessException) {
-                            throw (IllegalAccessException) e.getCause();
-                        } else if (e.getCause() instanceof InvocationTargetException) {
-                            throw (InvocationTargetException) e.getCause();
-                        } else {
-                            throw (RuntimeException) e.getCause();
-                        }
-                    }
-                }
+            return AccessController.doPrivileged(new ClassLoadingAction(binaryRepresentations), accessControlContext);
+        } catch (PrivilegedActionException e) {
+            if (e.getCause() instanceof IllegalAccessException) {
+                throw new IllegalStateException("Could not access injection method", e.getCause());
+            } else if (e.getCause() instanceof InvocationTargetException) {
+                throw new IllegalStateException("Exception on invoking loader method", e.getCause().getCause());
+            } else {
+                throw (RuntimeException) e.getCause();
             }
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException("Could not access injection method", e);
-        } catch (InvocationTargetException e) {
-            throw new IllegalStateException("Exception on invoking loader method", e.getCause());
         }
     }
 
     @Override
     public String toString() {
-        return "ClassLoaderByteArrayInjector{classLoader=" + classLoader + '}';
+        return "ClassLoaderByteArrayInjector{" +
+                "classLoader=" + classLoader +
+                ", classDefinition=" + classDefinition +
+                '}';
+    }
+
+    /**
+     * An invoker of a non-public method that is resolved once.
+     */
+    static interface Invoker {
+
+        /**
+         * Invokes the represented method.
+         *
+         * @param argument The method's receiver followed by its arguments.
+         * @return The method's return value.
+         * @throws IllegalAccessException    If the method cannot be accessed.
+         * @throws InvocationTargetException If the method throws an exception.
+         */
+        Object invoke(Object... argument) throws IllegalAccessException, InvocationTargetException;
+
+        /**
+         * An invoker that invokes a method by reflection.
+         */
+        static class ForMethod implements Invoker {
+
+            /**
+             * The method to invoke.
+             */
+            private final Method method;
+
+            /**
+             * Creates a new reflective invoker.
+             *
+             * @param method The method to invoke.
+             */
+            protected ForMethod(Method method) {
+                this.method = method;
+            }
+
+            @Override
+            public Object invoke(Object... argument) throws IllegalAccessException, InvocationTargetException {
+                return method.invoke(argument[0], Arrays.copyOfRange(argument, 1, argument.length));
+            }
+
+            @Override
+            public String toString() {
+                return "ClassLoaderByteArrayInjector.Invoker.ForMethod{method=" + method + '}';
+            }
+        }
+
+        /**
+         * An invoker that invokes a method by a method handle. As this code base is compiled for Java 6, an exact
+         * invocation of a method handle is always compiled as an invocation that takes an object array and returns
+         * an object. The method handle is therefore adapted to spread such an array over the method's receiver and
+         * arguments such that it can be invoked exactly. This class must only be loaded if method handles are
+         * available on the current VM.
+         */
+        static class ForMethodHandle implements Invoker {
+
+            /**
+             * The adapted method handle of the invoked method.
+             */
+            private final MethodHandle methodHandle;
+
+            /**
+             * Creates a new method handle invoker.
+             *
+             * @param methodHandle The adapted method handle of the invoked method.
+             */
+            protected ForMethodHandle(MethodHandle methodHandle) {
+                this.methodHandle = methodHandle;
+            }
+
+            /**
+             * Creates an invoker for the given non-static and accessible method.
+             *
+             * @param method The method to invoke.
+             * @return An invoker for the given method.
+             * @throws IllegalAccessException If no method handle can be created for the given method.
+             */
+            public static Invoker of(Method method) throws IllegalAccessException {
+                int parameters = method.getParameterTypes().length + 1;
+                return new ForMethodHandle(MethodHandles.lookup().unreflect(method)
+                        .asType(MethodType.genericMethodType(parameters))
+                        .asSpreader(Object[].class, parameters));
+            }
+
+            @Override
+            public Object invoke(Object... argument) throws InvocationTargetException {
+                try {
+                    return methodHandle.invokeExact(argument);
+                } catch (Throwable throwable) {
+                    throw new InvocationTargetException(throwable);
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "ClassLoaderByteArrayInjector.Invoker.ForMethodHandle{methodHandle=" + methodHandle + '}';
+            }
+        }
+    }
+
+    /**
+     * A dispatcher for defining a class within a class loader.
+     */
+    static interface ClassDefinition {
+
+        /**
+         * A convenience variable representing the first index of an array, to make the code more readable.
+         */
+        int FROM_BEGINNING = 0;
+
+        /**
+         * Defines a class within the given class loader.
+         *
+         * @param classLoader          The class loader into which the class is loaded.
+         * @param name                 The fully qualified name of the class.
+         * @param binaryRepresentation The class's binary representation.
+         * @param protectionDomain     The protection domain of the class or {@code null} for the default protection domain.
+         * @return The defined class.
+         * @throws IllegalAccessException    If the definition method cannot be accessed.
+         * @throws InvocationTargetException If the definition method throws an exception.
+         */
+        Class<?> define(ClassLoader classLoader,
+                        String name,
+                        byte[] binaryRepresentation,
+                        ProtectionDomain protectionDomain) throws IllegalAccessException, InvocationTargetException;
+
+        /**
+         * A class definition that invokes the non-public {@code defineClass} method of a class loader.
+         */
+        static class ForClassLoader implements ClassDefinition {
+
+            /**
+             * An invoker for the {@link java.lang.ClassLoader}'s {@code defineClass} method.
+             */
+            private final Invoker defineClass;
+
+            /**
+             * Creates a new class definition that uses a class loader's {@code defineClass} method.
+             *
+             * @param defineClass An invoker for the {@link java.lang.ClassLoader}'s {@code defineClass} method.
+             */
+            protected ForClassLoader(Invoker defineClass) {
+                this.defineClass = defineClass;
+            }
+
+            /**
+             * Creates a class definition that uses a class loader's {@code defineClass} method.
+             *
+             * @param methodHandles {@code true} if method handles are available on the current VM.
+             * @return A class definition that uses a class loader's {@code defineClass} method.
+             * @throws Exception If the class loader's {@code defineClass} method cannot be located.
+             */
+            public static ClassDefinition make(boolean methodHandles) throws Exception {
+                return new ForClassLoader(invokerFor(ClassLoader.class.getDeclaredMethod("defineClass",
+                        String.class,
+                        byte[].class,
+                        int.class,
+                        int.class,
+                        ProtectionDomain.class), methodHandles));
+            }
+
+            @Override
+            public Class<?> define(ClassLoader classLoader,
+                                   String name,
+                                   byte[] binaryRepresentation,
+                                   ProtectionDomain protectionDomain) throws IllegalAccessException, InvocationTargetException {
+                return (Class<?>) defineClass.invoke(classLoader,
+                        name,
+                        binaryRepresentation,
+                        FROM_BEGINNING,
+                        binaryRepresentation.length,
+                        protectionDomain);
+            }
+
+            @Override
+            public String toString() {
+                return "ClassLoaderByteArrayInjector.ClassDefinition.ForClassLoader{defineClass=" + defineClass + '}';
+            }
+        }
+
+        /**
+         * A class definition that invokes {@code sun.misc.Unsafe#defineClass}. This method registers the class with
+         * the given class loader just as the class loader's own definition method but does not apply the class
+         * loader's validation of package names and certificates. If no protection domain is specified, the class is
+         * assigned the class loader's default protection domain, as by the class loader's own definition method,
+         * rather than the protection domain with all permissions that {@code sun.misc.Unsafe} would otherwise apply.
+         */
+        static class ForUnsafe implements ClassDefinition {
+
+            /**
+             * The instance of {@code sun.misc.Unsafe}.
+             */
+            private final Object unsafe;
+
+            /**
+             * An invoker for the {@code sun.misc.Unsafe#defineClass} method.
+             */
+            private final Invoker defineClass;
+
+            /**
+             * The {@link java.lang.ClassLoader}'s {@code defaultDomain} field.
+             */
+            private final Field defaultDomainField;
+
+            /**
+             * Creates a new class definition that uses {@code sun.misc.Unsafe}.
+             *
+             * @param unsafe             The instance of {@code sun.misc.Unsafe}.
+             * @param defineClass        An invoker for the {@code sun.misc.Unsafe#defineClass} method.
+             * @param defaultDomainField The {@link java.lang.ClassLoader}'s {@code defaultDomain} field.
+             */
+            protected ForUnsafe(Object unsafe, Invoker defineClass, Field defaultDomainField) {
+                this.unsafe = unsafe;
+                this.defineClass = defineClass;
+                this.defaultDomainField = defaultDomainField;
+            }
+
+            /**
+             * Creates a class definition that uses {@code sun.misc.Unsafe}.
+             *
+             * @param methodHandles {@code true} if method handles are available on the current VM.
+             * @return A class definition that uses {@code sun.misc.Unsafe}.
+             * @throws Exception If {@code sun.misc.Unsafe}, its {@code defineClass} method or a class loader's default
+             *                   protection domain is not available on the current VM.
+             */
+            public static ClassDefinition make(boolean methodHandles) throws Exception {
+                Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+                Field theUnsafe = unsafeType.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                Field defaultDomainField = ClassLoader.class.getDeclaredField("defaultDomain");
+                defaultDomainField.setAccessible(true);
+                return new ForUnsafe(theUnsafe.get(null), invokerFor(unsafeType.getMethod("defineClass",
+                        String.class,
+                        byte[].class,
+                        int.class,
+                        int.class,
+                        ClassLoader.class,
+                        ProtectionDomain.class), methodHandles), defaultDomainField);
+            }
+
+            @Override
+            public Class<?> define(ClassLoader classLoader,
+                                   String name,
+                                   byte[] binaryRepresentation,
+                                   ProtectionDomain protectionDomain) throws IllegalAccessException, InvocationTargetException {
+                return (Class<?>) defineClass.invoke(unsafe,
+                        name,
+                        binaryRepresentation,
+                        FROM_BEGINNING,
+                        binaryRepresentation.length,
+                        classLoader,
+                        protectionDomain == null
+                                ? defaultDomainField.get(classLoader)
+                                : protectionDomain);
+            }
+
+            @Override
+            public String toString() {
+                return "ClassLoaderByteArrayInjector.ClassDefinition.ForUnsafe{" +
+                        "defineClass=" + defineClass +
+                        ", defaultDomainField=" + defaultDomainField +
+                        '}';
+            }
+        }
+
+        /**
+         * A class definition that is not available on the current VM.
+         */
+        static class Unavailable implements ClassDefinition {
+
+            /**
+             * The exception to throw when attempting to define a class.
+             */
+            private final RuntimeException exception;
+
+            /**
+             * Creates a new unavailable class definition.
+             *
+             * @param exception The exception that was thrown when attempting to resolve the class definition.
+             */
+            protected Unavailable(Exception exception) {
+                this.exception = new IllegalStateException("Class definition is not available on the current VM", exception);
+            }
+
+            @Override
+            public Class<?> define(ClassLoader classLoader,
+                                   String name,
+                                   byte[] binaryRepresentation,
+                                   ProtectionDomain protectionDomain) {
+                throw exception;
+            }
+
+            @Override
+            public String toString() {
+                return "ClassLoaderByteArrayInjector.ClassDefinition.Unavailable{exception=" + exception + '}';
+            }
+        }
     }
 
     /**
@@ -151,18 +553,34 @@ public class ClassLoaderByteArrayInjector {
     private static interface ReflectionStore {
 
         /**
-         * Returns the method for finding a class on a class loader.
+         * Returns the class of the given name if it was already loaded by the given class loader.
+         *
+         * @param classLoader The class loader to query.
+         * @param name        The name of the class.
+         * @return The loaded class or {@code null} if no such class was loaded by the given class loader.
+         * @throws IllegalAccessException    If the class loader cannot be queried.
+         * @throws InvocationTargetException If the class loader throws an exception.
+         */
+        Class<?> findLoadedClass(ClassLoader classLoader, String name) throws IllegalAccessException, InvocationTargetException;
+
+        /**
+         * Returns the class definition for loading a class into a class loader.
          *
-         * @return The method for finding a class on a class loader.
+         * @return The class definition for loading a class into a class loader.
          */
-        Method getFindLoadedClassMethod();
+        ClassDefinition getClassDefinition();
 
         /**
-         * Returns the method for loading a class into a class loader.
+         * Returns the lock to hold when loading a class of a given name into a class loader. For a parallel capable
+         * class loader, this lock is specific to the class's name. Otherwise, the class loader itself is returned.
          *
-         * @return The method for loading a class into a class loader.
+         * @param classLoader The class loader into which a class is loaded.
+         * @param name        The name of the class that is loaded.
+         * @return The lock to hold when loading the class.
+         * @throws IllegalAccessException    If the lock cannot be accessed.
+         * @throws InvocationTargetException If the lock cannot be retrieved.
          */
-        Method getLoadByteArrayMethod();
+        Object getClassLoadingLock(ClassLoader classLoader, String name) throws IllegalAccessException, InvocationTargetException;
 
         /**
          * Represents a successfully loaded method lookup.
@@ -170,40 +588,58 @@ public class ClassLoaderByteArrayInjector {
         static class Resolved implements ReflectionStore {
 
             /**
-             * The method for finding a class on a class loader.
+             * An invoker for finding a class on a class loader.
              */
-            private final Method findLoadedClassMethod;
+            private final Invoker findLoadedClass;
+
+            /**
+             * The class definition for loading a class into a class loader.
+             */
+            private final ClassDefinition classDefinition;
+
             /**
-             * The method for loading a class into a class loader.
+             * An invoker for retrieving a class loader's class loading lock or {@code null} if this method is not
+             * available on the current VM.
              */
-            private final Method loadByteArrayMethod;
+            private final Invoker classLoadingLock;
 
             /**
              * Creates a new resolved reflection store.
              *
-             * @param findLoadedClassMethod The method for finding a class on a class loader.
-             * @param loadByteArrayMethod   The method for loading a class into a class loader.
+             * @param findLoadedClass  An invoker for finding a class on a class loader.
+             * @param classDefinition  The class definition for loading a class into a class loader.
+             * @param classLoadingLock An invoker for retrieving a class loader's class loading lock or
+             *                         {@code null} if this method is not available on the current VM.
              */
-            private Resolved(Method findLoadedClassMethod, Method loadByteArrayMethod) {
-                this.findLoadedClassMethod = findLoadedClassMethod;
-                this.loadByteArrayMethod = loadByteArrayMethod;
+            private Resolved(Invoker findLoadedClass, ClassDefinition classDefinition, Invoker classLoadingLock) {
+                this.findLoadedClass = findLoadedClass;
+                this.classDefinition = classDefinition;
+                this.classLoadingLock = classLoadingLock;
+            }
+
+            @Override
+            public Class<?> findLoadedClass(ClassLoader classLoader, String name) throws IllegalAccessException, InvocationTargetException {
+                return (Class<?>) findLoadedClass.invoke(classLoader, name);
             }
 
             @Override
-            public Method getFindLoadedClassMethod() {
-                return findLoadedClassMethod;
+            public ClassDefinition getClassDefinition() {
+                return classDefinition;
             }
 
             @Override
-            public Method getLoadByteArrayMethod() {
-                return loadByteArrayMethod;
+            public Object getClassLoadingLock(ClassLoader classLoader, String name) throws IllegalAccessException, InvocationTargetException {
+                return classLoadingLock == null
+                        ? classLoader
+                        : classLoadingLock.invoke(classLoader, name);
             }
 
             @Override
             public String toString() {
                 return "ClassLoaderByteArrayInjector.ReflectionStore.Resolved{" +
-                        "findLoadedClassMethod=" + findLoadedClassMethod +
-                        ", loadByteArrayMethod=" + loadByteArrayMethod +
+                        "findLoadedClass=" + findLoadedClass +
+                        ", classDefinition=" + classDefinition +
+                        ", classLoadingLock=" + classLoadingLock +
                         '}';
             }
         }
@@ -228,12 +664,17 @@ public class ClassLoaderByteArrayInjector {
             }
 
             @Override
-            public Method getFindLoadedClassMethod() {
+            public Class<?> findLoadedClass(ClassLoader classLoader, String name) {
                 throw exception;
             }
 
             @Override
-            public Method getLoadByteArrayMethod() {
+            public ClassDefinition getClassDefinition() {
+                return new ClassDefinition.Unavailable(exception);
+            }
+
+            @Override
+            public Object getClassLoadingLock(ClassLoader classLoader, String name) {
                 throw exception;
             }
 
@@ -245,52 +686,48 @@ public class ClassLoaderByteArrayInjector {
     }
 
     /**
-     * A privileged action for loading a class reflectively.
+     * A privileged action for loading classes reflectively.
      */
-    private class ClassLoadingAction implements PrivilegedExceptionAction<Class<?>> {
-
-        /**
-         * A convenience variable representing the first index of an array, to make the code more readable.
-         */
-        private static final int FROM_BEGINNING = 0;
+    private class ClassLoadingAction implements PrivilegedExceptionAction<Map<String, Class<?>>> {
 
         /**
-         * The name of the class that is being loaded.
+         * A mapping of the names of the classes that are being loaded to their binary representations.
          */
-        private final String name;
-
-        /**
-         * The binary representation of the class that is being loaded.
-         */
-        private final byte[] binaryRepresentation;
+        private final Map<String, byte[]> binaryRepresentations;
 
         /**
          * Creates a new class loading action.
          *
-         * @param name                 The name of the class that is being loaded.
-         * @param binaryRepresentation The binary representation of the class that is being loaded.
+         * @param binaryRepresentations A mapping of the names of the classes that are being loaded to their
+         *                              binary representations.
          */
-        private ClassLoadingAction(String name, byte[] binaryRepresentation) {
-            this.name = name;
-            this.binaryRepresentation = binaryRepresentation;
+        private ClassLoadingAction(Map<String, byte[]> binaryRepresentations) {
+            this.binaryRepresentations = binaryRepresentations;
         }
 
         @Override
-        public Class<?> run() throws IllegalAccessException, InvocationTargetException {
-            return (Class<?>) REFLECTION_STORE.getLoadByteArrayMethod().invoke(classLoader,
-                    name,
-                    binaryRepresentation,
-                    FROM_BEGINNING,
-                    binaryRepresentation.length,
-                    protectionDomain);
+        public Map<String, Class<?>> run() throws IllegalAccessException, InvocationTargetException {
+            Map<String, Class<?>> loadedTypes = new HashMap<String, Class<?>>(binaryRepresentations.size());
+            for (Map.Entry<String, byte[]> entry : binaryRepresentations.entrySet()) {
+                synchronized (REFLECTION_STORE.getClassLoadingLock(classLoader, entry.getKey())) {
+                    Class<?> type = REFLECTION_STORE.findLoadedClass(classLoader, entry.getKey());
+                    if (type == null) {
+                        type = classDefinition.define(classLoader,
+                                entry.getKey(),
+                                entry.getValue(),
+                                protectionDomain);
+                    }
+                    loadedTypes.put(entry.getKey(), type);
+                }
+            }
+            return loadedTypes;
         }
 
         @Override
         public String toString() {
             return "ClassLoaderByteArrayInjector.ClassLoadingAction{" +
                     "injector=" + ClassLoaderByteArrayInjector.this +
-                    ", name='" + name + '\'' +
-                    ", binaryRepresentation=" + Arrays.toString(binaryRepresentation) +
+                    ", binaryRepresentations=" + binaryRepresentations.keySet() +
                     '}';
         }
     }
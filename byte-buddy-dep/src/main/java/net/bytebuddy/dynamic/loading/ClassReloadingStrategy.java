@@ -2,13 +2,18 @@ package net.bytebuddy.dynamic.loading;
 
 import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.WeakConcurrentMap;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.instrument.*;
 import java.security.ProtectionDomain;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <p>
@@ -36,11 +41,6 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
      */
     private static final int END_OF_STREAM = -1;
 
-    /**
-     * A convenience variable representing the first index of an array to make the code more readable.
-     */
-    private static final int FIRST_INDEX = 0;
-
     /**
      * The name of the Byte Buddy agent class.
      */
@@ -71,6 +71,11 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
      */
     private final Engine engine;
 
+    /**
+     * A store of the original class files of all classes that were redefined by this strategy.
+     */
+    private final SnapshotStore snapshotStore;
+
     /**
      * Creates a class reloading strategy for the given instrumentation. The given instrumentation must either
      * support {@link java.lang.instrument.Instrumentation#isRedefineClassesSupported()} or
@@ -88,6 +93,7 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
         } else {
             throw new IllegalArgumentException("Instrumentation does not support class redefinition: " + instrumentation);
         }
+        snapshotStore = SnapshotStore.of(instrumentation);
     }
 
     /**
@@ -100,6 +106,7 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
     public ClassReloadingStrategy(Instrumentation instrumentation, Engine engine) {
         this.instrumentation = instrumentation;
         this.engine = engine;
+        snapshotStore = SnapshotStore.of(instrumentation);
     }
 
     /**
@@ -136,33 +143,29 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
      * @throws IOException If the stream reading causes an error.
      */
     private static byte[] drain(InputStream inputStream) throws IOException {
-        List<byte[]> previousBytes = new LinkedList<byte[]>();
-        byte[] currentArray = new byte[BUFFER_SIZE];
-        int currentIndex = 0;
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
         int currentRead;
-        do {
-            currentRead = inputStream.read(currentArray, currentIndex, BUFFER_SIZE - currentIndex);
-            currentIndex += currentRead > 0 ? currentRead : 0;
-            if (currentIndex == BUFFER_SIZE) {
-                previousBytes.add(currentArray);
-                currentArray = new byte[BUFFER_SIZE];
-                currentIndex = 0;
-            }
-        } while (currentRead != END_OF_STREAM);
-        byte[] result = new byte[previousBytes.size() * BUFFER_SIZE + currentIndex];
-        int arrayIndex = 0;
-        for (byte[] previousByte : previousBytes) {
-            System.arraycopy(previousByte, FIRST_INDEX, result, arrayIndex++ * BUFFER_SIZE, BUFFER_SIZE);
+        while ((currentRead = inputStream.read(buffer)) != END_OF_STREAM) {
+            outputStream.write(buffer, 0, currentRead);
         }
-        System.arraycopy(currentArray, FIRST_INDEX, result, arrayIndex * BUFFER_SIZE, currentIndex);
-        return result;
+        return outputStream.toByteArray();
     }
 
-    @Override
-    public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+    /**
+     * Resolves the given types where any type that is already loaded by the given class loader is represented by
+     * a class definition and any other type is injected into the class loader.
+     *
+     * @param classLoader      The class loader to resolve the types with.
+     * @param types            The binary representations of the types to resolve mapped by their descriptions.
+     * @param classDefinitions A map to which class definitions for already loaded types are added.
+     * @return A map of the given type descriptions pointing to their loaded representations.
+     */
+    private static Map<TypeDescription, Class<?>> resolve(ClassLoader classLoader,
+                                                          Map<TypeDescription, byte[]> types,
+                                                          Map<Class<?>, ClassDefinition> classDefinitions) {
         Map<TypeDescription, Class<?>> loadedClasses = new HashMap<TypeDescription, Class<?>>(types.size());
         ClassLoaderByteArrayInjector classLoaderByteArrayInjector = new ClassLoaderByteArrayInjector(classLoader);
-        Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(types.size());
         for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
             Class<?> type;
             try {
@@ -173,8 +176,15 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
             }
             loadedClasses.put(entry.getKey(), type);
         }
+        return loadedClasses;
+    }
+
+    @Override
+    public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+        Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(types.size());
+        Map<TypeDescription, Class<?>> loadedClasses = resolve(classLoader, types, classDefinitions);
         try {
-            engine.apply(instrumentation, classDefinitions);
+            snapshotStore.apply(instrumentation, engine, classDefinitions);
         } catch (ClassNotFoundException e) {
             throw new IllegalArgumentException("Could not locate classes for redefinition", e);
         } catch (UnmodifiableClassException e) {
@@ -184,25 +194,15 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
     }
 
     /**
-     * Resets all classes to their original definition.
+     * Resets all classes to their original definition. The original definition of any class that was previously
+     * redefined by this strategy is taken from an in-memory snapshot. For any other class, the original definition
+     * is read from the class file that is exposed by the class's class loader.
      *
      * @param type The types to reset.
      * @return This class reloading strategy.
      */
     public ClassReloadingStrategy reset(Class<?>... type) {
-        Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(type.length);
-        try {
-            for (Class<?> aType : type) {
-                InputStream inputStream = aType.getClassLoader().getResourceAsStream(aType.getName().replace('.', '/') + CLASS_FILE_EXTENSION);
-                try {
-                    classDefinitions.put(aType, new ClassDefinition(aType, drain(inputStream)));
-                } finally {
-                    inputStream.close();
-                }
-            }
-        } catch (IOException e) {
-            throw new IllegalStateException("Exception while resetting types " + Arrays.toString(type), e);
-        }
+        Map<Class<?>, ClassDefinition> classDefinitions = snapshotStore.locate(type);
         try {
             engine.apply(instrumentation, classDefinitions);
         } catch (ClassNotFoundException e) {
@@ -213,6 +213,55 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
         return this;
     }
 
+    /**
+     * Creates a retransformer that retransforms a large number of loaded classes in chunks of an adaptive size
+     * using this strategy's instrumentation.
+     *
+     * @param targetPause      The target pause of a single chunk.
+     * @param timeUnit         The time unit of the target pause.
+     * @param initialChunkSize The size of the first chunk.
+     * @return A chunked retransformer that uses this strategy's instrumentation.
+     */
+    public ChunkedRetransformer chunkedRetransformer(long targetPause, TimeUnit timeUnit, int initialChunkSize) {
+        return new ChunkedRetransformer(instrumentation, targetPause, timeUnit, initialChunkSize);
+    }
+
+    /**
+     * Creates a batching front-end to this class reloading strategy which queues redefinitions and applies them
+     * once the given number of distinct classes is queued or once {@link ClassReloadingStrategy.Batching#flush()}
+     * is called explicitly.
+     *
+     * @param maximumSize The number of distinct classes that triggers a redefinition of all queued classes.
+     * @return A batching front-end to this class reloading strategy.
+     */
+    public Batching batched(int maximumSize) {
+        return new Batching(instrumentation,
+                engine,
+                snapshotStore,
+                maximumSize,
+                Batching.NO_DELAY,
+                TimeUnit.MILLISECONDS,
+                null);
+    }
+
+    /**
+     * Creates a batching front-end to this class reloading strategy which queues redefinitions and applies them
+     * once the given number of distinct classes is queued or once the given delay has passed since the first
+     * redefinition was queued.
+     *
+     * @param maximumSize              The number of distinct classes that triggers a redefinition of all queued classes.
+     * @param delay                    The maximum delay before queued redefinitions are applied.
+     * @param timeUnit                 The time unit of the delay.
+     * @param scheduledExecutorService The executor service that applies queued redefinitions after the delay.
+     * @return A batching front-end to this class reloading strategy.
+     */
+    public Batching batched(int maximumSize, long delay, TimeUnit timeUnit, ScheduledExecutorService scheduledExecutorService) {
+        if (scheduledExecutorService == null) {
+            throw new NullPointerException("A scheduled executor service is required for a delayed redefinition");
+        }
+        return new Batching(instrumentation, engine, snapshotStore, maximumSize, delay, timeUnit, scheduledExecutorService);
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
@@ -360,4 +409,478 @@ public class ClassReloadingStrategy implements ClassLoadingStrategy {
             }
         }
     }
+
+    /**
+     * <p>
+     * A batching front-end to a class reloading strategy. Any redefinition of a loaded class, either by loading a
+     * type or by resetting it, is queued instead of being applied immediately. Repeated redefinitions of the same
+     * class are coalesced such that only the latest class definition of a class is applied. All queued class
+     * definitions are applied by a single call to the instrumentation, i.e. by stopping the virtual machine a
+     * single time, once a given number of distinct classes is queued, once a given delay has passed since the
+     * first redefinition was queued or once {@link ClassReloadingStrategy.Batching#flush()} is called explicitly.
+     * Types that are not yet loaded are still injected into their class loader immediately. The original class
+     * files of redefined classes that are not exposed by their class loader are captured by a single retransformation
+     * of all such classes when the queued redefinitions are flushed.
+     * </p>
+     * <p>
+     * The number of redefinitions that were requested and the number of redefinitions that were applied against
+     * the instrumentation are recorded in order to compare the number of safepoints with and without batching.
+     * </p>
+     * <p>
+     * <b>Note</b>: A loaded class does not reflect its redefinition before the queued redefinitions are flushed.
+     * </p>
+     */
+    public static class Batching implements ClassLoadingStrategy {
+
+        /**
+         * Represents the absence of a delay for flushing queued redefinitions.
+         */
+        protected static final long NO_DELAY = 0L;
+
+        /**
+         * The instrumentation to be used for applying redefinitions.
+         */
+        private final Instrumentation instrumentation;
+
+        /**
+         * The engine which performs the actual redefinition of a {@link java.lang.Class}.
+         */
+        private final Engine engine;
+
+        /**
+         * The store of the original class files of all redefined classes.
+         */
+        private final SnapshotStore snapshotStore;
+
+        /**
+         * The number of distinct classes that triggers a redefinition of all queued classes.
+         */
+        private final int maximumSize;
+
+        /**
+         * The maximum delay before queued redefinitions are applied.
+         */
+        private final long delay;
+
+        /**
+         * The time unit of the delay.
+         */
+        private final TimeUnit timeUnit;
+
+        /**
+         * The executor service that applies queued redefinitions after the delay or {@code null} if queued
+         * redefinitions are not applied after a delay.
+         */
+        private final ScheduledExecutorService scheduledExecutorService;
+
+        /**
+         * The queued class definitions in the order of their first redefinition.
+         */
+        private final Map<Class<?>, ClassDefinition> queue;
+
+        /**
+         * The scheduled flush of the currently queued redefinitions or {@code null} if no flush is scheduled.
+         */
+        private ScheduledFuture<?> scheduledFlush;
+
+        /**
+         * A failure of a scheduled flush that was not yet reported or {@code null} if no such failure occurred.
+         */
+        private RuntimeException failure;
+
+        /**
+         * The number of class redefinitions that were requested.
+         */
+        private long requestedRedefinitions;
+
+        /**
+         * The number of redefinitions that were applied against the instrumentation.
+         */
+        private long appliedRedefinitions;
+
+        /**
+         * Creates a new batching front-end to a class reloading strategy.
+         *
+         * @param instrumentation          The instrumentation to be used for applying redefinitions.
+         * @param engine                   The engine which performs the actual redefinition of a {@link java.lang.Class}.
+         * @param snapshotStore            The store of the original class files of all redefined classes.
+         * @param maximumSize              The number of distinct classes that triggers a redefinition of all queued classes.
+         * @param delay                    The maximum delay before queued redefinitions are applied.
+         * @param timeUnit                 The time unit of the delay.
+         * @param scheduledExecutorService The executor service that applies queued redefinitions after the delay or
+         *                                 {@code null} if queued redefinitions are not applied after a delay.
+         */
+        protected Batching(Instrumentation instrumentation,
+                           Engine engine,
+                           SnapshotStore snapshotStore,
+                           int maximumSize,
+                           long delay,
+                           TimeUnit timeUnit,
+                           ScheduledExecutorService scheduledExecutorService) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("The maximum size must be positive: " + maximumSize);
+            }
+            this.instrumentation = instrumentation;
+            this.engine = engine;
+            this.snapshotStore = snapshotStore;
+            this.maximumSize = maximumSize;
+            this.delay = delay;
+            this.timeUnit = timeUnit;
+            this.scheduledExecutorService = scheduledExecutorService;
+            queue = new LinkedHashMap<Class<?>, ClassDefinition>();
+        }
+
+        @Override
+        public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+            Map<Class<?>, ClassDefinition> classDefinitions = new LinkedHashMap<Class<?>, ClassDefinition>(types.size());
+            Map<TypeDescription, Class<?>> loadedClasses = resolve(classLoader, types, classDefinitions);
+            enqueue(classDefinitions);
+            return loadedClasses;
+        }
+
+        /**
+         * Queues the reset of all given classes to their original definition.
+         *
+         * @param type The types to reset.
+         * @return This batching front-end.
+         */
+        public Batching reset(Class<?>... type) {
+            enqueue(snapshotStore.locate(type));
+            return this;
+        }
+
+        /**
+         * Queues the given class definitions and applies all queued class definitions if the maximum size
+         * is reached.
+         *
+         * @param classDefinitions The class definitions to queue.
+         */
+        private synchronized void enqueue(Map<Class<?>, ClassDefinition> classDefinitions) {
+            if (classDefinitions.isEmpty()) {
+                return;
+            }
+            queue.putAll(classDefinitions);
+            requestedRedefinitions += classDefinitions.size();
+            if (queue.size() >= maximumSize) {
+                flush();
+            } else if (scheduledExecutorService != null && scheduledFlush == null) {
+                scheduledFlush = scheduledExecutorService.schedule(new ScheduledFlush(this), delay, timeUnit);
+            }
+        }
+
+        /**
+         * Applies all queued class definitions by a single redefinition. If a previously scheduled flush failed,
+         * this failure is thrown instead. The queue is only cleared if the redefinition succeeds. Otherwise, all
+         * class definitions remain queued and are applied by the next flush.
+         *
+         * @return This batching front-end.
+         */
+        public synchronized Batching flush() {
+            if (failure != null) {
+                RuntimeException failure = this.failure;
+                this.failure = null;
+                throw failure;
+            }
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (queue.isEmpty()) {
+                return this;
+            }
+            try {
+                snapshotStore.apply(instrumentation, engine, new ConcurrentHashMap<Class<?>, ClassDefinition>(queue));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Could not locate classes for redefinition", e);
+            } catch (UnmodifiableClassException e) {
+                throw new IllegalStateException("Cannot redefine specified class", e);
+            }
+            queue.clear();
+            appliedRedefinitions++;
+            return this;
+        }
+
+        /**
+         * Applies all queued class definitions after a scheduled delay. Any failure is recorded and thrown by the
+         * next explicit call to {@link ClassReloadingStrategy.Batching#flush()}.
+         */
+        protected synchronized void onScheduledFlush() {
+            scheduledFlush = null;
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        /**
+         * Returns the number of classes that are currently queued for redefinition.
+         *
+         * @return The number of classes that are currently queued for redefinition.
+         */
+        public synchronized int getQueueSize() {
+            return queue.size();
+        }
+
+        /**
+         * Returns the number of class redefinitions that were requested. Without batching, each request would
+         * stop the virtual machine.
+         *
+         * @return The number of class redefinitions that were requested.
+         */
+        public synchronized long getRequestedRedefinitions() {
+            return requestedRedefinitions;
+        }
+
+        /**
+         * Returns the number of redefinitions that were applied against the instrumentation. Each applied
+         * redefinition stops the virtual machine once.
+         *
+         * @return The number of redefinitions that were applied against the instrumentation.
+         */
+        public synchronized long getAppliedRedefinitions() {
+            return appliedRedefinitions;
+        }
+
+        @Override
+        public String toString() {
+            return "ClassReloadingStrategy.Batching{" +
+                    "instrumentation=" + instrumentation +
+                    ", engine=" + engine +
+                    ", maximumSize=" + maximumSize +
+                    ", delay=" + delay +
+                    ", timeUnit=" + timeUnit +
+                    ", scheduledExecutorService=" + scheduledExecutorService +
+                    '}';
+        }
+
+        /**
+         * A task that applies the queued class definitions of a batching front-end after a delay.
+         */
+        protected static class ScheduledFlush implements Runnable {
+
+            /**
+             * The batching front-end to flush.
+             */
+            private final Batching batching;
+
+            /**
+             * Creates a new scheduled flush.
+             *
+             * @param batching The batching front-end to flush.
+             */
+            protected ScheduledFlush(Batching batching) {
+                this.batching = batching;
+            }
+
+            @Override
+            public void run() {
+                batching.onScheduledFlush();
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && batching.equals(((ScheduledFlush) other).batching);
+            }
+
+            @Override
+            public int hashCode() {
+                return batching.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "ClassReloadingStrategy.Batching.ScheduledFlush{batching=" + batching + '}';
+            }
+        }
+    }
+
+    /**
+     * A store of the original class files of classes that are redefined. The original class file of a class is
+     * captured the first time the class is redefined such that resetting a class does not require to read its
+     * class file again. The original class file is read from the class loader of a class. If the class loader
+     * does not expose a class file and if the instrumentation supports retransformation, the class file is captured
+     * by a retransformation that does not change the class before the redefinition is applied by the configured
+     * engine. Such a class therefore causes one additional stop of the virtual machine when it is redefined for the
+     * first time. Note that this retransformation also invokes any other retransformation capable
+     * {@link java.lang.instrument.ClassFileTransformer} that is registered with the instrumentation. A single store
+     * is shared by all class reloading strategies of an instrumentation such that any strategy can reset a class that
+     * was redefined by another. Instrumentations and classes are referenced weakly such that they can still be
+     * garbage collected or unloaded.
+     */
+    protected static class SnapshotStore {
+
+        /**
+         * The snapshot stores of all instrumentations.
+         */
+        private static final WeakConcurrentMap<Instrumentation, SnapshotStore> SNAPSHOT_STORES = new WeakConcurrentMap<Instrumentation, SnapshotStore>();
+
+        /**
+         * Indicates that a class file transformer does not change a class.
+         */
+        private static final byte[] NO_TRANSFORMATION = null;
+
+        /**
+         * The original class files of all redefined classes.
+         */
+        private final WeakConcurrentMap<Class<?>, byte[]> snapshots;
+
+        /**
+         * Creates a new snapshot store.
+         */
+        protected SnapshotStore() {
+            snapshots = new WeakConcurrentMap<Class<?>, byte[]>();
+        }
+
+        /**
+         * Returns the snapshot store of the given instrumentation.
+         *
+         * @param instrumentation The instrumentation for which to return the snapshot store.
+         * @return The snapshot store of the given instrumentation.
+         */
+        protected static SnapshotStore of(Instrumentation instrumentation) {
+            SnapshotStore snapshotStore = SNAPSHOT_STORES.get(instrumentation);
+            if (snapshotStore == null) {
+                snapshotStore = new SnapshotStore();
+                SnapshotStore previousSnapshotStore = SNAPSHOT_STORES.putIfAbsent(instrumentation, snapshotStore);
+                if (previousSnapshotStore != null) {
+                    snapshotStore = previousSnapshotStore;
+                }
+            }
+            return snapshotStore;
+        }
+
+        /**
+         * Reads the class file of a type from its class loader.
+         *
+         * @param type The type for which to read the class file.
+         * @return The class file of the type or {@code null} if its class loader does not expose the class file.
+         */
+        private static byte[] read(Class<?> type) {
+            ClassLoader classLoader = type.getClassLoader() == null
+                    ? ClassLoader.getSystemClassLoader()
+                    : type.getClassLoader();
+            InputStream inputStream = classLoader.getResourceAsStream(type.getName().replace('.', '/') + CLASS_FILE_EXTENSION);
+            if (inputStream == null) {
+                return null;
+            }
+            try {
+                try {
+                    return drain(inputStream);
+                } finally {
+                    inputStream.close();
+                }
+            } catch (IOException ignored) {
+                return null;
+            }
+        }
+
+        /**
+         * Applies the given class definitions by the given engine after capturing the original class files of all
+         * redefined classes that are not yet captured. The class files of classes whose class loader does not expose
+         * them are captured by a retransformation that does not change these classes, if the instrumentation supports
+         * retransformation.
+         *
+         * @param instrumentation  The instrumentation to be used for applying the redefinition.
+         * @param engine           The engine to apply the class definitions with.
+         * @param classDefinitions A mapping of the classes to be redefined to their redefinition.
+         * @throws UnmodifiableClassException If a class is not modifiable.
+         * @throws ClassNotFoundException     If a class was not found.
+         */
+        protected void apply(Instrumentation instrumentation,
+                             Engine engine,
+                             Map<Class<?>, ClassDefinition> classDefinitions) throws UnmodifiableClassException, ClassNotFoundException {
+            Set<Class<?>> uncapturedTypes = new HashSet<Class<?>>();
+            for (Class<?> type : classDefinitions.keySet()) {
+                if (!snapshots.containsKey(type)) {
+                    byte[] binaryRepresentation = read(type);
+                    if (binaryRepresentation == null) {
+                        uncapturedTypes.add(type);
+                    } else {
+                        snapshots.putIfAbsent(type, binaryRepresentation);
+                    }
+                }
+            }
+            if (!uncapturedTypes.isEmpty() && instrumentation.isRetransformClassesSupported()) {
+                SnapshotTransformer snapshotTransformer = new SnapshotTransformer(uncapturedTypes);
+                synchronized (instrumentation) {
+                    instrumentation.addTransformer(snapshotTransformer, Engine.REDEFINE_CLASSES);
+                    try {
+                        instrumentation.retransformClasses(uncapturedTypes.toArray(new Class<?>[uncapturedTypes.size()]));
+                    } finally {
+                        instrumentation.removeTransformer(snapshotTransformer);
+                    }
+                }
+            }
+            engine.apply(instrumentation, classDefinitions);
+        }
+
+        /**
+         * Locates the original class definitions of the given types. A type's original class definition is taken
+         * from this store if the type was redefined and is read from its class loader otherwise.
+         *
+         * @param type The types for which to locate the original class definitions.
+         * @return A mapping of the given types to their original class definitions.
+         */
+        protected Map<Class<?>, ClassDefinition> locate(Class<?>... type) {
+            Map<Class<?>, ClassDefinition> classDefinitions = new ConcurrentHashMap<Class<?>, ClassDefinition>(type.length);
+            for (Class<?> aType : type) {
+                byte[] binaryRepresentation = snapshots.get(aType);
+                if (binaryRepresentation == null) {
+                    binaryRepresentation = read(aType);
+                    if (binaryRepresentation == null) {
+                        throw new IllegalStateException("Cannot locate original class file of " + aType);
+                    }
+                }
+                classDefinitions.put(aType, new ClassDefinition(aType, binaryRepresentation));
+            }
+            return classDefinitions;
+        }
+
+        @Override
+        public String toString() {
+            return "ClassReloadingStrategy.SnapshotStore{snapshots=" + snapshots + '}';
+        }
+
+        /**
+         * A class file transformer that captures the class files of retransformed classes without changing them.
+         */
+        private class SnapshotTransformer implements ClassFileTransformer {
+
+            /**
+             * The types of which the class files are captured.
+             */
+            private final Set<Class<?>> types;
+
+            /**
+             * Creates a new snapshot transformer.
+             *
+             * @param types The types of which the class files are captured.
+             */
+            private SnapshotTransformer(Set<Class<?>> types) {
+                this.types = types;
+            }
+
+            @Override
+            public byte[] transform(ClassLoader loader,
+                                    String className,
+                                    Class<?> classBeingRedefined,
+                                    ProtectionDomain protectionDomain,
+                                    byte[] classfileBuffer) {
+                if (classBeingRedefined != null && types.contains(classBeingRedefined)) {
+                    snapshots.putIfAbsent(classBeingRedefined, classfileBuffer);
+                }
+                return NO_TRANSFORMATION;
+            }
+
+            @Override
+            public String toString() {
+                return "ClassReloadingStrategy.SnapshotStore.SnapshotTransformer{" +
+                        "snapshotStore=" + SnapshotStore.this +
+                        ", types=" + types +
+                        '}';
+            }
+        }
+    }
 }
@@ -0,0 +1,191 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+
+import java.lang.ref.WeakReference;
+import java.security.ProtectionDomain;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A class loading strategy that loads all types for a given parent class loader by a single, long-lived
+ * {@link net.bytebuddy.dynamic.loading.ByteArrayClassLoader} to which any newly loaded types are appended. Doing
+ * so, fewer class loaders are created than when using a wrapping class loading strategy which creates a class
+ * loader for each loaded type.
+ * <p>&nbsp;</p>
+ * Any shared class loader is only referenced weakly by this strategy such that a shared class loader can still
+ * be unloaded, together with all of its types, once none of its types is in use. In order to allow the unloading
+ * of groups of unused types, a maximum number of types can be specified after which a new class loader is created
+ * for a parent class loader. A new class loader is also created if a type of the same name was already appended
+ * to the current shared class loader.
+ * <p>&nbsp;</p>
+ * This class loading strategy is thread-safe. As it retains state, it does not implement value equality.
+ */
+public class SharedClassLoadingStrategy implements ClassLoadingStrategy {
+
+    /**
+     * Represents an unlimited number of types per shared class loader.
+     */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * A convenience reference to the default protection domain which is {@code null}.
+     */
+    private static final ProtectionDomain DEFAULT_PROTECTION_DOMAIN = null;
+
+    /**
+     * The persistence handler of any shared class loader.
+     */
+    private final ByteArrayClassLoader.PersistenceHandler persistenceHandler;
+
+    /**
+     * The maximum number of types that are loaded by a shared class loader before a new class loader is created.
+     */
+    private final int maximumTypeCount;
+
+    /**
+     * The shared class loaders by their parent class loader which is referenced weakly.
+     */
+    private final Map<ClassLoader, Slot> slots;
+
+    /**
+     * Creates a new shared class loading strategy with a {@link ByteArrayClassLoader.PersistenceHandler#LATENT}
+     * persistence handler and an unlimited number of types per shared class loader.
+     */
+    public SharedClassLoadingStrategy() {
+        this(ByteArrayClassLoader.PersistenceHandler.LATENT, UNLIMITED);
+    }
+
+    /**
+     * Creates a new shared class loading strategy.
+     *
+     * @param persistenceHandler The persistence handler of any shared class loader.
+     * @param maximumTypeCount   The maximum number of types that are loaded by a shared class loader before a new
+     *                           class loader is created.
+     */
+    public SharedClassLoadingStrategy(ByteArrayClassLoader.PersistenceHandler persistenceHandler, int maximumTypeCount) {
+        if (maximumTypeCount < 1) {
+            throw new IllegalArgumentException("A shared class loader must be able to load at least one type: " + maximumTypeCount);
+        }
+        this.persistenceHandler = persistenceHandler;
+        this.maximumTypeCount = maximumTypeCount;
+        slots = new WeakHashMap<ClassLoader, Slot>();
+    }
+
+    @Override
+    public Map<TypeDescription, Class<?>> load(ClassLoader classLoader, Map<TypeDescription, byte[]> types) {
+        Map<String, byte[]> typeDefinitions = new LinkedHashMap<String, byte[]>(types.size());
+        for (Map.Entry<TypeDescription, byte[]> entry : types.entrySet()) {
+            typeDefinitions.put(entry.getKey().getName(), entry.getValue());
+        }
+        ClassLoader sharedClassLoader = append(classLoader, typeDefinitions);
+        Map<TypeDescription, Class<?>> loadedTypes = new LinkedHashMap<TypeDescription, Class<?>>(types.size());
+        for (TypeDescription typeDescription : types.keySet()) {
+            try {
+                loadedTypes.put(typeDescription, sharedClassLoader.loadClass(typeDescription.getName()));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Cannot load class " + typeDescription, e);
+            }
+        }
+        return loadedTypes;
+    }
+
+    /**
+     * Appends type definitions to the shared class loader of a parent class loader. If no such class loader exists,
+     * if the shared class loader reached its maximum number of types or if it already defines a type of the same
+     * name, a new shared class loader is created.
+     *
+     * @param classLoader     The parent class loader.
+     * @param typeDefinitions A map of fully qualified class names pointing to their binary representations.
+     * @return The shared class loader to which the type definitions were appended.
+     */
+    private ClassLoader append(ClassLoader classLoader, Map<String, byte[]> typeDefinitions) {
+        synchronized (slots) {
+            Slot slot = slots.get(classLoader);
+            ByteArrayClassLoader sharedClassLoader = slot == null
+                    ? null
+                    : slot.getClassLoader();
+            if (sharedClassLoader != null
+                    && slot.getTypeCount() + typeDefinitions.size() <= maximumTypeCount
+                    && sharedClassLoader.append(typeDefinitions)) {
+                slot.onAppend(typeDefinitions.size());
+                return sharedClassLoader;
+            }
+            sharedClassLoader = new ByteArrayClassLoader(classLoader, typeDefinitions, DEFAULT_PROTECTION_DOMAIN, persistenceHandler);
+            slots.put(classLoader, new Slot(sharedClassLoader, typeDefinitions.size()));
+            return sharedClassLoader;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SharedClassLoadingStrategy{" +
+                "persistenceHandler=" + persistenceHandler +
+                ", maximumTypeCount=" + maximumTypeCount +
+                '}';
+    }
+
+    /**
+     * A slot that references the current shared class loader of a parent class loader.
+     */
+    private static class Slot {
+
+        /**
+         * A weak reference to the shared class loader.
+         */
+        private final WeakReference<ByteArrayClassLoader> classLoader;
+
+        /**
+         * The number of types that were appended to the shared class loader.
+         */
+        private int typeCount;
+
+        /**
+         * Creates a new slot.
+         *
+         * @param classLoader The shared class loader.
+         * @param typeCount   The number of types of the shared class loader.
+         */
+        private Slot(ByteArrayClassLoader classLoader, int typeCount) {
+            this.classLoader = new WeakReference<ByteArrayClassLoader>(classLoader);
+            this.typeCount = typeCount;
+        }
+
+        /**
+         * Returns the shared class loader.
+         *
+         * @return The shared class loader or {@code null} if it was garbage collected.
+         */
+        private ByteArrayClassLoader getClassLoader() {
+            return classLoader.get();
+        }
+
+        /**
+         * Returns the number of types that were appended to the shared class loader.
+         *
+         * @return The number of types that were appended to the shared class loader.
+         */
+        private int getTypeCount() {
+            return typeCount;
+        }
+
+        /**
+         * Registers that types were appended to the shared class loader.
+         *
+         * @param typeCount The number of appended types.
+         */
+        private void onAppend(int typeCount) {
+            this.typeCount += typeCount;
+        }
+
+        @Override
+        public String toString() {
+            return "SharedClassLoadingStrategy.Slot{" +
+                    "classLoader=" + classLoader.get() +
+                    ", typeCount=" + typeCount +
+                    '}';
+        }
+    }
+}
@@ -14,6 +14,7 @@ import net.bytebuddy.instrumentation.type.TypeDescription;
 import java.util.*;
 
 import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.is;
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.optimize;
 import static net.bytebuddy.utility.ByteBuddyCommons.join;
 
 /**
@@ -333,7 +334,7 @@ public interface MethodRegistry {
                     if (!byteCodeAppenders.containsKey(entry.getInstrumentation())) {
                         byteCodeAppenders.put(entry.getInstrumentation(), entry.getInstrumentation().appender(instrumentationTarget));
                     }
-                    compiledEntries.add(new Compiled.Entry(entry.getLatentMethodMatcher().manifest(instrumentationTarget.getTypeDescription()),
+                    compiledEntries.add(new Compiled.Entry(optimize(entry.getLatentMethodMatcher().manifest(instrumentationTarget.getTypeDescription())),
                             byteCodeAppenders.get(entry.getInstrumentation()),
                             entry.getAttributeAppenderFactory().make(instrumentationTarget.getTypeDescription())));
                 }
@@ -414,6 +415,11 @@ public interface MethodRegistry {
              */
             private final MethodRegistry.Compiled.Entry fallback;
 
+            /**
+             * An index of the compiled entries by the methods they can possibly match.
+             */
+            private final Index index;
+
             /**
              * Creates a new compiled default method registry.
              *
@@ -434,6 +440,7 @@ public interface MethodRegistry {
                 this.invokableMethods = invokableMethods;
                 this.entries = entries;
                 this.fallback = fallback;
+                index = Index.of(entries);
             }
 
             @Override
@@ -453,12 +460,10 @@ public interface MethodRegistry {
 
             @Override
             public MethodRegistry.Compiled.Entry target(MethodDescription methodDescription) {
-                for (Entry entry : entries) {
-                    if (entry.matches(methodDescription)) {
-                        return entry;
-                    }
-                }
-                return fallback;
+                Entry entry = index.target(methodDescription);
+                return entry == null
+                        ? fallback
+                        : entry;
             }
 
             @Override
@@ -494,6 +499,145 @@ public interface MethodRegistry {
                         '}';
             }
 
+            /**
+             * An index of compiled entries which only applies an entry's matcher to a method if the method is one
+             * of the matcher's {@link net.bytebuddy.instrumentation.method.matcher.MethodMatcher.Candidates}. Entries
+             * are looked up by a method's name only, where a candidate's unique signature is indexed by the name it
+             * contains, such that a lookup never requires computing a method's descriptor. For each name, the entries
+             * with an unrestricted matcher are merged into the indexed entries in their order of application such that
+             * a lookup does not need to merge several lists of entries. Constructors and type initializers are matched
+             * against all entries.
+             */
+            protected static class Index {
+
+                /**
+                 * The separator between a method's name and its descriptor within a unique signature.
+                 */
+                private static final char DESCRIPTOR_START = '(';
+
+                /**
+                 * All compiled entries in their order of application.
+                 */
+                private final List<Entry> entries;
+
+                /**
+                 * The ascending indices of entries that are candidates for a method of a given name, including all
+                 * entries that are candidates for any method.
+                 */
+                private final Map<String, int[]> nameEntries;
+
+                /**
+                 * The ascending indices of entries that are candidates for any method.
+                 */
+                private final int[] unrestrictedEntries;
+
+                /**
+                 * Creates a new index.
+                 *
+                 * @param entries             All compiled entries in their order of application.
+                 * @param nameEntries         The ascending indices of entries that are candidates for a method of a
+                 *                            given name, including all entries that are candidates for any method.
+                 * @param unrestrictedEntries The ascending indices of entries that are candidates for any method.
+                 */
+                protected Index(List<Entry> entries, Map<String, int[]> nameEntries, int[] unrestrictedEntries) {
+                    this.entries = entries;
+                    this.nameEntries = nameEntries;
+                    this.unrestrictedEntries = unrestrictedEntries;
+                }
+
+                /**
+                 * Creates an index of the given entries.
+                 *
+                 * @param entries All compiled entries in their order of application.
+                 * @return An index of the given entries.
+                 */
+                protected static Index of(List<Entry> entries) {
+                    Map<String, List<Integer>> nameEntries = new HashMap<String, List<Integer>>();
+                    List<Integer> unrestrictedEntries = new ArrayList<Integer>();
+                    int index = 0;
+                    for (Entry entry : entries) {
+                        MethodMatcher.Candidates candidates = MethodMatcher.Candidates.of(entry.getMethodMatcher());
+                        if (candidates.isUnrestricted()) {
+                            unrestrictedEntries.add(index);
+                        } else {
+                            Set<String> names = new HashSet<String>(candidates.getNames());
+                            for (String uniqueSignature : candidates.getUniqueSignatures()) {
+                                names.add(uniqueSignature.substring(0, uniqueSignature.indexOf(DESCRIPTOR_START)));
+                            }
+                            for (String name : names) {
+                                List<Integer> indices = nameEntries.get(name);
+                                if (indices == null) {
+                                    indices = new ArrayList<Integer>();
+                                    nameEntries.put(name, indices);
+                                }
+                                indices.add(index);
+                            }
+                        }
+                        index++;
+                    }
+                    Map<String, int[]> mergedNameEntries = new HashMap<String, int[]>(nameEntries.size());
+                    for (Map.Entry<String, List<Integer>> entry : nameEntries.entrySet()) {
+                        mergedNameEntries.put(entry.getKey(), merge(entry.getValue(), unrestrictedEntries));
+                    }
+                    return new Index(entries, mergedNameEntries, merge(Collections.<Integer>emptyList(), unrestrictedEntries));
+                }
+
+                /**
+                 * Merges two ascending lists of entry indices into a single ascending array without duplicates.
+                 *
+                 * @param first  The first ascending list of entry indices.
+                 * @param second The second ascending list of entry indices.
+                 * @return An ascending array of all given entry indices.
+                 */
+                private static int[] merge(List<Integer> first, List<Integer> second) {
+                    SortedSet<Integer> indices = new TreeSet<Integer>(first);
+                    indices.addAll(second);
+                    int[] array = new int[indices.size()];
+                    int index = 0;
+                    for (Integer anIndex : indices) {
+                        array[index++] = anIndex;
+                    }
+                    return array;
+                }
+
+                /**
+                 * Finds the first entry in the order of application that matches the given method.
+                 *
+                 * @param methodDescription The method for which an entry is to be found.
+                 * @return The first matching entry or {@code null} if no entry matches the given method.
+                 */
+                protected Entry target(MethodDescription methodDescription) {
+                    if (!methodDescription.isMethod()) {
+                        // The name of a constructor or a type initializer differs from its internal name.
+                        for (Entry entry : entries) {
+                            if (entry.matches(methodDescription)) {
+                                return entry;
+                            }
+                        }
+                        return null;
+                    }
+                    int[] indices = nameEntries.get(methodDescription.getInternalName());
+                    if (indices == null) {
+                        indices = unrestrictedEntries;
+                    }
+                    for (int index : indices) {
+                        Entry entry = entries.get(index);
+                        if (entry.matches(methodDescription)) {
+                            return entry;
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public String toString() {
+                    return "MethodRegistry.Default.Compiled.Index{" +
+                            "nameEntries=" + nameEntries.keySet() +
+                            ", unrestrictedEntries=" + Arrays.toString(unrestrictedEntries) +
+                            '}';
+                }
+            }
+
             /**
              * An entry of a compiled default method registry.
              */
@@ -523,6 +667,15 @@ public interface MethodRegistry {
                     return methodMatcher.matches(methodDescription);
                 }
 
+                /**
+                 * Returns the method matcher that represents this compiled entry.
+                 *
+                 * @return The method matcher that represents this compiled entry.
+                 */
+                protected MethodMatcher getMethodMatcher() {
+                    return methodMatcher;
+                }
+
                 @Override
                 public boolean equals(Object other) {
                     return this == other || !(other == null || getClass() != other.getClass())
@@ -549,7 +702,7 @@ public interface MethodRegistry {
         /**
          * A method matcher that matches methods that are found in only one of two lists.
          */
-        private static class ListDifferenceMethodMatcher implements MethodMatcher, LatentMethodMatcher {
+        private static class ListDifferenceMethodMatcher implements MethodMatcher.Indexable, LatentMethodMatcher {
             /**
              * The methods that are matched by this instance.
              */
@@ -571,6 +724,15 @@ public interface MethodRegistry {
                 return matchedMethods.filter(is(methodDescription)).size() == 1;
             }
 
+            @Override
+            public Candidates getCandidates() {
+                Candidates candidates = Candidates.none();
+                for (MethodDescription methodDescription : matchedMethods) {
+                    candidates = candidates.or(Candidates.ofUniqueSignature(methodDescription.getUniqueSignature()));
+                }
+                return candidates;
+            }
+
             @Override
             public MethodMatcher manifest(TypeDescription typeDescription) {
                 return this;
@@ -575,7 +575,7 @@ public interface TypeWriter<T> {
                         injectorProxyMethod = new MethodDescription.Latent(
                                 String.format("%s$%s", TYPE_INITIALIZER_PROXY_PREFIX, RandomString.make()),
                                 instrumentedType,
-                                new TypeDescription.ForLoadedType(void.class),
+                                TypeDescription.ForLoadedType.of(void.class),
                                 new TypeList.Empty(),
                                 TYPE_INITIALIZER_PROXY_MODIFIERS,
                                 Collections.<TypeDescription>emptyList());
@@ -1121,7 +1121,12 @@ public interface TypeWriter<T> {
         private final Engine engine;
 
         /**
-         * Creates a new immutable type writer.
+         * The factory for the instrumentation context of the written type.
+         */
+        private final Instrumentation.Context.Factory instrumentationContextFactory;
+
+        /**
+         * Creates a new immutable type writer which uses a default instrumentation context.
          *
          * @param instrumentedType       The instrumented type that is to be written.
          * @param loadedTypeInitializer  The loaded type initializer of the instrumented type.
@@ -1135,16 +1140,42 @@ public interface TypeWriter<T> {
                        List<DynamicType> explicitAuxiliaryTypes,
                        ClassFileVersion classFileVersion,
                        Engine engine) {
+            this(instrumentedType,
+                    loadedTypeInitializer,
+                    explicitAuxiliaryTypes,
+                    classFileVersion,
+                    engine,
+                    Instrumentation.Context.Default.Factory.RANDOM);
+        }
+
+        /**
+         * Creates a new immutable type writer.
+         *
+         * @param instrumentedType              The instrumented type that is to be written.
+         * @param loadedTypeInitializer         The loaded type initializer of the instrumented type.
+         * @param explicitAuxiliaryTypes        A list of explicit auxiliary types that are to be added to the created
+         *                                      dynamic type.
+         * @param classFileVersion              The class file version of the type that is to be written.
+         * @param engine                        An engine for writing the actual class file for the instrumented type.
+         * @param instrumentationContextFactory The factory for the instrumentation context of the written type.
+         */
+        public Default(TypeDescription instrumentedType,
+                       LoadedTypeInitializer loadedTypeInitializer,
+                       List<DynamicType> explicitAuxiliaryTypes,
+                       ClassFileVersion classFileVersion,
+                       Engine engine,
+                       Instrumentation.Context.Factory instrumentationContextFactory) {
             this.instrumentedType = instrumentedType;
             this.loadedTypeInitializer = loadedTypeInitializer;
             this.explicitAuxiliaryTypes = explicitAuxiliaryTypes;
             this.classFileVersion = classFileVersion;
             this.engine = engine;
+            this.instrumentationContextFactory = instrumentationContextFactory;
         }
 
         @Override
         public DynamicType.Unloaded<S> make() {
-            Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType,
+            Instrumentation.Context.ExtractableView instrumentationContext = instrumentationContextFactory.make(instrumentedType,
                     classFileVersion);
             return new DynamicType.Default.Unloaded<S>(instrumentedType,
                     engine.create(instrumentationContext),
@@ -1161,7 +1192,8 @@ public interface TypeWriter<T> {
                     && explicitAuxiliaryTypes.equals(aDefault.explicitAuxiliaryTypes)
                     && instrumentedType.equals(aDefault.instrumentedType)
                     && classFileVersion.equals(aDefault.classFileVersion)
-                    && loadedTypeInitializer.equals(aDefault.loadedTypeInitializer);
+                    && loadedTypeInitializer.equals(aDefault.loadedTypeInitializer)
+                    && instrumentationContextFactory.equals(aDefault.instrumentationContextFactory);
         }
 
         @Override
@@ -1171,6 +1203,7 @@ public interface TypeWriter<T> {
             result = 31 * result + explicitAuxiliaryTypes.hashCode();
             result = 31 * result + engine.hashCode();
             result = 31 * result + classFileVersion.hashCode();
+            result = 31 * result + instrumentationContextFactory.hashCode();
             return result;
         }
 
@@ -1182,6 +1215,7 @@ public interface TypeWriter<T> {
                     ", explicitAuxiliaryTypes=" + explicitAuxiliaryTypes +
                     ", classFileVersion=" + classFileVersion +
                     ", engine=" + engine +
+                    ", instrumentationContextFactory=" + instrumentationContextFactory +
                     '}';
         }
     }
@@ -1,8 +1,15 @@
 package net.bytebuddy.dynamic.scaffold.inline;
 
+import net.bytebuddy.instrumentation.field.FieldList;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.MethodList;
+import net.bytebuddy.instrumentation.method.bytecode.stack.StackSize;
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.TypeList;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.lang.annotation.Annotation;
 import java.util.Arrays;
 
 /**
@@ -25,10 +32,294 @@ public interface ClassFileLocator {
      */
     InputStream classFileFor(TypeDescription typeDescription);
 
+    /**
+     * A class file locator that is additionally able to locate a class file by a type's name without requiring a
+     * description of this type. This allows to read a class file before the represented type is loaded. Any other
+     * class file locator can be adapted to this interface by
+     * {@link net.bytebuddy.dynamic.scaffold.inline.ClassFileLocator.Named.Adapter#of(ClassFileLocator)}.
+     */
+    static interface Named extends ClassFileLocator {
+
+        /**
+         * Locates the class file for a type of the given name without requiring a description of this type. Any
+         * requested {@link java.io.InputStream} is closed automatically after it is processed. If no class file
+         * can be located, {@code null} is returned.
+         *
+         * @param typeName The fully qualified, non-internal name of the type for which a class file is to be located.
+         * @return An input stream representing the given type.
+         */
+        InputStream classFileFor(String typeName);
+
+        /**
+         * An adapter that locates a class file by a type's name by querying a class file locator for a type
+         * description that only represents this name. Such a description does not declare any class loader and
+         * cannot resolve any property that is not implied by the type's name.
+         */
+        static class Adapter implements Named {
+
+            /**
+             * The class file locator that is adapted.
+             */
+            private final ClassFileLocator classFileLocator;
+
+            /**
+             * Creates a new adapter.
+             *
+             * @param classFileLocator The class file locator that is adapted.
+             */
+            protected Adapter(ClassFileLocator classFileLocator) {
+                this.classFileLocator = classFileLocator;
+            }
+
+            /**
+             * Adapts a class file locator to locate class files by a type's name.
+             *
+             * @param classFileLocator The class file locator to adapt.
+             * @return The given class file locator if it is already able to locate class files by name or an
+             * adapter of this class file locator.
+             */
+            public static Named of(ClassFileLocator classFileLocator) {
+                return classFileLocator instanceof Named
+                        ? (Named) classFileLocator
+                        : new Adapter(classFileLocator);
+            }
+
+            @Override
+            public InputStream classFileFor(TypeDescription typeDescription) {
+                return classFileLocator.classFileFor(typeDescription);
+            }
+
+            @Override
+            public InputStream classFileFor(String typeName) {
+                return classFileLocator.classFileFor(new NamedTypeDescription(typeName));
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && classFileLocator.equals(((Adapter) other).classFileLocator);
+            }
+
+            @Override
+            public int hashCode() {
+                return classFileLocator.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "ClassFileLocator.Named.Adapter{classFileLocator=" + classFileLocator + '}';
+            }
+
+            /**
+             * A type description that only represents a type's name. Any property that is not implied by this name
+             * cannot be resolved and causes an {@link java.lang.IllegalStateException}.
+             */
+            protected static class NamedTypeDescription extends TypeDescription.AbstractTypeDescription {
+
+                /**
+                 * The fully qualified, non-internal name of the represented type.
+                 */
+                private final String name;
+
+                /**
+                 * Creates a new type description for a type's name.
+                 *
+                 * @param name The fully qualified, non-internal name of the represented type.
+                 */
+                protected NamedTypeDescription(String name) {
+                    this.name = name;
+                }
+
+                /**
+                 * Creates an exception for a property that cannot be resolved from a type's name.
+                 *
+                 * @param property The name of the property.
+                 * @return An exception that describes the unresolvable property.
+                 */
+                private IllegalStateException unresolvable(String property) {
+                    return new IllegalStateException("Cannot resolve " + property + " of " + name + " which is only described by its name");
+                }
+
+                @Override
+                public String getName() {
+                    return name;
+                }
+
+                @Override
+                public String getDescriptor() {
+                    return "L" + getInternalName() + ";";
+                }
+
+                @Override
+                public String getPackageName() {
+                    int packageIndex = name.lastIndexOf('.');
+                    return packageIndex == -1
+                            ? ""
+                            : name.substring(0, packageIndex);
+                }
+
+                @Override
+                public String getSimpleName() {
+                    return name.substring(name.lastIndexOf('.') + 1);
+                }
+
+                @Override
+                public String getCanonicalName() {
+                    throw unresolvable("canonical name");
+                }
+
+                @Override
+                public boolean represents(Class<?> type) {
+                    return type.getName().equals(name);
+                }
+
+                @Override
+                public boolean isArray() {
+                    return false;
+                }
+
+                @Override
+                public TypeDescription getComponentType() {
+                    return null;
+                }
+
+                @Override
+                public boolean isPrimitive() {
+                    return false;
+                }
+
+                @Override
+                public StackSize getStackSize() {
+                    return StackSize.SINGLE;
+                }
+
+                @Override
+                public ClassLoader getClassLoader() {
+                    return null;
+                }
+
+                @Override
+                public boolean isAssignableFrom(Class<?> type) {
+                    throw unresolvable("assignability");
+                }
+
+                @Override
+                public boolean isAssignableFrom(TypeDescription typeDescription) {
+                    throw unresolvable("assignability");
+                }
+
+                @Override
+                public boolean isAssignableTo(Class<?> type) {
+                    throw unresolvable("assignability");
+                }
+
+                @Override
+                public boolean isAssignableTo(TypeDescription typeDescription) {
+                    throw unresolvable("assignability");
+                }
+
+                @Override
+                public boolean isInterface() {
+                    throw unresolvable("type manifestation");
+                }
+
+                @Override
+                public boolean isAnnotation() {
+                    throw unresolvable("type manifestation");
+                }
+
+                @Override
+                public TypeDescription getSupertype() {
+                    throw unresolvable("super type");
+                }
+
+                @Override
+                public TypeList getInterfaces() {
+                    throw unresolvable("interfaces");
+                }
+
+                @Override
+                public TypeDescription getDeclaringType() {
+                    throw unresolvable("declaring type");
+                }
+
+                @Override
+                public MethodDescription getEnclosingMethod() {
+                    throw unresolvable("enclosing method");
+                }
+
+                @Override
+                public TypeDescription getEnclosingClass() {
+                    throw unresolvable("enclosing class");
+                }
+
+                @Override
+                public boolean isAnonymousClass() {
+                    throw unresolvable("nesting");
+                }
+
+                @Override
+                public boolean isLocalClass() {
+                    throw unresolvable("nesting");
+                }
+
+                @Override
+                public boolean isMemberClass() {
+                    throw unresolvable("nesting");
+                }
+
+                @Override
+                public FieldList getDeclaredFields() {
+                    throw unresolvable("fields");
+                }
+
+                @Override
+                public MethodList getDeclaredMethods() {
+                    throw unresolvable("methods");
+                }
+
+                @Override
+                public boolean isSealed() {
+                    throw unresolvable("package sealing");
+                }
+
+                @Override
+                public int getModifiers() {
+                    throw unresolvable("modifiers");
+                }
+
+                @Override
+                public <T extends Annotation> T getAnnotation(Class<T> annotationType) {
+                    throw unresolvable("annotations");
+                }
+
+                @Override
+                public boolean isAnnotationPresent(Class<? extends Annotation> annotationType) {
+                    throw unresolvable("annotations");
+                }
+
+                @Override
+                public Annotation[] getAnnotations() {
+                    throw unresolvable("annotations");
+                }
+
+                @Override
+                public Annotation[] getDeclaredAnnotations() {
+                    throw unresolvable("annotations");
+                }
+
+                @Override
+                public String toString() {
+                    return "ClassFileLocator.Named.Adapter.NamedTypeDescription{name='" + name + "'}";
+                }
+            }
+        }
+    }
+
     /**
      * Default implementations for a {@link net.bytebuddy.dynamic.scaffold.inline.ClassFileLocator}.
      */
-    static enum Default implements ClassFileLocator {
+    static enum Default implements Named {
 
         /**
          * Locates a class file from the class path.
@@ -36,13 +327,19 @@ public interface ClassFileLocator {
         CLASS_PATH {
             @Override
             public InputStream classFileFor(TypeDescription typeDescription) {
-                return ClassLoader.getSystemResourceAsStream(typeDescription.getInternalName() + CLASS_FILE_EXTENSION);
+                return classFileFor(typeDescription.getName());
+            }
+
+            @Override
+            public InputStream classFileFor(String typeName) {
+                return ClassLoader.getSystemResourceAsStream(typeName.replace('.', '/') + CLASS_FILE_EXTENSION);
             }
         },
 
         /**
          * Locates a class file from a {@link java.lang.ClassLoader}'s resource lookup. This is only possible if a
-         * type is described by a loaded {@link java.lang.Class}.
+         * type is described by a loaded {@link java.lang.Class}. Class files cannot be located by a type's name
+         * as no class loader is known in this case.
          */
         ATTACHED {
             @Override
@@ -52,6 +349,61 @@ public interface ClassFileLocator {
                         ? classLoader.getResourceAsStream(typeDescription.getInternalName() + CLASS_FILE_EXTENSION)
                         : null;
             }
+
+            @Override
+            public InputStream classFileFor(String typeName) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A class file locator that queries a given {@link java.lang.ClassLoader} for a type's class file. This
+     * class loader is only queried for its resources and is never requested to load a type.
+     */
+    static class ForClassLoader implements Named {
+
+        /**
+         * The class loader that is queried for class files.
+         */
+        private final ClassLoader classLoader;
+
+        /**
+         * Creates a new class file locator for the given class loader.
+         *
+         * @param classLoader The class loader that is queried for class files or {@code null} for querying
+         *                    the system class loader.
+         */
+        public ForClassLoader(ClassLoader classLoader) {
+            this.classLoader = classLoader == null
+                    ? ClassLoader.getSystemClassLoader()
+                    : classLoader;
+        }
+
+        @Override
+        public InputStream classFileFor(TypeDescription typeDescription) {
+            return classFileFor(typeDescription.getName());
+        }
+
+        @Override
+        public InputStream classFileFor(String typeName) {
+            return classLoader.getResourceAsStream(typeName.replace('.', '/') + CLASS_FILE_EXTENSION);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && classLoader.equals(((ForClassLoader) other).classLoader);
+        }
+
+        @Override
+        public int hashCode() {
+            return classLoader.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileLocator.ForClassLoader{classLoader=" + classLoader + '}';
         }
     }
 
@@ -60,7 +412,7 @@ public interface ClassFileLocator {
      * Any class file locator is queried in the supplied order until one locator is able to provide an input
      * stream of the class file.
      */
-    static class Compound implements ClassFileLocator {
+    static class Compound implements Named {
 
         /**
          * The {@link net.bytebuddy.dynamic.scaffold.inline.ClassFileLocator}s which are represented by this compound
@@ -100,6 +452,17 @@ public interface ClassFileLocator {
             return null;
         }
 
+        @Override
+        public InputStream classFileFor(String typeName) {
+            for (ClassFileLocator classFileLocator : this.classFileLocator) {
+                InputStream inputStream = Named.Adapter.of(classFileLocator).classFileFor(typeName);
+                if (inputStream != null) {
+                    return inputStream;
+                }
+            }
+            return null;
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
@@ -116,4 +479,65 @@ public interface ClassFileLocator {
             return "ClassFileLocator.Compound{classFileLocator=" + Arrays.toString(classFileLocator) + '}';
         }
     }
+
+    /**
+     * A class file locator that provides a given binary representation for a single type of a given name. This
+     * allows to locate the class file of a type that is currently being defined and which can therefore not yet
+     * be located by its class loader.
+     */
+    static class Simple implements Named {
+
+        /**
+         * The fully qualified, non-internal name of the represented type.
+         */
+        private final String typeName;
+
+        /**
+         * The binary representation of the represented type.
+         */
+        private final byte[] binaryRepresentation;
+
+        /**
+         * Creates a new simple class file locator.
+         *
+         * @param typeName             The fully qualified, non-internal name of the represented type.
+         * @param binaryRepresentation The binary representation of the represented type.
+         */
+        public Simple(String typeName, byte[] binaryRepresentation) {
+            this.typeName = typeName;
+            this.binaryRepresentation = binaryRepresentation;
+        }
+
+        @Override
+        public InputStream classFileFor(TypeDescription typeDescription) {
+            return classFileFor(typeDescription.getName());
+        }
+
+        @Override
+        public InputStream classFileFor(String typeName) {
+            return this.typeName.equals(typeName)
+                    ? new ByteArrayInputStream(binaryRepresentation)
+                    : null;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && typeName.equals(((Simple) other).typeName)
+                    && Arrays.equals(binaryRepresentation, ((Simple) other).binaryRepresentation);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * typeName.hashCode() + Arrays.hashCode(binaryRepresentation);
+        }
+
+        @Override
+        public String toString() {
+            return "ClassFileLocator.Simple{" +
+                    "typeName='" + typeName + '\'' +
+                    ", binaryRepresentation=<" + binaryRepresentation.length + " bytes>" +
+                    '}';
+        }
+    }
 }
@@ -252,10 +252,19 @@ public class InlineDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractBas
                         fieldRegistry.prepare(compiledMethodRegistry.getInstrumentedType()).compile(TypeWriter.FieldPool.Entry.NoOp.INSTANCE),
                         compiledMethodRegistry,
                         classFileLocator,
-                        preparedTargetHandler.getMethodRebaseResolver()))
+                        preparedTargetHandler.getMethodRebaseResolver()),
+                Instrumentation.Context.Default.Factory.RANDOM)
                 .make();
     }
 
+    @Override
+    protected List<Object> getConfiguration() {
+        List<Object> configuration = super.getConfiguration();
+        configuration.add(classFileLocator);
+        configuration.add(targetHandler);
+        return configuration;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
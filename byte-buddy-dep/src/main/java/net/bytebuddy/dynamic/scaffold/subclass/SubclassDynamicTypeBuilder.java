@@ -8,6 +8,7 @@ import net.bytebuddy.dynamic.scaffold.BridgeMethodResolver;
 import net.bytebuddy.dynamic.scaffold.FieldRegistry;
 import net.bytebuddy.dynamic.scaffold.MethodRegistry;
 import net.bytebuddy.dynamic.scaffold.TypeWriter;
+import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.attribute.FieldAttributeAppender;
 import net.bytebuddy.instrumentation.attribute.MethodAttributeAppender;
 import net.bytebuddy.instrumentation.attribute.TypeAttributeAppender;
@@ -198,7 +199,8 @@ public class SubclassDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractB
                                         targetType,
                                         interfaceTypes,
                                         modifiers,
-                                        namingStrategy))))
+                                        namingStrategy,
+                                        getConfiguration()))))
                 .compile(new SubclassInstrumentationTarget.Factory(bridgeMethodResolverFactory,
                                 SubclassInstrumentationTarget.OriginTypeIdentifier.SUPER_TYPE),
                         methodLookupEngineFactory.make(classFileVersion.isSupportsDefaultMethods()),
@@ -215,10 +217,18 @@ public class SubclassDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractB
                         classVisitorWrapperChain,
                         attributeAppender,
                         fieldRegistry.prepare(compiledMethodRegistry.getInstrumentedType()).compile(TypeWriter.FieldPool.Entry.NoOp.INSTANCE),
-                        compiledMethodRegistry))
+                        compiledMethodRegistry),
+                Instrumentation.Context.Default.Factory.of(namingStrategy))
                 .make();
     }
 
+    @Override
+    protected List<Object> getConfiguration() {
+        List<Object> configuration = super.getConfiguration();
+        configuration.add(constructorStrategy);
+        return configuration;
+    }
+
     /**
      * Applies this builder's constructor strategy to the given instrumented type.
      *
@@ -266,6 +276,8 @@ public class SubclassDynamicTypeBuilder<T> extends DynamicType.Builder.AbstractB
                 ", defaultFieldAttributeAppenderFactory=" + defaultFieldAttributeAppenderFactory +
                 ", defaultMethodAttributeAppenderFactory=" + defaultMethodAttributeAppenderFactory +
                 ", constructorStrategy=" + constructorStrategy +
+                ", fieldTokens=" + fieldTokens +
+                ", methodTokens=" + methodTokens +
                 '}';
     }
 }
@@ -60,6 +60,26 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
                                     List<TypeDescription> interfaces,
                                     int modifiers,
                                     NamingStrategy namingStrategy) {
+        this(classFileVersion, superClass, interfaces, modifiers, namingStrategy, NamingStrategy.UnnamedType.Default.NO_FINGERPRINT);
+    }
+
+    /**
+     * Creates a new immutable type instrumentation for a loaded superclass.
+     *
+     * @param classFileVersion The class file version of this instrumentation.
+     * @param superClass       The superclass of this instrumentation.
+     * @param interfaces       A collection of loaded interfaces that are implemented by this instrumented class.
+     * @param modifiers        The modifiers for this instrumentation.
+     * @param namingStrategy   The naming strategy to be applied for this instrumentation.
+     * @param fingerprint      A fingerprint of the configuration of this instrumentation which is exposed to the
+     *                         naming strategy.
+     */
+    public SubclassInstrumentedType(ClassFileVersion classFileVersion,
+                                    TypeDescription superClass,
+                                    List<TypeDescription> interfaces,
+                                    int modifiers,
+                                    NamingStrategy namingStrategy,
+                                    Object fingerprint) {
         this.classFileVersion = classFileVersion;
         this.superClass = superClass;
         this.interfaces = interfaces;
@@ -67,7 +87,8 @@ public class SubclassInstrumentedType extends InstrumentedType.AbstractBase {
         this.name = isValidTypeName(namingStrategy.name(new NamingStrategy.UnnamedType.Default(superClass,
                 interfaces,
                 modifiers,
-                classFileVersion)));
+                classFileVersion,
+                fingerprint)));
     }
 
     /**
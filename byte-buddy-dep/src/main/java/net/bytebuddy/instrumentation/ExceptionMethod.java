@@ -54,7 +54,7 @@ public class ExceptionMethod implements Instrumentation, ByteCodeAppender {
      * instrumented methods.
      */
     public static Instrumentation throwing(Class<? extends Throwable> throwable) {
-        TypeDescription exceptionType = new TypeDescription.ForLoadedType(throwable);
+        TypeDescription exceptionType = TypeDescription.ForLoadedType.of(throwable);
         return new ExceptionMethod(exceptionType, new ConstructionDelegate.ForDefaultConstructor(exceptionType));
     }
 
@@ -69,7 +69,7 @@ public class ExceptionMethod implements Instrumentation, ByteCodeAppender {
      * instrumented methods.
      */
     public static Instrumentation throwing(Class<? extends Throwable> throwable, String message) {
-        TypeDescription exceptionType = new TypeDescription.ForLoadedType(throwable);
+        TypeDescription exceptionType = TypeDescription.ForLoadedType.of(throwable);
         return new ExceptionMethod(exceptionType, new ConstructionDelegate.ForStringConstructor(exceptionType, message));
     }
 
@@ -469,7 +469,7 @@ public abstract class FieldAccessor implements Instrumentation {
 
         @Override
         public AssignerConfigurable in(Class<?> type) {
-            return in(new TypeDescription.ForLoadedType(type));
+            return in(TypeDescription.ForLoadedType.of(type));
         }
 
         @Override
@@ -600,7 +600,7 @@ public abstract class FieldAccessor implements Instrumentation {
 
         @Override
         public AssignerConfigurable in(Class<?> type) {
-            return in(new TypeDescription.ForLoadedType(type));
+            return in(TypeDescription.ForLoadedType.of(type));
         }
 
         @Override
@@ -717,7 +717,7 @@ public abstract class FieldAccessor implements Instrumentation {
                  */
                 public FieldDefiner(String name, Class<?> type, ModifierContributor.ForField... contributor) {
                     this.name = isValidIdentifier(name);
-                    typeDescription = new TypeDescription.ForLoadedType(type);
+                    typeDescription = TypeDescription.ForLoadedType.of(type);
                     modifiers = resolveModifierContributors(ByteBuddyCommons.FIELD_MODIFIER_MASK, contributor);
                 }
 
@@ -286,7 +286,7 @@ public abstract class FixedValue implements Instrumentation {
                                Class<?> loadedType,
                                Assigner assigner,
                                boolean considerRuntimeType) {
-            this(valueLoadInstruction, new TypeDescription.ForLoadedType(loadedType), assigner, considerRuntimeType);
+            this(valueLoadInstruction, TypeDescription.ForLoadedType.of(loadedType), assigner, considerRuntimeType);
         }
 
         /**
@@ -411,7 +411,7 @@ public abstract class FixedValue implements Instrumentation {
             super(assigner, considerRuntimeType);
             this.fieldName = fieldName;
             this.fixedValue = fixedValue;
-            fieldType = new TypeDescription.ForLoadedType(fixedValue.getClass());
+            fieldType = TypeDescription.ForLoadedType.of(fixedValue.getClass());
         }
 
         @Override
@@ -73,7 +73,7 @@ public class Forwarding implements Instrumentation {
      */
     public static Instrumentation to(Object delegate, String fieldName) {
         return new Forwarding(fieldName,
-                new TypeDescription.ForLoadedType(delegate.getClass()),
+                TypeDescription.ForLoadedType.of(delegate.getClass()),
                 new PreparationHandler.ForStaticInstance(delegate));
     }
 
@@ -87,7 +87,7 @@ public class Forwarding implements Instrumentation {
      */
     public static Instrumentation toStaticField(String fieldName, Class<?> fieldType) {
         return new Forwarding(fieldName,
-                new TypeDescription.ForLoadedType(fieldType),
+                TypeDescription.ForLoadedType.of(fieldType),
                 PreparationHandler.ForStaticField.INSTANCE);
     }
 
@@ -101,7 +101,7 @@ public class Forwarding implements Instrumentation {
      */
     public static Instrumentation toInstanceField(String fieldName, Class<?> fieldType) {
         return new Forwarding(fieldName,
-                new TypeDescription.ForLoadedType(fieldType),
+                TypeDescription.ForLoadedType.of(fieldType),
                 PreparationHandler.ForInstanceField.INSTANCE);
     }
 
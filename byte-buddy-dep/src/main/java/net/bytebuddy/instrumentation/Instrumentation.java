@@ -1,6 +1,7 @@
 package net.bytebuddy.instrumentation;
 
 import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.NamingStrategy;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.scaffold.BridgeMethodResolver;
 import net.bytebuddy.dynamic.scaffold.TypeWriter;
@@ -10,6 +11,7 @@ import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.MethodLookupEngine;
 import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.constant.MethodConstant;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.FieldAccess;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodReturn;
@@ -17,11 +19,13 @@ import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodVariable
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.auxiliary.AuxiliaryType;
+import net.bytebuddy.instrumentation.type.auxiliary.MethodCallDispatcher;
 import net.bytebuddy.utility.RandomString;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
+import java.lang.reflect.AccessibleObject;
 import java.util.*;
 
 /**
@@ -478,6 +482,13 @@ public interface Instrumentation {
      */
     static interface Context {
 
+        /**
+         * Returns the class file version of the instrumented type.
+         *
+         * @return The class file version of the instrumented type.
+         */
+        ClassFileVersion getClassFileVersion();
+
         /**
          * Registers an auxiliary type as required for the current instrumentation. Registering a type will cause the
          * creation of this type even if this type is not effectively used for the current instrumentation.
@@ -487,6 +498,18 @@ public interface Instrumentation {
          */
         TypeDescription register(AuxiliaryType auxiliaryType);
 
+        /**
+         * Registers a special method invocation with the single
+         * {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallDispatcher} of the instrumented type. The
+         * dispatcher is created once all methods of the instrumented type are implemented such that it can dispatch
+         * any registered invocation.
+         *
+         * @param specialMethodInvocation The special method invocation to be dispatched.
+         * @param serializable            Determines if the dispatcher should be serializable.
+         * @return An entry that describes the dispatcher and the index of the given invocation within it.
+         */
+        MethodCallDispatcher.Entry dispatch(Instrumentation.SpecialMethodInvocation specialMethodInvocation, boolean serializable);
+
         /**
          * Caches a single value by storing it in form of a {@code private}, {@code final} and {@code static} field.
          * By caching values, expensive instance creations can be avoided and object identity can be preserved.
@@ -501,6 +524,16 @@ public interface Instrumentation {
          */
         FieldDescription cache(StackManipulation fieldValue, TypeDescription fieldType);
 
+        /**
+         * Registers a method or constructor with the method table of the instrumented type. The method table is a
+         * single {@code private}, {@code final} and {@code static} array of all tabulated methods and constructors
+         * which is resolved in the instrumented type's type initializer.
+         *
+         * @param methodDescription The method or constructor to register with the method table.
+         * @return An entry that describes the method table and the index of the given method within it.
+         */
+        MethodConstant.Table.Entry tabulate(MethodDescription methodDescription);
+
         /**
          * Represents an extractable view of an {@link net.bytebuddy.instrumentation.Instrumentation.Context} which
          * allows the retrieval of any registered auxiliary type.
@@ -577,6 +610,22 @@ public interface Instrumentation {
             }
         }
 
+        /**
+         * A factory for creating an {@link net.bytebuddy.instrumentation.Instrumentation.Context.ExtractableView}
+         * for an instrumented type.
+         */
+        static interface Factory {
+
+            /**
+             * Creates a new instrumentation context.
+             *
+             * @param instrumentedType The description of the type that is currently subject of creation.
+             * @param classFileVersion The class file version of the created class.
+             * @return An instrumentation context for the given instrumented type.
+             */
+            ExtractableView make(TypeDescription instrumentedType, ClassFileVersion classFileVersion);
+        }
+
         /**
          * A default implementation of an {@link net.bytebuddy.instrumentation.Instrumentation.Context.ExtractableView}
          * which serves as its own {@link net.bytebuddy.instrumentation.type.auxiliary.AuxiliaryType.MethodAccessorFactory}.
@@ -633,15 +682,31 @@ public interface Instrumentation {
              */
             private final Map<AuxiliaryType, DynamicType> auxiliaryTypes;
 
+            /**
+             * The special method invocations that are dispatched by a method call dispatcher, mapped by the
+             * dispatcher's serializability.
+             */
+            private final Map<Boolean, List<Instrumentation.SpecialMethodInvocation>> dispatchedInvocations;
+
+            /**
+             * The descriptions of the registered method call dispatchers, mapped by their serializability.
+             */
+            private final Map<Boolean, TypeDescription> dispatcherTypes;
+
             /**
              * A map of already registered field caches to their field representation.
              */
             private final Map<FieldCacheEntry, FieldDescription> registeredFieldCacheEntries;
 
             /**
-             * An instance for supporting the creation of random values.
+             * A map of all tabulated methods to their index within the method table.
+             */
+            private final Map<MethodDescription, Integer> tabulatedMethods;
+
+            /**
+             * A provider for the suffixes of the names of accessor methods and cache fields.
              */
-            private final RandomString randomString;
+            private final NameSuffixProvider nameSuffixProvider;
 
             /**
              * Signals if this type extension delegate is still capable of registering field cache entries. Such entries
@@ -650,6 +715,11 @@ public interface Instrumentation {
              */
             private boolean canRegisterFieldCache;
 
+            /**
+             * The field of the method table or {@code null} if no method was tabulated.
+             */
+            private FieldDescription methodTable;
+
             /**
              * Creates a new delegate. This constructor implicitly defines default naming strategies for created accessor
              * method and registered auxiliary types.
@@ -680,26 +750,60 @@ public interface Instrumentation {
                            String accessorMethodSuffix,
                            String fieldCachePrefix,
                            AuxiliaryTypeNamingStrategy auxiliaryTypeNamingStrategy) {
+                this(instrumentedType,
+                        classFileVersion,
+                        accessorMethodSuffix,
+                        fieldCachePrefix,
+                        auxiliaryTypeNamingStrategy,
+                        new NameSuffixProvider.Random());
+            }
+
+            /**
+             * Creates a new delegate.
+             *
+             * @param instrumentedType            The description of the type that is currently subject of creation.
+             * @param classFileVersion            The class file version of the created class.
+             * @param accessorMethodSuffix        A suffix that is added to any accessor method where the method name is
+             *                                    prefixed by the accessed method's name.
+             * @param fieldCachePrefix            A prefix that is added to any field cache.
+             * @param auxiliaryTypeNamingStrategy The naming strategy for naming an auxiliary type.
+             * @param nameSuffixProvider          A provider for the suffixes of the names of accessor methods and
+             *                                    cache fields.
+             */
+            public Default(TypeDescription instrumentedType,
+                           ClassFileVersion classFileVersion,
+                           String accessorMethodSuffix,
+                           String fieldCachePrefix,
+                           AuxiliaryTypeNamingStrategy auxiliaryTypeNamingStrategy,
+                           NameSuffixProvider nameSuffixProvider) {
                 this.instrumentedType = instrumentedType;
                 this.classFileVersion = classFileVersion;
                 this.accessorMethodSuffix = accessorMethodSuffix;
                 this.fieldCachePrefix = fieldCachePrefix;
                 this.auxiliaryTypeNamingStrategy = auxiliaryTypeNamingStrategy;
+                this.nameSuffixProvider = nameSuffixProvider;
                 registeredAccessorMethods = new HashMap<Instrumentation.SpecialMethodInvocation, MethodDescription>();
-                accessorMethodEntries = new HashMap<MethodDescription, TypeWriter.MethodPool.Entry>();
-                auxiliaryTypes = new HashMap<AuxiliaryType, DynamicType>();
-                registeredFieldCacheEntries = new HashMap<FieldCacheEntry, FieldDescription>();
-                randomString = new RandomString();
+                accessorMethodEntries = new LinkedHashMap<MethodDescription, TypeWriter.MethodPool.Entry>();
+                auxiliaryTypes = new LinkedHashMap<AuxiliaryType, DynamicType>();
+                dispatchedInvocations = new HashMap<Boolean, List<Instrumentation.SpecialMethodInvocation>>();
+                dispatcherTypes = new LinkedHashMap<Boolean, TypeDescription>();
+                registeredFieldCacheEntries = new LinkedHashMap<FieldCacheEntry, FieldDescription>();
+                tabulatedMethods = new LinkedHashMap<MethodDescription, Integer>();
                 canRegisterFieldCache = true;
             }
 
+            @Override
+            public ClassFileVersion getClassFileVersion() {
+                return classFileVersion;
+            }
+
             @Override
             public MethodDescription registerAccessorFor(Instrumentation.SpecialMethodInvocation specialMethodInvocation) {
                 MethodDescription accessorMethod = registeredAccessorMethods.get(specialMethodInvocation);
                 if (accessorMethod == null) {
                     String name = String.format("%s$%s$%s", specialMethodInvocation.getMethodDescription().getInternalName(),
                             accessorMethodSuffix,
-                            randomString.nextString());
+                            nameSuffixProvider.nextSuffix());
                     accessorMethod = new MethodDescription.Latent(name,
                             instrumentedType,
                             specialMethodInvocation.getMethodDescription().getReturnType(),
@@ -737,9 +841,39 @@ public interface Instrumentation {
                 return dynamicType.getTypeDescription();
             }
 
+            @Override
+            public MethodCallDispatcher.Entry dispatch(Instrumentation.SpecialMethodInvocation specialMethodInvocation,
+                                                       boolean serializable) {
+                registerAccessorFor(specialMethodInvocation);
+                TypeDescription dispatcherType = dispatcherTypes.get(serializable);
+                List<Instrumentation.SpecialMethodInvocation> specialMethodInvocations;
+                if (dispatcherType == null) {
+                    dispatcherType = MethodCallDispatcher.describe(auxiliaryTypeNamingStrategy.name(new MethodCallDispatcher(
+                                    Collections.<Instrumentation.SpecialMethodInvocation>emptyList(), serializable), instrumentedType),
+                            classFileVersion,
+                            serializable);
+                    specialMethodInvocations = new ArrayList<Instrumentation.SpecialMethodInvocation>();
+                    dispatcherTypes.put(serializable, dispatcherType);
+                    dispatchedInvocations.put(serializable, specialMethodInvocations);
+                } else {
+                    specialMethodInvocations = dispatchedInvocations.get(serializable);
+                }
+                int index = specialMethodInvocations.indexOf(specialMethodInvocation);
+                if (index == -1) {
+                    index = specialMethodInvocations.size();
+                    specialMethodInvocations.add(specialMethodInvocation);
+                }
+                return new MethodCallDispatcher.Entry(dispatcherType, index);
+            }
+
             @Override
             public List<DynamicType> getRegisteredAuxiliaryTypes() {
-                return new ArrayList<DynamicType>(auxiliaryTypes.values());
+                List<DynamicType> registeredAuxiliaryTypes = new ArrayList<DynamicType>(auxiliaryTypes.values());
+                for (Map.Entry<Boolean, TypeDescription> dispatcherType : dispatcherTypes.entrySet()) {
+                    registeredAuxiliaryTypes.add(new MethodCallDispatcher(dispatchedInvocations.get(dispatcherType.getKey()),
+                            dispatcherType.getKey()).make(dispatcherType.getValue().getName(), classFileVersion, this));
+                }
+                return registeredAuxiliaryTypes;
             }
 
             @Override
@@ -750,7 +884,7 @@ public interface Instrumentation {
                     return fieldCache;
                 }
                 validateFieldCacheAccessibility();
-                fieldCache = new FieldDescription.Latent(String.format("%s$%s", fieldCachePrefix, randomString.nextString()),
+                fieldCache = new FieldDescription.Latent(String.format("%s$%s", fieldCachePrefix, nameSuffixProvider.nextSuffix()),
                         instrumentedType,
                         fieldType,
                         FIELD_CACHE_MODIFIER);
@@ -758,6 +892,23 @@ public interface Instrumentation {
                 return fieldCache;
             }
 
+            @Override
+            public MethodConstant.Table.Entry tabulate(MethodDescription methodDescription) {
+                Integer index = tabulatedMethods.get(methodDescription);
+                if (index == null) {
+                    validateFieldCacheAccessibility();
+                    if (methodTable == null) {
+                        methodTable = new FieldDescription.Latent(String.format("%s$%s", fieldCachePrefix, nameSuffixProvider.nextSuffix()),
+                                instrumentedType,
+                                TypeDescription.ForLoadedType.of(AccessibleObject[].class),
+                                FIELD_CACHE_MODIFIER);
+                    }
+                    index = tabulatedMethods.size();
+                    tabulatedMethods.put(methodDescription, index);
+                }
+                return new MethodConstant.Table.Entry(methodTable, index);
+            }
+
             /**
              * Validates that the field cache is still accessible. Once the type initializer of a class is written, no
              * additional field caches can be defined. See
@@ -775,10 +926,17 @@ public interface Instrumentation {
             @Override
             public void drain(ClassVisitor classVisitor, TypeWriter.MethodPool methodPool, InjectedCode injectedCode) {
                 canRegisterFieldCache = false;
+                List<FieldDescription> fieldDescriptions = new ArrayList<FieldDescription>(registeredFieldCacheEntries.values());
+                ByteCodeAppender fieldInitialization = new FieldCacheAppender(registeredFieldCacheEntries);
+                if (methodTable != null) {
+                    fieldDescriptions.add(methodTable);
+                    fieldInitialization = new ByteCodeAppender.Compound(fieldInitialization, new MethodConstant.Table.Initialization(methodTable,
+                            new ArrayList<MethodDescription>(tabulatedMethods.keySet())));
+                }
                 MethodDescription typeInitializer = MethodDescription.Latent.typeInitializerOf(instrumentedType);
-                FieldCacheAppender.resolve(methodPool.target(typeInitializer), registeredFieldCacheEntries, injectedCode)
+                FieldCacheAppender.resolve(methodPool.target(typeInitializer), fieldInitialization, injectedCode)
                         .apply(classVisitor, this, typeInitializer);
-                for (FieldDescription fieldDescription : registeredFieldCacheEntries.values()) {
+                for (FieldDescription fieldDescription : fieldDescriptions) {
                     classVisitor.visitField(fieldDescription.getModifiers(),
                             fieldDescription.getInternalName(),
                             fieldDescription.getDescriptor(),
@@ -801,12 +959,132 @@ public interface Instrumentation {
                         ", registeredAccessorMethods=" + registeredAccessorMethods +
                         ", accessorMethodEntries=" + accessorMethodEntries +
                         ", auxiliaryTypes=" + auxiliaryTypes +
+                        ", dispatchedInvocations=" + dispatchedInvocations +
+                        ", dispatcherTypes=" + dispatcherTypes +
                         ", registeredFieldCacheEntries=" + registeredFieldCacheEntries +
-                        ", randomString=" + randomString +
+                        ", nameSuffixProvider=" + nameSuffixProvider +
+                        ", tabulatedMethods=" + tabulatedMethods +
                         ", canRegisterFieldCache=" + canRegisterFieldCache +
+                        ", methodTable=" + methodTable +
                         '}';
             }
 
+            /**
+             * Default factories for instrumentation contexts.
+             */
+            public static enum Factory implements Instrumentation.Context.Factory {
+
+                /**
+                 * Creates instrumentation contexts that name auxiliary types, accessor methods and cache fields
+                 * by a random suffix.
+                 */
+                RANDOM {
+                    @Override
+                    public ExtractableView make(TypeDescription instrumentedType, ClassFileVersion classFileVersion) {
+                        return new Default(instrumentedType, classFileVersion);
+                    }
+                },
+
+                /**
+                 * Creates instrumentation contexts that name auxiliary types, accessor methods and cache fields
+                 * by a suffix that enumerates them in the order of their registration.
+                 * For equal instrumented types, the created names are therefore equal. This factory must not be used
+                 * for types that are created several times with the same name for a single class loader, as for
+                 * example when a type is rebased or redefined, since the names of their auxiliary types would collide.
+                 * Byte Buddy therefore only applies this factory when creating a subclass.
+                 */
+                DETERMINISTIC {
+                    @Override
+                    public ExtractableView make(TypeDescription instrumentedType, ClassFileVersion classFileVersion) {
+                        return new Default(instrumentedType,
+                                classFileVersion,
+                                DEFAULT_ACCESSOR_METHOD_SUFFIX,
+                                DEFAULT_FIELD_CACHE_PREFIX,
+                                new AuxiliaryTypeNamingStrategy.Enumerating(DEFAULT_ACCESSOR_METHOD_SUFFIX),
+                                new NameSuffixProvider.Enumerating());
+                    }
+                };
+
+                /**
+                 * Resolves the factory that matches a naming strategy of a created subclass. A
+                 * {@link net.bytebuddy.NamingStrategy.Deterministic} naming strategy implies deterministic
+                 * instrumentation contexts. A rebased or redefined type keeps its name and must always use the
+                 * {@link net.bytebuddy.instrumentation.Instrumentation.Context.Default.Factory#RANDOM} factory.
+                 *
+                 * @param namingStrategy The naming strategy of the instrumented type.
+                 * @return A factory for instrumentation contexts that matches the given naming strategy.
+                 */
+                public static Instrumentation.Context.Factory of(NamingStrategy namingStrategy) {
+                    return namingStrategy instanceof NamingStrategy.Deterministic
+                            ? DETERMINISTIC
+                            : RANDOM;
+                }
+            }
+
+            /**
+             * A provider for the suffixes of the names of accessor methods and cache fields. A provider must never
+             * return the same suffix twice.
+             */
+            public static interface NameSuffixProvider {
+
+                /**
+                 * Returns the next suffix.
+                 *
+                 * @return A suffix that was not yet returned by this provider.
+                 */
+                String nextSuffix();
+
+                /**
+                 * A provider of random suffixes.
+                 */
+                static class Random implements NameSuffixProvider {
+
+                    /**
+                     * An instance for creating random values.
+                     */
+                    private final RandomString randomString;
+
+                    /**
+                     * Creates a new provider of random suffixes.
+                     */
+                    public Random() {
+                        randomString = new RandomString();
+                    }
+
+                    @Override
+                    public String nextSuffix() {
+                        return randomString.nextString();
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "Instrumentation.Context.Default.NameSuffixProvider.Random{randomString=" + randomString + '}';
+                    }
+                }
+
+                /**
+                 * A provider of suffixes that enumerates the provided suffixes by the number of previously provided
+                 * suffixes. An instance of this provider must only be used for a single instrumented type.
+                 */
+                static class Enumerating implements NameSuffixProvider {
+
+                    /**
+                     * The number of suffixes that were provided by this instance.
+                     */
+                    private int index;
+
+                    @Override
+                    public String nextSuffix() {
+                        return String.valueOf(index++);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "Instrumentation.Context.Default.NameSuffixProvider.Enumerating{index=" + index + '}';
+                    }
+                }
+            }
+
             /**
              * Representation of a naming strategy for an auxiliary type.
              */
@@ -868,6 +1146,46 @@ public interface Instrumentation {
                         return "TypeExtensionDelegate.AuxiliaryTypeNamingStrategySuffixingRandom{suffix='" + suffix + '\'' + '}';
                     }
                 }
+
+                /**
+                 * A naming strategy for an auxiliary type which returns the instrumented type's name with a fixed
+                 * extension and the number of previously named auxiliary types as a suffix. An instance of this
+                 * naming strategy must only be used for a single instrumented type.
+                 */
+                static class Enumerating implements AuxiliaryTypeNamingStrategy {
+
+                    /**
+                     * The suffix to append to the instrumented type for creating names for the auxiliary types.
+                     */
+                    private final String suffix;
+
+                    /**
+                     * The number of auxiliary types that were named by this instance.
+                     */
+                    private int index;
+
+                    /**
+                     * Creates a new enumerating naming strategy.
+                     *
+                     * @param suffix The suffix to extend to the instrumented type.
+                     */
+                    public Enumerating(String suffix) {
+                        this.suffix = suffix;
+                    }
+
+                    @Override
+                    public String name(AuxiliaryType auxiliaryType, TypeDescription instrumentedType) {
+                        return String.format("%s$%s$%d", instrumentedType.getName(), suffix, index++);
+                    }
+
+                    @Override
+                    public String toString() {
+                        return "Instrumentation.Context.Default.AuxiliaryTypeNamingStrategy.Enumerating{" +
+                                "suffix='" + suffix + '\'' +
+                                ", index=" + index +
+                                '}';
+                    }
+                }
             }
 
             /**
@@ -890,22 +1208,22 @@ public interface Instrumentation {
                 }
 
                 /**
-                 * Resolves the actual method pool entry to be applied for a given set of field cache entries and the
+                 * Resolves the actual method pool entry to be applied for a given initialization of the field caches and the
                  * provided {@link net.bytebuddy.instrumentation.Instrumentation.Context.ExtractableView.InjectedCode}.
                  *
-                 * @param originalEntry               The original entry that is provided by the user.
-                 * @param registeredFieldCacheEntries A map of registered field cache entries.
-                 * @param injectedCode                The explicitly supplied injected code.
+                 * @param originalEntry       The original entry that is provided by the user.
+                 * @param fieldInitialization The byte code appender that initializes the registered field caches.
+                 * @param injectedCode        The explicitly supplied injected code.
                  * @return The entry to apply to the type initializer.
                  */
                 public static TypeWriter.MethodPool.Entry resolve(TypeWriter.MethodPool.Entry originalEntry,
-                                                                  Map<FieldCacheEntry, FieldDescription> registeredFieldCacheEntries,
+                                                                  ByteCodeAppender fieldInitialization,
                                                                   InjectedCode injectedCode) {
                     boolean defineMethod = originalEntry.isDefineMethod();
                     boolean injectCode = injectedCode.isInjected();
-                    return registeredFieldCacheEntries.size() == 0 && !injectCode
+                    return !fieldInitialization.appendsCode() && !injectCode
                             ? originalEntry
-                            : new TypeWriter.MethodPool.Entry.Simple(new Compound(new FieldCacheAppender(registeredFieldCacheEntries),
+                            : new TypeWriter.MethodPool.Entry.Simple(new Compound(fieldInitialization,
                             new Simple(injectCode ? injectedCode.getInjectedCode() : StackManipulation.LegalTrivial.INSTANCE),
                             defineMethod && originalEntry.getByteCodeAppender().appendsCode()
                                     ? originalEntry.getByteCodeAppender()
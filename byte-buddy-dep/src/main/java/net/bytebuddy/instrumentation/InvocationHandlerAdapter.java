@@ -54,6 +54,12 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
      */
     protected final boolean cacheMethods;
 
+    /**
+     * Determines if the {@link java.lang.reflect.Method} instances that are handed to the intercepted methods are
+     * read from the instrumented type's method table.
+     */
+    protected final boolean tabulateMethods;
+
     /**
      * Creates a new invocation handler for a given field.
      *
@@ -62,8 +68,22 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
      *                     intercepted methods are cached in {@code static} fields.
      */
     protected InvocationHandlerAdapter(String fieldName, boolean cacheMethods) {
+        this(fieldName, cacheMethods, false);
+    }
+
+    /**
+     * Creates a new invocation handler for a given field.
+     *
+     * @param fieldName       The name of the field.
+     * @param cacheMethods    Determines if the {@link java.lang.reflect.Method} instances that are handed to the
+     *                        intercepted methods are cached in {@code static} fields.
+     * @param tabulateMethods Determines if the {@link java.lang.reflect.Method} instances that are handed to the
+     *                        intercepted methods are read from the instrumented type's method table.
+     */
+    protected InvocationHandlerAdapter(String fieldName, boolean cacheMethods, boolean tabulateMethods) {
         this.fieldName = fieldName;
         this.cacheMethods = cacheMethods;
+        this.tabulateMethods = tabulateMethods;
         assigner = new VoidAwareAssigner(new PrimitiveTypeAwareAssigner(ReferenceTypeAwareAssigner.INSTANCE), true);
     }
 
@@ -87,7 +107,7 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
      * @return An instrumentation that delegates all method interceptions to the given invocation handler.
      */
     public static InvocationHandlerAdapter of(InvocationHandler invocationHandler, String fieldName) {
-        return new ForStaticDelegation(nonNull(invocationHandler), isValidIdentifier(fieldName), false);
+        return new ForStaticDelegation(nonNull(invocationHandler), isValidIdentifier(fieldName), false, false);
     }
 
     /**
@@ -100,7 +120,7 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
      * @return An instrumentation that delegates all method interceptions to an instance field of the given name.
      */
     public static InvocationHandlerAdapter toInstanceField(String fieldName) {
-        return new ForInstanceDelegation(isValidIdentifier(fieldName), false);
+        return new ForInstanceDelegation(isValidIdentifier(fieldName), false, false);
     }
 
     /**
@@ -136,6 +156,18 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
      */
     public abstract Instrumentation withMethodCache();
 
+    /**
+     * Other than a method cache which defines a {@code static} field for each intercepted method where each field
+     * is initialized by its own look-up, a method table stores all {@link java.lang.reflect.Method} instances of
+     * the instrumented type in a single {@code static} array. This array is resolved in the instrumented type's
+     * type initializer where the declared methods of any declaring type are only queried once, independently of
+     * the number of intercepted methods.
+     *
+     * @return A similar invocation handler adapter which reads any {@link java.lang.reflect.Method} instance
+     * from a method table.
+     */
+    public abstract Instrumentation withMethodTable();
+
     /**
      * Applies an instrumentation that delegates to a invocation handler.
      *
@@ -151,15 +183,15 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
                                           MethodDescription instrumentedMethod,
                                           TypeDescription instrumentedType,
                                           StackManipulation preparingManipulation) {
-        TypeDescription objectType = new TypeDescription.ForLoadedType(Object.class);
-        TypeDescription invocationHandlerType = new TypeDescription.ForLoadedType(InvocationHandler.class);
+        TypeDescription objectType = TypeDescription.ForLoadedType.of(Object.class);
+        TypeDescription invocationHandlerType = TypeDescription.ForLoadedType.of(InvocationHandler.class);
         StackManipulation.Size stackSize = new StackManipulation.Compound(
                 preparingManipulation,
                 FieldAccess.forField(instrumentedType.getDeclaredFields().named(fieldName)).getter(),
                 MethodVariableAccess.forType(objectType).loadFromIndex(0),
-                cacheMethods
-                        ? MethodConstant.forMethod(instrumentedMethod).cached()
-                        : MethodConstant.forMethod(instrumentedMethod),
+                tabulateMethods
+                        ? MethodConstant.forMethod(instrumentedMethod).tabulated()
+                        : (cacheMethods ? MethodConstant.forMethod(instrumentedMethod).cached() : MethodConstant.forMethod(instrumentedMethod)),
                 ArrayFactory.targeting(objectType).withValues(argumentValuesOf(instrumentedMethod)),
                 MethodInvocation.invoke(invocationHandlerType.getDeclaredMethods().getOnly()),
                 assigner.assign(objectType, instrumentedMethod.getReturnType(), true),
@@ -172,12 +204,13 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
                 && cacheMethods == ((InvocationHandlerAdapter) other).cacheMethods
+                && tabulateMethods == ((InvocationHandlerAdapter) other).tabulateMethods
                 && fieldName.equals(((InvocationHandlerAdapter) other).fieldName);
     }
 
     @Override
     public int hashCode() {
-        return 31 * fieldName.hashCode() + (cacheMethods ? 1 : 0);
+        return 31 * (31 * fieldName.hashCode() + (cacheMethods ? 1 : 0)) + (tabulateMethods ? 1 : 0);
     }
 
     /**
@@ -199,21 +232,31 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
          * @param fieldName         The name of the field.
          * @param cacheMethods      Determines if the {@link java.lang.reflect.Method} instances that are handed to the
          *                          intercepted methods are cached in {@code static} fields.
+         * @param tabulateMethods   Determines if the {@link java.lang.reflect.Method} instances that are handed to the
+         *                          intercepted methods are read from the instrumented type's method table.
          */
-        private ForStaticDelegation(InvocationHandler invocationHandler, String fieldName, boolean cacheMethods) {
-            super(fieldName, cacheMethods);
+        private ForStaticDelegation(InvocationHandler invocationHandler,
+                                    String fieldName,
+                                    boolean cacheMethods,
+                                    boolean tabulateMethods) {
+            super(fieldName, cacheMethods, tabulateMethods);
             this.invocationHandler = invocationHandler;
         }
 
         @Override
         public Instrumentation withMethodCache() {
-            return new ForStaticDelegation(invocationHandler, fieldName, true);
+            return new ForStaticDelegation(invocationHandler, fieldName, true, false);
+        }
+
+        @Override
+        public Instrumentation withMethodTable() {
+            return new ForStaticDelegation(invocationHandler, fieldName, false, true);
         }
 
         @Override
         public InstrumentedType prepare(InstrumentedType instrumentedType) {
             return instrumentedType
-                    .withField(fieldName, new TypeDescription.ForLoadedType(InvocationHandler.class), Opcodes.ACC_STATIC)
+                    .withField(fieldName, TypeDescription.ForLoadedType.of(InvocationHandler.class), Opcodes.ACC_STATIC)
                     .withInitializer(LoadedTypeInitializer.ForStaticField.nonAccessible(fieldName, invocationHandler));
         }
 
@@ -239,6 +282,7 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
             return "InvocationHandlerAdapter.ForStaticDelegation{" +
                     "fieldName=" + fieldName +
                     "cacheMethods=" + cacheMethods +
+                    "tabulateMethods=" + tabulateMethods +
                     "invocationHandler=" + invocationHandler +
                     '}';
         }
@@ -320,22 +364,29 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
          * in an instance field.
          *
          * @param fieldName    The name of the field.
-         * @param cacheMethods Determines if the {@link java.lang.reflect.Method} instances that are handed to the
-         *                     intercepted methods are cached in {@code static} fields.
+         * @param cacheMethods    Determines if the {@link java.lang.reflect.Method} instances that are handed to the
+         *                        intercepted methods are cached in {@code static} fields.
+         * @param tabulateMethods Determines if the {@link java.lang.reflect.Method} instances that are handed to the
+         *                        intercepted methods are read from the instrumented type's method table.
          */
-        private ForInstanceDelegation(String fieldName, boolean cacheMethods) {
-            super(fieldName, cacheMethods);
+        private ForInstanceDelegation(String fieldName, boolean cacheMethods, boolean tabulateMethods) {
+            super(fieldName, cacheMethods, tabulateMethods);
         }
 
         @Override
         public Instrumentation withMethodCache() {
-            return new ForInstanceDelegation(fieldName, true);
+            return new ForInstanceDelegation(fieldName, true, false);
+        }
+
+        @Override
+        public Instrumentation withMethodTable() {
+            return new ForInstanceDelegation(fieldName, false, true);
         }
 
         @Override
         public InstrumentedType prepare(InstrumentedType instrumentedType) {
             return instrumentedType.withField(fieldName,
-                    new TypeDescription.ForLoadedType(InvocationHandler.class),
+                    TypeDescription.ForLoadedType.of(InvocationHandler.class),
                     Opcodes.ACC_PUBLIC);
         }
 
@@ -349,6 +400,7 @@ public abstract class InvocationHandlerAdapter implements Instrumentation {
             return "InvocationHandlerAdapter.ForInstanceDelegation{" +
                     "fieldName=" + fieldName +
                     "cacheMethods=" + cacheMethods +
+                    "tabulateMethods=" + tabulateMethods +
                     '}';
         }
 
@@ -48,6 +48,10 @@ import static net.bytebuddy.utility.ByteBuddyCommons.*;
  * <li>{@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.AllArguments}:
  * This annotation will assign a collection of all parameters of {@code Foo#bar} to that parameter of {@code Qux#baz}
  * that is annotated with {@code AllArguments}.</li>
+ * <li>{@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Arguments}:
+ * This annotation will assign a view of all parameters of {@code Foo#bar} to that parameter of {@code Qux#baz}
+ * that is annotated with {@code Arguments}. Other than for {@code AllArguments}, primitive parameters can be read
+ * from this view without being boxed.</li>
  * <li>{@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.This}: A parameter
  * of {@code Qux#baz} that is annotated with {@code This} will be assigned the instance that is instrumented for
  * a non-static method.</li>
@@ -202,7 +206,7 @@ public class MethodDelegation implements Instrumentation {
                 defaultDefaultsProvider(),
                 defaultAmbiguityResolver(),
                 defaultAssigner(),
-                new TypeDescription.ForLoadedType(type).getDeclaredMethods().filter(isStatic().and(not(isPrivate()))));
+                TypeDescription.ForLoadedType.of(type).getDeclaredMethods().filter(isStatic().and(not(isPrivate()))));
     }
 
     /**
@@ -241,7 +245,7 @@ public class MethodDelegation implements Instrumentation {
                 defaultDefaultsProvider(),
                 defaultAmbiguityResolver(),
                 defaultAssigner(),
-                methodLookupEngine.process(new TypeDescription.ForLoadedType(delegate.getClass()))
+                methodLookupEngine.process(TypeDescription.ForLoadedType.of(delegate.getClass()))
                         .getInvokableMethods()
                         .filter(not(isStatic().or(isPrivate()).or(isConstructor())))
         );
@@ -285,7 +289,7 @@ public class MethodDelegation implements Instrumentation {
                 defaultDefaultsProvider(),
                 defaultAmbiguityResolver(),
                 defaultAssigner(),
-                methodLookupEngine.process(new TypeDescription.ForLoadedType(delegate.getClass()))
+                methodLookupEngine.process(TypeDescription.ForLoadedType.of(delegate.getClass()))
                         .getInvokableMethods()
                         .filter(not(isStatic().or(isPrivate()).or(isConstructor())))
         );
@@ -326,12 +330,12 @@ public class MethodDelegation implements Instrumentation {
      */
     public static MethodDelegation toInstanceField(Class<?> type, String fieldName, MethodLookupEngine methodLookupEngine) {
         return new MethodDelegation(
-                new InstrumentationDelegate.ForInstanceField(new TypeDescription.ForLoadedType(nonNull(type)), isValidIdentifier(fieldName)),
+                new InstrumentationDelegate.ForInstanceField(TypeDescription.ForLoadedType.of(nonNull(type)), isValidIdentifier(fieldName)),
                 defaultParameterBinders(),
                 defaultDefaultsProvider(),
                 defaultAmbiguityResolver(),
                 defaultAssigner(),
-                methodLookupEngine.process(new TypeDescription.ForLoadedType(type))
+                methodLookupEngine.process(TypeDescription.ForLoadedType.of(type))
                         .getInvokableMethods()
                         .filter(not(isStatic().or(isPrivate()).or(isConstructor())))
         );
@@ -345,12 +349,12 @@ public class MethodDelegation implements Instrumentation {
      * @return An instrumentation that creates instances of the given type as its result.
      */
     public static MethodDelegation toConstructor(Class<?> type) {
-        return new MethodDelegation(new InstrumentationDelegate.ForConstruction(new TypeDescription.ForLoadedType(type)),
+        return new MethodDelegation(new InstrumentationDelegate.ForConstruction(TypeDescription.ForLoadedType.of(type)),
                 defaultParameterBinders(),
                 defaultDefaultsProvider(),
                 defaultAmbiguityResolver(),
                 defaultAssigner(),
-                new TypeDescription.ForLoadedType(type)
+                TypeDescription.ForLoadedType.of(type)
                         .getDeclaredMethods()
                         .filter(isConstructor())
         );
@@ -364,6 +368,7 @@ public class MethodDelegation implements Instrumentation {
     private static List<TargetMethodAnnotationDrivenBinder.ParameterBinder<?>> defaultParameterBinders() {
         return Arrays.<TargetMethodAnnotationDrivenBinder.ParameterBinder<?>>asList(Argument.Binder.INSTANCE,
                 AllArguments.Binder.INSTANCE,
+                Arguments.Binder.INSTANCE,
                 Origin.Binder.INSTANCE,
                 This.Binder.INSTANCE,
                 Super.Binder.INSTANCE,
@@ -513,6 +518,29 @@ public class MethodDelegation implements Instrumentation {
                 isNotEmpty(targetMethodCandidates.filter(nonNull(methodMatcher)), NO_METHODS_ERROR_MESSAGE));
     }
 
+    /**
+     * Invokes the delegation target by an {@code invokedynamic} instruction. When a call site is first executed, the
+     * JVM resolves its {@code invokedynamic} constant pool entry and calls Byte Buddy's bootstrap method which links
+     * the call site to a constant call site that is bound to a method handle of the target method. This method handle
+     * is itself resolved from the constant pool of the instrumented type. Once linked, the JIT compiler treats the
+     * call site like a direct invocation of the target method. Using this mode requires the instrumented type to be
+     * defined in at least the class file version of Java 7 and requires Byte Buddy to be visible to the class loader
+     * of the instrumented type where the call site is bootstrapped. Delegations to constructors are still invoked
+     * directly.
+     *
+     * @return A method delegation that invokes its target methods dynamically.
+     */
+    public MethodDelegation withInvokeDynamic() {
+        return new MethodDelegation(instrumentationDelegate instanceof InstrumentationDelegate.ForDynamicInvocation
+                ? instrumentationDelegate
+                : new InstrumentationDelegate.ForDynamicInvocation(instrumentationDelegate),
+                parameterBinders,
+                defaultsProvider,
+                ambiguityResolver,
+                assigner,
+                targetMethodCandidates);
+    }
+
     @Override
     public InstrumentedType prepare(InstrumentedType instrumentedType) {
         return instrumentationDelegate.prepare(instrumentedType);
@@ -601,6 +629,15 @@ public class MethodDelegation implements Instrumentation {
          */
         MethodDelegationBinder.MethodInvoker getMethodInvoker(TypeDescription instrumentedType);
 
+        /**
+         * Returns the method invoker responsible for invoking the delegation method by an {@code invokedynamic}
+         * instruction that is linked to a constant call site.
+         *
+         * @param instrumentedType The instrumented type to which the instrumentation is applied.
+         * @return A method invoker responsible for dynamically invoking the delegation method.
+         */
+        MethodDelegationBinder.MethodInvoker getDynamicMethodInvoker(TypeDescription instrumentedType);
+
         /**
          * An instrumentation applied to a static method.
          */
@@ -625,6 +662,11 @@ public class MethodDelegation implements Instrumentation {
             public MethodDelegationBinder.MethodInvoker getMethodInvoker(TypeDescription instrumentedType) {
                 return MethodDelegationBinder.MethodInvoker.Simple.INSTANCE;
             }
+
+            @Override
+            public MethodDelegationBinder.MethodInvoker getDynamicMethodInvoker(TypeDescription instrumentedType) {
+                return MethodDelegationBinder.MethodInvoker.Dynamic.INSTANCE;
+            }
         }
 
         /**
@@ -671,7 +713,7 @@ public class MethodDelegation implements Instrumentation {
             @Override
             public InstrumentedType prepare(InstrumentedType instrumentedType) {
                 return instrumentedType.withField(fieldName,
-                        new TypeDescription.ForLoadedType(delegate.getClass()),
+                        TypeDescription.ForLoadedType.of(delegate.getClass()),
                         Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_SYNTHETIC)
                         .withInitializer(LoadedTypeInitializer.ForStaticField.nonAccessible(fieldName, delegate));
             }
@@ -683,7 +725,12 @@ public class MethodDelegation implements Instrumentation {
 
             @Override
             public MethodDelegationBinder.MethodInvoker getMethodInvoker(TypeDescription instrumentedType) {
-                return new MethodDelegationBinder.MethodInvoker.Virtual(new TypeDescription.ForLoadedType(delegate.getClass()));
+                return new MethodDelegationBinder.MethodInvoker.Virtual(TypeDescription.ForLoadedType.of(delegate.getClass()));
+            }
+
+            @Override
+            public MethodDelegationBinder.MethodInvoker getDynamicMethodInvoker(TypeDescription instrumentedType) {
+                return new MethodDelegationBinder.MethodInvoker.DynamicVirtual(TypeDescription.ForLoadedType.of(delegate.getClass()));
             }
 
             @Override
@@ -750,6 +797,11 @@ public class MethodDelegation implements Instrumentation {
                 return new MethodDelegationBinder.MethodInvoker.Virtual(fieldType);
             }
 
+            @Override
+            public MethodDelegationBinder.MethodInvoker getDynamicMethodInvoker(TypeDescription instrumentedType) {
+                return new MethodDelegationBinder.MethodInvoker.DynamicVirtual(fieldType);
+            }
+
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
@@ -807,6 +859,11 @@ public class MethodDelegation implements Instrumentation {
                 return MethodDelegationBinder.MethodInvoker.Simple.INSTANCE;
             }
 
+            @Override
+            public MethodDelegationBinder.MethodInvoker getDynamicMethodInvoker(TypeDescription instrumentedType) {
+                return MethodDelegationBinder.MethodInvoker.Simple.INSTANCE;
+            }
+
             @Override
             public boolean equals(Object other) {
                 return this == other || !(other == null || getClass() != other.getClass())
@@ -825,6 +882,65 @@ public class MethodDelegation implements Instrumentation {
                         '}';
             }
         }
+
+        /**
+         * An instrumentation delegate that invokes the delegation method of another delegate by an
+         * {@code invokedynamic} instruction.
+         */
+        static class ForDynamicInvocation implements InstrumentationDelegate {
+
+            /**
+             * The instrumentation delegate whose delegation method is invoked dynamically.
+             */
+            private final InstrumentationDelegate instrumentationDelegate;
+
+            /**
+             * Creates a new instrumentation delegate for a dynamic invocation.
+             *
+             * @param instrumentationDelegate The instrumentation delegate whose delegation method is invoked dynamically.
+             */
+            public ForDynamicInvocation(InstrumentationDelegate instrumentationDelegate) {
+                this.instrumentationDelegate = instrumentationDelegate;
+            }
+
+            @Override
+            public InstrumentedType prepare(InstrumentedType instrumentedType) {
+                return instrumentationDelegate.prepare(instrumentedType);
+            }
+
+            @Override
+            public StackManipulation getPreparingStackAssignment(TypeDescription instrumentedType) {
+                return instrumentationDelegate.getPreparingStackAssignment(instrumentedType);
+            }
+
+            @Override
+            public MethodDelegationBinder.MethodInvoker getMethodInvoker(TypeDescription instrumentedType) {
+                return instrumentationDelegate.getDynamicMethodInvoker(instrumentedType);
+            }
+
+            @Override
+            public MethodDelegationBinder.MethodInvoker getDynamicMethodInvoker(TypeDescription instrumentedType) {
+                return instrumentationDelegate.getDynamicMethodInvoker(instrumentedType);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && instrumentationDelegate.equals(((ForDynamicInvocation) other).instrumentationDelegate);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * instrumentationDelegate.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "MethodDelegation.InstrumentationDelegate.ForDynamicInvocation{" +
+                        "instrumentationDelegate=" + instrumentationDelegate +
+                        '}';
+            }
+        }
     }
 
     /**
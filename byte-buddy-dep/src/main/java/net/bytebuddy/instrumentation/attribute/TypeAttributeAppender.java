@@ -120,7 +120,7 @@ public interface TypeAttributeAppender {
          * @param type The loaded type.
          */
         public ForType(Class<?> type) {
-            typeDescription = new TypeDescription.ForLoadedType(type);
+            typeDescription = TypeDescription.ForLoadedType.of(type);
         }
 
         /**
@@ -84,7 +84,7 @@ public interface FieldDescription extends ModifierReviewable, ByteCodeElement, D
 
         @Override
         public TypeDescription getFieldType() {
-            return new TypeDescription.ForLoadedType(field.getType());
+            return TypeDescription.ForLoadedType.of(field.getType());
         }
 
         @Override
@@ -114,7 +114,7 @@ public interface FieldDescription extends ModifierReviewable, ByteCodeElement, D
 
         @Override
         public TypeDescription getDeclaringType() {
-            return new TypeDescription.ForLoadedType(field.getDeclaringClass());
+            return TypeDescription.ForLoadedType.of(field.getDeclaringClass());
         }
 
         @Override
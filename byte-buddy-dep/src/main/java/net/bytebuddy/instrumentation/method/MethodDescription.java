@@ -262,12 +262,12 @@ public interface MethodDescription extends ModifierReviewable, ByteCodeMethod, D
 
         @Override
         public TypeDescription getDeclaringType() {
-            return new TypeDescription.ForLoadedType(constructor.getDeclaringClass());
+            return TypeDescription.ForLoadedType.of(constructor.getDeclaringClass());
         }
 
         @Override
         public TypeDescription getReturnType() {
-            return new TypeDescription.ForLoadedType(void.class);
+            return TypeDescription.ForLoadedType.of(void.class);
         }
 
         @Override
@@ -387,12 +387,12 @@ public interface MethodDescription extends ModifierReviewable, ByteCodeMethod, D
 
         @Override
         public TypeDescription getDeclaringType() {
-            return new TypeDescription.ForLoadedType(method.getDeclaringClass());
+            return TypeDescription.ForLoadedType.of(method.getDeclaringClass());
         }
 
         @Override
         public TypeDescription getReturnType() {
-            return new TypeDescription.ForLoadedType(method.getReturnType());
+            return TypeDescription.ForLoadedType.of(method.getReturnType());
         }
 
         @Override
@@ -560,7 +560,7 @@ public interface MethodDescription extends ModifierReviewable, ByteCodeMethod, D
         public static MethodDescription typeInitializerOf(TypeDescription declaringType) {
             return new Latent(MethodDescription.TYPE_INITIALIZER_INTERNAL_NAME,
                     declaringType,
-                    new TypeDescription.ForLoadedType(void.class),
+                    TypeDescription.ForLoadedType.of(void.class),
                     new TypeList.Empty(),
                     Opcodes.ACC_STATIC,
                     Collections.<TypeDescription>emptyList());
@@ -3,12 +3,18 @@ package net.bytebuddy.instrumentation.method;
 import net.bytebuddy.instrumentation.method.matcher.MethodMatcher;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.utility.WeakConcurrentMap;
 import org.objectweb.asm.Opcodes;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.*;
 
@@ -188,9 +194,9 @@ public interface MethodLookupEngine {
         }
 
         /**
-         * Creates a new method description of an overriding method to an overriden method. The overriding method is
+         * Creates a new method description of an overriding method to an overriden method. Both methods are
          * considered to be a {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.OverridenClassMethod}
-         * itself and is resolved appropriately.
+         * themselves and are resolved appropriately.
          *
          * @param overridingMethod The most specific method that is overriding another method.
          * @param overriddenMethod The method that is overridden by the {@code overridingMethod}.
@@ -207,7 +213,11 @@ public interface MethodLookupEngine {
                 methodChain = new ArrayList<MethodDescription>(2);
                 methodChain.add(overridingMethod);
             }
-            methodChain.add(overriddenMethod);
+            if (overriddenMethod instanceof OverridenClassMethod) {
+                methodChain.addAll(((OverridenClassMethod) overriddenMethod).methodChain);
+            } else {
+                methodChain.add(overriddenMethod);
+            }
             return new OverridenClassMethod(methodChain);
         }
 
@@ -519,7 +529,7 @@ public interface MethodLookupEngine {
 
         @Override
         public Finding process(TypeDescription typeDescription) {
-            MethodBucket methodBucket = new MethodBucket(typeDescription);
+            MethodBucket methodBucket = new MethodBucket(typeDescription, MethodResolver.Direct.INSTANCE);
             Set<TypeDescription> interfaces = new HashSet<TypeDescription>();
             TypeList defaultMethodRelevantInterfaces = typeDescription.getInterfaces();
             while ((typeDescription = typeDescription.getSupertype()) != null) {
@@ -619,6 +629,37 @@ public interface MethodLookupEngine {
             }
         }
 
+        /**
+         * A resolver for the virtual methods that are declared by an interface.
+         */
+        protected static interface MethodResolver {
+
+            /**
+             * Resolves the virtual methods of an interface.
+             *
+             * @param typeDescription      The interface for which the virtual methods are to be resolved.
+             * @param virtualMethodMatcher A matcher that identifies the virtual methods of the interface.
+             * @return A list of the virtual methods that are declared by the given interface.
+             */
+            MethodList resolve(TypeDescription typeDescription, MethodMatcher virtualMethodMatcher);
+
+            /**
+             * A method resolver that queries the interface for its declared methods on every request.
+             */
+            static enum Direct implements MethodResolver {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                @Override
+                public MethodList resolve(TypeDescription typeDescription, MethodMatcher virtualMethodMatcher) {
+                    return typeDescription.getDeclaredMethods().filter(virtualMethodMatcher);
+                }
+            }
+        }
+
         /**
          * A method bucket is used to identify unique methods of all super types and interfaces of a given type. A
          * method bucket will therefore always filter any declared method of identical signature that was already
@@ -669,13 +710,20 @@ public interface MethodLookupEngine {
              */
             private final MethodMatcher virtualMethodMatcher;
 
+            /**
+             * The resolver that is used for resolving the virtual methods of an interface.
+             */
+            private final MethodResolver methodResolver;
+
             /**
              * Creates a new mutable method bucket.
              *
              * @param typeOfInterest The type for which a type extraction is performed.
+             * @param methodResolver The resolver that is used for resolving the virtual methods of an interface.
              */
-            private MethodBucket(TypeDescription typeOfInterest) {
+            private MethodBucket(TypeDescription typeOfInterest, MethodResolver methodResolver) {
                 this.typeOfInterest = typeOfInterest;
+                this.methodResolver = methodResolver;
                 classMethods = new HashMap<String, MethodDescription>();
                 interfaceMethods = new HashMap<String, MethodDescription>();
                 processedTypes = new HashSet<TypeDescription>();
@@ -716,6 +764,23 @@ public interface MethodLookupEngine {
                 }
             }
 
+            /**
+             * Pushes a class hierarchy into the bucket as if all of the hierarchy's classes were pushed
+             * individually. This method must only be called after pushing the type of interest and the
+             * hierarchy must be extracted relatively to the type of interest's package.
+             *
+             * @param classHierarchy The class hierarchy to push into the bucket.
+             */
+            private void pushClassHierarchy(Caching.ClassHierarchy classHierarchy) {
+                for (Map.Entry<String, MethodDescription> entry : classHierarchy.getVirtualMethods().entrySet()) {
+                    MethodDescription overridingMethod = classMethods.get(entry.getKey());
+                    classMethods.put(entry.getKey(), overridingMethod == null
+                            ? entry.getValue()
+                            : OverridenClassMethod.of(overridingMethod, entry.getValue()));
+                }
+                processedTypes.addAll(classHierarchy.getClassTypes());
+            }
+
             /**
              * Pushes a collection of interfaces into the bucket. This method must not be called before pushing
              * all classes into the bucket.
@@ -804,7 +869,7 @@ public interface MethodLookupEngine {
                 Set<String> locallyProcessedMethods = new HashSet<String>(processedMethodsInHierarchy);
                 if (processedTypes.add(typeDescription)) {
                     defaultMethodLookup.begin(typeDescription);
-                    for (MethodDescription methodDescription : typeDescription.getDeclaredMethods().filter(virtualMethodMatcher)) {
+                    for (MethodDescription methodDescription : methodResolver.resolve(typeDescription, virtualMethodMatcher)) {
                         String uniqueSignature = methodDescription.getUniqueSignature();
                         if (locallyProcessedMethods.add(uniqueSignature)) {
                             MethodDescription conflictingMethod = interfaceMethods.get(uniqueSignature);
@@ -1003,4 +1068,404 @@ public interface MethodLookupEngine {
             }
         }
     }
+
+    /**
+     * A method lookup engine that memoizes the methods that are inherited from super classes and interfaces of
+     * any analyzed type. Instead of walking a type's full hierarchy, the finding of a type is composed from the
+     * memoized hierarchy of its super class and the memoized methods of its interfaces. A type's hierarchy is
+     * only memoized if it is represented by a {@link net.bytebuddy.instrumentation.type.TypeDescription.ForLoadedType},
+     * any other type is analyzed on every lookup. All engines that are created by the same
+     * {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.Caching.Factory} share their memoized
+     * results.
+     */
+    static class Caching implements MethodLookupEngine {
+
+        /**
+         * Determines if default method lookup is enabled.
+         */
+        private final Default.DefaultMethodLookup defaultMethodLookup;
+
+        /**
+         * The store that memoizes the hierarchies of analyzed types.
+         */
+        private final Store store;
+
+        /**
+         * Creates a new caching method lookup engine.
+         *
+         * @param defaultMethodLookup Determines if default method lookup is enabled.
+         * @param store               The store that memoizes the hierarchies of analyzed types.
+         */
+        protected Caching(Default.DefaultMethodLookup defaultMethodLookup, Store store) {
+            this.defaultMethodLookup = defaultMethodLookup;
+            this.store = store;
+        }
+
+        @Override
+        public Finding process(TypeDescription typeDescription) {
+            Default.MethodBucket methodBucket = new Default.MethodBucket(typeDescription, store);
+            Set<TypeDescription> interfaces = new HashSet<TypeDescription>();
+            TypeDescription superType = typeDescription.getSupertype();
+            if (superType != null) {
+                ClassHierarchy classHierarchy = store.hierarchyOf(superType, typeDescription.getPackageName());
+                methodBucket.pushClassHierarchy(classHierarchy);
+                interfaces.addAll(classHierarchy.getInterfaceTypes());
+            }
+            Map<TypeDescription, Set<MethodDescription>> defaultMethods = defaultMethodLookup.apply(methodBucket,
+                    interfaces,
+                    typeDescription.getInterfaces());
+            methodBucket.pushInterfaces(interfaces);
+            return new Finding.Default(methodBucket.getTypeOfInterest(),
+                    methodBucket.extractInvokableMethods(),
+                    defaultMethods);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && defaultMethodLookup == ((Caching) other).defaultMethodLookup
+                    && store.equals(((Caching) other).store);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * defaultMethodLookup.hashCode() + store.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "MethodLookupEngine.Caching{" +
+                    "defaultMethodLookup=" + defaultMethodLookup +
+                    ", store=" + store +
+                    '}';
+        }
+
+        /**
+         * A factory for creating {@link net.bytebuddy.instrumentation.method.MethodLookupEngine.Caching} lookup
+         * engines which share a common store of memoized type hierarchies. This factory is thread-safe.
+         */
+        public static class Factory implements MethodLookupEngine.Factory {
+
+            /**
+             * The store that is shared by all engines that are created by this factory.
+             */
+            private final Store store;
+
+            /**
+             * Creates a new factory for caching method lookup engines.
+             */
+            public Factory() {
+                store = new Store();
+            }
+
+            @Override
+            public MethodLookupEngine make(boolean extractDefaultMethods) {
+                return new Caching(extractDefaultMethods
+                        ? Default.DefaultMethodLookup.ENABLED
+                        : Default.DefaultMethodLookup.DISABLED, store);
+            }
+
+            /**
+             * Clears all memoized type hierarchies of this factory.
+             */
+            public void clear() {
+                store.clear();
+            }
+
+            @Override
+            public String toString() {
+                return "MethodLookupEngine.Caching.Factory{store=" + store + '}';
+            }
+        }
+
+        /**
+         * Represents the virtual methods that a class hierarchy contributes to any subclass of a given package.
+         */
+        protected static class ClassHierarchy {
+
+            /**
+             * The virtual methods of this hierarchy by their unique signatures where overridden methods are
+             * already resolved.
+             */
+            private final Map<String, MethodDescription> virtualMethods;
+
+            /**
+             * The classes of this hierarchy starting with the most specific class.
+             */
+            private final List<TypeDescription> classTypes;
+
+            /**
+             * All interfaces that are directly implemented by any class of this hierarchy.
+             */
+            private final Set<TypeDescription> interfaceTypes;
+
+            /**
+             * Creates a new class hierarchy.
+             *
+             * @param virtualMethods The virtual methods of this hierarchy by their unique signatures.
+             * @param classTypes     The classes of this hierarchy starting with the most specific class.
+             * @param interfaceTypes All interfaces that are directly implemented by any class of this hierarchy.
+             */
+            protected ClassHierarchy(Map<String, MethodDescription> virtualMethods,
+                                     List<TypeDescription> classTypes,
+                                     Set<TypeDescription> interfaceTypes) {
+                this.virtualMethods = virtualMethods;
+                this.classTypes = classTypes;
+                this.interfaceTypes = interfaceTypes;
+            }
+
+            /**
+             * Extracts the hierarchy of a class as it is visible to a subclass in the given package.
+             *
+             * @param typeDescription     The most specific class of the hierarchy.
+             * @param packageName         The name of the package of the subclass for which the hierarchy is
+             *                            extracted.
+             * @param superClassHierarchy The hierarchy of the given class's super class or {@code null} if no
+             *                            such class exists.
+             * @return The class hierarchy of the given type.
+             */
+            protected static ClassHierarchy of(TypeDescription typeDescription,
+                                               String packageName,
+                                               ClassHierarchy superClassHierarchy) {
+                Map<String, MethodDescription> virtualMethods = new HashMap<String, MethodDescription>();
+                for (MethodDescription methodDescription : typeDescription.getDeclaredMethods()) {
+                    if (methodDescription.isMethod()
+                            && !methodDescription.isPrivate()
+                            && !methodDescription.isStatic()
+                            && !(methodDescription.isPackagePrivate() && !packageName.equals(typeDescription.getPackageName()))) {
+                        virtualMethods.put(methodDescription.getUniqueSignature(), methodDescription);
+                    }
+                }
+                List<TypeDescription> classTypes = new ArrayList<TypeDescription>();
+                classTypes.add(typeDescription);
+                Set<TypeDescription> interfaceTypes = new LinkedHashSet<TypeDescription>(typeDescription.getInterfaces());
+                if (superClassHierarchy != null) {
+                    for (Map.Entry<String, MethodDescription> entry : superClassHierarchy.virtualMethods.entrySet()) {
+                        MethodDescription overridingMethod = virtualMethods.get(entry.getKey());
+                        virtualMethods.put(entry.getKey(), overridingMethod == null
+                                ? entry.getValue()
+                                : OverridenClassMethod.of(overridingMethod, entry.getValue()));
+                    }
+                    classTypes.addAll(superClassHierarchy.classTypes);
+                    interfaceTypes.addAll(superClassHierarchy.interfaceTypes);
+                }
+                return new ClassHierarchy(Collections.unmodifiableMap(virtualMethods),
+                        Collections.unmodifiableList(classTypes),
+                        Collections.unmodifiableSet(interfaceTypes));
+            }
+
+            /**
+             * Returns the virtual methods of this hierarchy by their unique signatures.
+             *
+             * @return The virtual methods of this hierarchy by their unique signatures.
+             */
+            protected Map<String, MethodDescription> getVirtualMethods() {
+                return virtualMethods;
+            }
+
+            /**
+             * Returns the classes of this hierarchy starting with the most specific class.
+             *
+             * @return The classes of this hierarchy.
+             */
+            protected List<TypeDescription> getClassTypes() {
+                return classTypes;
+            }
+
+            /**
+             * Returns all interfaces that are directly implemented by any class of this hierarchy.
+             *
+             * @return All interfaces that are directly implemented by any class of this hierarchy.
+             */
+            protected Set<TypeDescription> getInterfaceTypes() {
+                return interfaceTypes;
+            }
+
+            @Override
+            public String toString() {
+                return "MethodLookupEngine.Caching.ClassHierarchy{" +
+                        "classTypes=" + classTypes +
+                        ", interfaceTypes=" + interfaceTypes +
+                        '}';
+            }
+        }
+
+        /**
+         * A thread-safe store of memoized class hierarchies and interface methods. Memoized results are weakly
+         * keyed by the class loader of the described type. A memoized result references the types it describes and
+         * therefore their class loader. Results of types that are loaded by a persistent class loader, i.e. by the
+         * class loader of Byte Buddy or any of its parents, are therefore referenced softly such that they are only
+         * released once memory gets scarce. Results of types of any other class loader are referenced weakly such that
+         * they never retain their class loader. Interface methods are never package-private such that the virtual
+         * methods of an interface do not depend on the package of an analyzed type.
+         */
+        protected static class Store implements Default.MethodResolver {
+
+            /**
+             * The memoized entries of types that are loaded by the bootstrap class loader by the types' names.
+             */
+            private final ConcurrentMap<String, Reference<Entry>> bootstrapEntries;
+
+            /**
+             * A map of any other class loader to the memoized entries of its types by the types' names.
+             */
+            private final WeakConcurrentMap<ClassLoader, ConcurrentMap<String, Reference<Entry>>> entries;
+
+            /**
+             * Creates a new, empty store.
+             */
+            protected Store() {
+                bootstrapEntries = new ConcurrentHashMap<String, Reference<Entry>>();
+                entries = new WeakConcurrentMap<ClassLoader, ConcurrentMap<String, Reference<Entry>>>();
+            }
+
+            /**
+             * Checks if a type's properties can be memoized.
+             *
+             * @param typeDescription The type to check.
+             * @return {@code true} if the type's properties can be memoized.
+             */
+            private static boolean isCacheable(TypeDescription typeDescription) {
+                return typeDescription instanceof TypeDescription.ForLoadedType;
+            }
+
+            /**
+             * Returns the class hierarchy of a given class as it is visible to a subclass in the given package.
+             *
+             * @param typeDescription The most specific class of the hierarchy.
+             * @param packageName     The name of the package of the subclass for which the hierarchy is resolved.
+             * @return The class hierarchy of the given type.
+             */
+            protected ClassHierarchy hierarchyOf(TypeDescription typeDescription, String packageName) {
+                if (!isCacheable(typeDescription)) {
+                    return makeHierarchy(typeDescription, packageName);
+                }
+                Entry entry = entryOf(typeDescription);
+                ClassHierarchy classHierarchy = entry.hierarchies.get(packageName);
+                if (classHierarchy == null) {
+                    classHierarchy = makeHierarchy(typeDescription, packageName);
+                    ClassHierarchy previous = entry.hierarchies.putIfAbsent(packageName, classHierarchy);
+                    if (previous != null) {
+                        classHierarchy = previous;
+                    }
+                }
+                return classHierarchy;
+            }
+
+            /**
+             * Creates the class hierarchy of a given class by composing it from the hierarchy of its super class.
+             *
+             * @param typeDescription The most specific class of the hierarchy.
+             * @param packageName     The name of the package of the subclass for which the hierarchy is resolved.
+             * @return The class hierarchy of the given type.
+             */
+            private ClassHierarchy makeHierarchy(TypeDescription typeDescription, String packageName) {
+                TypeDescription superType = typeDescription.getSupertype();
+                return ClassHierarchy.of(typeDescription, packageName, superType == null
+                        ? null
+                        : hierarchyOf(superType, packageName));
+            }
+
+            @Override
+            public MethodList resolve(TypeDescription typeDescription, MethodMatcher virtualMethodMatcher) {
+                if (!isCacheable(typeDescription)) {
+                    return typeDescription.getDeclaredMethods().filter(virtualMethodMatcher);
+                }
+                Entry entry = entryOf(typeDescription);
+                MethodList virtualMethods = entry.virtualMethods;
+                if (virtualMethods == null) {
+                    virtualMethods = typeDescription.getDeclaredMethods().filter(virtualMethodMatcher);
+                    entry.virtualMethods = virtualMethods;
+                }
+                return virtualMethods;
+            }
+
+            /**
+             * Returns the memoization entry of a given type.
+             *
+             * @param typeDescription The type for which the memoization entry is to be returned.
+             * @return The memoization entry of the given type.
+             */
+            private Entry entryOf(TypeDescription typeDescription) {
+                ClassLoader classLoader = typeDescription.getClassLoader();
+                ConcurrentMap<String, Reference<Entry>> entries = classLoader == null
+                        ? bootstrapEntries
+                        : this.entries.get(classLoader);
+                if (entries == null) {
+                    entries = new ConcurrentHashMap<String, Reference<Entry>>();
+                    ConcurrentMap<String, Reference<Entry>> previous = this.entries.putIfAbsent(classLoader, entries);
+                    if (previous != null) {
+                        entries = previous;
+                    }
+                }
+                boolean persistent = TypeDescription.ForLoadedType.isPersistent(classLoader);
+                Reference<Entry> reference = entries.get(typeDescription.getName());
+                Entry entry = reference == null
+                        ? null
+                        : reference.get();
+                while (entry == null) {
+                    Entry candidate = new Entry();
+                    Reference<Entry> previous = entries.putIfAbsent(typeDescription.getName(), persistent
+                            ? new SoftReference<Entry>(candidate)
+                            : new WeakReference<Entry>(candidate));
+                    if (previous == null) {
+                        entry = candidate;
+                    } else {
+                        entry = previous.get();
+                        if (entry == null) {
+                            entries.remove(typeDescription.getName(), previous);
+                        }
+                    }
+                }
+                return entry;
+            }
+
+            /**
+             * Clears this store.
+             */
+            protected void clear() {
+                bootstrapEntries.clear();
+                entries.clear();
+            }
+
+            @Override
+            public String toString() {
+                return "MethodLookupEngine.Caching.Store{" +
+                        "bootstrapEntries=" + bootstrapEntries.size() +
+                        ", entries=" + entries +
+                        '}';
+            }
+
+            /**
+             * A memoization entry of a single type.
+             */
+            private static class Entry {
+
+                /**
+                 * The class hierarchies of this type by the names of the packages to which they are visible.
+                 */
+                private final ConcurrentMap<String, ClassHierarchy> hierarchies;
+
+                /**
+                 * The virtual methods of this type if it is an interface or {@code null} if they were not yet resolved.
+                 */
+                private volatile MethodList virtualMethods;
+
+                /**
+                 * Creates a new, empty entry.
+                 */
+                private Entry() {
+                    hierarchies = new ConcurrentHashMap<String, ClassHierarchy>();
+                }
+
+                @Override
+                public String toString() {
+                    return "MethodLookupEngine.Caching.Store.Entry{" +
+                            "hierarchies=" + hierarchies +
+                            ", virtualMethods=" + virtualMethods +
+                            '}';
+                }
+            }
+        }
+    }
 }
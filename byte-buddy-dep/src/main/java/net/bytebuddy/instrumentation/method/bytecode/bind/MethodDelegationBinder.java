@@ -3,6 +3,7 @@ package net.bytebuddy.instrumentation.method.bytecode.bind;
 import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.DynamicMethodInvocation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocation;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import org.objectweb.asm.MethodVisitor;
@@ -104,6 +105,65 @@ public interface MethodDelegationBinder {
                 return "MethodDelegationBinder.MethodInvoker.Virtual{typeDescription=" + typeDescription + '}';
             }
         }
+
+        /**
+         * A method invocation that uses an {@code invokedynamic} instruction which is linked to a constant call site
+         * that is bound to the invoked method. Constructors cannot be invoked dynamically.
+         */
+        static enum Dynamic implements MethodInvoker {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public StackManipulation invoke(MethodDescription methodDescription) {
+                return DynamicMethodInvocation.invoke(methodDescription);
+            }
+        }
+
+        /**
+         * A method invocation that uses an {@code invokedynamic} instruction which is linked to a constant call site
+         * that is bound to the invoked method where non-static methods are dispatched virtually on a given type.
+         */
+        static class DynamicVirtual implements MethodInvoker {
+
+            /**
+             * The type on which a non-static method should be invoked virtually.
+             */
+            private final TypeDescription typeDescription;
+
+            /**
+             * Creates an immutable method invoker that dynamically dispatches all non-static methods on a given type.
+             *
+             * @param typeDescription The type on which a non-static method is invoked virtually.
+             */
+            public DynamicVirtual(TypeDescription typeDescription) {
+                this.typeDescription = typeDescription;
+            }
+
+            @Override
+            public StackManipulation invoke(MethodDescription methodDescription) {
+                return DynamicMethodInvocation.invoke(methodDescription, typeDescription);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && typeDescription.equals(((DynamicVirtual) other).typeDescription);
+            }
+
+            @Override
+            public int hashCode() {
+                return typeDescription.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "MethodDelegationBinder.MethodInvoker.DynamicVirtual{typeDescription=" + typeDescription + '}';
+            }
+        }
     }
 
     /**
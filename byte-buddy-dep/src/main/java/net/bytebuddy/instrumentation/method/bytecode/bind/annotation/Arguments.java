@@ -0,0 +1,155 @@
+package net.bytebuddy.instrumentation.method.bytecode.bind.annotation;
+
+import net.bytebuddy.instrumentation.Instrumentation;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.bytecode.bind.MethodDelegationBinder;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.Assigner;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.auxiliary.ArgumentCarrier;
+
+import java.lang.annotation.*;
+
+/**
+ * Parameters that are annotated with this annotation will be assigned a
+ * {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Arguments.View} of all arguments of the
+ * source method. Other than an array that is bound by the
+ * {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.AllArguments} annotation, such a view stores
+ * each argument in a field of its original type such that primitive arguments can be read by the view's typed
+ * getters without being boxed. For this purpose, an
+ * {@link net.bytebuddy.instrumentation.type.auxiliary.ArgumentCarrier} is created for each signature of the
+ * instrumented type's intercepted methods. As the carrier implements the view interface, Byte Buddy must be
+ * visible to the class loader of the instrumented type.
+ * <p>&nbsp;</p>
+ * The annotated parameter must be of the {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Arguments.View}
+ * or of the {@link java.lang.Object} type.
+ *
+ * @see net.bytebuddy.instrumentation.MethodDelegation
+ * @see TargetMethodAnnotationDrivenBinder
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Arguments {
+
+    /**
+     * A read-only view of the arguments of an intercepted method. An argument can be read by any getter that
+     * returns a type the argument's type is assignable to, including primitive widening and unboxing. Reading
+     * an argument by an incompatible getter or by an index that does not represent an argument results in an
+     * {@link java.lang.IllegalArgumentException}.
+     */
+    static interface View {
+
+        /**
+         * Returns the number of arguments of the intercepted method.
+         *
+         * @return The number of arguments of the intercepted method.
+         */
+        int size();
+
+        /**
+         * Returns the argument of the given index where primitive arguments are boxed.
+         *
+         * @param index The index of the argument.
+         * @return The argument of the given index.
+         */
+        Object get(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code boolean}.
+         *
+         * @param index The index of the argument.
+         * @return The argument of the given index.
+         */
+        boolean getBoolean(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code byte}.
+         *
+         * @param index The index of the argument.
+         * @return The argument of the given index.
+         */
+        byte getByte(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code short}.
+         *
+         * @param index The index of the argument.
+         * @return The argument of the given index.
+         */
+        short getShort(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code char}.
+         *
+         * @param index The index of the argument.
+         * @return The argument of the given index.
+         */
+        char getChar(int index);
+
+        /**
+         * Returns the argument of the given index as an {@code int}.
+         *
+         * @param index The index of the argument.
+         * @return The argument of the given index.
+         */
+        int getInt(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code long}.
+         *
+         * @param index The index of the argument.
+         * @return The argument of the given index.
+         */
+        long getLong(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code float}.
+         *
+         * @param index The index of the argument.
+         * @return The argument of the given index.
+         */
+        float getFloat(int index);
+
+        /**
+         * Returns the argument of the given index as a {@code double}.
+         *
+         * @param index The index of the argument.
+         * @return The argument of the given index.
+         */
+        double getDouble(int index);
+    }
+
+    /**
+     * A binder for handling the
+     * {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Arguments}
+     * annotation.
+     *
+     * @see TargetMethodAnnotationDrivenBinder
+     */
+    static enum Binder implements TargetMethodAnnotationDrivenBinder.ParameterBinder<Arguments> {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        @Override
+        public Class<Arguments> getHandledType() {
+            return Arguments.class;
+        }
+
+        @Override
+        public MethodDelegationBinder.ParameterBinding<?> bind(Arguments annotation,
+                                                               int targetParameterIndex,
+                                                               MethodDescription source,
+                                                               MethodDescription target,
+                                                               Instrumentation.Target instrumentationTarget,
+                                                               Assigner assigner) {
+            TypeDescription targetType = target.getParameterTypes().get(targetParameterIndex);
+            if (!targetType.represents(View.class) && !targetType.represents(Object.class)) {
+                throw new IllegalStateException("An argument view can only be assigned to its view type: " + target);
+            }
+            return new MethodDelegationBinder.ParameterBinding.Anonymous(new ArgumentCarrier.AssignableSignatureCall(source));
+        }
+    }
+}
@@ -157,7 +157,7 @@ public @interface DefaultCall {
                  * @param type The actual target interface as explicitly defined by {@link DefaultCall#targetType()}.
                  */
                 public Explicit(Class<?> type) {
-                    typeDescription = new TypeDescription.ForLoadedType(type);
+                    typeDescription = TypeDescription.ForLoadedType.of(type);
                 }
 
                 @Override
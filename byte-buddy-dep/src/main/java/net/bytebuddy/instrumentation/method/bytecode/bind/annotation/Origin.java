@@ -65,6 +65,19 @@ public @interface Origin {
      */
     boolean cacheMethod() default false;
 
+    /**
+     * If this value is set to {@code true} and the annotated parameter is a {@link java.lang.reflect.Method} type,
+     * the value that is assigned to this parameter is read from a single {@code static} method table of the
+     * instrumented type. Other than with {@link Origin#cacheMethod()}, where each cached method is looked up
+     * individually, all tabulated methods are resolved in the instrumented type's type initializer by querying
+     * the declared methods of each declaring type only once. If this value is set, the value of
+     * {@link Origin#cacheMethod()} is ignored.
+     *
+     * @return {@code true} if the annotated {@link java.lang.reflect.Method} parameter should be assigned an instance
+     * from the method table. For any other parameter type, this value is ignored.
+     */
+    boolean tabulateMethod() default false;
+
     /**
      * A binder for binding parameters that are annotated with
      * {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Origin}.
@@ -94,9 +107,9 @@ public @interface Origin {
             if (parameterType.represents(Class.class)) {
                 return new MethodDelegationBinder.ParameterBinding.Anonymous(ClassConstant.of(instrumentationTarget.getOriginType()));
             } else if (parameterType.represents(Method.class)) {
-                return new MethodDelegationBinder.ParameterBinding.Anonymous(annotation.cacheMethod()
-                        ? MethodConstant.forMethod(source).cached()
-                        : MethodConstant.forMethod(source));
+                return new MethodDelegationBinder.ParameterBinding.Anonymous(annotation.tabulateMethod()
+                        ? MethodConstant.forMethod(source).tabulated()
+                        : (annotation.cacheMethod() ? MethodConstant.forMethod(source).cached() : MethodConstant.forMethod(source)));
             } else if (parameterType.represents(String.class)) {
                 return new MethodDelegationBinder.ParameterBinding.Anonymous(new TextConstant(source.getUniqueSignature()));
             } else if (MethodHandleConstant.isRepresentedBy(parameterType)) {
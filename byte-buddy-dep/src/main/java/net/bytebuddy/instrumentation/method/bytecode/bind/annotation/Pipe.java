@@ -130,7 +130,7 @@ public @interface Pipe {
          * annotation.
          */
         public static TargetMethodAnnotationDrivenBinder.ParameterBinder<Pipe> install(Class<?> type) {
-            TypeDescription forwardingType = new TypeDescription.ForLoadedType(type);
+            TypeDescription forwardingType = TypeDescription.ForLoadedType.of(type);
             if (!forwardingType.isInterface()) {
                 throw new IllegalArgumentException(String.format("The installed type %s is not an interface", type));
             } else if (forwardingType.getInterfaces().size() > 0) {
@@ -376,7 +376,7 @@ public @interface Pipe {
                  * Creates the constructor call singleton.
                  */
                 private ConstructorCall() {
-                    this.objectTypeDefaultConstructor = new TypeDescription.ForLoadedType(Object.class)
+                    this.objectTypeDefaultConstructor = TypeDescription.ForLoadedType.of(Object.class)
                             .getDeclaredMethods()
                             .filter(isConstructor())
                             .getOnly();
@@ -555,7 +555,7 @@ public @interface Pipe {
                         }
                         StackManipulation.Size stackSize = new StackManipulation.Compound(
                                 MethodVariableAccess.REFERENCE.loadFromIndex(1),
-                                assigner.assign(new TypeDescription.ForLoadedType(Object.class), redirectedMethod.getDeclaringType(), true),
+                                assigner.assign(TypeDescription.ForLoadedType.of(Object.class), redirectedMethod.getDeclaringType(), true),
                                 new StackManipulation.Compound(fieldLoading),
                                 MethodInvocation.invoke(redirectedMethod),
                                 assigner.assign(redirectedMethod.getReturnType(), instrumentedMethod.getReturnType(), false),
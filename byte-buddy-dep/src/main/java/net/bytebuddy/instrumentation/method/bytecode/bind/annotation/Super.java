@@ -98,7 +98,7 @@ public @interface Super {
                 for (Class<?> constructorParameter : annotation.constructorParameters()) {
                     typeDescriptions.add(constructorParameter == TargetType.class
                             ? TargetType.DESCRIPTION
-                            : new TypeDescription.ForLoadedType(constructorParameter));
+                            : TypeDescription.ForLoadedType.of(constructorParameter));
                 }
                 return new TypeProxy.ByConstructor(parameterType,
                         instrumentationTarget,
@@ -5,6 +5,7 @@ import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.bytecode.bind.MethodDelegationBinder;
 import net.bytebuddy.instrumentation.method.bytecode.stack.assign.Assigner;
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.auxiliary.MethodCallDispatcher;
 import net.bytebuddy.instrumentation.type.auxiliary.MethodCallProxy;
 
 import java.lang.annotation.*;
@@ -34,6 +35,17 @@ public @interface SuperCall {
      */
     boolean serializableProxy() default false;
 
+    /**
+     * Determines if the super method is invoked by the single
+     * {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallDispatcher} of the instrumented type instead of
+     * a {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallProxy} that is created for each intercepted
+     * method. A dispatcher avoids the creation of an auxiliary type per intercepted method at the cost of boxing the
+     * super method's arguments.
+     *
+     * @return {@code true} if the super method is invoked by the instrumented type's method call dispatcher.
+     */
+    boolean dispatched() default false;
+
     /**
      * A binder for handling the
      * {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.SuperCall}
@@ -66,9 +78,12 @@ public @interface SuperCall {
             }
             Instrumentation.SpecialMethodInvocation specialMethodInvocation = instrumentationTarget.invokeSuper(source,
                     Instrumentation.Target.MethodLookup.Default.EXACT);
-            return specialMethodInvocation.isValid()
-                    ? new MethodDelegationBinder.ParameterBinding.Anonymous(new MethodCallProxy.AssignableSignatureCall(specialMethodInvocation, annotation.serializableProxy()))
-                    : MethodDelegationBinder.ParameterBinding.Illegal.INSTANCE;
+            if (!specialMethodInvocation.isValid()) {
+                return MethodDelegationBinder.ParameterBinding.Illegal.INSTANCE;
+            }
+            return new MethodDelegationBinder.ParameterBinding.Anonymous(annotation.dispatched()
+                    ? new MethodCallDispatcher.AssignableSignatureCall(specialMethodInvocation, annotation.serializableProxy())
+                    : new MethodCallProxy.AssignableSignatureCall(specialMethodInvocation, annotation.serializableProxy()));
         }
     }
 }
@@ -1,18 +1,31 @@
 package net.bytebuddy.instrumentation.method.bytecode.stack.constant;
 
+import net.bytebuddy.ClassFileVersion;
 import net.bytebuddy.instrumentation.Instrumentation;
+import net.bytebuddy.instrumentation.field.FieldDescription;
 import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
+import net.bytebuddy.instrumentation.method.bytecode.stack.Duplication;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.Throw;
+import net.bytebuddy.instrumentation.method.bytecode.stack.TypeCreation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.reference.DownCasting;
 import net.bytebuddy.instrumentation.method.bytecode.stack.collection.ArrayFactory;
 import net.bytebuddy.instrumentation.method.bytecode.stack.member.FieldAccess;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodVariableAccess;
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.*;
 
 /**
  * Represents the creation of a {@link java.lang.reflect.Method} value which can be created from a given
@@ -79,7 +92,7 @@ public abstract class MethodConstant implements StackManipulation {
     @Override
     public Size apply(MethodVisitor methodVisitor, Instrumentation.Context instrumentationContext) {
         Size argumentSize = prepare(methodVisitor)
-                .aggregate(ArrayFactory.targeting(new TypeDescription.ForLoadedType(Class.class))
+                .aggregate(ArrayFactory.targeting(TypeDescription.ForLoadedType.of(Class.class))
                         .withValues(typeConstantsFor(methodDescription.getParameterTypes()))
                         .apply(methodVisitor, instrumentationContext));
         methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL,
@@ -122,6 +135,16 @@ public abstract class MethodConstant implements StackManipulation {
         return new Cached(this);
     }
 
+    /**
+     * Returns a tabulated version of this method constant as specified by
+     * {@link net.bytebuddy.instrumentation.method.bytecode.stack.constant.MethodConstant.Tabulated}.
+     *
+     * @return A tabulated version of this method constant.
+     */
+    public StackManipulation tabulated() {
+        return new Tabulated(this);
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other || !(other == null || getClass() != other.getClass())
@@ -153,6 +176,13 @@ public abstract class MethodConstant implements StackManipulation {
          * @return A cached version of the method constant that is represented by this instance.
          */
         StackManipulation cached();
+
+        /**
+         * Returns this method constant as an element of the instrumented type's method table.
+         *
+         * @return A tabulated version of the method constant that is represented by this instance.
+         */
+        StackManipulation tabulated();
     }
 
     /**
@@ -252,7 +282,7 @@ public abstract class MethodConstant implements StackManipulation {
         /**
          * A description of the {@link java.lang.reflect.Method} type.
          */
-        private static final TypeDescription METHOD_TYPE = new TypeDescription.ForLoadedType(Method.class);
+        private static final TypeDescription METHOD_TYPE = TypeDescription.ForLoadedType.of(Method.class);
 
         /**
          * The stack manipulation that is represented by this caching wrapper.
@@ -295,4 +325,545 @@ public abstract class MethodConstant implements StackManipulation {
             return "MethodConstant.Cached{methodConstant=" + methodConstant + '}';
         }
     }
+
+    /**
+     * Represents a {@link net.bytebuddy.instrumentation.method.bytecode.stack.constant.MethodConstant} that is
+     * read from the instrumented type's method table. Other than a
+     * {@link net.bytebuddy.instrumentation.method.bytecode.stack.constant.MethodConstant.Cached} constant which is
+     * looked up by its own invocation of {@link java.lang.Class#getDeclaredMethod(String, Class[])}, all tabulated
+     * constants of a type are resolved from a single pass over the declared methods and constructors of their
+     * declaring types when the instrumented type is initialized as described by
+     * {@link net.bytebuddy.instrumentation.method.bytecode.stack.constant.MethodConstant.Table.Initialization}.
+     */
+    protected static class Tabulated implements StackManipulation {
+
+        /**
+         * The method constant that is represented by this tabulated constant.
+         */
+        private final MethodConstant methodConstant;
+
+        /**
+         * Creates a new tabulated method constant.
+         *
+         * @param methodConstant The method constant to read from the method table.
+         */
+        protected Tabulated(MethodConstant methodConstant) {
+            this.methodConstant = methodConstant;
+        }
+
+        @Override
+        public boolean isValid() {
+            return methodConstant.isValid();
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Instrumentation.Context instrumentationContext) {
+            MethodDescription methodDescription = methodConstant.methodDescription;
+            Table.Entry entry = instrumentationContext.tabulate(methodDescription);
+            Size size = new Compound(FieldAccess.forField(entry.getTable()).getter(),
+                    IntegerConstant.forValue(entry.getIndex())).apply(methodVisitor, instrumentationContext);
+            methodVisitor.visitInsn(Opcodes.AALOAD);
+            return size.aggregate(new Size(-1, 0)).aggregate(new DownCasting(TypeDescription.ForLoadedType.of(methodDescription.isConstructor()
+                    ? Constructor.class
+                    : Method.class)).apply(methodVisitor, instrumentationContext));
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && methodConstant.equals(((Tabulated) other).methodConstant);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * methodConstant.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "MethodConstant.Tabulated{methodConstant=" + methodConstant + '}';
+        }
+    }
+
+    /**
+     * A method table holds the {@link java.lang.reflect.Method} and {@link java.lang.reflect.Constructor} instances
+     * of all tabulated method constants of an instrumented type in a single {@code static} array. The table is
+     * resolved in the instrumented type's type initializer where the declared methods and constructors of each
+     * declaring type are only looked up once.
+     */
+    public static class Table {
+
+        /**
+         * A method table is not supposed to be instantiated.
+         */
+        private Table() {
+            /* do nothing */
+        }
+
+        /**
+         * Represents an entry of an instrumented type's method table.
+         */
+        public static class Entry {
+
+            /**
+             * The field that holds the method table.
+             */
+            private final FieldDescription table;
+
+            /**
+             * The index of the entry within the method table.
+             */
+            private final int index;
+
+            /**
+             * Creates a new method table entry.
+             *
+             * @param table The field that holds the method table.
+             * @param index The index of the entry within the method table.
+             */
+            public Entry(FieldDescription table, int index) {
+                this.table = table;
+                this.index = index;
+            }
+
+            /**
+             * Returns the field that holds the method table.
+             *
+             * @return The field that holds the method table.
+             */
+            public FieldDescription getTable() {
+                return table;
+            }
+
+            /**
+             * Returns the index of the entry within the method table.
+             *
+             * @return The index of the entry within the method table.
+             */
+            public int getIndex() {
+                return index;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && index == ((Entry) other).index
+                        && table.equals(((Entry) other).table);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * table.hashCode() + index;
+            }
+
+            @Override
+            public String toString() {
+                return "MethodConstant.Table.Entry{" +
+                        "table=" + table +
+                        ", index=" + index +
+                        '}';
+            }
+        }
+
+        /**
+         * A byte code appender that resolves a method table and writes it to the table's field. For each declaring
+         * type, the type initializer queries the declared methods or constructors once and passes over them in a
+         * single loop. For each candidate, a key is computed from its name and the names of its parameter types and
+         * return type. This key is looked up in a sorted array of the keys of the table's methods, which is written
+         * into the type initializer together with an array of the matching table indices. The size of the type
+         * initializer therefore only grows by the two array elements of each table entry. The resolution only depends
+         * on types of the Java class library such that it does not require Byte Buddy to be visible to the class
+         * loader of the instrumented type. The appender must be applied while the operand stack is empty and before
+         * the type initializer uses any local variable. A {@link java.lang.NoSuchMethodError} is thrown if a method
+         * cannot be resolved.
+         */
+        public static class Initialization implements ByteCodeAppender {
+
+            /**
+             * The index of the local variable that holds the resolved table.
+             */
+            private static final int TABLE_INDEX = 0;
+
+            /**
+             * The index of the local variable that holds the declared methods or constructors of a declaring type.
+             */
+            private static final int CANDIDATES_INDEX = 1;
+
+            /**
+             * The index of the local variable that holds the index of the currently examined candidate or table entry.
+             */
+            private static final int CANDIDATE_INDEX = 2;
+
+            /**
+             * The index of the local variable that holds the sorted keys of the resolved methods of a declaring type.
+             */
+            private static final int KEYS_INDEX = 3;
+
+            /**
+             * The index of the local variable that holds the table indices in the order of the sorted keys.
+             */
+            private static final int INDICES_INDEX = 4;
+
+            /**
+             * The index of the local variable that holds the parameter types of the currently examined candidate.
+             */
+            private static final int PARAMETER_TYPES_INDEX = 5;
+
+            /**
+             * The index of the local variable that holds the index of the currently appended parameter type or,
+             * once the key is computed, the position of the currently examined candidate's key.
+             */
+            private static final int PARAMETER_INDEX = 6;
+
+            /**
+             * The index of the local variable that holds the key of the currently examined candidate.
+             */
+            private static final int KEY_INDEX = 7;
+
+            /**
+             * The size of the local variable array that is required for resolving a method table.
+             */
+            private static final int LOCAL_VARIABLE_SIZE = 8;
+
+            /**
+             * The separator that terminates the name of each parameter type within a key.
+             */
+            private static final char PARAMETER_SEPARATOR = ';';
+
+            /**
+             * The field that holds the method table.
+             */
+            private final FieldDescription table;
+
+            /**
+             * The methods of the table in the order of their indices.
+             */
+            private final List<MethodDescription> methodDescriptions;
+
+            /**
+             * Creates a new method table initialization.
+             *
+             * @param table              The field that holds the method table.
+             * @param methodDescriptions The methods of the table in the order of their indices.
+             */
+            public Initialization(FieldDescription table, List<MethodDescription> methodDescriptions) {
+                this.table = table;
+                this.methodDescriptions = methodDescriptions;
+            }
+
+            /**
+             * Invokes a method that is declared by a type of the Java class library.
+             *
+             * @param type          The type that declares the method.
+             * @param name          The name of the method.
+             * @param parameterType The parameter types of the method.
+             * @return A stack manipulation that invokes the described method.
+             */
+            private static StackManipulation invoke(Class<?> type, String name, Class<?>... parameterType) {
+                return MethodInvocation.invoke(TypeDescription.ForLoadedType.of(type).getDeclaredMethods()
+                        .filter(named(name).and(takesArguments(parameterType)).and(not(isBridge())))
+                        .getOnly());
+            }
+
+            /**
+             * Invokes a constructor that is declared by a type of the Java class library.
+             *
+             * @param type          The type that declares the constructor.
+             * @param parameterType The parameter types of the constructor.
+             * @return A stack manipulation that invokes the described constructor.
+             */
+            private static StackManipulation construct(Class<?> type, Class<?>... parameterType) {
+                return MethodInvocation.invoke(TypeDescription.ForLoadedType.of(type).getDeclaredMethods()
+                        .filter(isConstructor().and(takesArguments(parameterType)))
+                        .getOnly());
+            }
+
+            /**
+             * Returns the key of a method or constructor which is matched against the key that the type initializer
+             * computes for each declared method or constructor of the declaring type. The key consists of the internal
+             * name of the method, the name of each parameter type as returned by {@link Class#getName()} followed by a
+             * separator and, for methods, the name of the return type.
+             *
+             * @param methodDescription The method or constructor for which to compute a key.
+             * @return The key of the given method or constructor.
+             */
+            private static String keyOf(MethodDescription methodDescription) {
+                StringBuilder key = new StringBuilder(methodDescription.getInternalName()).append('(');
+                for (TypeDescription parameterType : methodDescription.getParameterTypes()) {
+                    key.append(parameterType.getName()).append(PARAMETER_SEPARATOR);
+                }
+                key.append(')');
+                return methodDescription.isConstructor()
+                        ? key.toString()
+                        : key.append(methodDescription.getReturnType().getName()).toString();
+            }
+
+            /**
+             * Writes a full stack map frame with an empty operand stack if the instrumented type's class file
+             * version requires stack map frames.
+             *
+             * @param methodVisitor          The method visitor to write the frame to.
+             * @param instrumentationContext The instrumentation context of the instrumented type.
+             * @param localVariable          The types of the local variables of the frame.
+             */
+            private static void writeFrame(MethodVisitor methodVisitor,
+                                           Instrumentation.Context instrumentationContext,
+                                           Object... localVariable) {
+                if (instrumentationContext.getClassFileVersion().compareTo(ClassFileVersion.JAVA_V6) >= 0) {
+                    methodVisitor.visitFrame(Opcodes.F_FULL, localVariable.length, localVariable, 0, null);
+                }
+            }
+
+            @Override
+            public boolean appendsCode() {
+                return true;
+            }
+
+            @Override
+            public ByteCodeAppender.Size apply(MethodVisitor methodVisitor,
+                                               Instrumentation.Context instrumentationContext,
+                                               MethodDescription instrumentedMethod) {
+                Map<TypeDescription, SortedMap<String, Integer>> declaredMethods = new LinkedHashMap<TypeDescription, SortedMap<String, Integer>>();
+                Map<TypeDescription, SortedMap<String, Integer>> declaredConstructors = new LinkedHashMap<TypeDescription, SortedMap<String, Integer>>();
+                for (int index = 0; index < methodDescriptions.size(); index++) {
+                    MethodDescription methodDescription = methodDescriptions.get(index);
+                    Map<TypeDescription, SortedMap<String, Integer>> declaredMembers = methodDescription.isConstructor()
+                            ? declaredConstructors
+                            : declaredMethods;
+                    SortedMap<String, Integer> indices = declaredMembers.get(methodDescription.getDeclaringType());
+                    if (indices == null) {
+                        indices = new TreeMap<String, Integer>();
+                        declaredMembers.put(methodDescription.getDeclaringType(), indices);
+                    }
+                    indices.put(keyOf(methodDescription), index);
+                }
+                StackManipulation.Size size = IntegerConstant.forValue(methodDescriptions.size()).apply(methodVisitor, instrumentationContext);
+                methodVisitor.visitTypeInsn(Opcodes.ANEWARRAY, Type.getInternalName(AccessibleObject.class));
+                methodVisitor.visitVarInsn(Opcodes.ASTORE, TABLE_INDEX);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                for (Map.Entry<TypeDescription, SortedMap<String, Integer>> entry : declaredMethods.entrySet()) {
+                    size = size.aggregate(resolve(methodVisitor, instrumentationContext, entry.getKey(), entry.getValue(), false));
+                }
+                for (Map.Entry<TypeDescription, SortedMap<String, Integer>> entry : declaredConstructors.entrySet()) {
+                    size = size.aggregate(resolve(methodVisitor, instrumentationContext, entry.getKey(), entry.getValue(), true));
+                }
+                size = size.aggregate(new StackManipulation.Compound(MethodVariableAccess.REFERENCE.loadFromIndex(TABLE_INDEX),
+                        FieldAccess.forField(table).putter()).apply(methodVisitor, instrumentationContext));
+                return new ByteCodeAppender.Size(size.getMaximalSize(), Math.max(LOCAL_VARIABLE_SIZE, instrumentedMethod.getStackSize()));
+            }
+
+            /**
+             * Resolves the table entries of all methods or of all constructors of a declaring type.
+             *
+             * @param methodVisitor          The method visitor to write the resolution to.
+             * @param instrumentationContext The instrumentation context of the instrumented type.
+             * @param declaringType          The declaring type of the resolved methods or constructors.
+             * @param indices                The table indices of the resolved methods or constructors by their keys.
+             * @param constructor            {@code true} if constructors are resolved.
+             * @return The size of the resolution's operand stack.
+             */
+            private StackManipulation.Size resolve(MethodVisitor methodVisitor,
+                                                   Instrumentation.Context instrumentationContext,
+                                                   TypeDescription declaringType,
+                                                   SortedMap<String, Integer> indices,
+                                                   boolean constructor) {
+                Class<?> memberType = constructor
+                        ? Constructor.class
+                        : Method.class;
+                Object[] localVariable = new Object[]{Type.getDescriptor(AccessibleObject[].class),
+                        Type.getDescriptor(constructor ? Constructor[].class : Method[].class),
+                        Opcodes.INTEGER,
+                        Type.getDescriptor(String[].class),
+                        Type.getDescriptor(int[].class)};
+                Object[] keyVariable = new Object[]{localVariable[TABLE_INDEX],
+                        localVariable[CANDIDATES_INDEX],
+                        localVariable[CANDIDATE_INDEX],
+                        localVariable[KEYS_INDEX],
+                        localVariable[INDICES_INDEX],
+                        Type.getDescriptor(Class[].class),
+                        Opcodes.INTEGER,
+                        Type.getInternalName(StringBuilder.class)};
+                List<StackManipulation> keys = new ArrayList<StackManipulation>(indices.size());
+                List<StackManipulation> tableIndices = new ArrayList<StackManipulation>(indices.size());
+                for (Map.Entry<String, Integer> entry : indices.entrySet()) {
+                    keys.add(new TextConstant(entry.getKey()));
+                    tableIndices.add(IntegerConstant.forValue(entry.getValue()));
+                }
+                StackManipulation.Size size = new StackManipulation.Compound(ClassConstant.of(declaringType),
+                        invoke(Class.class, constructor ? "getDeclaredConstructors" : "getDeclaredMethods")
+                ).apply(methodVisitor, instrumentationContext);
+                methodVisitor.visitVarInsn(Opcodes.ASTORE, CANDIDATES_INDEX);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                size = size.aggregate(ArrayFactory.targeting(TypeDescription.ForLoadedType.of(String.class))
+                        .withValues(keys)
+                        .apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitVarInsn(Opcodes.ASTORE, KEYS_INDEX);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                size = size.aggregate(ArrayFactory.targeting(TypeDescription.ForLoadedType.of(int.class))
+                        .withValues(tableIndices)
+                        .apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitVarInsn(Opcodes.ASTORE, INDICES_INDEX);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                size = size.aggregate(IntegerConstant.forValue(0).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitVarInsn(Opcodes.ISTORE, CANDIDATE_INDEX);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                StackManipulation candidate = new StackManipulation.Compound(MethodVariableAccess.REFERENCE.loadFromIndex(CANDIDATES_INDEX),
+                        MethodVariableAccess.INTEGER.loadFromIndex(CANDIDATE_INDEX),
+                        ArrayElementLoading.INSTANCE);
+                Label examination = new Label(), parameter = new Label(), lookup = new Label(), mismatch = new Label();
+                Label verification = new Label(), verificationLoop = new Label(), resolved = new Label(), completion = new Label();
+                methodVisitor.visitLabel(examination);
+                writeFrame(methodVisitor, instrumentationContext, localVariable);
+                size = size.aggregate(new StackManipulation.Compound(MethodVariableAccess.INTEGER.loadFromIndex(CANDIDATE_INDEX),
+                        MethodVariableAccess.REFERENCE.loadFromIndex(CANDIDATES_INDEX)).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitInsn(Opcodes.ARRAYLENGTH);
+                methodVisitor.visitJumpInsn(Opcodes.IF_ICMPGE, verification);
+                size = size.aggregate(new StackManipulation.Size(-2, 0));
+                size = size.aggregate(new StackManipulation.Compound(TypeCreation.forType(TypeDescription.ForLoadedType.of(StringBuilder.class)),
+                        Duplication.SINGLE,
+                        constructor
+                                ? new TextConstant(MethodDescription.CONSTRUCTOR_INTERNAL_NAME)
+                                : new StackManipulation.Compound(candidate, invoke(memberType, "getName")),
+                        construct(StringBuilder.class, String.class),
+                        IntegerConstant.forValue('('),
+                        invoke(StringBuilder.class, "append", char.class)).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitVarInsn(Opcodes.ASTORE, KEY_INDEX);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                size = size.aggregate(new StackManipulation.Compound(candidate,
+                        invoke(memberType, "getParameterTypes")).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitVarInsn(Opcodes.ASTORE, PARAMETER_TYPES_INDEX);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                size = size.aggregate(IntegerConstant.forValue(0).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitVarInsn(Opcodes.ISTORE, PARAMETER_INDEX);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                methodVisitor.visitLabel(parameter);
+                writeFrame(methodVisitor, instrumentationContext, keyVariable);
+                size = size.aggregate(new StackManipulation.Compound(MethodVariableAccess.INTEGER.loadFromIndex(PARAMETER_INDEX),
+                        MethodVariableAccess.REFERENCE.loadFromIndex(PARAMETER_TYPES_INDEX)).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitInsn(Opcodes.ARRAYLENGTH);
+                methodVisitor.visitJumpInsn(Opcodes.IF_ICMPGE, lookup);
+                size = size.aggregate(new StackManipulation.Size(-2, 0));
+                size = size.aggregate(new StackManipulation.Compound(MethodVariableAccess.REFERENCE.loadFromIndex(KEY_INDEX),
+                        MethodVariableAccess.REFERENCE.loadFromIndex(PARAMETER_TYPES_INDEX),
+                        MethodVariableAccess.INTEGER.loadFromIndex(PARAMETER_INDEX),
+                        ArrayElementLoading.INSTANCE,
+                        invoke(Class.class, "getName"),
+                        invoke(StringBuilder.class, "append", String.class),
+                        IntegerConstant.forValue(PARAMETER_SEPARATOR),
+                        invoke(StringBuilder.class, "append", char.class)).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitInsn(Opcodes.POP);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                methodVisitor.visitIincInsn(PARAMETER_INDEX, 1);
+                methodVisitor.visitJumpInsn(Opcodes.GOTO, parameter);
+                methodVisitor.visitLabel(lookup);
+                writeFrame(methodVisitor, instrumentationContext, keyVariable);
+                size = size.aggregate(new StackManipulation.Compound(MethodVariableAccess.REFERENCE.loadFromIndex(KEYS_INDEX),
+                        MethodVariableAccess.REFERENCE.loadFromIndex(KEY_INDEX),
+                        IntegerConstant.forValue(')'),
+                        invoke(StringBuilder.class, "append", char.class),
+                        constructor
+                                ? StackManipulation.LegalTrivial.INSTANCE
+                                : new StackManipulation.Compound(candidate,
+                                invoke(memberType, "getReturnType"),
+                                invoke(Class.class, "getName"),
+                                invoke(StringBuilder.class, "append", String.class)),
+                        invoke(StringBuilder.class, "toString"),
+                        invoke(Arrays.class, "binarySearch", Object[].class, Object.class)).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitVarInsn(Opcodes.ISTORE, PARAMETER_INDEX);
+                methodVisitor.visitVarInsn(Opcodes.ILOAD, PARAMETER_INDEX);
+                methodVisitor.visitJumpInsn(Opcodes.IFLT, mismatch);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                size = size.aggregate(new StackManipulation.Compound(MethodVariableAccess.REFERENCE.loadFromIndex(TABLE_INDEX),
+                        MethodVariableAccess.REFERENCE.loadFromIndex(INDICES_INDEX),
+                        MethodVariableAccess.INTEGER.loadFromIndex(PARAMETER_INDEX)).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitInsn(Opcodes.IALOAD);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                size = size.aggregate(candidate.apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitInsn(Opcodes.AASTORE);
+                size = size.aggregate(new StackManipulation.Size(-3, 0));
+                methodVisitor.visitLabel(mismatch);
+                writeFrame(methodVisitor, instrumentationContext, keyVariable);
+                methodVisitor.visitIincInsn(CANDIDATE_INDEX, 1);
+                methodVisitor.visitJumpInsn(Opcodes.GOTO, examination);
+                methodVisitor.visitLabel(verification);
+                writeFrame(methodVisitor, instrumentationContext, localVariable);
+                size = size.aggregate(IntegerConstant.forValue(0).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitVarInsn(Opcodes.ISTORE, CANDIDATE_INDEX);
+                size = size.aggregate(new StackManipulation.Size(-1, 0));
+                methodVisitor.visitLabel(verificationLoop);
+                writeFrame(methodVisitor, instrumentationContext, localVariable);
+                size = size.aggregate(new StackManipulation.Compound(MethodVariableAccess.INTEGER.loadFromIndex(CANDIDATE_INDEX),
+                        MethodVariableAccess.REFERENCE.loadFromIndex(INDICES_INDEX)).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitInsn(Opcodes.ARRAYLENGTH);
+                methodVisitor.visitJumpInsn(Opcodes.IF_ICMPGE, completion);
+                size = size.aggregate(new StackManipulation.Size(-2, 0));
+                size = size.aggregate(new StackManipulation.Compound(MethodVariableAccess.REFERENCE.loadFromIndex(TABLE_INDEX),
+                        MethodVariableAccess.REFERENCE.loadFromIndex(INDICES_INDEX),
+                        MethodVariableAccess.INTEGER.loadFromIndex(CANDIDATE_INDEX)).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitInsn(Opcodes.IALOAD);
+                methodVisitor.visitInsn(Opcodes.AALOAD);
+                methodVisitor.visitJumpInsn(Opcodes.IFNONNULL, resolved);
+                size = size.aggregate(new StackManipulation.Size(-3, 0));
+                size = size.aggregate(new StackManipulation.Compound(TypeCreation.forType(TypeDescription.ForLoadedType.of(NoSuchMethodError.class)),
+                        Duplication.SINGLE,
+                        new TextConstant(declaringType.getName() + "."),
+                        MethodVariableAccess.REFERENCE.loadFromIndex(KEYS_INDEX),
+                        MethodVariableAccess.INTEGER.loadFromIndex(CANDIDATE_INDEX),
+                        ArrayElementLoading.INSTANCE,
+                        invoke(String.class, "concat", String.class),
+                        construct(NoSuchMethodError.class, String.class),
+                        Throw.INSTANCE).apply(methodVisitor, instrumentationContext));
+                methodVisitor.visitLabel(resolved);
+                writeFrame(methodVisitor, instrumentationContext, localVariable);
+                methodVisitor.visitIincInsn(CANDIDATE_INDEX, 1);
+                methodVisitor.visitJumpInsn(Opcodes.GOTO, verificationLoop);
+                methodVisitor.visitLabel(completion);
+                writeFrame(methodVisitor, instrumentationContext, localVariable);
+                return size;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && table.equals(((Initialization) other).table)
+                        && methodDescriptions.equals(((Initialization) other).methodDescriptions);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * table.hashCode() + methodDescriptions.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "MethodConstant.Table.Initialization{" +
+                        "table=" + table +
+                        ", methodDescriptions=" + methodDescriptions +
+                        '}';
+            }
+
+            /**
+             * Loads an element of a reference array onto the operand stack where the array and the element's index
+             * are expected on top of the operand stack.
+             */
+            protected static enum ArrayElementLoading implements StackManipulation {
+
+                /**
+                 * The singleton instance.
+                 */
+                INSTANCE;
+
+                @Override
+                public boolean isValid() {
+                    return true;
+                }
+
+                @Override
+                public Size apply(MethodVisitor methodVisitor, Instrumentation.Context instrumentationContext) {
+                    methodVisitor.visitInsn(Opcodes.AALOAD);
+                    return new Size(-1, 0);
+                }
+            }
+        }
+    }
 }
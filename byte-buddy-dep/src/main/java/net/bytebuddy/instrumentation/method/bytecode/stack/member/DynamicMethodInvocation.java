@@ -0,0 +1,232 @@
+package net.bytebuddy.instrumentation.method.bytecode.stack.member;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.instrumentation.Instrumentation;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes a method by an {@code invokedynamic} instruction that is linked to a constant call site which is bound
+ * to a method handle of the invoked method. Once linked, the JIT compiler treats such a call site like a direct
+ * invocation of the bound method. The method handle is still resolved from the constant pool of the invoking class
+ * when the call site is linked. This stack manipulation requires the invoking class to be of at least Java 7 class
+ * file version and it requires Byte Buddy to be visible to the invoking class's class loader where the call site is
+ * bootstrapped by {@link DynamicMethodInvocation#bootstrap(Object, String, Object, Object)}. In order to avoid a
+ * compile time dependency to the {@code java.lang.invoke} package, this bootstrap method is implemented by
+ * using reflection.
+ */
+public class DynamicMethodInvocation implements StackManipulation {
+
+    /**
+     * The name of the bootstrap method.
+     */
+    private static final String BOOTSTRAP_METHOD_NAME = "bootstrap";
+
+    /**
+     * The descriptor of the bootstrap method.
+     */
+    private static final String BOOTSTRAP_METHOD_DESCRIPTOR = "(Ljava/lang/Object;Ljava/lang/String;Ljava/lang/Object;Ljava/lang/Object;)Ljava/lang/Object;";
+
+    /**
+     * The handle of the bootstrap method that links all dynamic method invocations.
+     */
+    private static final Handle BOOTSTRAP = new Handle(Opcodes.H_INVOKESTATIC,
+            "net/bytebuddy/instrumentation/method/bytecode/stack/member/DynamicMethodInvocation",
+            BOOTSTRAP_METHOD_NAME,
+            BOOTSTRAP_METHOD_DESCRIPTOR);
+
+    /**
+     * The method that is invoked.
+     */
+    private final MethodDescription methodDescription;
+
+    /**
+     * The type on which a non-static method is invoked.
+     */
+    private final TypeDescription typeDescription;
+
+    /**
+     * The operand stack size implication of applying this invocation.
+     */
+    private final Size size;
+
+    /**
+     * Creates a new dynamic method invocation.
+     *
+     * @param methodDescription The method that is invoked.
+     * @param typeDescription   The type on which a non-static method is invoked.
+     */
+    protected DynamicMethodInvocation(MethodDescription methodDescription, TypeDescription typeDescription) {
+        this.methodDescription = methodDescription;
+        this.typeDescription = typeDescription;
+        int parameterSize = methodDescription.getStackSize();
+        int returnValueSize = methodDescription.getReturnType().getStackSize().getSize();
+        size = new Size(returnValueSize - parameterSize, Math.max(0, returnValueSize - parameterSize));
+    }
+
+    /**
+     * Creates a dynamic invocation of a {@code static} method or of a virtual method on its declaring type.
+     *
+     * @param methodDescription The method to be invoked.
+     * @return A stack manipulation that invokes the given method dynamically.
+     */
+    public static StackManipulation invoke(MethodDescription methodDescription) {
+        return invoke(methodDescription, methodDescription.getDeclaringType());
+    }
+
+    /**
+     * Creates a dynamic invocation of a {@code static} method or of a virtual method that is dispatched on the
+     * given type. Private methods, constructors and type initializers cannot be invoked dynamically such that
+     * an illegal stack manipulation is returned for such methods.
+     *
+     * @param methodDescription The method to be invoked.
+     * @param invocationTarget  The type on which a non-static method is invoked virtually.
+     * @return A stack manipulation that invokes the given method dynamically.
+     */
+    public static StackManipulation invoke(MethodDescription methodDescription, TypeDescription invocationTarget) {
+        if (methodDescription.isConstructor() || methodDescription.isTypeInitializer()) {
+            return Illegal.INSTANCE;
+        } else if (methodDescription.isStatic()) {
+            return new DynamicMethodInvocation(methodDescription, methodDescription.getDeclaringType());
+        } else if (methodDescription.isPrivate() || !invocationTarget.isAssignableTo(methodDescription.getDeclaringType())) {
+            return Illegal.INSTANCE;
+        } else {
+            return new DynamicMethodInvocation(methodDescription, invocationTarget);
+        }
+    }
+
+    /**
+     * Bootstraps a constant call site of a dynamic method invocation. The parameters of this method are typed
+     * as {@link java.lang.Object} in order to allow Byte Buddy to run on Java 6. This method is not meant to be
+     * called explicitly.
+     *
+     * @param lookup The lookup of the invoking class.
+     * @param name   The name of the invoked method.
+     * @param type   The {@code java.lang.invoke.MethodType} of the call site.
+     * @param target The {@code java.lang.invoke.MethodHandle} of the invoked method.
+     * @return A {@code java.lang.invoke.ConstantCallSite} that is bound to the invoked method.
+     * @throws Throwable If the call site cannot be created.
+     */
+    public static Object bootstrap(Object lookup, String name, Object type, Object target) throws Throwable {
+        try {
+            return CallSiteFactory.INSTANCE.make(target, type);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    @Override
+    public boolean isValid() {
+        return true;
+    }
+
+    @Override
+    public Size apply(MethodVisitor methodVisitor, Instrumentation.Context instrumentationContext) {
+        if (instrumentationContext.getClassFileVersion().compareTo(ClassFileVersion.JAVA_V7) < 0) {
+            throw new IllegalStateException("Cannot invoke " + methodDescription + " dynamically from a class of version "
+                    + instrumentationContext.getClassFileVersion());
+        }
+        Handle handle;
+        String descriptor;
+        if (methodDescription.isStatic()) {
+            handle = new Handle(Opcodes.H_INVOKESTATIC,
+                    typeDescription.getInternalName(),
+                    methodDescription.getInternalName(),
+                    methodDescription.getDescriptor());
+            descriptor = methodDescription.getDescriptor();
+        } else {
+            handle = new Handle(typeDescription.isInterface() ? Opcodes.H_INVOKEINTERFACE : Opcodes.H_INVOKEVIRTUAL,
+                    typeDescription.getInternalName(),
+                    methodDescription.getInternalName(),
+                    methodDescription.getDescriptor());
+            descriptor = "(" + typeDescription.getDescriptor() + methodDescription.getDescriptor().substring(1);
+        }
+        methodVisitor.visitInvokeDynamicInsn(methodDescription.getInternalName(), descriptor, BOOTSTRAP, handle);
+        return size;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+        DynamicMethodInvocation that = (DynamicMethodInvocation) other;
+        return methodDescription.getInternalName().equals(that.methodDescription.getInternalName())
+                && methodDescription.getReturnType().equals(that.methodDescription.getReturnType())
+                && methodDescription.getParameterTypes().equals(that.methodDescription.getParameterTypes())
+                && methodDescription.isStatic() == that.methodDescription.isStatic()
+                && typeDescription.equals(that.typeDescription);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = typeDescription.hashCode();
+        result = 31 * result + methodDescription.getInternalName().hashCode();
+        result = 31 * result + methodDescription.getParameterTypes().hashCode();
+        result = 31 * result + methodDescription.getReturnType().hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DynamicMethodInvocation{" +
+                "methodDescription=" + methodDescription +
+                ", typeDescription=" + typeDescription +
+                ", size=" + size +
+                '}';
+    }
+
+    /**
+     * A factory for constant call sites that is resolved reflectively on its first use such that Byte Buddy can
+     * be loaded on a Java 6 virtual machine.
+     */
+    protected static enum CallSiteFactory {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        /**
+         * The {@code java.lang.invoke.MethodHandle#asType(MethodType)} method.
+         */
+        private final Method asType;
+
+        /**
+         * The {@code java.lang.invoke.ConstantCallSite(MethodHandle)} constructor.
+         */
+        private final Constructor<?> constantCallSite;
+
+        /**
+         * Resolves the reflective members of the call site factory.
+         */
+        private CallSiteFactory() {
+            try {
+                Class<?> methodHandle = Class.forName("java.lang.invoke.MethodHandle");
+                asType = methodHandle.getMethod("asType", Class.forName("java.lang.invoke.MethodType"));
+                constantCallSite = Class.forName("java.lang.invoke.ConstantCallSite").getConstructor(methodHandle);
+            } catch (Exception exception) {
+                throw new IllegalStateException("Dynamic method invocations require a Java 7 virtual machine", exception);
+            }
+        }
+
+        /**
+         * Creates a constant call site for the given method handle.
+         *
+         * @param target The method handle to bind to the call site.
+         * @param type   The method type of the call site.
+         * @return A constant call site that is bound to the given method handle.
+         * @throws Exception If the call site cannot be created.
+         */
+        public Object make(Object target, Object type) throws Exception {
+            return constantCallSite.newInstance(asType.invoke(target, type));
+        }
+    }
+}
@@ -46,7 +46,7 @@ public interface JunctionMethodMatcher extends MethodMatcher {
      * A conjunction implementation of a method matcher that returns {@code true} if both method matchers match
      * a given method.
      */
-    static class Conjunction extends AbstractBase {
+    static class Conjunction extends AbstractBase implements MethodMatcher.Indexable {
 
         /**
          * The method matchers that are represented by this conjunction.
@@ -69,6 +69,29 @@ public interface JunctionMethodMatcher extends MethodMatcher {
             return left.matches(methodDescription) && right.matches(methodDescription);
         }
 
+        @Override
+        public Candidates getCandidates() {
+            return Candidates.of(left).and(Candidates.of(right));
+        }
+
+        /**
+         * Returns the first method matcher of this conjunction.
+         *
+         * @return The first method matcher of this conjunction.
+         */
+        protected MethodMatcher getLeft() {
+            return left;
+        }
+
+        /**
+         * Returns the second method matcher of this conjunction.
+         *
+         * @return The second method matcher of this conjunction.
+         */
+        protected MethodMatcher getRight() {
+            return right;
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
@@ -91,7 +114,7 @@ public interface JunctionMethodMatcher extends MethodMatcher {
      * A disjunction implementation of a method matcher that returns {@code true} if either of two method matchers
      * matches a given method.
      */
-    static class Disjunction extends AbstractBase {
+    static class Disjunction extends AbstractBase implements MethodMatcher.Indexable {
 
         /**
          * The method matchers that are represented by this disjunction.
@@ -114,6 +137,29 @@ public interface JunctionMethodMatcher extends MethodMatcher {
             return left.matches(methodDescription) || right.matches(methodDescription);
         }
 
+        @Override
+        public Candidates getCandidates() {
+            return Candidates.of(left).or(Candidates.of(right));
+        }
+
+        /**
+         * Returns the first method matcher of this disjunction.
+         *
+         * @return The first method matcher of this disjunction.
+         */
+        protected MethodMatcher getLeft() {
+            return left;
+        }
+
+        /**
+         * Returns the second method matcher of this disjunction.
+         *
+         * @return The second method matcher of this disjunction.
+         */
+        protected MethodMatcher getRight() {
+            return right;
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
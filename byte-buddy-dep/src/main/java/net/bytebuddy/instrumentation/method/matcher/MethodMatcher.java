@@ -2,6 +2,10 @@ package net.bytebuddy.instrumentation.method.matcher;
 
 import net.bytebuddy.instrumentation.method.MethodDescription;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * A method matcher that allows to identify {@link net.bytebuddy.instrumentation.method.MethodDescription}s.
  */
@@ -14,4 +18,223 @@ public interface MethodMatcher {
      * @return {@code true} if the matcher is matching this method.
      */
     boolean matches(MethodDescription methodDescription);
+
+    /**
+     * A method matcher that is able to narrow down the methods it can possibly match without evaluating them. This
+     * allows to index method matchers by the names or by the unique signatures of the methods they can match such
+     * that a matcher does not need to be applied to every method.
+     */
+    static interface Indexable extends MethodMatcher {
+
+        /**
+         * Returns the candidates that describe all methods that this matcher can possibly match. Any method that
+         * is not described by these candidates must never be matched by this matcher while a method that is
+         * described by these candidates is not necessarily matched.
+         *
+         * @return The candidates of this method matcher.
+         */
+        Candidates getCandidates();
+    }
+
+    /**
+     * Describes a superset of the methods that can be matched by a method matcher. A method is a candidate if its
+     * unique signature or its name is contained in the respective set of this instance or if this instance is
+     * unrestricted.
+     */
+    static class Candidates {
+
+        /**
+         * {@code true} if any method is a candidate.
+         */
+        private final boolean unrestricted;
+
+        /**
+         * The unique signatures of all candidate methods as returned by
+         * {@link net.bytebuddy.instrumentation.method.MethodDescription#getUniqueSignature()}.
+         */
+        private final Set<String> uniqueSignatures;
+
+        /**
+         * The names of all candidate methods as returned by
+         * {@link net.bytebuddy.instrumentation.method.MethodDescription#getName()}.
+         */
+        private final Set<String> names;
+
+        /**
+         * Creates a new description of candidate methods.
+         *
+         * @param unrestricted     {@code true} if any method is a candidate.
+         * @param uniqueSignatures The unique signatures of all candidate methods.
+         * @param names            The names of all candidate methods.
+         */
+        protected Candidates(boolean unrestricted, Set<String> uniqueSignatures, Set<String> names) {
+            this.unrestricted = unrestricted;
+            this.uniqueSignatures = uniqueSignatures;
+            this.names = names;
+        }
+
+        /**
+         * Returns a description where any method is a candidate.
+         *
+         * @return A description where any method is a candidate.
+         */
+        public static Candidates any() {
+            return new Candidates(true, Collections.<String>emptySet(), Collections.<String>emptySet());
+        }
+
+        /**
+         * Returns a description where no method is a candidate.
+         *
+         * @return A description where no method is a candidate.
+         */
+        public static Candidates none() {
+            return new Candidates(false, Collections.<String>emptySet(), Collections.<String>emptySet());
+        }
+
+        /**
+         * Returns a description where only methods of the given unique signature are candidates.
+         *
+         * @param uniqueSignature The unique signature of the candidate methods.
+         * @return A description of all methods of the given unique signature.
+         */
+        public static Candidates ofUniqueSignature(String uniqueSignature) {
+            return new Candidates(false, Collections.singleton(uniqueSignature), Collections.<String>emptySet());
+        }
+
+        /**
+         * Returns a description where only methods of the given name are candidates.
+         *
+         * @param name The name of the candidate methods.
+         * @return A description of all methods of the given name.
+         */
+        public static Candidates ofName(String name) {
+            return new Candidates(false, Collections.<String>emptySet(), Collections.singleton(name));
+        }
+
+        /**
+         * Returns the candidates of a method matcher. If the method matcher is not
+         * {@link net.bytebuddy.instrumentation.method.matcher.MethodMatcher.Indexable}, any method is considered
+         * a candidate.
+         *
+         * @param methodMatcher The method matcher for which the candidates are to be described.
+         * @return The candidates of the given method matcher.
+         */
+        public static Candidates of(MethodMatcher methodMatcher) {
+            return methodMatcher instanceof Indexable
+                    ? ((Indexable) methodMatcher).getCandidates()
+                    : any();
+        }
+
+        /**
+         * Combines these candidates with other candidates for describing the candidates of a conjunction. If
+         * both descriptions do not represent the same kind of restriction, the more selective description is
+         * retained.
+         *
+         * @param other The other candidates.
+         * @return A description of the candidates of a conjunction.
+         */
+        public Candidates and(Candidates other) {
+            if (unrestricted) {
+                return other;
+            } else if (other.unrestricted) {
+                return this;
+            } else if (names.isEmpty() && other.names.isEmpty()) {
+                Set<String> uniqueSignatures = new HashSet<String>(this.uniqueSignatures);
+                uniqueSignatures.retainAll(other.uniqueSignatures);
+                return new Candidates(false, uniqueSignatures, Collections.<String>emptySet());
+            } else if (uniqueSignatures.isEmpty() && other.uniqueSignatures.isEmpty()) {
+                Set<String> names = new HashSet<String>(this.names);
+                names.retainAll(other.names);
+                return new Candidates(false, Collections.<String>emptySet(), names);
+            } else if (names.isEmpty()) {
+                return this;
+            } else if (other.names.isEmpty()) {
+                return other;
+            } else {
+                return size() <= other.size()
+                        ? this
+                        : other;
+            }
+        }
+
+        /**
+         * Combines these candidates with other candidates for describing the candidates of a disjunction.
+         *
+         * @param other The other candidates.
+         * @return A description of the candidates of a disjunction.
+         */
+        public Candidates or(Candidates other) {
+            if (unrestricted || other.unrestricted) {
+                return any();
+            }
+            Set<String> uniqueSignatures = new HashSet<String>(this.uniqueSignatures);
+            uniqueSignatures.addAll(other.uniqueSignatures);
+            Set<String> names = new HashSet<String>(this.names);
+            names.addAll(other.names);
+            return new Candidates(false, uniqueSignatures, names);
+        }
+
+        /**
+         * Checks if any method is a candidate.
+         *
+         * @return {@code true} if any method is a candidate.
+         */
+        public boolean isUnrestricted() {
+            return unrestricted;
+        }
+
+        /**
+         * Returns the unique signatures of all candidate methods. The returned set is only meaningful if these
+         * candidates are not unrestricted.
+         *
+         * @return The unique signatures of all candidate methods.
+         */
+        public Set<String> getUniqueSignatures() {
+            return Collections.unmodifiableSet(uniqueSignatures);
+        }
+
+        /**
+         * Returns the names of all candidate methods. The returned set is only meaningful if these candidates
+         * are not unrestricted.
+         *
+         * @return The names of all candidate methods.
+         */
+        public Set<String> getNames() {
+            return Collections.unmodifiableSet(names);
+        }
+
+        /**
+         * Returns the number of keys that describe these candidates.
+         *
+         * @return The number of keys that describe these candidates.
+         */
+        private int size() {
+            return uniqueSignatures.size() + names.size();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Candidates candidates = (Candidates) other;
+            return unrestricted == candidates.unrestricted
+                    && (unrestricted || names.equals(candidates.names) && uniqueSignatures.equals(candidates.uniqueSignatures));
+        }
+
+        @Override
+        public int hashCode() {
+            return unrestricted
+                    ? 1
+                    : 31 * uniqueSignatures.hashCode() + names.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "MethodMatcher.Candidates{" +
+                    "unrestricted=" + unrestricted +
+                    ", uniqueSignatures=" + uniqueSignatures +
+                    ", names=" + names +
+                    '}';
+        }
+    }
 }
@@ -5,13 +5,13 @@ import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.RuntimeType
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Arrays;
-import java.util.List;
+import java.util.*;
 
 /**
  * A collection of common {@link net.bytebuddy.instrumentation.method.matcher.MethodMatcher}
@@ -243,7 +243,7 @@ public final class MethodMatchers {
      * @return A new method matcher that selects methods returning {@code type}.
      */
     public static JunctionMethodMatcher returns(Class<?> type) {
-        return new ReturnTypeMethodMatcher(new TypeDescription.ForLoadedType(type));
+        return new ReturnTypeMethodMatcher(TypeDescription.ForLoadedType.of(type));
     }
 
     /**
@@ -264,7 +264,7 @@ public final class MethodMatchers {
      * @return A new method matcher that selects methods returning subtypes of {@code type}.
      */
     public static JunctionMethodMatcher returnsSubtypeOf(Class<?> type) {
-        return returnsSubtypeOf(new TypeDescription.ForLoadedType(type));
+        return returnsSubtypeOf(TypeDescription.ForLoadedType.of(type));
     }
 
     /**
@@ -286,7 +286,7 @@ public final class MethodMatchers {
      * @return A new method matcher that selects methods returning super types of {@code type}.
      */
     public static JunctionMethodMatcher returnsSupertypeOf(Class<?> type) {
-        return returnsSupertypeOf(new TypeDescription.ForLoadedType(type));
+        return returnsSupertypeOf(TypeDescription.ForLoadedType.of(type));
     }
 
     /**
@@ -416,7 +416,7 @@ public final class MethodMatchers {
     public static JunctionMethodMatcher canThrow(Class<? extends Throwable> exceptionType) {
         return RuntimeException.class.isAssignableFrom(exceptionType) || Error.class.isAssignableFrom(exceptionType)
                 ? new BooleanMethodMatcher(true)
-                : new DeclaredExceptionMethodMatcher(new TypeDescription.ForLoadedType(exceptionType));
+                : new DeclaredExceptionMethodMatcher(TypeDescription.ForLoadedType.of(exceptionType));
     }
 
     /**
@@ -503,7 +503,7 @@ public final class MethodMatchers {
      * @return A new method matcher that matches any method that is visible to the given type.
      */
     public static JunctionMethodMatcher isVisibleTo(Class<?> typeDescription) {
-        return isVisibleTo(new TypeDescription.ForLoadedType(typeDescription));
+        return isVisibleTo(TypeDescription.ForLoadedType.of(typeDescription));
     }
 
     /**
@@ -535,7 +535,7 @@ public final class MethodMatchers {
      * @return A method matcher that is matching the given type.
      */
     public static JunctionMethodMatcher isDeclaredBy(Class<?> type) {
-        return isDeclaredBy(new TypeDescription.ForLoadedType(type));
+        return isDeclaredBy(TypeDescription.ForLoadedType.of(type));
     }
 
     /**
@@ -555,7 +555,7 @@ public final class MethodMatchers {
      * @return A method matcher that is matching any methods that are declared by a subtype of the given type.
      */
     public static JunctionMethodMatcher isDeclaredBySubtypeOf(Class<?> type) {
-        return isDeclaredBySubtypeOf(new TypeDescription.ForLoadedType(type));
+        return isDeclaredBySubtypeOf(TypeDescription.ForLoadedType.of(type));
     }
 
     /**
@@ -575,7 +575,7 @@ public final class MethodMatchers {
      * @return A method matcher that is matching any methods that are declared by a super type of the given type.
      */
     public static JunctionMethodMatcher isDeclaredBySuperTypeOf(Class<?> type) {
-        return isDeclaredBySuperTypeOf(new TypeDescription.ForLoadedType(type));
+        return isDeclaredBySuperTypeOf(TypeDescription.ForLoadedType.of(type));
     }
 
     /**
@@ -588,7 +588,7 @@ public final class MethodMatchers {
         TypeDescription[] typeDescriptions = new TypeDescription[typeDescription.length];
         int index = 0;
         for (Class<?> type : typeDescription) {
-            typeDescriptions[index++] = new TypeDescription.ForLoadedType(type);
+            typeDescriptions[index++] = TypeDescription.ForLoadedType.of(type);
         }
         return isDeclaredByAny(typeDescriptions);
     }
@@ -625,7 +625,7 @@ public final class MethodMatchers {
      * @return A matcher that matches any Java bean setter.
      */
     public static JunctionMethodMatcher isSetter(Class<?> type) {
-        return isSetter(new TypeDescription.ForLoadedType(type));
+        return isSetter(TypeDescription.ForLoadedType.of(type));
     }
 
     /**
@@ -658,7 +658,7 @@ public final class MethodMatchers {
      * @return A matcher that matches any Java bean getter.
      */
     public static JunctionMethodMatcher isGetter(Class<?> type) {
-        return isGetter(new TypeDescription.ForLoadedType(type));
+        return isGetter(TypeDescription.ForLoadedType.of(type));
     }
 
     /**
@@ -868,6 +868,224 @@ public final class MethodMatchers {
         return new BooleanMethodMatcher(false);
     }
 
+    /**
+     * Optimizes a method matcher for its repeated application. Nested conjunctions and disjunctions are flattened
+     * and equal method matchers within them are only applied once. Within a junction, cheap method matchers such
+     * as modifier checks are applied before name checks, parameter count checks, type checks and annotation checks
+     * such that an expensive check is avoided if a cheaper check already determines the result. Finally, a
+     * disjunction of exact names is matched by a single hash set lookup.
+     * <p>&nbsp;</p>
+     * Only method matchers that are provided by this class are known to be free of side effects and to never
+     * throw an exception. Any other method matcher is a barrier to this optimization: Method matchers that are
+     * applied before such a matcher are still applied before it and method matchers that are applied after such
+     * a matcher are still applied after it. Also, such a method matcher is never removed from a junction. This way,
+     * a custom method matcher can still rely on being guarded by the method matchers that precede it.
+     *
+     * @param methodMatcher The method matcher to optimize.
+     * @return A method matcher that matches the same methods as the given method matcher.
+     */
+    public static MethodMatcher optimize(MethodMatcher methodMatcher) {
+        if (methodMatcher instanceof JunctionMethodMatcher.Conjunction) {
+            List<MethodMatcher> methodMatchers = new ArrayList<MethodMatcher>();
+            flattenConjunction(methodMatcher, methodMatchers);
+            return optimizeConjunction(methodMatchers);
+        } else if (methodMatcher instanceof JunctionMethodMatcher.Disjunction) {
+            List<MethodMatcher> methodMatchers = new ArrayList<MethodMatcher>();
+            flattenDisjunction(methodMatcher, methodMatchers);
+            return optimizeDisjunction(methodMatchers);
+        } else if (methodMatcher instanceof NegatingMethodMatcher) {
+            MethodMatcher negatedMatcher = ((NegatingMethodMatcher) methodMatcher).methodMatcher;
+            MethodMatcher optimizedMatcher = optimize(negatedMatcher);
+            return optimizedMatcher == negatedMatcher
+                    ? methodMatcher
+                    : new NegatingMethodMatcher(optimizedMatcher);
+        } else {
+            return methodMatcher;
+        }
+    }
+
+    /**
+     * Collects the flattened elements of a conjunction.
+     *
+     * @param methodMatcher  The method matcher to flatten.
+     * @param methodMatchers The list to which the flattened elements are added.
+     */
+    private static void flattenConjunction(MethodMatcher methodMatcher, List<MethodMatcher> methodMatchers) {
+        if (methodMatcher instanceof JunctionMethodMatcher.Conjunction) {
+            flattenConjunction(((JunctionMethodMatcher.Conjunction) methodMatcher).getLeft(), methodMatchers);
+            flattenConjunction(((JunctionMethodMatcher.Conjunction) methodMatcher).getRight(), methodMatchers);
+        } else if (methodMatcher instanceof CompoundConjunctionMethodMatcher) {
+            methodMatchers.addAll(((CompoundConjunctionMethodMatcher) methodMatcher).methodMatchers);
+        } else {
+            methodMatchers.add(optimize(methodMatcher));
+        }
+    }
+
+    /**
+     * Collects the flattened elements of a disjunction.
+     *
+     * @param methodMatcher  The method matcher to flatten.
+     * @param methodMatchers The list to which the flattened elements are added.
+     */
+    private static void flattenDisjunction(MethodMatcher methodMatcher, List<MethodMatcher> methodMatchers) {
+        if (methodMatcher instanceof JunctionMethodMatcher.Disjunction) {
+            flattenDisjunction(((JunctionMethodMatcher.Disjunction) methodMatcher).getLeft(), methodMatchers);
+            flattenDisjunction(((JunctionMethodMatcher.Disjunction) methodMatcher).getRight(), methodMatchers);
+        } else if (methodMatcher instanceof CompoundDisjunctionMethodMatcher) {
+            methodMatchers.addAll(((CompoundDisjunctionMethodMatcher) methodMatcher).methodMatchers);
+        } else {
+            methodMatchers.add(optimize(methodMatcher));
+        }
+    }
+
+    /**
+     * Creates an optimized conjunction of flattened method matchers.
+     *
+     * @param methodMatchers The flattened and optimized elements of the conjunction.
+     * @return A method matcher representing the optimized conjunction.
+     */
+    private static MethodMatcher optimizeConjunction(List<MethodMatcher> methodMatchers) {
+        List<MethodMatcher> optimizedMatchers = optimizeJunction(methodMatchers, any(), none(), false);
+        switch (optimizedMatchers.size()) {
+            case 0:
+                return any();
+            case 1:
+                return optimizedMatchers.get(0);
+            default:
+                return new CompoundConjunctionMethodMatcher(optimizedMatchers);
+        }
+    }
+
+    /**
+     * Creates an optimized disjunction of flattened method matchers.
+     *
+     * @param methodMatchers The flattened and optimized elements of the disjunction.
+     * @return A method matcher representing the optimized disjunction.
+     */
+    private static MethodMatcher optimizeDisjunction(List<MethodMatcher> methodMatchers) {
+        List<MethodMatcher> optimizedMatchers = optimizeJunction(methodMatchers, none(), any(), true);
+        switch (optimizedMatchers.size()) {
+            case 0:
+                return none();
+            case 1:
+                return optimizedMatchers.get(0);
+            default:
+                return new CompoundDisjunctionMethodMatcher(optimizedMatchers);
+        }
+    }
+
+    /**
+     * Optimizes the flattened elements of a junction. Any method matcher that follows the first absorbing element
+     * is never applied and is therefore removed as well as any neutral element and any repeated method matcher
+     * that is free of side effects. The remaining method matchers that are free of side effects are reordered by
+     * their cost between the method matchers that are not known to be free of side effects.
+     *
+     * @param methodMatchers The flattened and optimized elements of the junction.
+     * @param neutral        The method matcher that does not change the result of the junction.
+     * @param absorbing      The method matcher that determines the result of the junction.
+     * @param disjunction    {@code true} if the junction is a disjunction such that exact names can be merged.
+     * @return The optimized elements of the junction.
+     */
+    private static List<MethodMatcher> optimizeJunction(List<MethodMatcher> methodMatchers,
+                                                        MethodMatcher neutral,
+                                                        MethodMatcher absorbing,
+                                                        boolean disjunction) {
+        List<MethodMatcher> optimizedMatchers = new ArrayList<MethodMatcher>(methodMatchers.size());
+        Set<MethodMatcher> appliedMatchers = new HashSet<MethodMatcher>();
+        boolean sideEffects = false;
+        int segment = 0;
+        for (MethodMatcher methodMatcher : methodMatchers) {
+            if (absorbing.equals(methodMatcher)) {
+                if (!sideEffects) {
+                    return Collections.singletonList(absorbing);
+                }
+                optimizedMatchers.subList(segment, optimizedMatchers.size()).clear();
+                optimizedMatchers.add(absorbing);
+                return optimizedMatchers;
+            } else if (!isFreeOfSideEffects(methodMatcher)) {
+                reorder(optimizedMatchers.subList(segment, optimizedMatchers.size()), disjunction);
+                optimizedMatchers.add(methodMatcher);
+                segment = optimizedMatchers.size();
+                sideEffects = true;
+            } else if (!neutral.equals(methodMatcher) && appliedMatchers.add(methodMatcher)) {
+                optimizedMatchers.add(methodMatcher);
+            }
+        }
+        reorder(optimizedMatchers.subList(segment, optimizedMatchers.size()), disjunction);
+        return optimizedMatchers;
+    }
+
+    /**
+     * Reorders method matchers that are free of side effects by their cost. For a disjunction, exact names are
+     * merged into a single method matcher.
+     *
+     * @param methodMatchers The method matchers to reorder.
+     * @param disjunction    {@code true} if the method matchers are elements of a disjunction.
+     */
+    private static void reorder(List<MethodMatcher> methodMatchers, boolean disjunction) {
+        if (disjunction) {
+            Set<String> names = new LinkedHashSet<String>();
+            int nameMatchers = 0;
+            for (MethodMatcher methodMatcher : methodMatchers) {
+                if (methodMatcher instanceof MethodNameMethodMatcher
+                        && ((MethodNameMethodMatcher) methodMatcher).matchMode == MatchMode.EQUALS_FULLY) {
+                    names.add(((MethodNameMethodMatcher) methodMatcher).name);
+                    nameMatchers++;
+                } else if (methodMatcher instanceof MethodNameSetMethodMatcher) {
+                    names.addAll(((MethodNameSetMethodMatcher) methodMatcher).names);
+                    nameMatchers++;
+                }
+            }
+            if (nameMatchers > 1) {
+                List<MethodMatcher> mergedMatchers = new ArrayList<MethodMatcher>(methodMatchers.size() - nameMatchers + 1);
+                mergedMatchers.add(new MethodNameSetMethodMatcher(names));
+                for (MethodMatcher methodMatcher : methodMatchers) {
+                    if (!(methodMatcher instanceof MethodNameSetMethodMatcher || (methodMatcher instanceof MethodNameMethodMatcher
+                            && ((MethodNameMethodMatcher) methodMatcher).matchMode == MatchMode.EQUALS_FULLY))) {
+                        mergedMatchers.add(methodMatcher);
+                    }
+                }
+                methodMatchers.clear();
+                methodMatchers.addAll(mergedMatchers);
+            }
+        }
+        Collections.sort(methodMatchers, MatchingCost.COMPARATOR);
+    }
+
+    /**
+     * Checks if a method matcher is provided by this class and is therefore free of side effects. Only such
+     * method matchers can be reordered or removed by an optimization.
+     *
+     * @param methodMatcher The method matcher to check.
+     * @return {@code true} if the given method matcher is free of side effects.
+     */
+    private static boolean isFreeOfSideEffects(MethodMatcher methodMatcher) {
+        if (methodMatcher instanceof NegatingMethodMatcher) {
+            return isFreeOfSideEffects(((NegatingMethodMatcher) methodMatcher).methodMatcher);
+        } else if (methodMatcher instanceof CompoundConjunctionMethodMatcher) {
+            return isFreeOfSideEffects(((CompoundConjunctionMethodMatcher) methodMatcher).methodMatchers);
+        } else if (methodMatcher instanceof CompoundDisjunctionMethodMatcher) {
+            return isFreeOfSideEffects(((CompoundDisjunctionMethodMatcher) methodMatcher).methodMatchers);
+        } else {
+            return methodMatcher.getClass().getDeclaringClass() == MethodMatchers.class;
+        }
+    }
+
+    /**
+     * Checks if all given method matchers are provided by this class and are therefore free of side effects.
+     *
+     * @param methodMatchers The method matchers to check.
+     * @return {@code true} if all given method matchers are free of side effects.
+     */
+    private static boolean isFreeOfSideEffects(List<MethodMatcher> methodMatchers) {
+        for (MethodMatcher methodMatcher : methodMatchers) {
+            if (!isFreeOfSideEffects(methodMatcher)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Each match mode represents a way of comparing two strings to another.
      */
@@ -1001,7 +1219,7 @@ public final class MethodMatchers {
     /**
      * Matches a method by its name. Constructors are never matched.
      */
-    private static class MethodNameMethodMatcher extends JunctionMethodMatcher.AbstractBase {
+    private static class MethodNameMethodMatcher extends JunctionMethodMatcher.AbstractBase implements MethodMatcher.Indexable {
 
         /**
          * The name to match the method's name against.
@@ -1031,6 +1249,13 @@ public final class MethodMatchers {
                     && matchMode.matches(name, methodDescription.getName());
         }
 
+        @Override
+        public Candidates getCandidates() {
+            return matchMode == MatchMode.EQUALS_FULLY
+                    ? Candidates.ofName(name)
+                    : Candidates.any();
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
@@ -1446,7 +1671,7 @@ public final class MethodMatchers {
     /**
      * Matches a method by its exact method description.
      */
-    private static class MethodDescriptionMethodMatcher extends JunctionMethodMatcher.AbstractBase {
+    private static class MethodDescriptionMethodMatcher extends JunctionMethodMatcher.AbstractBase implements MethodMatcher.Indexable {
 
         /**
          * The method description to match exactly.
@@ -1467,6 +1692,11 @@ public final class MethodMatchers {
             return methodDescription.equals(this.methodDescription);
         }
 
+        @Override
+        public Candidates getCandidates() {
+            return Candidates.ofUniqueSignature(methodDescription.getUniqueSignature());
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
@@ -1487,7 +1717,7 @@ public final class MethodMatchers {
     /**
      * Matches a method by it representing a loaded {@link java.lang.reflect.Method}.
      */
-    private static class LoadedMethodEqualityMethodMatcher extends JunctionMethodMatcher.AbstractBase {
+    private static class LoadedMethodEqualityMethodMatcher extends JunctionMethodMatcher.AbstractBase implements MethodMatcher.Indexable {
 
         /**
          * The loaded method to check if it is represented by a matched method.
@@ -1508,6 +1738,11 @@ public final class MethodMatchers {
             return methodDescription.represents(method);
         }
 
+        @Override
+        public Candidates getCandidates() {
+            return Candidates.ofUniqueSignature(method.getName() + Type.getMethodDescriptor(method));
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
@@ -1528,7 +1763,7 @@ public final class MethodMatchers {
     /**
      * Matches a method by it representing a loaded {@link java.lang.reflect.Constructor}.
      */
-    private static class LoadedConstructorEqualityMethodMatcher extends JunctionMethodMatcher.AbstractBase {
+    private static class LoadedConstructorEqualityMethodMatcher extends JunctionMethodMatcher.AbstractBase implements MethodMatcher.Indexable {
 
         /**
          * The loaded constructor to check if it is represented by a matched method.
@@ -1549,6 +1784,11 @@ public final class MethodMatchers {
             return methodDescription.represents(constructor);
         }
 
+        @Override
+        public Candidates getCandidates() {
+            return Candidates.ofUniqueSignature(MethodDescription.CONSTRUCTOR_INTERNAL_NAME + Type.getConstructorDescriptor(constructor));
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
@@ -1569,7 +1809,7 @@ public final class MethodMatchers {
     /**
      * Matches a method by its exact byte code method signature.
      */
-    private static class MethodByteCodeSignatureMethodMatcher extends JunctionMethodMatcher.AbstractBase {
+    private static class MethodByteCodeSignatureMethodMatcher extends JunctionMethodMatcher.AbstractBase implements MethodMatcher.Indexable {
 
         /**
          * The method whose exact signature is to be matched.
@@ -1592,6 +1832,11 @@ public final class MethodMatchers {
                     && methodDescription.getParameterTypes().equals(this.methodDescription.getParameterTypes());
         }
 
+        @Override
+        public Candidates getCandidates() {
+            return Candidates.ofUniqueSignature(methodDescription.getUniqueSignature());
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
@@ -1954,7 +2199,7 @@ public final class MethodMatchers {
     /**
      * Matches a method by a boolean property.
      */
-    private static class BooleanMethodMatcher extends JunctionMethodMatcher.AbstractBase {
+    private static class BooleanMethodMatcher extends JunctionMethodMatcher.AbstractBase implements MethodMatcher.Indexable {
 
         /**
          * The result of any attempt to match a method.
@@ -1975,6 +2220,13 @@ public final class MethodMatchers {
             return matches;
         }
 
+        @Override
+        public Candidates getCandidates() {
+            return matches
+                    ? Candidates.any()
+                    : Candidates.none();
+        }
+
         @Override
         public boolean equals(Object other) {
             return this == other || !(other == null || getClass() != other.getClass())
@@ -2065,4 +2317,257 @@ public final class MethodMatchers {
             return "isVisibilityBridge()";
         }
     }
+
+    /**
+     * An estimation of the cost of applying a method matcher which is used for ordering the elements of
+     * an optimized junction.
+     */
+    private static enum MatchingCost {
+
+        /**
+         * The cost of a check of a method's modifiers or of its kind.
+         */
+        MODIFIERS,
+
+        /**
+         * The cost of a check of a method's name.
+         */
+        NAME,
+
+        /**
+         * The cost of a check of a method's number of parameters.
+         */
+        PARAMETER_COUNT,
+
+        /**
+         * The cost of a check of any of a method's types.
+         */
+        TYPES,
+
+        /**
+         * The cost of a check of a method's annotations.
+         */
+        ANNOTATIONS;
+
+        /**
+         * A comparator that orders method matchers by their estimated cost.
+         */
+        private static final Comparator<MethodMatcher> COMPARATOR = new Comparator<MethodMatcher>() {
+            @Override
+            public int compare(MethodMatcher left, MethodMatcher right) {
+                return of(left).compareTo(of(right));
+            }
+        };
+
+        /**
+         * Estimates the cost of applying a method matcher.
+         *
+         * @param methodMatcher The method matcher of which the cost is to be estimated.
+         * @return The estimated cost of applying the given method matcher.
+         */
+        private static MatchingCost of(MethodMatcher methodMatcher) {
+            if (methodMatcher instanceof BooleanMethodMatcher
+                    || methodMatcher instanceof ModifierMethodMatcher
+                    || methodMatcher instanceof IsMethodMethodMatcher
+                    || methodMatcher instanceof IsConstructorMethodMatcher
+                    || methodMatcher instanceof TypeInitializerMethodMatcher
+                    || methodMatcher instanceof OverridableMethodMatcher) {
+                return MODIFIERS;
+            } else if (methodMatcher instanceof MethodNameMethodMatcher || methodMatcher instanceof MethodNameSetMethodMatcher) {
+                return NAME;
+            } else if (methodMatcher instanceof ParameterCountMethodMatcher) {
+                return PARAMETER_COUNT;
+            } else if (methodMatcher instanceof AnnotationMethodMatcher) {
+                return ANNOTATIONS;
+            } else if (methodMatcher instanceof NegatingMethodMatcher) {
+                return of(((NegatingMethodMatcher) methodMatcher).methodMatcher);
+            } else if (methodMatcher instanceof CompoundConjunctionMethodMatcher) {
+                return of(((CompoundConjunctionMethodMatcher) methodMatcher).methodMatchers);
+            } else if (methodMatcher instanceof CompoundDisjunctionMethodMatcher) {
+                return of(((CompoundDisjunctionMethodMatcher) methodMatcher).methodMatchers);
+            } else {
+                // Note: Only method matchers of this class are ever reordered, any remaining one checks a type.
+                return TYPES;
+            }
+        }
+
+        /**
+         * Estimates the cost of applying several method matchers which is represented by the most expensive one.
+         *
+         * @param methodMatchers The method matchers of which the cost is to be estimated.
+         * @return The estimated cost of applying the given method matchers.
+         */
+        private static MatchingCost of(List<MethodMatcher> methodMatchers) {
+            MatchingCost matchingCost = MODIFIERS;
+            for (MethodMatcher methodMatcher : methodMatchers) {
+                MatchingCost elementCost = of(methodMatcher);
+                if (elementCost.compareTo(matchingCost) > 0) {
+                    matchingCost = elementCost;
+                }
+            }
+            return matchingCost;
+        }
+    }
+
+    /**
+     * Matches a method by its name being contained in a set of names. Constructors are never matched.
+     */
+    private static class MethodNameSetMethodMatcher extends JunctionMethodMatcher.AbstractBase implements MethodMatcher.Indexable {
+
+        /**
+         * The names to match the method's name against.
+         */
+        private final Set<String> names;
+
+        /**
+         * Creates a new method name set matcher.
+         *
+         * @param names The names to be matched.
+         */
+        public MethodNameSetMethodMatcher(Set<String> names) {
+            this.names = names;
+        }
+
+        @Override
+        public boolean matches(MethodDescription methodDescription) {
+            return !methodDescription.isConstructor()
+                    && !methodDescription.isTypeInitializer()
+                    && names.contains(methodDescription.getName());
+        }
+
+        @Override
+        public Candidates getCandidates() {
+            Candidates candidates = Candidates.none();
+            for (String name : names) {
+                candidates = candidates.or(Candidates.ofName(name));
+            }
+            return candidates;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && names.equals(((MethodNameSetMethodMatcher) other).names);
+        }
+
+        @Override
+        public int hashCode() {
+            return names.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "namedOneOf(" + names + ')';
+        }
+    }
+
+    /**
+     * A conjunction of several method matchers which are applied in their given order.
+     */
+    private static class CompoundConjunctionMethodMatcher extends JunctionMethodMatcher.AbstractBase implements MethodMatcher.Indexable {
+
+        /**
+         * The method matchers that are represented by this conjunction.
+         */
+        private final List<MethodMatcher> methodMatchers;
+
+        /**
+         * Creates a new compound conjunction method matcher.
+         *
+         * @param methodMatchers The method matchers that are represented by this conjunction.
+         */
+        public CompoundConjunctionMethodMatcher(List<MethodMatcher> methodMatchers) {
+            this.methodMatchers = methodMatchers;
+        }
+
+        @Override
+        public boolean matches(MethodDescription methodDescription) {
+            for (MethodMatcher methodMatcher : methodMatchers) {
+                if (!methodMatcher.matches(methodDescription)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Candidates getCandidates() {
+            Candidates candidates = Candidates.any();
+            for (MethodMatcher methodMatcher : methodMatchers) {
+                candidates = candidates.and(Candidates.of(methodMatcher));
+            }
+            return candidates;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && methodMatchers.equals(((CompoundConjunctionMethodMatcher) other).methodMatchers);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * methodMatchers.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "allOf(" + methodMatchers + ')';
+        }
+    }
+
+    /**
+     * A disjunction of several method matchers which are applied in their given order.
+     */
+    private static class CompoundDisjunctionMethodMatcher extends JunctionMethodMatcher.AbstractBase implements MethodMatcher.Indexable {
+
+        /**
+         * The method matchers that are represented by this disjunction.
+         */
+        private final List<MethodMatcher> methodMatchers;
+
+        /**
+         * Creates a new compound disjunction method matcher.
+         *
+         * @param methodMatchers The method matchers that are represented by this disjunction.
+         */
+        public CompoundDisjunctionMethodMatcher(List<MethodMatcher> methodMatchers) {
+            this.methodMatchers = methodMatchers;
+        }
+
+        @Override
+        public boolean matches(MethodDescription methodDescription) {
+            for (MethodMatcher methodMatcher : methodMatchers) {
+                if (methodMatcher.matches(methodDescription)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Candidates getCandidates() {
+            Candidates candidates = Candidates.none();
+            for (MethodMatcher methodMatcher : methodMatchers) {
+                candidates = candidates.or(Candidates.of(methodMatcher));
+            }
+            return candidates;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && methodMatchers.equals(((CompoundDisjunctionMethodMatcher) other).methodMatchers);
+        }
+
+        @Override
+        public int hashCode() {
+            return 27 * methodMatchers.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "anyOf(" + methodMatchers + ')';
+        }
+    }
 }
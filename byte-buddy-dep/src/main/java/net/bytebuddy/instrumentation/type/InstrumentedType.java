@@ -199,7 +199,7 @@ public interface InstrumentedType extends TypeDescription {
 
         @Override
         public boolean isAssignableFrom(Class<?> type) {
-            return isAssignableFrom(new ForLoadedType(type));
+            return isAssignableFrom(ForLoadedType.of(type));
         }
 
         @Override
@@ -209,7 +209,7 @@ public interface InstrumentedType extends TypeDescription {
 
         @Override
         public boolean isAssignableTo(Class<?> type) {
-            return isAssignableTo(new ForLoadedType(type));
+            return isAssignableTo(ForLoadedType.of(type));
         }
 
         @Override
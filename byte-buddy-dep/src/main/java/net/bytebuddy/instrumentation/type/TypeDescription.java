@@ -6,13 +6,19 @@ import net.bytebuddy.instrumentation.field.FieldList;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.MethodList;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackSize;
+import net.bytebuddy.utility.WeakConcurrentMap;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Implementations of this interface represent a Java type, i.e. a class or interface.
@@ -291,11 +297,50 @@ public interface TypeDescription extends ByteCodeElement, DeclaredInType, Modifi
      */
     static class ForLoadedType extends AbstractTypeDescription {
 
+        /**
+         * The class loaders which cannot be garbage collected before this class, i.e. the class loader of Byte Buddy and
+         * its parents. The bootstrap class loader is represented by {@code null}.
+         */
+        private static final Set<ClassLoader> PERSISTENT_CLASS_LOADERS = persistentClassLoaders();
+
+        /**
+         * A store of canonical type descriptions of types that are loaded by a persistent class loader. Such types live
+         * at least as long as this class such that holding their descriptions strongly keeps each description reachable
+         * for exactly the lifetime of its type. This store covers the types that are described most frequently, such as
+         * {@code java.lang.Object} or any type of the Java class library.
+         */
+        private static final ConcurrentMap<Class<?>, ForLoadedType> PERSISTENT_TYPES =
+                new ConcurrentHashMap<Class<?>, ForLoadedType>();
+
+        /**
+         * A store of canonical type descriptions of types that are loaded by any other class loader. A description
+         * references its type and therefore its class loader. Without {@code java.lang.ClassValue}, which is not
+         * available on Java 6, a description can only be referenced weakly without retaining its class loader.
+         */
+        private static final WeakConcurrentMap<Class<?>, Reference<ForLoadedType>> TRANSIENT_TYPES =
+                new WeakConcurrentMap<Class<?>, Reference<ForLoadedType>>();
+
         /**
          * The loaded type this instance represents.
          */
         private final Class<?> type;
 
+        /**
+         * The memoized description of the represented type's super type or {@code null} if it was not yet resolved.
+         */
+        private volatile TypeDescription supertype;
+
+        /**
+         * The memoized list of the represented type's interfaces or {@code null} if it was not yet resolved.
+         */
+        private volatile TypeList interfaces;
+
+        /**
+         * The memoized description of the represented type's component type or {@code null} if it was not yet
+         * resolved.
+         */
+        private volatile TypeDescription componentType;
+
         /**
          * Creates a new immutable type description for a loaded type.
          *
@@ -305,6 +350,78 @@ public interface TypeDescription extends ByteCodeElement, DeclaredInType, Modifi
             this.type = type;
         }
 
+        /**
+         * Resolves the class loaders which cannot be garbage collected before this class.
+         *
+         * @return The class loaders which cannot be garbage collected before this class.
+         */
+        private static Set<ClassLoader> persistentClassLoaders() {
+            Set<ClassLoader> classLoaders = new HashSet<ClassLoader>();
+            classLoaders.add(null);
+            try {
+                ClassLoader classLoader = ForLoadedType.class.getClassLoader();
+                while (classLoader != null) {
+                    classLoaders.add(classLoader);
+                    classLoader = classLoader.getParent();
+                }
+            } catch (SecurityException ignored) {
+                /* do nothing: The class loaders that could be resolved are still persistent */
+            }
+            return Collections.unmodifiableSet(classLoaders);
+        }
+
+        /**
+         * Checks if a class loader is persistent, i.e. if it is the class loader of Byte Buddy, any of its parents or
+         * the bootstrap class loader. Such a class loader cannot be garbage collected before Byte Buddy's classes such
+         * that its types can be referenced strongly without retaining it.
+         *
+         * @param classLoader The class loader to check where the bootstrap class loader is represented by {@code null}.
+         * @return {@code true} if the given class loader is persistent.
+         */
+        public static boolean isPersistent(ClassLoader classLoader) {
+            return PERSISTENT_CLASS_LOADERS.contains(classLoader);
+        }
+
+        /**
+         * Returns a canonical type description of a loaded type. A description of a type that is loaded by the
+         * class loader of Byte Buddy or by any of its parents is canonical for the lifetime of the type. Any other
+         * description is canonical as long as it is referenced. Canonical descriptions memoize the type's super type,
+         * interfaces and component type such that a type hierarchy can be traversed repeatedly without creating new
+         * descriptions.
+         *
+         * @param type The type to be described.
+         * @return A canonical description of the given type.
+         */
+        public static ForLoadedType of(Class<?> type) {
+            if (isPersistent(type.getClassLoader())) {
+                ForLoadedType typeDescription = PERSISTENT_TYPES.get(type);
+                if (typeDescription == null) {
+                    typeDescription = new ForLoadedType(type);
+                    ForLoadedType previous = PERSISTENT_TYPES.putIfAbsent(type, typeDescription);
+                    return previous == null
+                            ? typeDescription
+                            : previous;
+                }
+                return typeDescription;
+            }
+            while (true) {
+                Reference<ForLoadedType> reference = TRANSIENT_TYPES.get(type);
+                ForLoadedType typeDescription = reference == null
+                        ? null
+                        : reference.get();
+                if (typeDescription != null) {
+                    return typeDescription;
+                }
+                typeDescription = new ForLoadedType(type);
+                Reference<ForLoadedType> canonicalReference = new WeakReference<ForLoadedType>(typeDescription);
+                if (reference == null
+                        ? TRANSIENT_TYPES.putIfAbsent(type, canonicalReference) == null
+                        : TRANSIENT_TYPES.replace(type, reference, canonicalReference)) {
+                    return typeDescription;
+                }
+            }
+        }
+
         @Override
         public boolean isInstance(Object object) {
             return type.isInstance(object);
@@ -347,7 +464,12 @@ public interface TypeDescription extends ByteCodeElement, DeclaredInType, Modifi
 
         @Override
         public TypeDescription getComponentType() {
-            return type.getComponentType() == null ? null : new TypeDescription.ForLoadedType(type.getComponentType());
+            TypeDescription componentType = this.componentType;
+            if (componentType == null && type.isArray()) {
+                componentType = ForLoadedType.of(type.getComponentType());
+                this.componentType = componentType;
+            }
+            return componentType;
         }
 
         @Override
@@ -367,18 +489,33 @@ public interface TypeDescription extends ByteCodeElement, DeclaredInType, Modifi
 
         @Override
         public TypeDescription getSupertype() {
-            return type.getSuperclass() == null ? null : new TypeDescription.ForLoadedType(type.getSuperclass());
+            TypeDescription supertype = this.supertype;
+            if (supertype == null && type.getSuperclass() != null) {
+                supertype = ForLoadedType.of(type.getSuperclass());
+                this.supertype = supertype;
+            }
+            return supertype;
         }
 
         @Override
         public TypeList getInterfaces() {
-            return new TypeList.ForLoadedType(type.getInterfaces());
+            TypeList interfaces = this.interfaces;
+            if (interfaces == null) {
+                Class<?>[] interfaceType = type.getInterfaces();
+                List<TypeDescription> interfaceTypes = new ArrayList<TypeDescription>(interfaceType.length);
+                for (Class<?> anInterfaceType : interfaceType) {
+                    interfaceTypes.add(ForLoadedType.of(anInterfaceType));
+                }
+                interfaces = new TypeList.Explicit(interfaceTypes);
+                this.interfaces = interfaces;
+            }
+            return interfaces;
         }
 
         @Override
         public TypeDescription getDeclaringType() {
             Class<?> declaringType = type.getDeclaringClass();
-            return declaringType == null ? null : new TypeDescription.ForLoadedType(declaringType);
+            return declaringType == null ? null : ForLoadedType.of(declaringType);
         }
 
         @Override
@@ -397,7 +534,7 @@ public interface TypeDescription extends ByteCodeElement, DeclaredInType, Modifi
         @Override
         public TypeDescription getEnclosingClass() {
             Class<?> enclosingType = type.getEnclosingClass();
-            return enclosingType == null ? null : new TypeDescription.ForLoadedType(enclosingType);
+            return enclosingType == null ? null : ForLoadedType.of(enclosingType);
         }
 
         @Override
@@ -57,7 +57,7 @@ public interface TypeList extends List<TypeDescription> {
 
         @Override
         public TypeDescription get(int index) {
-            return new TypeDescription.ForLoadedType(type[index]);
+            return TypeDescription.ForLoadedType.of(type[index]);
         }
 
         @Override
@@ -0,0 +1,338 @@
+package net.bytebuddy.instrumentation.type.auxiliary;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.instrumentation.Instrumentation;
+import net.bytebuddy.instrumentation.field.FieldDescription;
+import net.bytebuddy.instrumentation.field.FieldList;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
+import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Arguments;
+import net.bytebuddy.instrumentation.method.bytecode.stack.Duplication;
+import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.Throw;
+import net.bytebuddy.instrumentation.method.bytecode.stack.TypeCreation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.Assigner;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.primitive.PrimitiveTypeAwareAssigner;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.reference.ReferenceTypeAwareAssigner;
+import net.bytebuddy.instrumentation.method.bytecode.stack.constant.IntegerConstant;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.FieldAccess;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodReturn;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodVariableAccess;
+import net.bytebuddy.instrumentation.type.InstrumentedType;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.modifier.Visibility;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.isConstructor;
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.takesArguments;
+
+/**
+ * An argument carrier is an auxiliary type that implements the
+ * {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Arguments.View} interface for a particular
+ * list of parameter types. Each argument is stored in a field of its parameter's type and is read by a table switch
+ * over the requested argument's index such that primitive arguments can be read without being boxed. An argument
+ * carrier is constructed by providing all arguments in the order of the parameter types it represents.
+ */
+public class ArgumentCarrier implements AuxiliaryType {
+
+    /**
+     * The prefix of the fields holding the carried arguments.
+     */
+    private static final String FIELD_NAME_PREFIX = "argument";
+
+    /**
+     * The name of the view method that returns the number of carried arguments.
+     */
+    private static final String SIZE_METHOD_NAME = "size";
+
+    /**
+     * The parameter types of the arguments that are carried.
+     */
+    private final List<TypeDescription> parameterTypes;
+
+    /**
+     * Creates a new argument carrier.
+     *
+     * @param parameterTypes The parameter types of the arguments that are carried.
+     */
+    public ArgumentCarrier(List<TypeDescription> parameterTypes) {
+        this.parameterTypes = parameterTypes;
+    }
+
+    @Override
+    public DynamicType make(String auxiliaryTypeName,
+                            ClassFileVersion classFileVersion,
+                            MethodAccessorFactory methodAccessorFactory) {
+        DynamicType.Builder<?> builder = new ByteBuddy(classFileVersion)
+                .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .name(auxiliaryTypeName)
+                .modifiers(DEFAULT_TYPE_MODIFIER)
+                .implement(Arguments.View.class).intercept(new ArgumentAccess(classFileVersion))
+                .defineConstructor(parameterTypes)
+                .intercept(MethodCallProxy.ConstructorCall.INSTANCE);
+        int index = 0;
+        for (TypeDescription parameterType : parameterTypes) {
+            builder = builder.defineField(FIELD_NAME_PREFIX + index++, parameterType, Visibility.PRIVATE);
+        }
+        return builder.make();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || !(other == null || getClass() != other.getClass())
+                && parameterTypes.equals(((ArgumentCarrier) other).parameterTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return parameterTypes.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ArgumentCarrier{parameterTypes=" + parameterTypes + '}';
+    }
+
+    /**
+     * A stack manipulation that creates an {@link net.bytebuddy.instrumentation.type.auxiliary.ArgumentCarrier}
+     * for the arguments of a given method and pushes this carrier onto the operand stack. For this purpose, all
+     * arguments of the method are loaded onto the stack what is only possible if this instance is used from a
+     * method with an identical signature such as the method itself.
+     */
+    public static class AssignableSignatureCall implements StackManipulation {
+
+        /**
+         * The method of which the arguments are carried.
+         */
+        private final MethodDescription methodDescription;
+
+        /**
+         * Creates an operand stack assignment that creates an argument carrier for the given method's arguments.
+         *
+         * @param methodDescription The method of which the arguments are carried.
+         */
+        public AssignableSignatureCall(MethodDescription methodDescription) {
+            this.methodDescription = methodDescription;
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Instrumentation.Context instrumentationContext) {
+            TypeDescription auxiliaryType = instrumentationContext
+                    .register(new ArgumentCarrier(new ArrayList<TypeDescription>(methodDescription.getParameterTypes())));
+            return new Compound(
+                    TypeCreation.forType(auxiliaryType),
+                    Duplication.SINGLE,
+                    MethodVariableAccess.loadArguments(methodDescription),
+                    MethodInvocation.invoke(auxiliaryType.getDeclaredMethods().filter(isConstructor()).getOnly())
+            ).apply(methodVisitor, instrumentationContext);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && methodDescription.equals(((AssignableSignatureCall) other).methodDescription);
+        }
+
+        @Override
+        public int hashCode() {
+            return methodDescription.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ArgumentCarrier.AssignableSignatureCall{methodDescription=" + methodDescription + '}';
+        }
+    }
+
+    /**
+     * An instrumentation for implementing the methods of the
+     * {@link net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Arguments.View} interface by an
+     * argument carrier.
+     */
+    protected static class ArgumentAccess implements Instrumentation {
+
+        /**
+         * The assigner for reading an argument as the return type of a view method.
+         */
+        private static final Assigner ASSIGNER = new PrimitiveTypeAwareAssigner(ReferenceTypeAwareAssigner.INSTANCE);
+
+        /**
+         * The class file version of the carrier which determines if stack map frames are written.
+         */
+        private final ClassFileVersion classFileVersion;
+
+        /**
+         * Creates a new argument access instrumentation.
+         *
+         * @param classFileVersion The class file version of the carrier.
+         */
+        protected ArgumentAccess(ClassFileVersion classFileVersion) {
+            this.classFileVersion = classFileVersion;
+        }
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target instrumentationTarget) {
+            return new Appender(instrumentationTarget.getTypeDescription());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && classFileVersion.equals(((ArgumentAccess) other).classFileVersion);
+        }
+
+        @Override
+        public int hashCode() {
+            return classFileVersion.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "ArgumentCarrier.ArgumentAccess{classFileVersion=" + classFileVersion + '}';
+        }
+
+        /**
+         * The appender for implementing the
+         * {@link net.bytebuddy.instrumentation.type.auxiliary.ArgumentCarrier.ArgumentAccess}.
+         */
+        private class Appender implements ByteCodeAppender {
+
+            /**
+             * The instrumented type that is implemented.
+             */
+            private final TypeDescription instrumentedType;
+
+            /**
+             * Creates a new appender.
+             *
+             * @param instrumentedType The instrumented type to be implemented.
+             */
+            private Appender(TypeDescription instrumentedType) {
+                this.instrumentedType = instrumentedType;
+            }
+
+            @Override
+            public boolean appendsCode() {
+                return true;
+            }
+
+            @Override
+            public Size apply(MethodVisitor methodVisitor,
+                              Context instrumentationContext,
+                              MethodDescription instrumentedMethod) {
+                FieldList fieldList = instrumentedType.getDeclaredFields();
+                if (instrumentedMethod.getInternalName().equals(SIZE_METHOD_NAME)) {
+                    StackManipulation.Size stackSize = new StackManipulation.Compound(
+                            IntegerConstant.forValue(fieldList.size()),
+                            MethodReturn.INTEGER
+                    ).apply(methodVisitor, instrumentationContext);
+                    return new Size(stackSize.getMaximalSize(), instrumentedMethod.getStackSize());
+                }
+                StackManipulation.Size stackSize = new StackManipulation.Size(0, 0);
+                if (!fieldList.isEmpty()) {
+                    stackSize = MethodVariableAccess.INTEGER.loadFromIndex(1)
+                            .apply(methodVisitor, instrumentationContext)
+                            .aggregate(new StackManipulation.Size(-1, 0));
+                    Label defaultLabel = new Label();
+                    Label[] labels = new Label[fieldList.size()];
+                    List<StackManipulation> readings = new ArrayList<StackManipulation>(fieldList.size());
+                    StackManipulation thisReference = MethodVariableAccess.forType(instrumentedType).loadFromIndex(0);
+                    int index = 0;
+                    for (FieldDescription fieldDescription : fieldList) {
+                        StackManipulation reading = new StackManipulation.Compound(thisReference,
+                                FieldAccess.forField(fieldDescription).getter(),
+                                ASSIGNER.assign(fieldDescription.getFieldType(), instrumentedMethod.getReturnType(), false),
+                                MethodReturn.returning(instrumentedMethod.getReturnType()));
+                        if (reading.isValid()) {
+                            labels[index] = new Label();
+                            readings.add(reading);
+                        } else {
+                            labels[index] = defaultLabel;
+                        }
+                        index++;
+                    }
+                    methodVisitor.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+                    index = 0;
+                    for (Label label : labels) {
+                        if (label != defaultLabel) {
+                            methodVisitor.visitLabel(label);
+                            writeFrame(methodVisitor);
+                            stackSize = stackSize.aggregate(readings.get(index++).apply(methodVisitor, instrumentationContext));
+                        }
+                    }
+                    methodVisitor.visitLabel(defaultLabel);
+                    writeFrame(methodVisitor);
+                }
+                TypeDescription exceptionType = TypeDescription.ForLoadedType.of(IllegalArgumentException.class);
+                stackSize = stackSize.aggregate(new StackManipulation.Compound(
+                        TypeCreation.forType(exceptionType),
+                        Duplication.SINGLE,
+                        MethodInvocation.invoke(exceptionType.getDeclaredMethods()
+                                .filter(isConstructor().and(takesArguments(0))).getOnly()),
+                        Throw.INSTANCE
+                ).apply(methodVisitor, instrumentationContext));
+                return new Size(stackSize.getMaximalSize(), instrumentedMethod.getStackSize());
+            }
+
+            /**
+             * Writes a stack map frame that is equal to the frame at the method's beginning, if the carrier's
+             * class file version requires stack map frames.
+             *
+             * @param methodVisitor The method visitor to write the frame to.
+             */
+            private void writeFrame(MethodVisitor methodVisitor) {
+                if (classFileVersion.compareTo(ClassFileVersion.JAVA_V6) >= 0) {
+                    methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+                }
+            }
+
+            /**
+             * Returns the outer instance.
+             *
+             * @return The outer instance.
+             */
+            private ArgumentAccess getArgumentAccess() {
+                return ArgumentAccess.this;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && instrumentedType.equals(((Appender) other).instrumentedType)
+                        && ArgumentAccess.this.equals(((Appender) other).getArgumentAccess());
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * ArgumentAccess.this.hashCode() + instrumentedType.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "ArgumentCarrier.ArgumentAccess.Appender{" +
+                        "argumentAccess=" + ArgumentAccess.this +
+                        ", instrumentedType=" + instrumentedType +
+                        '}';
+            }
+        }
+    }
+}
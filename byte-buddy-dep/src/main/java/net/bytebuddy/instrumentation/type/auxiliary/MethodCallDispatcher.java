@@ -0,0 +1,555 @@
+package net.bytebuddy.instrumentation.type.auxiliary;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.SubclassInstrumentedType;
+import net.bytebuddy.instrumentation.Instrumentation;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
+import net.bytebuddy.instrumentation.method.bytecode.stack.Duplication;
+import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.Throw;
+import net.bytebuddy.instrumentation.method.bytecode.stack.TypeCreation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.Assigner;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.primitive.PrimitiveTypeAwareAssigner;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.primitive.VoidAwareAssigner;
+import net.bytebuddy.instrumentation.method.bytecode.stack.assign.reference.ReferenceTypeAwareAssigner;
+import net.bytebuddy.instrumentation.method.bytecode.stack.collection.ArrayFactory;
+import net.bytebuddy.instrumentation.method.bytecode.stack.constant.IntegerConstant;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.FieldAccess;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodInvocation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodReturn;
+import net.bytebuddy.instrumentation.method.bytecode.stack.member.MethodVariableAccess;
+import net.bytebuddy.instrumentation.type.InstrumentedType;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.modifier.Visibility;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.isConstructor;
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.takesArguments;
+
+/**
+ * A method call dispatcher is a single auxiliary type that is able to invoke any of several methods of an instrumented
+ * type. Other than a {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallProxy} which requires an auxiliary
+ * type for each proxied method, a dispatcher is created once for an instrumented type where any instance is
+ * constructed by providing an index of the method to invoke and an array of arguments for this method. If the invoked
+ * method is not {@code static}, the first element of this array is the instance on which the method is invoked. The
+ * dispatcher implements both {@link java.util.concurrent.Callable} and {@link java.lang.Runnable} and selects the
+ * invoked method from a table switch over the provided index.
+ */
+public class MethodCallDispatcher implements AuxiliaryType {
+
+    /**
+     * The name of the field that stores the index of the dispatched method.
+     */
+    private static final String INDEX_FIELD_NAME = "index";
+
+    /**
+     * The name of the field that stores the arguments of the dispatched method.
+     */
+    private static final String ARGUMENTS_FIELD_NAME = "arguments";
+
+    /**
+     * The special method invocations that are dispatched by this dispatcher in the order of their indices.
+     */
+    private final List<Instrumentation.SpecialMethodInvocation> specialMethodInvocations;
+
+    /**
+     * Determines if the generated dispatcher should be serializable.
+     */
+    private final boolean serializable;
+
+    /**
+     * The assigner to use for unboxing arguments and for boxing return values of the dispatched methods.
+     */
+    private final Assigner assigner;
+
+    /**
+     * Creates a new method call dispatcher that uses a default assigner for unboxing the dispatched methods'
+     * arguments and for assigning their return values to either the {@link java.util.concurrent.Callable#call()}
+     * or {@link Runnable#run()} method returns.
+     *
+     * @param specialMethodInvocations The special method invocations that are dispatched in the order of their indices.
+     * @param serializable             Determines if the generated dispatcher should be serializable.
+     */
+    public MethodCallDispatcher(List<Instrumentation.SpecialMethodInvocation> specialMethodInvocations, boolean serializable) {
+        this(specialMethodInvocations,
+                serializable,
+                new VoidAwareAssigner(new PrimitiveTypeAwareAssigner(ReferenceTypeAwareAssigner.INSTANCE), true));
+    }
+
+    /**
+     * Creates a new method call dispatcher.
+     *
+     * @param specialMethodInvocations The special method invocations that are dispatched in the order of their indices.
+     * @param serializable             Determines if the generated dispatcher should be serializable.
+     * @param assigner                 The assigner to use for unboxing arguments and for boxing return values of the
+     *                                 dispatched methods.
+     */
+    public MethodCallDispatcher(List<Instrumentation.SpecialMethodInvocation> specialMethodInvocations,
+                                boolean serializable,
+                                Assigner assigner) {
+        this.specialMethodInvocations = specialMethodInvocations;
+        this.serializable = serializable;
+        this.assigner = assigner;
+    }
+
+    /**
+     * Describes a method call dispatcher before it is created. This allows to reference a dispatcher from the
+     * instrumented type before all methods that are dispatched by it are known.
+     *
+     * @param auxiliaryTypeName The name of the dispatcher.
+     * @param classFileVersion  The class file version of the dispatcher.
+     * @param serializable      Determines if the dispatcher is serializable.
+     * @return A description of the dispatcher and its constructor.
+     */
+    public static TypeDescription describe(String auxiliaryTypeName, ClassFileVersion classFileVersion, boolean serializable) {
+        List<TypeDescription> interfaces = new ArrayList<TypeDescription>(3);
+        interfaces.add(TypeDescription.ForLoadedType.of(Runnable.class));
+        interfaces.add(TypeDescription.ForLoadedType.of(Callable.class));
+        if (serializable) {
+            interfaces.add(TypeDescription.ForLoadedType.of(Serializable.class));
+        }
+        return new SubclassInstrumentedType(classFileVersion,
+                TypeDescription.ForLoadedType.of(Object.class),
+                interfaces,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_SYNTHETIC,
+                new NamingStrategy.Fixed(auxiliaryTypeName))
+                .withMethod(MethodDescription.CONSTRUCTOR_INTERNAL_NAME,
+                        TypeDescription.ForLoadedType.of(void.class),
+                        Arrays.asList(TypeDescription.ForLoadedType.of(int.class), TypeDescription.ForLoadedType.of(Object[].class)),
+                        Collections.<TypeDescription>emptyList(),
+                        Opcodes.ACC_PUBLIC);
+    }
+
+    @Override
+    public DynamicType make(String auxiliaryTypeName,
+                            ClassFileVersion classFileVersion,
+                            MethodAccessorFactory methodAccessorFactory) {
+        List<MethodDescription> accessorMethods = new ArrayList<MethodDescription>(specialMethodInvocations.size());
+        for (Instrumentation.SpecialMethodInvocation specialMethodInvocation : specialMethodInvocations) {
+            accessorMethods.add(methodAccessorFactory.registerAccessorFor(specialMethodInvocation));
+        }
+        return new ByteBuddy(classFileVersion)
+                .subclass(Object.class, ConstructorStrategy.Default.NO_CONSTRUCTORS)
+                .methodLookupEngine(MethodCallProxy.ProxyMethodLookupEngine.INSTANCE)
+                .name(auxiliaryTypeName)
+                .modifiers(DEFAULT_TYPE_MODIFIER)
+                .implement(Runnable.class, Callable.class).intercept(new MethodDispatch(accessorMethods, assigner, classFileVersion))
+                .implement(serializable ? new Class<?>[]{Serializable.class} : new Class<?>[0])
+                .defineConstructor(Arrays.<Class<?>>asList(int.class, Object[].class))
+                .intercept(MethodCallProxy.ConstructorCall.INSTANCE)
+                .defineField(INDEX_FIELD_NAME, int.class, Visibility.PRIVATE)
+                .defineField(ARGUMENTS_FIELD_NAME, Object[].class, Visibility.PRIVATE)
+                .make();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (other == null || getClass() != other.getClass()) return false;
+        MethodCallDispatcher that = (MethodCallDispatcher) other;
+        return serializable == that.serializable
+                && assigner.equals(that.assigner)
+                && specialMethodInvocations.equals(that.specialMethodInvocations);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = specialMethodInvocations.hashCode();
+        result = 31 * result + (serializable ? 1 : 0);
+        result = 31 * result + assigner.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodCallDispatcher{" +
+                "specialMethodInvocations=" + specialMethodInvocations +
+                ", serializable=" + serializable +
+                ", assigner=" + assigner +
+                '}';
+    }
+
+    /**
+     * Represents a registration of a special method invocation with the method call dispatcher of an instrumented type.
+     */
+    public static class Entry {
+
+        /**
+         * A description of the dispatcher.
+         */
+        private final TypeDescription dispatcherType;
+
+        /**
+         * The index of the registered method within the dispatcher.
+         */
+        private final int index;
+
+        /**
+         * Creates a new dispatcher entry.
+         *
+         * @param dispatcherType A description of the dispatcher.
+         * @param index          The index of the registered method within the dispatcher.
+         */
+        public Entry(TypeDescription dispatcherType, int index) {
+            this.dispatcherType = dispatcherType;
+            this.index = index;
+        }
+
+        /**
+         * Returns a description of the dispatcher.
+         *
+         * @return A description of the dispatcher.
+         */
+        public TypeDescription getDispatcherType() {
+            return dispatcherType;
+        }
+
+        /**
+         * Returns the index of the registered method within the dispatcher.
+         *
+         * @return The index of the registered method within the dispatcher.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && index == ((Entry) other).index
+                    && dispatcherType.equals(((Entry) other).dispatcherType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * dispatcherType.hashCode() + index;
+        }
+
+        @Override
+        public String toString() {
+            return "MethodCallDispatcher.Entry{" +
+                    "dispatcherType=" + dispatcherType +
+                    ", index=" + index +
+                    '}';
+        }
+    }
+
+    /**
+     * A stack manipulation that creates an instance of the instrumented type's
+     * {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallDispatcher} for a given method and pushes this
+     * instance onto the operand stack. For this purpose, all arguments of the dispatched method are loaded onto the
+     * stack what is only possible if this instance is used from a method with an identical signature such as the
+     * target method itself.
+     */
+    public static class AssignableSignatureCall implements StackManipulation {
+
+        /**
+         * The assigner for boxing the arguments of the dispatched method.
+         */
+        private static final Assigner BOXING_ASSIGNER = new PrimitiveTypeAwareAssigner(ReferenceTypeAwareAssigner.INSTANCE);
+
+        /**
+         * The special method invocation to be dispatched.
+         */
+        private final Instrumentation.SpecialMethodInvocation specialMethodInvocation;
+
+        /**
+         * Determines if the dispatcher should be serializable.
+         */
+        private final boolean serializable;
+
+        /**
+         * Creates an operand stack assignment that creates a method call dispatcher for the given special method
+         * invocation and pushes this dispatcher onto the stack.
+         *
+         * @param specialMethodInvocation The special method invocation to be dispatched.
+         * @param serializable            Determines if the dispatcher should be serializable.
+         */
+        public AssignableSignatureCall(Instrumentation.SpecialMethodInvocation specialMethodInvocation, boolean serializable) {
+            this.specialMethodInvocation = specialMethodInvocation;
+            this.serializable = serializable;
+        }
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Instrumentation.Context instrumentationContext) {
+            Entry entry = instrumentationContext.dispatch(specialMethodInvocation, serializable);
+            MethodDescription methodDescription = specialMethodInvocation.getMethodDescription();
+            TypeList parameterTypes = methodDescription.getParameterTypes();
+            List<StackManipulation> arguments = new ArrayList<StackManipulation>(parameterTypes.size() + 1);
+            if (!methodDescription.isStatic()) {
+                arguments.add(MethodVariableAccess.forType(methodDescription.getDeclaringType()).loadFromIndex(0));
+            }
+            int index = 0;
+            for (TypeDescription parameterType : parameterTypes) {
+                arguments.add(new Compound(
+                        MethodVariableAccess.forType(parameterType).loadFromIndex(methodDescription.getParameterOffset(index++)),
+                        BOXING_ASSIGNER.assign(parameterType, TypeDescription.ForLoadedType.of(Object.class), false)));
+            }
+            return new Compound(
+                    TypeCreation.forType(entry.getDispatcherType()),
+                    Duplication.SINGLE,
+                    IntegerConstant.forValue(entry.getIndex()),
+                    ArrayFactory.targeting(TypeDescription.ForLoadedType.of(Object.class)).withValues(arguments),
+                    MethodInvocation.invoke(entry.getDispatcherType().getDeclaredMethods().filter(isConstructor()).getOnly())
+            ).apply(methodVisitor, instrumentationContext);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && serializable == ((AssignableSignatureCall) other).serializable
+                    && specialMethodInvocation.equals(((AssignableSignatureCall) other).specialMethodInvocation);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * specialMethodInvocation.hashCode() + (serializable ? 1 : 0);
+        }
+
+        @Override
+        public String toString() {
+            return "MethodCallDispatcher.AssignableSignatureCall{" +
+                    "specialMethodInvocation=" + specialMethodInvocation +
+                    ", serializable=" + serializable +
+                    '}';
+        }
+    }
+
+    /**
+     * Loads an element of an array of reference values where the array and the element's index are expected on
+     * the operand stack.
+     */
+    protected static enum ArrayElementLoading implements StackManipulation {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        @Override
+        public boolean isValid() {
+            return true;
+        }
+
+        @Override
+        public Size apply(MethodVisitor methodVisitor, Instrumentation.Context instrumentationContext) {
+            methodVisitor.visitInsn(Opcodes.AALOAD);
+            return new Size(-1, 0);
+        }
+    }
+
+    /**
+     * An instrumentation for implementing the methods of a
+     * {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallDispatcher} by a table switch over the
+     * dispatched methods.
+     */
+    protected static class MethodDispatch implements Instrumentation {
+
+        /**
+         * The accessor methods that are dispatched in the order of their indices.
+         */
+        private final List<MethodDescription> accessorMethods;
+
+        /**
+         * The assigner to use for unboxing arguments and for assigning return values.
+         */
+        private final Assigner assigner;
+
+        /**
+         * The class file version of the dispatcher which determines if stack map frames are written.
+         */
+        private final ClassFileVersion classFileVersion;
+
+        /**
+         * Creates a new method dispatch instrumentation.
+         *
+         * @param accessorMethods  The accessor methods that are dispatched in the order of their indices.
+         * @param assigner         The assigner to use for unboxing arguments and for assigning return values.
+         * @param classFileVersion The class file version of the dispatcher.
+         */
+        protected MethodDispatch(List<MethodDescription> accessorMethods, Assigner assigner, ClassFileVersion classFileVersion) {
+            this.accessorMethods = accessorMethods;
+            this.assigner = assigner;
+            this.classFileVersion = classFileVersion;
+        }
+
+        @Override
+        public InstrumentedType prepare(InstrumentedType instrumentedType) {
+            return instrumentedType;
+        }
+
+        @Override
+        public ByteCodeAppender appender(Target instrumentationTarget) {
+            return new Appender(instrumentationTarget.getTypeDescription());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            MethodDispatch that = (MethodDispatch) other;
+            return accessorMethods.equals(that.accessorMethods)
+                    && assigner.equals(that.assigner)
+                    && classFileVersion.equals(that.classFileVersion);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = accessorMethods.hashCode();
+            result = 31 * result + assigner.hashCode();
+            result = 31 * result + classFileVersion.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "MethodCallDispatcher.MethodDispatch{" +
+                    "accessorMethods=" + accessorMethods +
+                    ", assigner=" + assigner +
+                    ", classFileVersion=" + classFileVersion +
+                    '}';
+        }
+
+        /**
+         * The appender for implementing the
+         * {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallDispatcher.MethodDispatch}.
+         */
+        private class Appender implements ByteCodeAppender {
+
+            /**
+             * The instrumented type that is implemented.
+             */
+            private final TypeDescription instrumentedType;
+
+            /**
+             * Creates a new appender.
+             *
+             * @param instrumentedType The instrumented type to be implemented.
+             */
+            private Appender(TypeDescription instrumentedType) {
+                this.instrumentedType = instrumentedType;
+            }
+
+            @Override
+            public boolean appendsCode() {
+                return true;
+            }
+
+            @Override
+            public Size apply(MethodVisitor methodVisitor,
+                              Context instrumentationContext,
+                              MethodDescription instrumentedMethod) {
+                StackManipulation thisReference = MethodVariableAccess.forType(instrumentedType).loadFromIndex(0);
+                StackManipulation arguments = new StackManipulation.Compound(thisReference,
+                        FieldAccess.forField(instrumentedType.getDeclaredFields().named(ARGUMENTS_FIELD_NAME)).getter());
+                StackManipulation.Size stackSize = new StackManipulation.Compound(thisReference,
+                        FieldAccess.forField(instrumentedType.getDeclaredFields().named(INDEX_FIELD_NAME)).getter()
+                ).apply(methodVisitor, instrumentationContext).aggregate(new StackManipulation.Size(-1, 0));
+                Label[] labels = new Label[accessorMethods.size()];
+                for (int index = 0; index < labels.length; index++) {
+                    labels[index] = new Label();
+                }
+                Label defaultLabel = new Label();
+                methodVisitor.visitTableSwitchInsn(0, labels.length - 1, defaultLabel, labels);
+                TypeDescription objectType = TypeDescription.ForLoadedType.of(Object.class);
+                int index = 0;
+                for (MethodDescription accessorMethod : accessorMethods) {
+                    methodVisitor.visitLabel(labels[index++]);
+                    writeFrame(methodVisitor);
+                    List<TypeDescription> argumentTypes = new ArrayList<TypeDescription>(accessorMethod.getParameterTypes().size() + 1);
+                    if (!accessorMethod.isStatic()) {
+                        argumentTypes.add(accessorMethod.getDeclaringType());
+                    }
+                    argumentTypes.addAll(accessorMethod.getParameterTypes());
+                    StackManipulation[] argumentLoading = new StackManipulation[argumentTypes.size()];
+                    int argumentIndex = 0;
+                    for (TypeDescription argumentType : argumentTypes) {
+                        argumentLoading[argumentIndex] = new StackManipulation.Compound(arguments,
+                                IntegerConstant.forValue(argumentIndex),
+                                ArrayElementLoading.INSTANCE,
+                                assigner.assign(objectType, argumentType, true));
+                        argumentIndex++;
+                    }
+                    stackSize = stackSize.aggregate(new StackManipulation.Compound(
+                            new StackManipulation.Compound(argumentLoading),
+                            MethodInvocation.invoke(accessorMethod),
+                            assigner.assign(accessorMethod.getReturnType(), instrumentedMethod.getReturnType(), false),
+                            MethodReturn.returning(instrumentedMethod.getReturnType())
+                    ).apply(methodVisitor, instrumentationContext));
+                }
+                methodVisitor.visitLabel(defaultLabel);
+                writeFrame(methodVisitor);
+                TypeDescription exceptionType = TypeDescription.ForLoadedType.of(IllegalStateException.class);
+                stackSize = stackSize.aggregate(new StackManipulation.Compound(
+                        TypeCreation.forType(exceptionType),
+                        Duplication.SINGLE,
+                        MethodInvocation.invoke(exceptionType.getDeclaredMethods()
+                                .filter(isConstructor().and(takesArguments(0))).getOnly()),
+                        Throw.INSTANCE
+                ).apply(methodVisitor, instrumentationContext));
+                return new Size(stackSize.getMaximalSize(), instrumentedMethod.getStackSize());
+            }
+
+            /**
+             * Writes a stack map frame that is equal to the frame at the method's beginning, if the dispatcher's
+             * class file version requires stack map frames.
+             *
+             * @param methodVisitor The method visitor to write the frame to.
+             */
+            private void writeFrame(MethodVisitor methodVisitor) {
+                if (classFileVersion.compareTo(ClassFileVersion.JAVA_V6) >= 0) {
+                    methodVisitor.visitFrame(Opcodes.F_SAME, 0, null, 0, null);
+                }
+            }
+
+            /**
+             * Returns the outer instance.
+             *
+             * @return The outer instance.
+             */
+            private MethodDispatch getMethodDispatch() {
+                return MethodDispatch.this;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && instrumentedType.equals(((Appender) other).instrumentedType)
+                        && MethodDispatch.this.equals(((Appender) other).getMethodDispatch());
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * MethodDispatch.this.hashCode() + instrumentedType.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "MethodCallDispatcher.MethodDispatch.Appender{" +
+                        "methodDispatch=" + MethodDispatch.this +
+                        ", instrumentedType=" + instrumentedType +
+                        '}';
+            }
+        }
+    }
+}
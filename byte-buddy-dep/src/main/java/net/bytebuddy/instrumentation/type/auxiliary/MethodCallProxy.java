@@ -184,7 +184,7 @@ public class MethodCallProxy implements AuxiliaryType {
      * {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallProxy}. This avoids a reflective lookup
      * of these methods what improves the runtime performance of this lookup.
      */
-    private static enum ProxyMethodLookupEngine implements MethodLookupEngine, MethodLookupEngine.Factory {
+    protected static enum ProxyMethodLookupEngine implements MethodLookupEngine, MethodLookupEngine.Factory {
 
         /**
          * The singleton instance.
@@ -225,7 +225,7 @@ public class MethodCallProxy implements AuxiliaryType {
     /**
      * An instrumentation for implementing a constructor of a {@link net.bytebuddy.instrumentation.type.auxiliary.MethodCallProxy}.
      */
-    private static enum ConstructorCall implements Instrumentation {
+    protected static enum ConstructorCall implements Instrumentation {
 
         /**
          * The singleton instance.
@@ -241,7 +241,7 @@ public class MethodCallProxy implements AuxiliaryType {
          * Creates the constructor call singleton.
          */
         private ConstructorCall() {
-            this.objectTypeDefaultConstructor = new TypeDescription.ForLoadedType(Object.class)
+            this.objectTypeDefaultConstructor = TypeDescription.ForLoadedType.of(Object.class)
                     .getDeclaredMethods()
                     .filter(isConstructor())
                     .getOnly();
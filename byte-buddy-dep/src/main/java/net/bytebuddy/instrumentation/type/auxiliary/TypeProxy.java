@@ -152,7 +152,7 @@ public class TypeProxy implements AuxiliaryType {
          * Creates the singleton instance.
          */
         private AbstractMethodErrorThrow() {
-            TypeDescription abstractMethodError = new TypeDescription.ForLoadedType(AbstractMethodError.class);
+            TypeDescription abstractMethodError = TypeDescription.ForLoadedType.of(AbstractMethodError.class);
             MethodDescription constructor = abstractMethodError.getDeclaredMethods()
                     .filter(isConstructor().and(takesArguments(0))).getOnly();
             implementation = new Compound(TypeCreation.forType(abstractMethodError),
@@ -0,0 +1,2740 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.dynamic.scaffold.inline.ClassFileLocator;
+import net.bytebuddy.instrumentation.field.FieldDescription;
+import net.bytebuddy.instrumentation.field.FieldList;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.MethodList;
+import net.bytebuddy.instrumentation.method.bytecode.stack.StackSize;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.TypeList;
+import org.objectweb.asm.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.IncompleteAnnotationException;
+import java.lang.annotation.Inherited;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A type pool allows the retrieval of {@link net.bytebuddy.instrumentation.type.TypeDescription}s by their names
+ * without loading the described types. Instead, types are described by parsing their class files which are
+ * located by a {@link net.bytebuddy.dynamic.scaffold.inline.ClassFileLocator}. Any referenced type such as a super
+ * type, an interface or a method's parameter type is resolved lazily by the same pool once it is requested.
+ */
+public interface TypePool {
+
+    /**
+     * Locates and describes the given type by its name.
+     *
+     * @param name The name of the type to describe as returned by {@link Class#getName()}.
+     * @return A description of the given type.
+     */
+    TypeDescription describe(String name);
+
+    /**
+     * Clears this type pool's cache.
+     */
+    void clear();
+
+    /**
+     * A cache provider for a {@link net.bytebuddy.pool.TypePool}.
+     */
+    static interface CacheProvider {
+
+        /**
+         * Attempts to find a type in this cache.
+         *
+         * @param name The name of the type to describe.
+         * @return A description of the type or {@code null} if no such type is found in the cache.
+         */
+        TypeDescription find(String name);
+
+        /**
+         * Registers a type in this cache. If a type of the same name was registered concurrently, the type that
+         * was registered first is returned.
+         *
+         * @param typeDescription The type to register.
+         * @return The type description that is registered for the given type's name.
+         */
+        TypeDescription register(TypeDescription typeDescription);
+
+        /**
+         * Clears this cache.
+         */
+        void clear();
+
+        /**
+         * A non-operational cache that does not store any type descriptions.
+         */
+        static enum NoOp implements CacheProvider {
+
+            /**
+             * The singleton instance.
+             */
+            INSTANCE;
+
+            @Override
+            public TypeDescription find(String name) {
+                return null;
+            }
+
+            @Override
+            public TypeDescription register(TypeDescription typeDescription) {
+                return typeDescription;
+            }
+
+            @Override
+            public void clear() {
+                /* do nothing */
+            }
+        }
+
+        /**
+         * A simple, thread-safe type cache based on a {@link java.util.concurrent.ConcurrentHashMap}.
+         */
+        static class Simple implements CacheProvider {
+
+            /**
+             * A map containing all cached type descriptions by their names.
+             */
+            private final ConcurrentMap<String, TypeDescription> cache;
+
+            /**
+             * Creates a new simple cache.
+             */
+            public Simple() {
+                cache = new ConcurrentHashMap<String, TypeDescription>();
+            }
+
+            @Override
+            public TypeDescription find(String name) {
+                return cache.get(name);
+            }
+
+            @Override
+            public TypeDescription register(TypeDescription typeDescription) {
+                TypeDescription cached = cache.putIfAbsent(typeDescription.getName(), typeDescription);
+                return cached == null
+                        ? typeDescription
+                        : cached;
+            }
+
+            @Override
+            public void clear() {
+                cache.clear();
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.CacheProvider.Simple{cache=" + cache + '}';
+            }
+        }
+    }
+
+    /**
+     * A reference to the class loader that is able to load the types that are described by a type pool. Any type
+     * description of a type pool queries this reference for loading annotation types and types that are referenced by
+     * annotation values.
+     */
+    static interface ClassLoaderReference {
+
+        /**
+         * Returns the referenced class loader.
+         *
+         * @return The referenced class loader or {@code null} for the bootstrap class loader or if no class loader
+         * is known.
+         */
+        ClassLoader getClassLoader();
+
+        /**
+         * A strong reference to a class loader.
+         */
+        static class Strong implements ClassLoaderReference {
+
+            /**
+             * The referenced class loader or {@code null} for the bootstrap class loader or if no class loader
+             * is known.
+             */
+            private final ClassLoader classLoader;
+
+            /**
+             * Creates a new strong class loader reference.
+             *
+             * @param classLoader The referenced class loader or {@code null} for the bootstrap class loader or if no
+             *                    class loader is known.
+             */
+            public Strong(ClassLoader classLoader) {
+                this.classLoader = classLoader;
+            }
+
+            @Override
+            public ClassLoader getClassLoader() {
+                return classLoader;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && !(classLoader != null ? !classLoader.equals(((Strong) other).classLoader) : ((Strong) other).classLoader != null);
+            }
+
+            @Override
+            public int hashCode() {
+                return classLoader != null ? classLoader.hashCode() : 0;
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.ClassLoaderReference.Strong{classLoader=" + classLoader + '}';
+            }
+        }
+
+        /**
+         * A weak reference to a class loader. A type pool with such a reference, and any of its type descriptions,
+         * does not prevent its class loader from being garbage collected. Once the class loader is collected, its
+         * type descriptions can no longer resolve their annotations.
+         */
+        static class Weak implements ClassLoaderReference {
+
+            /**
+             * A weak reference to the referenced class loader.
+             */
+            private final WeakReference<ClassLoader> classLoader;
+
+            /**
+             * Creates a new weak class loader reference.
+             *
+             * @param classLoader The referenced class loader which must not be {@code null}.
+             */
+            public Weak(ClassLoader classLoader) {
+                if (classLoader == null) {
+                    throw new IllegalArgumentException("Cannot reference the bootstrap class loader weakly");
+                }
+                this.classLoader = new WeakReference<ClassLoader>(classLoader);
+            }
+
+            @Override
+            public ClassLoader getClassLoader() {
+                ClassLoader classLoader = this.classLoader.get();
+                if (classLoader == null) {
+                    throw new IllegalStateException("The referenced class loader was garbage collected");
+                }
+                return classLoader;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) return true;
+                if (other == null || getClass() != other.getClass()) return false;
+                ClassLoader classLoader = this.classLoader.get();
+                return classLoader != null && classLoader == ((Weak) other).classLoader.get();
+            }
+
+            @Override
+            public int hashCode() {
+                ClassLoader classLoader = this.classLoader.get();
+                return classLoader == null
+                        ? System.identityHashCode(this)
+                        : System.identityHashCode(classLoader);
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.ClassLoaderReference.Weak{classLoader=" + classLoader.get() + '}';
+            }
+        }
+    }
+
+    /**
+     * A base implementation of a {@link net.bytebuddy.pool.TypePool} that resolves primitive types and array types
+     * and that is managing a cache.
+     */
+    abstract static class AbstractBase implements TypePool {
+
+        /**
+         * The symbol that introduces an array type's name.
+         */
+        private static final String ARRAY_SYMBOL = "[";
+
+        /**
+         * A map of primitive type names to their type descriptions.
+         */
+        private static final Map<String, TypeDescription> PRIMITIVE_TYPES;
+
+        /**
+         * A map of primitive type descriptors to their type descriptions.
+         */
+        private static final Map<String, TypeDescription> PRIMITIVE_DESCRIPTORS;
+
+        /*
+         * Initializes the maps of primitive types.
+         */
+        static {
+            Map<String, TypeDescription> primitiveTypes = new HashMap<String, TypeDescription>();
+            Map<String, TypeDescription> primitiveDescriptors = new HashMap<String, TypeDescription>();
+            for (Class<?> primitiveType : new Class<?>[]{boolean.class,
+                    byte.class,
+                    short.class,
+                    char.class,
+                    int.class,
+                    long.class,
+                    float.class,
+                    double.class,
+                    void.class}) {
+                TypeDescription typeDescription = TypeDescription.ForLoadedType.of(primitiveType);
+                primitiveTypes.put(primitiveType.getName(), typeDescription);
+                primitiveDescriptors.put(Type.getDescriptor(primitiveType), typeDescription);
+            }
+            PRIMITIVE_TYPES = Collections.unmodifiableMap(primitiveTypes);
+            PRIMITIVE_DESCRIPTORS = Collections.unmodifiableMap(primitiveDescriptors);
+        }
+
+        /**
+         * The cache provider of this instance.
+         */
+        protected final CacheProvider cacheProvider;
+
+        /**
+         * Creates a new base implementation of a type pool.
+         *
+         * @param cacheProvider The cache provider to be used.
+         */
+        protected AbstractBase(CacheProvider cacheProvider) {
+            this.cacheProvider = cacheProvider;
+        }
+
+        @Override
+        public TypeDescription describe(String name) {
+            if (name.contains("/")) {
+                throw new IllegalArgumentException(name + " contains the illegal character '/'");
+            }
+            int arity = 0;
+            while (name.startsWith(ARRAY_SYMBOL)) {
+                arity++;
+                name = name.substring(1);
+            }
+            if (arity > 0) {
+                TypeDescription primitiveType = PRIMITIVE_DESCRIPTORS.get(name);
+                name = primitiveType == null
+                        ? name.substring(1, name.length() - 1)
+                        : primitiveType.getName();
+            }
+            TypeDescription typeDescription = PRIMITIVE_TYPES.get(name);
+            if (typeDescription == null) {
+                typeDescription = cacheProvider.find(name);
+                if (typeDescription == null) {
+                    typeDescription = cacheProvider.register(doDescribe(name));
+                }
+            }
+            return ArrayTypeDescription.of(typeDescription, arity);
+        }
+
+        @Override
+        public void clear() {
+            cacheProvider.clear();
+        }
+
+        /**
+         * Describes a non-primitive, non-array type that was not found in this type pool's cache.
+         *
+         * @param name The name of the type to describe.
+         * @return A description of the type.
+         */
+        protected abstract TypeDescription doDescribe(String name);
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || !(other == null || getClass() != other.getClass())
+                    && cacheProvider.equals(((AbstractBase) other).cacheProvider);
+        }
+
+        @Override
+        public int hashCode() {
+            return cacheProvider.hashCode();
+        }
+    }
+
+    /**
+     * A default implementation of a {@link net.bytebuddy.pool.TypePool} that parses class files using ASM's
+     * {@link org.objectweb.asm.ClassReader} without ever loading a described type.
+     */
+    static class Default extends AbstractBase {
+
+        /**
+         * The ASM API version that is used for parsing class files.
+         */
+        private static final int ASM_API_VERSION = Opcodes.ASM5;
+
+        /**
+         * The reader flags that are used for parsing class files where any method's code is skipped.
+         */
+        private static final int READER_FLAGS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+        /**
+         * The class file locator that is used for locating class files.
+         */
+        private final ClassFileLocator.Named classFileLocator;
+
+        /**
+         * A reference to the class loader that is able to load the described types. This class loader is only
+         * queried for loading annotation types and types that are referenced by annotation values when a described
+         * annotation is requested.
+         */
+        private final ClassLoaderReference classLoaderReference;
+
+        /**
+         * Creates a new default type pool.
+         *
+         * @param cacheProvider    The cache provider to be used.
+         * @param classFileLocator The class file locator to be used.
+         * @param classLoader      The class loader that is able to load the described types or {@code null} if no
+         *                         such class loader is known.
+         */
+        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ClassLoader classLoader) {
+            this(cacheProvider, classFileLocator, new ClassLoaderReference.Strong(classLoader));
+        }
+
+        /**
+         * Creates a new default type pool.
+         *
+         * @param cacheProvider        The cache provider to be used.
+         * @param classFileLocator     The class file locator to be used.
+         * @param classLoaderReference A reference to the class loader that is able to load the described types.
+         */
+        public Default(CacheProvider cacheProvider, ClassFileLocator classFileLocator, ClassLoaderReference classLoaderReference) {
+            super(cacheProvider);
+            this.classFileLocator = ClassFileLocator.Named.Adapter.of(classFileLocator);
+            this.classLoaderReference = classLoaderReference;
+        }
+
+        /**
+         * Creates a default type pool that describes types that are found on the class path.
+         *
+         * @return A type pool that describes types that are found on the class path.
+         */
+        public static TypePool ofClassPath() {
+            return of(ClassLoader.getSystemClassLoader());
+        }
+
+        /**
+         * Creates a default type pool that describes types which are visible to the given class loader.
+         *
+         * @param classLoader The class loader which is queried for class files or {@code null} for the
+         *                    system class loader.
+         * @return A type pool that describes types that are visible to the given class loader.
+         */
+        public static TypePool of(ClassLoader classLoader) {
+            return new Default(new CacheProvider.Simple(), new ClassFileLocator.ForClassLoader(classLoader), classLoader);
+        }
+
+        /**
+         * Converts an ASM type into a type name as returned by {@link Class#getName()}.
+         *
+         * @param type The type to convert.
+         * @return The name of the given type.
+         */
+        private static String toTypeName(Type type) {
+            return type.getSort() == Type.ARRAY
+                    ? type.getDescriptor().replace('/', '.')
+                    : type.getClassName();
+        }
+
+        @Override
+        protected TypeDescription doDescribe(String name) {
+            InputStream classFile = classFileLocator.classFileFor(name);
+            if (classFile == null) {
+                throw new IllegalArgumentException("Cannot locate the class file for " + name + " using " + classFileLocator);
+            }
+            try {
+                try {
+                    return parse(new ClassReader(classFile));
+                } finally {
+                    classFile.close();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read the class file for " + name, e);
+            }
+        }
+
+        /**
+         * Parses a class file into a lazy type description.
+         *
+         * @param classReader A class reader for the class file to parse.
+         * @return A type description of the parsed class file.
+         */
+        private TypeDescription parse(ClassReader classReader) {
+            TypeExtractor typeExtractor = new TypeExtractor();
+            classReader.accept(typeExtractor, READER_FLAGS);
+            return typeExtractor.toTypeDescription();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (other == null || getClass() != other.getClass()) return false;
+            Default aDefault = (Default) other;
+            return super.equals(other)
+                    && classFileLocator.equals(aDefault.classFileLocator)
+                    && classLoaderReference.equals(aDefault.classLoaderReference);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = super.hashCode();
+            result = 31 * result + classFileLocator.hashCode();
+            result = 31 * result + classLoaderReference.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "TypePool.Default{" +
+                    "cacheProvider=" + cacheProvider +
+                    ", classFileLocator=" + classFileLocator +
+                    ", classLoaderReference=" + classLoaderReference +
+                    '}';
+        }
+
+        /**
+         * A registrant that receives the values that are extracted from an annotation.
+         */
+        protected static interface ComponentRegistrant {
+
+            /**
+             * Registers a value.
+             *
+             * @param name  The name of the annotation property or {@code null} for an array element.
+             * @param value The value to register.
+             */
+            void register(String name, Object value);
+        }
+
+        /**
+         * A class visitor that extracts all information about a type that is required for creating a
+         * {@link net.bytebuddy.pool.TypePool.LazyTypeDescription}.
+         */
+        protected class TypeExtractor extends ClassVisitor {
+
+            /**
+             * The modifiers of the extracted type.
+             */
+            private int modifiers;
+
+            /**
+             * The internal name of the extracted type.
+             */
+            private String internalName;
+
+            /**
+             * The internal name of the extracted type's super type or {@code null} if no such type exists.
+             */
+            private String superTypeName;
+
+            /**
+             * The internal names of the extracted type's interfaces.
+             */
+            private String[] interfaceName;
+
+            /**
+             * The internal name of the extracted type's declaring type or {@code null} if no such type exists.
+             */
+            private String declaringTypeName;
+
+            /**
+             * The internal name of the extracted type's enclosing type or {@code null} if no such type exists.
+             */
+            private String enclosingTypeName;
+
+            /**
+             * The internal name of the extracted type's enclosing method or {@code null} if no such method exists.
+             */
+            private String enclosingMethodName;
+
+            /**
+             * The descriptor of the extracted type's enclosing method or {@code null} if no such method exists.
+             */
+            private String enclosingMethodDescriptor;
+
+            /**
+             * The simple name of the extracted type if it is an inner type or {@code null} if this is not known.
+             */
+            private String simpleName;
+
+            /**
+             * {@code true} if the extracted type is an anonymous type.
+             */
+            private boolean anonymousType;
+
+            /**
+             * The annotations that are declared by the extracted type.
+             */
+            private final List<LazyTypeDescription.AnnotationToken> annotationTokens;
+
+            /**
+             * The fields that are declared by the extracted type.
+             */
+            private final List<LazyTypeDescription.FieldToken> fieldTokens;
+
+            /**
+             * The methods that are declared by the extracted type.
+             */
+            private final List<LazyTypeDescription.MethodToken> methodTokens;
+
+            /**
+             * Creates a new type extractor.
+             */
+            protected TypeExtractor() {
+                super(ASM_API_VERSION);
+                annotationTokens = new ArrayList<LazyTypeDescription.AnnotationToken>();
+                fieldTokens = new ArrayList<LazyTypeDescription.FieldToken>();
+                methodTokens = new ArrayList<LazyTypeDescription.MethodToken>();
+            }
+
+            @Override
+            public void visit(int classFileVersion,
+                              int modifiers,
+                              String internalName,
+                              String genericSignature,
+                              String superTypeName,
+                              String[] interfaceName) {
+                this.modifiers = modifiers & ~(Opcodes.ACC_SUPER | Opcodes.ACC_DEPRECATED);
+                this.internalName = internalName;
+                this.superTypeName = superTypeName;
+                this.interfaceName = interfaceName;
+            }
+
+            @Override
+            public void visitOuterClass(String typeName, String methodName, String methodDescriptor) {
+                enclosingTypeName = typeName;
+                enclosingMethodName = methodName;
+                enclosingMethodDescriptor = methodDescriptor;
+            }
+
+            @Override
+            public void visitInnerClass(String internalName, String outerName, String innerName, int modifiers) {
+                if (internalName.equals(this.internalName)) {
+                    this.modifiers = modifiers & ~(Opcodes.ACC_SUPER | Opcodes.ACC_DEPRECATED);
+                    simpleName = innerName;
+                    anonymousType = innerName == null;
+                    if (outerName != null) {
+                        declaringTypeName = outerName;
+                        enclosingTypeName = outerName;
+                    }
+                }
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                return visible
+                        ? new AnnotationExtractor(descriptor, new ListRegistrant(annotationTokens))
+                        : null;
+            }
+
+            @Override
+            public FieldVisitor visitField(int modifiers,
+                                           String internalName,
+                                           String descriptor,
+                                           String genericSignature,
+                                           Object defaultValue) {
+                return new FieldExtractor(modifiers & ~Opcodes.ACC_DEPRECATED, internalName, descriptor);
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int modifiers,
+                                             String internalName,
+                                             String descriptor,
+                                             String genericSignature,
+                                             String[] exceptionName) {
+                return internalName.equals(MethodDescription.TYPE_INITIALIZER_INTERNAL_NAME)
+                        ? null
+                        : new MethodExtractor(modifiers & ~Opcodes.ACC_DEPRECATED, internalName, descriptor, exceptionName);
+            }
+
+            /**
+             * Creates a type description of the extracted type.
+             *
+             * @return A type description of the extracted type.
+             */
+            protected TypeDescription toTypeDescription() {
+                return new LazyTypeDescription(Default.this,
+                        classLoaderReference,
+                        modifiers,
+                        toName(internalName),
+                        toName(superTypeName),
+                        toNames(interfaceName),
+                        new LazyTypeDescription.DeclarationContext(toName(declaringTypeName),
+                                toName(enclosingTypeName),
+                                enclosingMethodName,
+                                enclosingMethodDescriptor,
+                                simpleName,
+                                anonymousType),
+                        annotationTokens,
+                        fieldTokens,
+                        methodTokens);
+            }
+
+            /**
+             * Converts an internal name into a type name.
+             *
+             * @param internalName The internal name or {@code null}.
+             * @return The type name or {@code null} if the internal name is {@code null}.
+             */
+            private String toName(String internalName) {
+                return internalName == null
+                        ? null
+                        : internalName.replace('/', '.');
+            }
+
+            /**
+             * Converts an array of internal names into a list of type names.
+             *
+             * @param internalName The internal names or {@code null}.
+             * @return A list of the type names.
+             */
+            private List<String> toNames(String[] internalName) {
+                if (internalName == null) {
+                    return Collections.emptyList();
+                }
+                List<String> names = new ArrayList<String>(internalName.length);
+                for (String anInternalName : internalName) {
+                    names.add(toName(anInternalName));
+                }
+                return names;
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.Default.TypeExtractor{" +
+                        "typePool=" + Default.this +
+                        ", internalName='" + internalName + '\'' +
+                        '}';
+            }
+
+            /**
+             * A field visitor that extracts the annotations of a field.
+             */
+            protected class FieldExtractor extends FieldVisitor {
+
+                /**
+                 * The modifiers of the field.
+                 */
+                private final int modifiers;
+
+                /**
+                 * The name of the field.
+                 */
+                private final String internalName;
+
+                /**
+                 * The descriptor of the field.
+                 */
+                private final String descriptor;
+
+                /**
+                 * The annotations that are declared by the field.
+                 */
+                private final List<LazyTypeDescription.AnnotationToken> annotationTokens;
+
+                /**
+                 * Creates a new field extractor.
+                 *
+                 * @param modifiers    The modifiers of the field.
+                 * @param internalName The name of the field.
+                 * @param descriptor   The descriptor of the field.
+                 */
+                protected FieldExtractor(int modifiers, String internalName, String descriptor) {
+                    super(ASM_API_VERSION);
+                    this.modifiers = modifiers;
+                    this.internalName = internalName;
+                    this.descriptor = descriptor;
+                    annotationTokens = new ArrayList<LazyTypeDescription.AnnotationToken>();
+                }
+
+                @Override
+                public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                    return visible
+                            ? new AnnotationExtractor(descriptor, new ListRegistrant(annotationTokens))
+                            : null;
+                }
+
+                @Override
+                public void visitEnd() {
+                    fieldTokens.add(new LazyTypeDescription.FieldToken(modifiers,
+                            internalName,
+                            toTypeName(Type.getType(descriptor)),
+                            descriptor,
+                            annotationTokens));
+                }
+
+                @Override
+                public String toString() {
+                    return "TypePool.Default.TypeExtractor.FieldExtractor{" +
+                            "typeExtractor=" + TypeExtractor.this +
+                            ", internalName='" + internalName + '\'' +
+                            ", descriptor='" + descriptor + '\'' +
+                            '}';
+                }
+            }
+
+            /**
+             * A method visitor that extracts the annotations and parameter annotations of a method.
+             */
+            protected class MethodExtractor extends MethodVisitor {
+
+                /**
+                 * The modifiers of the method.
+                 */
+                private final int modifiers;
+
+                /**
+                 * The internal name of the method.
+                 */
+                private final String internalName;
+
+                /**
+                 * The descriptor of the method.
+                 */
+                private final String descriptor;
+
+                /**
+                 * The internal names of the exceptions that are declared by the method or {@code null}.
+                 */
+                private final String[] exceptionName;
+
+                /**
+                 * The annotations that are declared by the method.
+                 */
+                private final List<LazyTypeDescription.AnnotationToken> annotationTokens;
+
+                /**
+                 * The annotations that are declared by the method's parameters.
+                 */
+                private final List<List<LazyTypeDescription.AnnotationToken>> parameterAnnotationTokens;
+
+                /**
+                 * Creates a new method extractor.
+                 *
+                 * @param modifiers     The modifiers of the method.
+                 * @param internalName  The internal name of the method.
+                 * @param descriptor    The descriptor of the method.
+                 * @param exceptionName The internal names of the exceptions that are declared by the method
+                 *                      or {@code null}.
+                 */
+                protected MethodExtractor(int modifiers, String internalName, String descriptor, String[] exceptionName) {
+                    super(ASM_API_VERSION);
+                    this.modifiers = modifiers;
+                    this.internalName = internalName;
+                    this.descriptor = descriptor;
+                    this.exceptionName = exceptionName;
+                    annotationTokens = new ArrayList<LazyTypeDescription.AnnotationToken>();
+                    int parameterCount = Type.getArgumentTypes(descriptor).length;
+                    parameterAnnotationTokens = new ArrayList<List<LazyTypeDescription.AnnotationToken>>(parameterCount);
+                    for (int index = 0; index < parameterCount; index++) {
+                        parameterAnnotationTokens.add(new ArrayList<LazyTypeDescription.AnnotationToken>());
+                    }
+                }
+
+                @Override
+                public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                    return visible
+                            ? new AnnotationExtractor(descriptor, new ListRegistrant(annotationTokens))
+                            : null;
+                }
+
+                @Override
+                public AnnotationVisitor visitParameterAnnotation(int index, String descriptor, boolean visible) {
+                    return visible && index < parameterAnnotationTokens.size()
+                            ? new AnnotationExtractor(descriptor, new ListRegistrant(parameterAnnotationTokens.get(index)))
+                            : null;
+                }
+
+                @Override
+                public void visitEnd() {
+                    Type[] parameterType = Type.getArgumentTypes(descriptor);
+                    List<String> parameterTypeNames = new ArrayList<String>(parameterType.length);
+                    for (Type aParameterType : parameterType) {
+                        parameterTypeNames.add(toTypeName(aParameterType));
+                    }
+                    methodTokens.add(new LazyTypeDescription.MethodToken(modifiers,
+                            internalName,
+                            descriptor,
+                            toTypeName(Type.getReturnType(descriptor)),
+                            parameterTypeNames,
+                            toNames(exceptionName),
+                            annotationTokens,
+                            parameterAnnotationTokens));
+                }
+
+                @Override
+                public String toString() {
+                    return "TypePool.Default.TypeExtractor.MethodExtractor{" +
+                            "typeExtractor=" + TypeExtractor.this +
+                            ", internalName='" + internalName + '\'' +
+                            ", descriptor='" + descriptor + '\'' +
+                            '}';
+                }
+            }
+        }
+
+        /**
+         * A component registrant that adds any annotation token to a list.
+         */
+        protected static class ListRegistrant implements ComponentRegistrant {
+
+            /**
+             * The list to which annotation tokens are added.
+             */
+            private final List<LazyTypeDescription.AnnotationToken> annotationTokens;
+
+            /**
+             * Creates a new list registrant.
+             *
+             * @param annotationTokens The list to which annotation tokens are added.
+             */
+            protected ListRegistrant(List<LazyTypeDescription.AnnotationToken> annotationTokens) {
+                this.annotationTokens = annotationTokens;
+            }
+
+            @Override
+            public void register(String name, Object value) {
+                annotationTokens.add((LazyTypeDescription.AnnotationToken) value);
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.Default.ListRegistrant{annotationTokens=" + annotationTokens + '}';
+            }
+        }
+
+        /**
+         * An annotation visitor that extracts the values of an annotation into an annotation token.
+         */
+        protected static class AnnotationExtractor extends AnnotationVisitor implements ComponentRegistrant {
+
+            /**
+             * The descriptor of the annotation type.
+             */
+            private final String descriptor;
+
+            /**
+             * The registrant that receives the extracted annotation token.
+             */
+            private final ComponentRegistrant componentRegistrant;
+
+            /**
+             * The values of the extracted annotation by their property names.
+             */
+            private final Map<String, Object> values;
+
+            /**
+             * Creates a new annotation extractor.
+             *
+             * @param descriptor          The descriptor of the annotation type.
+             * @param componentRegistrant The registrant that receives the extracted annotation token.
+             */
+            protected AnnotationExtractor(String descriptor, ComponentRegistrant componentRegistrant) {
+                super(ASM_API_VERSION);
+                this.descriptor = descriptor;
+                this.componentRegistrant = componentRegistrant;
+                values = new HashMap<String, Object>();
+            }
+
+            @Override
+            public void register(String name, Object value) {
+                values.put(name, value);
+            }
+
+            @Override
+            public void visit(String name, Object value) {
+                register(name, value);
+            }
+
+            @Override
+            public void visitEnum(String name, String descriptor, String value) {
+                register(name, new LazyTypeDescription.EnumerationToken(descriptor, value));
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+                return new AnnotationExtractor(descriptor, new NamedRegistrant(name, this));
+            }
+
+            @Override
+            public AnnotationVisitor visitArray(String name) {
+                return new ArrayExtractor(name, this);
+            }
+
+            @Override
+            public void visitEnd() {
+                componentRegistrant.register(null, new LazyTypeDescription.AnnotationToken(descriptor, values));
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.Default.AnnotationExtractor{" +
+                        "descriptor='" + descriptor + '\'' +
+                        ", values=" + values +
+                        '}';
+            }
+        }
+
+        /**
+         * A component registrant that forwards any registration to another registrant under a fixed name.
+         */
+        protected static class NamedRegistrant implements ComponentRegistrant {
+
+            /**
+             * The name under which a value is registered.
+             */
+            private final String name;
+
+            /**
+             * The registrant to which any registration is forwarded.
+             */
+            private final ComponentRegistrant componentRegistrant;
+
+            /**
+             * Creates a new named registrant.
+             *
+             * @param name                The name under which a value is registered.
+             * @param componentRegistrant The registrant to which any registration is forwarded.
+             */
+            protected NamedRegistrant(String name, ComponentRegistrant componentRegistrant) {
+                this.name = name;
+                this.componentRegistrant = componentRegistrant;
+            }
+
+            @Override
+            public void register(String name, Object value) {
+                componentRegistrant.register(this.name, value);
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.Default.NamedRegistrant{" +
+                        "name='" + name + '\'' +
+                        ", componentRegistrant=" + componentRegistrant +
+                        '}';
+            }
+        }
+
+        /**
+         * An annotation visitor that extracts the values of an array-typed annotation property.
+         */
+        protected static class ArrayExtractor extends AnnotationVisitor implements ComponentRegistrant {
+
+            /**
+             * The name of the array property.
+             */
+            private final String name;
+
+            /**
+             * The registrant that receives the extracted array.
+             */
+            private final ComponentRegistrant componentRegistrant;
+
+            /**
+             * The extracted array elements.
+             */
+            private final List<Object> values;
+
+            /**
+             * Creates a new array extractor.
+             *
+             * @param name                The name of the array property.
+             * @param componentRegistrant The registrant that receives the extracted array.
+             */
+            protected ArrayExtractor(String name, ComponentRegistrant componentRegistrant) {
+                super(ASM_API_VERSION);
+                this.name = name;
+                this.componentRegistrant = componentRegistrant;
+                values = new ArrayList<Object>();
+            }
+
+            @Override
+            public void register(String name, Object value) {
+                values.add(value);
+            }
+
+            @Override
+            public void visit(String name, Object value) {
+                register(name, value);
+            }
+
+            @Override
+            public void visitEnum(String name, String descriptor, String value) {
+                register(name, new LazyTypeDescription.EnumerationToken(descriptor, value));
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+                return new AnnotationExtractor(descriptor, this);
+            }
+
+            @Override
+            public void visitEnd() {
+                componentRegistrant.register(name, values);
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.Default.ArrayExtractor{" +
+                        "name='" + name + '\'' +
+                        ", values=" + values +
+                        '}';
+            }
+        }
+    }
+
+    /**
+     * A type list that resolves its elements lazily from a type pool.
+     */
+    static class LazyTypeList extends AbstractList<TypeDescription> implements TypeList {
+
+        /**
+         * The type pool that is used for resolving the types of this list.
+         */
+        private final TypePool typePool;
+
+        /**
+         * The names of the types of this list.
+         */
+        private final List<String> typeNames;
+
+        /**
+         * Creates a new lazy type list.
+         *
+         * @param typePool  The type pool that is used for resolving the types of this list.
+         * @param typeNames The names of the types of this list.
+         */
+        public LazyTypeList(TypePool typePool, List<String> typeNames) {
+            this.typePool = typePool;
+            this.typeNames = typeNames;
+        }
+
+        @Override
+        public TypeDescription get(int index) {
+            return typePool.describe(typeNames.get(index));
+        }
+
+        @Override
+        public int size() {
+            return typeNames.size();
+        }
+
+        @Override
+        public String[] toInternalNames() {
+            String[] internalName = new String[typeNames.size()];
+            int index = 0;
+            for (String typeName : typeNames) {
+                internalName[index++] = typeName.replace('.', '/');
+            }
+            return internalName.length == 0 ? null : internalName;
+        }
+
+        @Override
+        public int getStackSize() {
+            int stackSize = 0;
+            for (String typeName : typeNames) {
+                if (typeName.equals(long.class.getName()) || typeName.equals(double.class.getName())) {
+                    stackSize += StackSize.DOUBLE.getSize();
+                } else if (!typeName.equals(void.class.getName())) {
+                    stackSize += StackSize.SINGLE.getSize();
+                }
+            }
+            return stackSize;
+        }
+    }
+
+    /**
+     * A type description of an array type where the array's component type is described by another type
+     * description. This allows the description of arrays with component types that are not loaded.
+     */
+    static class ArrayTypeDescription extends TypeDescription.AbstractTypeDescription {
+
+        /**
+         * The modifiers of any array type in addition to the component type's visibility.
+         */
+        private static final int ARRAY_MODIFIERS = Opcodes.ACC_ABSTRACT | Opcodes.ACC_FINAL;
+
+        /**
+         * The visibility modifiers of a component type that are adopted by an array type.
+         */
+        private static final int VISIBILITY_MODIFIERS = Opcodes.ACC_PUBLIC | Opcodes.ACC_PROTECTED | Opcodes.ACC_PRIVATE;
+
+        /**
+         * The component type of this array type.
+         */
+        private final TypeDescription componentType;
+
+        /**
+         * Creates a new array type description.
+         *
+         * @param componentType The component type of this array type.
+         */
+        protected ArrayTypeDescription(TypeDescription componentType) {
+            this.componentType = componentType;
+        }
+
+        /**
+         * Creates a description of an array type of the given arity.
+         *
+         * @param componentType The non-array component type of the array.
+         * @param arity         The arity of the array where an arity of {@code 0} represents the component type
+         *                      itself.
+         * @return A description of the array type.
+         */
+        public static TypeDescription of(TypeDescription componentType, int arity) {
+            while (arity-- > 0) {
+                componentType = new ArrayTypeDescription(componentType);
+            }
+            return componentType;
+        }
+
+        @Override
+        public boolean isAssignableFrom(Class<?> type) {
+            return isAssignableFrom(ForLoadedType.of(type));
+        }
+
+        @Override
+        public boolean isAssignableFrom(TypeDescription typeDescription) {
+            return typeDescription.isArray() && isAssignable(componentType, typeDescription.getComponentType());
+        }
+
+        @Override
+        public boolean isAssignableTo(Class<?> type) {
+            return isAssignableTo(ForLoadedType.of(type));
+        }
+
+        @Override
+        public boolean isAssignableTo(TypeDescription typeDescription) {
+            if (typeDescription.isArray()) {
+                return isAssignable(typeDescription.getComponentType(), componentType);
+            } else {
+                return typeDescription.represents(Object.class)
+                        || typeDescription.represents(Cloneable.class)
+                        || typeDescription.represents(Serializable.class);
+            }
+        }
+
+        /**
+         * Checks if an array component type is assignable to another array component type.
+         *
+         * @param sourceType The component type to which another component type is to be assigned.
+         * @param targetType The component type that is to be assigned to the source type.
+         * @return {@code true} if the target component type is assignable to the source component type.
+         */
+        private static boolean isAssignable(TypeDescription sourceType, TypeDescription targetType) {
+            return sourceType.isPrimitive() || targetType.isPrimitive()
+                    ? sourceType.equals(targetType)
+                    : sourceType.isAssignableFrom(targetType);
+        }
+
+        @Override
+        public boolean represents(Class<?> type) {
+            return type.isArray() && componentType.represents(type.getComponentType());
+        }
+
+        @Override
+        public boolean isArray() {
+            return true;
+        }
+
+        @Override
+        public TypeDescription getComponentType() {
+            return componentType;
+        }
+
+        @Override
+        public boolean isPrimitive() {
+            return false;
+        }
+
+        @Override
+        public TypeDescription getSupertype() {
+            return ForLoadedType.of(Object.class);
+        }
+
+        @Override
+        public TypeList getInterfaces() {
+            return new TypeList.ForLoadedType(new Class<?>[]{Cloneable.class, Serializable.class});
+        }
+
+        @Override
+        public MethodDescription getEnclosingMethod() {
+            return null;
+        }
+
+        @Override
+        public TypeDescription getEnclosingClass() {
+            return null;
+        }
+
+        @Override
+        public String getSimpleName() {
+            return componentType.getSimpleName() + "[]";
+        }
+
+        @Override
+        public String getCanonicalName() {
+            String canonicalName = componentType.getCanonicalName();
+            return canonicalName == null
+                    ? null
+                    : canonicalName + "[]";
+        }
+
+        @Override
+        public boolean isAnonymousClass() {
+            return false;
+        }
+
+        @Override
+        public boolean isLocalClass() {
+            return false;
+        }
+
+        @Override
+        public boolean isMemberClass() {
+            return false;
+        }
+
+        @Override
+        public FieldList getDeclaredFields() {
+            return new FieldList.Empty();
+        }
+
+        @Override
+        public MethodList getDeclaredMethods() {
+            return new MethodList.Empty();
+        }
+
+        @Override
+        public String getPackageName() {
+            return componentType.getPackageName();
+        }
+
+        @Override
+        public StackSize getStackSize() {
+            return StackSize.SINGLE;
+        }
+
+        @Override
+        public boolean isSealed() {
+            return false;
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return componentType.getClassLoader();
+        }
+
+        @Override
+        public String getName() {
+            return "[" + componentType.getDescriptor().replace('/', '.');
+        }
+
+        @Override
+        public String getDescriptor() {
+            return "[" + componentType.getDescriptor();
+        }
+
+        @Override
+        public TypeDescription getDeclaringType() {
+            return null;
+        }
+
+        @Override
+        public int getModifiers() {
+            return (componentType.getModifiers() & VISIBILITY_MODIFIERS) | ARRAY_MODIFIERS;
+        }
+
+        @Override
+        public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+            return null;
+        }
+
+        @Override
+        public Annotation[] getAnnotations() {
+            return new Annotation[0];
+        }
+
+        @Override
+        public Annotation[] getDeclaredAnnotations() {
+            return new Annotation[0];
+        }
+
+        @Override
+        public boolean isAnnotationPresent(Class<? extends Annotation> annotationClass) {
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "TypePool.ArrayTypeDescription{componentType=" + componentType + '}';
+        }
+    }
+
+    /**
+     * A type description that is created from a parsed class file. Any type that is referenced by this type
+     * description is resolved lazily from the type pool that created this description.
+     */
+    static class LazyTypeDescription extends TypeDescription.AbstractTypeDescription {
+
+        /**
+         * The names of the types to which any array is assignable.
+         */
+        private static final Set<String> ARRAY_SUPER_TYPES = new HashSet<String>(Arrays.asList(Object.class.getName(),
+                Cloneable.class.getName(),
+                Serializable.class.getName()));
+
+        /**
+         * The type pool that is used for resolving referenced types.
+         */
+        private final TypePool typePool;
+
+        /**
+         * A reference to the class loader that is able to load the described type.
+         */
+        private final ClassLoaderReference classLoaderReference;
+
+        /**
+         * The modifiers of the described type.
+         */
+        private final int modifiers;
+
+        /**
+         * The name of the described type.
+         */
+        private final String name;
+
+        /**
+         * The name of the super type of the described type or {@code null} if no such type exists.
+         */
+        private final String superTypeName;
+
+        /**
+         * The names of the interfaces of the described type.
+         */
+        private final List<String> interfaceTypeNames;
+
+        /**
+         * The declaration context of the described type.
+         */
+        private final DeclarationContext declarationContext;
+
+        /**
+         * The annotations that are declared by the described type.
+         */
+        private final List<AnnotationToken> annotationTokens;
+
+        /**
+         * The fields that are declared by the described type.
+         */
+        private final List<FieldDescription> declaredFields;
+
+        /**
+         * The methods that are declared by the described type.
+         */
+        private final List<MethodDescription> declaredMethods;
+
+        /**
+         * Creates a new lazy type description.
+         *
+         * @param typePool           The type pool that is used for resolving referenced types.
+         * @param classLoaderReference A reference to the class loader that is able to load the described type.
+         * @param modifiers          The modifiers of the described type.
+         * @param name               The name of the described type.
+         * @param superTypeName      The name of the super type or {@code null} if no such type exists.
+         * @param interfaceTypeNames The names of the interfaces of the described type.
+         * @param declarationContext The declaration context of the described type.
+         * @param annotationTokens   The annotations that are declared by the described type.
+         * @param fieldTokens        The fields that are declared by the described type.
+         * @param methodTokens       The methods that are declared by the described type.
+         */
+        protected LazyTypeDescription(TypePool typePool,
+                                      ClassLoaderReference classLoaderReference,
+                                      int modifiers,
+                                      String name,
+                                      String superTypeName,
+                                      List<String> interfaceTypeNames,
+                                      DeclarationContext declarationContext,
+                                      List<AnnotationToken> annotationTokens,
+                                      List<FieldToken> fieldTokens,
+                                      List<MethodToken> methodTokens) {
+            this.typePool = typePool;
+            this.classLoaderReference = classLoaderReference;
+            this.modifiers = modifiers;
+            this.name = name;
+            this.superTypeName = superTypeName;
+            this.interfaceTypeNames = interfaceTypeNames;
+            this.declarationContext = declarationContext;
+            this.annotationTokens = annotationTokens;
+            declaredFields = new ArrayList<FieldDescription>(fieldTokens.size());
+            for (FieldToken fieldToken : fieldTokens) {
+                declaredFields.add(new LazyFieldDescription(fieldToken));
+            }
+            declaredMethods = new ArrayList<MethodDescription>(methodTokens.size());
+            for (MethodToken methodToken : methodTokens) {
+                declaredMethods.add(new LazyMethodDescription(methodToken));
+            }
+        }
+
+        /**
+         * Checks if a type is assignable to another type by walking the hierarchy of the target type. As interfaces
+         * do not declare a super type, the {@link java.lang.Object} type is never reached by this walk and is
+         * therefore considered explicitly as a type to which any non-primitive type is assignable.
+         *
+         * @param sourceType The type to which another type is to be assigned to.
+         * @param targetType The type that is to be assigned to the source type.
+         * @return {@code true} if the target type is assignable to the source type.
+         */
+        private static boolean isAssignable(TypeDescription sourceType, TypeDescription targetType) {
+            if (sourceType.equals(targetType) || sourceType.represents(Object.class) && !targetType.isPrimitive()) {
+                return true;
+            }
+            TypeDescription targetSuperType = targetType.getSupertype();
+            if (targetSuperType != null && isAssignable(sourceType, targetSuperType)) {
+                return true;
+            }
+            if (sourceType.isInterface()) {
+                for (TypeDescription interfaceType : targetType.getInterfaces()) {
+                    if (isAssignable(sourceType, interfaceType)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Loads the annotations that are represented by a list of annotation tokens. Annotations of a type that
+         * cannot be loaded are ignored as it is done by the Java reflection API.
+         *
+         * @param annotationTokens The annotation tokens to load.
+         * @param classLoader      The class loader to use for loading the annotation types.
+         * @return The loaded annotations.
+         */
+        private static List<Annotation> load(List<AnnotationToken> annotationTokens, ClassLoader classLoader) {
+            List<Annotation> annotations = new ArrayList<Annotation>(annotationTokens.size());
+            for (AnnotationToken annotationToken : annotationTokens) {
+                try {
+                    annotations.add(annotationToken.toAnnotation(classLoader));
+                } catch (ClassNotFoundException ignored) {
+                    /* do nothing */
+                }
+            }
+            return annotations;
+        }
+
+        /**
+         * Finds an annotation of the given type in a list of annotation tokens.
+         *
+         * @param annotationTokens The annotation tokens to search.
+         * @param annotationType   The annotation type to find.
+         * @param classLoader      The class loader to use for loading types that are referenced by the annotation.
+         * @param <T>              The annotation type.
+         * @return The annotation or {@code null} if no such annotation is found.
+         */
+        private static <T extends Annotation> T find(List<AnnotationToken> annotationTokens,
+                                                     Class<T> annotationType,
+                                                     ClassLoader classLoader) {
+            for (AnnotationToken annotationToken : annotationTokens) {
+                if (annotationToken.isTypeOf(annotationType)) {
+                    try {
+                        return annotationToken.toAnnotation(annotationType, classLoader);
+                    } catch (ClassNotFoundException e) {
+                        throw new IllegalStateException("Cannot resolve a value of " + annotationToken, e);
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Checks if a list of annotation tokens contains an annotation of the given type.
+         *
+         * @param annotationTokens The annotation tokens to search.
+         * @param annotationType   The annotation type to find.
+         * @return {@code true} if an annotation of the given type is contained.
+         */
+        private static boolean contains(List<AnnotationToken> annotationTokens, Class<? extends Annotation> annotationType) {
+            for (AnnotationToken annotationToken : annotationTokens) {
+                if (annotationToken.isTypeOf(annotationType)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isAssignableFrom(Class<?> type) {
+            return isAssignableFrom(ForLoadedType.of(type));
+        }
+
+        @Override
+        public boolean isAssignableFrom(TypeDescription typeDescription) {
+            if (typeDescription.isPrimitive()) {
+                return false;
+            } else if (typeDescription.isArray()) {
+                return ARRAY_SUPER_TYPES.contains(name);
+            } else {
+                return isAssignable(this, typeDescription);
+            }
+        }
+
+        @Override
+        public boolean isAssignableTo(Class<?> type) {
+            return isAssignableTo(ForLoadedType.of(type));
+        }
+
+        @Override
+        public boolean isAssignableTo(TypeDescription typeDescription) {
+            return !typeDescription.isPrimitive() && !typeDescription.isArray() && isAssignable(typeDescription, this);
+        }
+
+        @Override
+        public boolean represents(Class<?> type) {
+            return type.getName().equals(name);
+        }
+
+        @Override
+        public boolean isArray() {
+            return false;
+        }
+
+        @Override
+        public TypeDescription getComponentType() {
+            return null;
+        }
+
+        @Override
+        public boolean isPrimitive() {
+            return false;
+        }
+
+        @Override
+        public TypeDescription getSupertype() {
+            return superTypeName == null || isInterface()
+                    ? null
+                    : typePool.describe(superTypeName);
+        }
+
+        @Override
+        public TypeList getInterfaces() {
+            return new LazyTypeList(typePool, interfaceTypeNames);
+        }
+
+        @Override
+        public MethodDescription getEnclosingMethod() {
+            return declarationContext.getEnclosingMethod(typePool);
+        }
+
+        @Override
+        public TypeDescription getEnclosingClass() {
+            return declarationContext.getEnclosingType(typePool);
+        }
+
+        @Override
+        public TypeDescription getDeclaringType() {
+            return declarationContext.getDeclaringType(typePool);
+        }
+
+        @Override
+        public String getSimpleName() {
+            if (isAnonymousClass()) {
+                return "";
+            } else if (declarationContext.getSimpleName() != null) {
+                return declarationContext.getSimpleName();
+            } else {
+                return name.substring(name.lastIndexOf('.') + 1);
+            }
+        }
+
+        @Override
+        public String getCanonicalName() {
+            if (isAnonymousClass() || isLocalClass()) {
+                return null;
+            } else if (isMemberClass()) {
+                String declaringName = getDeclaringType().getCanonicalName();
+                return declaringName == null
+                        ? null
+                        : declaringName + "." + getSimpleName();
+            } else {
+                return name;
+            }
+        }
+
+        @Override
+        public boolean isAnonymousClass() {
+            return declarationContext.isAnonymousType();
+        }
+
+        @Override
+        public boolean isLocalClass() {
+            return declarationContext.isLocalType();
+        }
+
+        @Override
+        public boolean isMemberClass() {
+            return declarationContext.isMemberType();
+        }
+
+        @Override
+        public FieldList getDeclaredFields() {
+            return new FieldList.Explicit(declaredFields);
+        }
+
+        @Override
+        public MethodList getDeclaredMethods() {
+            return new MethodList.Explicit(declaredMethods);
+        }
+
+        @Override
+        public String getPackageName() {
+            int packageIndex = name.lastIndexOf('.');
+            return packageIndex == -1
+                    ? ""
+                    : name.substring(0, packageIndex);
+        }
+
+        @Override
+        public StackSize getStackSize() {
+            return StackSize.SINGLE;
+        }
+
+        @Override
+        public boolean isSealed() {
+            return false;
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return classLoaderReference.getClassLoader();
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescriptor() {
+            return "L" + getInternalName() + ";";
+        }
+
+        @Override
+        public int getModifiers() {
+            return modifiers;
+        }
+
+        @Override
+        public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+            T annotation = find(annotationTokens, annotationClass, classLoaderReference.getClassLoader());
+            if (annotation == null && annotationClass.isAnnotationPresent(Inherited.class)) {
+                TypeDescription superType = getSupertype();
+                return superType == null
+                        ? null
+                        : superType.getAnnotation(annotationClass);
+            }
+            return annotation;
+        }
+
+        @Override
+        public boolean isAnnotationPresent(Class<? extends Annotation> annotationClass) {
+            if (contains(annotationTokens, annotationClass)) {
+                return true;
+            } else if (annotationClass.isAnnotationPresent(Inherited.class)) {
+                TypeDescription superType = getSupertype();
+                return superType != null && superType.isAnnotationPresent(annotationClass);
+            } else {
+                return false;
+            }
+        }
+
+        @Override
+        public Annotation[] getAnnotations() {
+            List<Annotation> annotations = load(annotationTokens, classLoaderReference.getClassLoader());
+            TypeDescription superType = getSupertype();
+            if (superType != null) {
+                Set<Class<? extends Annotation>> annotationTypes = new HashSet<Class<? extends Annotation>>(annotations.size());
+                for (Annotation annotation : annotations) {
+                    annotationTypes.add(annotation.annotationType());
+                }
+                for (Annotation annotation : superType.getAnnotations()) {
+                    if (annotation.annotationType().isAnnotationPresent(Inherited.class)
+                            && annotationTypes.add(annotation.annotationType())) {
+                        annotations.add(annotation);
+                    }
+                }
+            }
+            return annotations.toArray(new Annotation[annotations.size()]);
+        }
+
+        @Override
+        public Annotation[] getDeclaredAnnotations() {
+            List<Annotation> annotations = load(annotationTokens, classLoaderReference.getClassLoader());
+            return annotations.toArray(new Annotation[annotations.size()]);
+        }
+
+        @Override
+        public String toString() {
+            return "TypePool.LazyTypeDescription{" +
+                    "name='" + name + '\'' +
+                    ", modifiers=" + modifiers +
+                    ", superTypeName='" + superTypeName + '\'' +
+                    ", interfaceTypeNames=" + interfaceTypeNames +
+                    '}';
+        }
+
+        /**
+         * Describes the context in which a type is declared.
+         */
+        protected static class DeclarationContext {
+
+            /**
+             * The name of the declaring type or {@code null} if no such type exists.
+             */
+            private final String declaringTypeName;
+
+            /**
+             * The name of the enclosing type or {@code null} if no such type exists.
+             */
+            private final String enclosingTypeName;
+
+            /**
+             * The internal name of the enclosing method or {@code null} if no such method exists.
+             */
+            private final String enclosingMethodName;
+
+            /**
+             * The descriptor of the enclosing method or {@code null} if no such method exists.
+             */
+            private final String enclosingMethodDescriptor;
+
+            /**
+             * The simple name of the described type if it is an inner type or {@code null}.
+             */
+            private final String simpleName;
+
+            /**
+             * {@code true} if the described type is anonymous.
+             */
+            private final boolean anonymousType;
+
+            /**
+             * Creates a new declaration context.
+             *
+             * @param declaringTypeName         The name of the declaring type or {@code null} if no such type exists.
+             * @param enclosingTypeName         The name of the enclosing type or {@code null} if no such type exists.
+             * @param enclosingMethodName       The internal name of the enclosing method or {@code null} if no such
+             *                                  method exists.
+             * @param enclosingMethodDescriptor The descriptor of the enclosing method or {@code null} if no such
+             *                                  method exists.
+             * @param simpleName                The simple name of the described type if it is an inner type or
+             *                                  {@code null}.
+             * @param anonymousType             {@code true} if the described type is anonymous.
+             */
+            protected DeclarationContext(String declaringTypeName,
+                                         String enclosingTypeName,
+                                         String enclosingMethodName,
+                                         String enclosingMethodDescriptor,
+                                         String simpleName,
+                                         boolean anonymousType) {
+                this.declaringTypeName = declaringTypeName;
+                this.enclosingTypeName = enclosingTypeName;
+                this.enclosingMethodName = enclosingMethodName;
+                this.enclosingMethodDescriptor = enclosingMethodDescriptor;
+                this.simpleName = simpleName;
+                this.anonymousType = anonymousType;
+            }
+
+            /**
+             * Returns the declaring type.
+             *
+             * @param typePool The type pool to use for resolving the type.
+             * @return The declaring type or {@code null} if no such type exists.
+             */
+            protected TypeDescription getDeclaringType(TypePool typePool) {
+                return declaringTypeName == null
+                        ? null
+                        : typePool.describe(declaringTypeName);
+            }
+
+            /**
+             * Returns the enclosing type.
+             *
+             * @param typePool The type pool to use for resolving the type.
+             * @return The enclosing type or {@code null} if no such type exists.
+             */
+            protected TypeDescription getEnclosingType(TypePool typePool) {
+                return enclosingTypeName == null
+                        ? null
+                        : typePool.describe(enclosingTypeName);
+            }
+
+            /**
+             * Returns the enclosing method.
+             *
+             * @param typePool The type pool to use for resolving the method's declaring type.
+             * @return The enclosing method or {@code null} if no such method exists.
+             */
+            protected MethodDescription getEnclosingMethod(TypePool typePool) {
+                if (enclosingMethodName == null) {
+                    return null;
+                }
+                for (MethodDescription methodDescription : getEnclosingType(typePool).getDeclaredMethods()) {
+                    if (methodDescription.getInternalName().equals(enclosingMethodName)
+                            && methodDescription.getDescriptor().equals(enclosingMethodDescriptor)) {
+                        return methodDescription;
+                    }
+                }
+                throw new IllegalStateException("Cannot find enclosing method " + enclosingMethodName + enclosingMethodDescriptor);
+            }
+
+            /**
+             * Returns the simple name of the described type if it is an inner type.
+             *
+             * @return The simple name of the described type or {@code null} if this name is not known.
+             */
+            protected String getSimpleName() {
+                return simpleName;
+            }
+
+            /**
+             * Checks if the described type is anonymous.
+             *
+             * @return {@code true} if the described type is anonymous.
+             */
+            protected boolean isAnonymousType() {
+                return anonymousType;
+            }
+
+            /**
+             * Checks if the described type is a local type.
+             *
+             * @return {@code true} if the described type is a local type.
+             */
+            protected boolean isLocalType() {
+                return !anonymousType && declaringTypeName == null && enclosingTypeName != null;
+            }
+
+            /**
+             * Checks if the described type is a member type.
+             *
+             * @return {@code true} if the described type is a member type.
+             */
+            protected boolean isMemberType() {
+                return declaringTypeName != null;
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.LazyTypeDescription.DeclarationContext{" +
+                        "declaringTypeName='" + declaringTypeName + '\'' +
+                        ", enclosingTypeName='" + enclosingTypeName + '\'' +
+                        ", enclosingMethodName='" + enclosingMethodName + '\'' +
+                        ", enclosingMethodDescriptor='" + enclosingMethodDescriptor + '\'' +
+                        ", simpleName='" + simpleName + '\'' +
+                        ", anonymousType=" + anonymousType +
+                        '}';
+            }
+        }
+
+        /**
+         * A token that represents the value of an enumeration within an annotation.
+         */
+        protected static class EnumerationToken {
+
+            /**
+             * The descriptor of the enumeration type.
+             */
+            private final String descriptor;
+
+            /**
+             * The name of the enumeration constant.
+             */
+            private final String value;
+
+            /**
+             * Creates a new enumeration token.
+             *
+             * @param descriptor The descriptor of the enumeration type.
+             * @param value      The name of the enumeration constant.
+             */
+            protected EnumerationToken(String descriptor, String value) {
+                this.descriptor = descriptor;
+                this.value = value;
+            }
+
+            /**
+             * Resolves the represented enumeration constant.
+             *
+             * @param enumerationType The enumeration type.
+             * @return The represented enumeration constant.
+             */
+            @SuppressWarnings("unchecked")
+            protected Object toEnumeration(Class<?> enumerationType) {
+                return Enum.valueOf((Class) enumerationType, value);
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && descriptor.equals(((EnumerationToken) other).descriptor)
+                        && value.equals(((EnumerationToken) other).value);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * descriptor.hashCode() + value.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.LazyTypeDescription.EnumerationToken{" +
+                        "descriptor='" + descriptor + '\'' +
+                        ", value='" + value + '\'' +
+                        '}';
+            }
+        }
+
+        /**
+         * A token that represents an annotation as it is found in a class file. An annotation token can be
+         * converted into an annotation once its type is available as a loaded type.
+         */
+        protected static class AnnotationToken {
+
+            /**
+             * The descriptor of the annotation type.
+             */
+            private final String descriptor;
+
+            /**
+             * The values of the annotation by their property names as they were found in the class file.
+             */
+            private final Map<String, Object> values;
+
+            /**
+             * Creates a new annotation token.
+             *
+             * @param descriptor The descriptor of the annotation type.
+             * @param values     The values of the annotation by their property names.
+             */
+            protected AnnotationToken(String descriptor, Map<String, Object> values) {
+                this.descriptor = descriptor;
+                this.values = values;
+            }
+
+            /**
+             * Loads a type that is represented by an ASM type.
+             *
+             * @param type        The type to load.
+             * @param classLoader The class loader to use for loading a non-primitive type.
+             * @return The loaded type.
+             * @throws ClassNotFoundException If the type cannot be loaded.
+             */
+            private static Class<?> load(Type type, ClassLoader classLoader) throws ClassNotFoundException {
+                switch (type.getSort()) {
+                    case Type.BOOLEAN:
+                        return boolean.class;
+                    case Type.BYTE:
+                        return byte.class;
+                    case Type.SHORT:
+                        return short.class;
+                    case Type.CHAR:
+                        return char.class;
+                    case Type.INT:
+                        return int.class;
+                    case Type.LONG:
+                        return long.class;
+                    case Type.FLOAT:
+                        return float.class;
+                    case Type.DOUBLE:
+                        return double.class;
+                    case Type.VOID:
+                        return void.class;
+                    default:
+                        return Class.forName(Default.toTypeName(type), false, classLoader);
+                }
+            }
+
+            /**
+             * Resolves an annotation value as it was found in a class file to the value that is returned by an
+             * annotation property of the given type.
+             *
+             * @param value       The value to resolve.
+             * @param type        The return type of the annotation property.
+             * @param classLoader The class loader to use for loading referenced types.
+             * @return The resolved value.
+             * @throws ClassNotFoundException If a referenced type cannot be loaded.
+             */
+            @SuppressWarnings("unchecked")
+            private static Object resolve(Object value, Class<?> type, ClassLoader classLoader) throws ClassNotFoundException {
+                if (value instanceof Type) {
+                    return load((Type) value, classLoader);
+                } else if (value instanceof EnumerationToken) {
+                    return ((EnumerationToken) value).toEnumeration(type);
+                } else if (value instanceof AnnotationToken) {
+                    return ((AnnotationToken) value).toAnnotation((Class<? extends Annotation>) type, classLoader);
+                } else if (value instanceof List<?>) {
+                    List<?> values = (List<?>) value;
+                    Object array = Array.newInstance(type.getComponentType(), values.size());
+                    int index = 0;
+                    for (Object element : values) {
+                        Array.set(array, index++, resolve(element, type.getComponentType(), classLoader));
+                    }
+                    return array;
+                } else {
+                    return value;
+                }
+            }
+
+            /**
+             * Checks if this token represents an annotation of the given type.
+             *
+             * @param annotationType The annotation type to check.
+             * @return {@code true} if this token represents an annotation of the given type.
+             */
+            protected boolean isTypeOf(Class<? extends Annotation> annotationType) {
+                return descriptor.equals(Type.getDescriptor(annotationType));
+            }
+
+            /**
+             * Loads the annotation type of this token and creates the represented annotation.
+             *
+             * @param classLoader The class loader to use for loading the annotation type and any referenced types.
+             * @return The represented annotation.
+             * @throws ClassNotFoundException If the annotation type or a referenced type cannot be loaded.
+             */
+            @SuppressWarnings("unchecked")
+            protected Annotation toAnnotation(ClassLoader classLoader) throws ClassNotFoundException {
+                return toAnnotation((Class<? extends Annotation>) load(Type.getType(descriptor), classLoader), classLoader);
+            }
+
+            /**
+             * Creates the represented annotation for a loaded annotation type.
+             *
+             * @param annotationType The loaded annotation type.
+             * @param classLoader    The class loader to use for loading any referenced types.
+             * @param <T>            The annotation type.
+             * @return The represented annotation.
+             * @throws ClassNotFoundException If a referenced type cannot be loaded.
+             */
+            protected <T extends Annotation> T toAnnotation(Class<T> annotationType, ClassLoader classLoader) throws ClassNotFoundException {
+                ClassLoader valueClassLoader = annotationType.getClassLoader() == null
+                        ? classLoader
+                        : annotationType.getClassLoader();
+                Map<Method, Object> resolved = new LinkedHashMap<Method, Object>();
+                for (Method method : annotationType.getDeclaredMethods()) {
+                    Object value = values.get(method.getName());
+                    resolved.put(method, value == null
+                            ? method.getDefaultValue()
+                            : resolve(value, method.getReturnType(), valueClassLoader));
+                }
+                return annotationType.cast(Proxy.newProxyInstance(valueClassLoader,
+                        new Class<?>[]{annotationType},
+                        new AnnotationInvocationHandler(annotationType, resolved)));
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return this == other || !(other == null || getClass() != other.getClass())
+                        && descriptor.equals(((AnnotationToken) other).descriptor)
+                        && values.equals(((AnnotationToken) other).values);
+            }
+
+            @Override
+            public int hashCode() {
+                return 31 * descriptor.hashCode() + values.hashCode();
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.LazyTypeDescription.AnnotationToken{" +
+                        "descriptor='" + descriptor + '\'' +
+                        ", values=" + values +
+                        '}';
+            }
+        }
+
+        /**
+         * An invocation handler that implements an annotation from resolved property values. This handler
+         * implements the contract of the {@link java.lang.annotation.Annotation} interface.
+         */
+        protected static class AnnotationInvocationHandler implements InvocationHandler {
+
+            /**
+             * The name of the {@link Object#hashCode()} method.
+             */
+            private static final String HASH_CODE = "hashCode";
+
+            /**
+             * The name of the {@link Object#equals(Object)} method.
+             */
+            private static final String EQUALS = "equals";
+
+            /**
+             * The name of the {@link Object#toString()} method.
+             */
+            private static final String TO_STRING = "toString";
+
+            /**
+             * The name of the {@link java.lang.annotation.Annotation#annotationType()} method.
+             */
+            private static final String ANNOTATION_TYPE = "annotationType";
+
+            /**
+             * The represented annotation type.
+             */
+            private final Class<? extends Annotation> annotationType;
+
+            /**
+             * The resolved values of the annotation's properties.
+             */
+            private final Map<Method, Object> values;
+
+            /**
+             * Creates a new annotation invocation handler.
+             *
+             * @param annotationType The represented annotation type.
+             * @param values         The resolved values of the annotation's properties.
+             */
+            protected AnnotationInvocationHandler(Class<? extends Annotation> annotationType, Map<Method, Object> values) {
+                this.annotationType = annotationType;
+                this.values = values;
+            }
+
+            /**
+             * Copies an array value.
+             *
+             * @param value The value to copy if it is an array.
+             * @return A copy of the given value if it is an array or the value itself.
+             */
+            private static Object copy(Object value) {
+                if (!value.getClass().isArray()) {
+                    return value;
+                }
+                int length = Array.getLength(value);
+                Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+                System.arraycopy(value, 0, copy, 0, length);
+                return copy;
+            }
+
+            /**
+             * Computes the hash code of an annotation value.
+             *
+             * @param value The value of interest.
+             * @return The hash code of the value.
+             */
+            private static int hashCodeOf(Object value) {
+                if (!value.getClass().isArray()) {
+                    return value.hashCode();
+                } else if (value instanceof boolean[]) {
+                    return Arrays.hashCode((boolean[]) value);
+                } else if (value instanceof byte[]) {
+                    return Arrays.hashCode((byte[]) value);
+                } else if (value instanceof short[]) {
+                    return Arrays.hashCode((short[]) value);
+                } else if (value instanceof char[]) {
+                    return Arrays.hashCode((char[]) value);
+                } else if (value instanceof int[]) {
+                    return Arrays.hashCode((int[]) value);
+                } else if (value instanceof long[]) {
+                    return Arrays.hashCode((long[]) value);
+                } else if (value instanceof float[]) {
+                    return Arrays.hashCode((float[]) value);
+                } else if (value instanceof double[]) {
+                    return Arrays.hashCode((double[]) value);
+                } else {
+                    return Arrays.hashCode((Object[]) value);
+                }
+            }
+
+            /**
+             * Checks if two annotation values are equal.
+             *
+             * @param value      The first value.
+             * @param otherValue The second value.
+             * @return {@code true} if both values are equal.
+             */
+            private static boolean equalsOf(Object value, Object otherValue) {
+                if (!value.getClass().isArray()) {
+                    return value.equals(otherValue);
+                } else if (value instanceof boolean[]) {
+                    return otherValue instanceof boolean[] && Arrays.equals((boolean[]) value, (boolean[]) otherValue);
+                } else if (value instanceof byte[]) {
+                    return otherValue instanceof byte[] && Arrays.equals((byte[]) value, (byte[]) otherValue);
+                } else if (value instanceof short[]) {
+                    return otherValue instanceof short[] && Arrays.equals((short[]) value, (short[]) otherValue);
+                } else if (value instanceof char[]) {
+                    return otherValue instanceof char[] && Arrays.equals((char[]) value, (char[]) otherValue);
+                } else if (value instanceof int[]) {
+                    return otherValue instanceof int[] && Arrays.equals((int[]) value, (int[]) otherValue);
+                } else if (value instanceof long[]) {
+                    return otherValue instanceof long[] && Arrays.equals((long[]) value, (long[]) otherValue);
+                } else if (value instanceof float[]) {
+                    return otherValue instanceof float[] && Arrays.equals((float[]) value, (float[]) otherValue);
+                } else if (value instanceof double[]) {
+                    return otherValue instanceof double[] && Arrays.equals((double[]) value, (double[]) otherValue);
+                } else {
+                    return otherValue instanceof Object[] && Arrays.equals((Object[]) value, (Object[]) otherValue);
+                }
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] argument) throws Throwable {
+                if (method.getDeclaringClass() != annotationType) {
+                    if (method.getName().equals(HASH_CODE)) {
+                        return hashCodeRepresentation();
+                    } else if (method.getName().equals(EQUALS) && method.getParameterTypes().length == 1) {
+                        return equalsRepresentation(argument[0]);
+                    } else if (method.getName().equals(TO_STRING)) {
+                        return toStringRepresentation();
+                    } else if (method.getName().equals(ANNOTATION_TYPE)) {
+                        return annotationType;
+                    } else {
+                        throw new IllegalStateException("Unexpected method " + method);
+                    }
+                }
+                Object value = values.get(method);
+                if (value == null) {
+                    throw new IncompleteAnnotationException(annotationType, method.getName());
+                }
+                return copy(value);
+            }
+
+            /**
+             * Computes the hash code of the represented annotation as specified by
+             * {@link java.lang.annotation.Annotation#hashCode()}.
+             *
+             * @return The hash code of the represented annotation.
+             */
+            private int hashCodeRepresentation() {
+                int hashCode = 0;
+                for (Map.Entry<Method, Object> entry : values.entrySet()) {
+                    if (entry.getValue() != null) {
+                        hashCode += (127 * entry.getKey().getName().hashCode()) ^ hashCodeOf(entry.getValue());
+                    }
+                }
+                return hashCode;
+            }
+
+            /**
+             * Checks if the represented annotation is equal to another object as specified by
+             * {@link java.lang.annotation.Annotation#equals(Object)}.
+             *
+             * @param other The other object.
+             * @return {@code true} if the other object is an equal annotation.
+             * @throws Exception If an annotation property of the other annotation cannot be invoked.
+             */
+            private boolean equalsRepresentation(Object other) throws Exception {
+                if (!annotationType.isInstance(other)) {
+                    return false;
+                }
+                for (Map.Entry<Method, Object> entry : values.entrySet()) {
+                    entry.getKey().setAccessible(true);
+                    Object value = entry.getValue();
+                    if (value == null || !equalsOf(value, entry.getKey().invoke(other))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            /**
+             * Creates a string representation of the represented annotation.
+             *
+             * @return A string representation of the represented annotation.
+             */
+            private String toStringRepresentation() {
+                StringBuilder toString = new StringBuilder("@").append(annotationType.getName()).append('(');
+                boolean first = true;
+                for (Map.Entry<Method, Object> entry : values.entrySet()) {
+                    if (first) {
+                        first = false;
+                    } else {
+                        toString.append(", ");
+                    }
+                    Object value = entry.getValue();
+                    toString.append(entry.getKey().getName()).append('=');
+                    if (value != null && value.getClass().isArray()) {
+                        Object[] boxed = new Object[Array.getLength(value)];
+                        for (int index = 0; index < boxed.length; index++) {
+                            boxed[index] = Array.get(value, index);
+                        }
+                        toString.append(Arrays.toString(boxed));
+                    } else {
+                        toString.append(value);
+                    }
+                }
+                return toString.append(')').toString();
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.LazyTypeDescription.AnnotationInvocationHandler{" +
+                        "annotationType=" + annotationType +
+                        ", values=" + values +
+                        '}';
+            }
+        }
+
+        /**
+         * A token that represents a field as it is found in a class file.
+         */
+        protected static class FieldToken {
+
+            /**
+             * The modifiers of the field.
+             */
+            private final int modifiers;
+
+            /**
+             * The name of the field.
+             */
+            private final String name;
+
+            /**
+             * The name of the field's type.
+             */
+            private final String fieldTypeName;
+
+            /**
+             * The descriptor of the field.
+             */
+            private final String descriptor;
+
+            /**
+             * The annotations that are declared by the field.
+             */
+            private final List<AnnotationToken> annotationTokens;
+
+            /**
+             * Creates a new field token.
+             *
+             * @param modifiers        The modifiers of the field.
+             * @param name             The name of the field.
+             * @param fieldTypeName    The name of the field's type.
+             * @param descriptor       The descriptor of the field.
+             * @param annotationTokens The annotations that are declared by the field.
+             */
+            protected FieldToken(int modifiers,
+                                 String name,
+                                 String fieldTypeName,
+                                 String descriptor,
+                                 List<AnnotationToken> annotationTokens) {
+                this.modifiers = modifiers;
+                this.name = name;
+                this.fieldTypeName = fieldTypeName;
+                this.descriptor = descriptor;
+                this.annotationTokens = annotationTokens;
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.LazyTypeDescription.FieldToken{" +
+                        "modifiers=" + modifiers +
+                        ", name='" + name + '\'' +
+                        ", descriptor='" + descriptor + '\'' +
+                        '}';
+            }
+        }
+
+        /**
+         * A token that represents a method as it is found in a class file.
+         */
+        protected static class MethodToken {
+
+            /**
+             * The modifiers of the method.
+             */
+            private final int modifiers;
+
+            /**
+             * The internal name of the method.
+             */
+            private final String internalName;
+
+            /**
+             * The descriptor of the method.
+             */
+            private final String descriptor;
+
+            /**
+             * The name of the method's return type.
+             */
+            private final String returnTypeName;
+
+            /**
+             * The names of the method's parameter types.
+             */
+            private final List<String> parameterTypeNames;
+
+            /**
+             * The names of the method's declared exception types.
+             */
+            private final List<String> exceptionTypeNames;
+
+            /**
+             * The annotations that are declared by the method.
+             */
+            private final List<AnnotationToken> annotationTokens;
+
+            /**
+             * The annotations that are declared by the method's parameters.
+             */
+            private final List<List<AnnotationToken>> parameterAnnotationTokens;
+
+            /**
+             * Creates a new method token.
+             *
+             * @param modifiers                 The modifiers of the method.
+             * @param internalName              The internal name of the method.
+             * @param descriptor                The descriptor of the method.
+             * @param returnTypeName            The name of the method's return type.
+             * @param parameterTypeNames        The names of the method's parameter types.
+             * @param exceptionTypeNames        The names of the method's declared exception types.
+             * @param annotationTokens          The annotations that are declared by the method.
+             * @param parameterAnnotationTokens The annotations that are declared by the method's parameters.
+             */
+            protected MethodToken(int modifiers,
+                                  String internalName,
+                                  String descriptor,
+                                  String returnTypeName,
+                                  List<String> parameterTypeNames,
+                                  List<String> exceptionTypeNames,
+                                  List<AnnotationToken> annotationTokens,
+                                  List<List<AnnotationToken>> parameterAnnotationTokens) {
+                this.modifiers = modifiers;
+                this.internalName = internalName;
+                this.descriptor = descriptor;
+                this.returnTypeName = returnTypeName;
+                this.parameterTypeNames = parameterTypeNames;
+                this.exceptionTypeNames = exceptionTypeNames;
+                this.annotationTokens = annotationTokens;
+                this.parameterAnnotationTokens = parameterAnnotationTokens;
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.LazyTypeDescription.MethodToken{" +
+                        "modifiers=" + modifiers +
+                        ", internalName='" + internalName + '\'' +
+                        ", descriptor='" + descriptor + '\'' +
+                        '}';
+            }
+        }
+
+        /**
+         * A description of a field that is declared by a lazy type description.
+         */
+        protected class LazyFieldDescription extends FieldDescription.AbstractFieldDescription {
+
+            /**
+             * The token that represents this field.
+             */
+            private final FieldToken fieldToken;
+
+            /**
+             * Creates a new lazy field description.
+             *
+             * @param fieldToken The token that represents this field.
+             */
+            protected LazyFieldDescription(FieldToken fieldToken) {
+                this.fieldToken = fieldToken;
+            }
+
+            @Override
+            public TypeDescription getFieldType() {
+                return typePool.describe(fieldToken.fieldTypeName);
+            }
+
+            @Override
+            public String getDescriptor() {
+                return fieldToken.descriptor;
+            }
+
+            @Override
+            public String getName() {
+                return fieldToken.name;
+            }
+
+            @Override
+            public TypeDescription getDeclaringType() {
+                return LazyTypeDescription.this;
+            }
+
+            @Override
+            public int getModifiers() {
+                return fieldToken.modifiers;
+            }
+
+            @Override
+            public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+                return find(fieldToken.annotationTokens, annotationClass, classLoaderReference.getClassLoader());
+            }
+
+            @Override
+            public boolean isAnnotationPresent(Class<? extends Annotation> annotationClass) {
+                return contains(fieldToken.annotationTokens, annotationClass);
+            }
+
+            @Override
+            public Annotation[] getAnnotations() {
+                return getDeclaredAnnotations();
+            }
+
+            @Override
+            public Annotation[] getDeclaredAnnotations() {
+                List<Annotation> annotations = load(fieldToken.annotationTokens, classLoaderReference.getClassLoader());
+                return annotations.toArray(new Annotation[annotations.size()]);
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.LazyTypeDescription.LazyFieldDescription{" +
+                        "declaringType=" + LazyTypeDescription.this +
+                        ", fieldToken=" + fieldToken +
+                        '}';
+            }
+        }
+
+        /**
+         * A description of a method that is declared by a lazy type description.
+         */
+        protected class LazyMethodDescription extends MethodDescription.AbstractMethodDescription {
+
+            /**
+             * The token that represents this method.
+             */
+            private final MethodToken methodToken;
+
+            /**
+             * Creates a new lazy method description.
+             *
+             * @param methodToken The token that represents this method.
+             */
+            protected LazyMethodDescription(MethodToken methodToken) {
+                this.methodToken = methodToken;
+            }
+
+            @Override
+            public TypeDescription getReturnType() {
+                return typePool.describe(methodToken.returnTypeName);
+            }
+
+            @Override
+            public TypeList getParameterTypes() {
+                return new LazyTypeList(typePool, methodToken.parameterTypeNames);
+            }
+
+            @Override
+            public Annotation[][] getParameterAnnotations() {
+                Annotation[][] parameterAnnotation = new Annotation[methodToken.parameterAnnotationTokens.size()][];
+                int index = 0;
+                for (List<AnnotationToken> annotationTokens : methodToken.parameterAnnotationTokens) {
+                    List<Annotation> annotations = load(annotationTokens, classLoaderReference.getClassLoader());
+                    parameterAnnotation[index++] = annotations.toArray(new Annotation[annotations.size()]);
+                }
+                return parameterAnnotation;
+            }
+
+            @Override
+            public TypeList getExceptionTypes() {
+                return new LazyTypeList(typePool, methodToken.exceptionTypeNames);
+            }
+
+            @Override
+            public boolean isConstructor() {
+                return methodToken.internalName.equals(CONSTRUCTOR_INTERNAL_NAME);
+            }
+
+            @Override
+            public boolean isTypeInitializer() {
+                return methodToken.internalName.equals(TYPE_INITIALIZER_INTERNAL_NAME);
+            }
+
+            @Override
+            public boolean represents(Method method) {
+                return !isConstructor()
+                        && method.getDeclaringClass().getName().equals(name)
+                        && method.getName().equals(methodToken.internalName)
+                        && Type.getMethodDescriptor(method).equals(methodToken.descriptor);
+            }
+
+            @Override
+            public boolean represents(Constructor<?> constructor) {
+                return isConstructor()
+                        && constructor.getDeclaringClass().getName().equals(name)
+                        && Type.getConstructorDescriptor(constructor).equals(methodToken.descriptor);
+            }
+
+            @Override
+            public String getName() {
+                return isConstructor()
+                        ? name
+                        : methodToken.internalName;
+            }
+
+            @Override
+            public String getInternalName() {
+                return methodToken.internalName;
+            }
+
+            @Override
+            public String getDescriptor() {
+                return methodToken.descriptor;
+            }
+
+            @Override
+            public TypeDescription getDeclaringType() {
+                return LazyTypeDescription.this;
+            }
+
+            @Override
+            public int getModifiers() {
+                return methodToken.modifiers;
+            }
+
+            @Override
+            public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+                return find(methodToken.annotationTokens, annotationClass, classLoaderReference.getClassLoader());
+            }
+
+            @Override
+            public boolean isAnnotationPresent(Class<? extends Annotation> annotationClass) {
+                return contains(methodToken.annotationTokens, annotationClass);
+            }
+
+            @Override
+            public Annotation[] getAnnotations() {
+                return getDeclaredAnnotations();
+            }
+
+            @Override
+            public Annotation[] getDeclaredAnnotations() {
+                List<Annotation> annotations = load(methodToken.annotationTokens, classLoaderReference.getClassLoader());
+                return annotations.toArray(new Annotation[annotations.size()]);
+            }
+
+            @Override
+            public String toString() {
+                return "TypePool.LazyTypeDescription.LazyMethodDescription{" +
+                        "declaringType=" + LazyTypeDescription.this +
+                        ", methodToken=" + methodToken +
+                        '}';
+            }
+        }
+    }
+}
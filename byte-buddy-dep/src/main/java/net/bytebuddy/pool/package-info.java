@@ -0,0 +1,5 @@
+/**
+ * This package contains a type pool which allows the description of types from their class files without
+ * loading these types.
+ */
+package net.bytebuddy.pool;
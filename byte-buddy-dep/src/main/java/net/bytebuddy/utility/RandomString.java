@@ -3,7 +3,9 @@ package net.bytebuddy.utility;
 import java.util.Random;
 
 /**
- * A provider of randomized {@link java.lang.String} values.
+ * A provider of randomized {@link java.lang.String} values. An instance of this class is thread-safe and can be
+ * shared among threads that create types concurrently. Each thread draws its random values from its own
+ * {@link java.util.Random} such that concurrent threads never contend for a shared seed.
  */
 public class RandomString {
 
@@ -17,6 +19,11 @@ public class RandomString {
      */
     private static final char[] SYMBOL;
 
+    /**
+     * The amount of bits of a hash value that is represented by a single symbol.
+     */
+    private static final int KEY_BITS = 5;
+
     /**
      * Creates the symbol array.
      */
@@ -35,9 +42,15 @@ public class RandomString {
     }
 
     /**
-     * A provider of random values.
+     * A provider of random values for each thread.
      */
-    private final Random random;
+    private static final ThreadLocal<Random> RANDOM = new ThreadLocal<Random>() {
+        @Override
+        protected Random initialValue() {
+            return new Random();
+        }
+    };
+
     /**
      * The length of the random strings that are created by this instance.
      */
@@ -61,7 +74,6 @@ public class RandomString {
             throw new IllegalArgumentException("A random string's length cannot be zero or negative");
         }
         this.length = length;
-        random = new Random();
     }
 
     /**
@@ -83,12 +95,37 @@ public class RandomString {
         return new RandomString(length).nextString();
     }
 
+    /**
+     * Represents a hash value as a {@link java.lang.String} that only consists of symbols that are also used for
+     * random values. The same hash value always results in the same {@link java.lang.String} where every bit of
+     * the hash value is represented.
+     *
+     * @param value The hash value to represent, for example a message digest.
+     * @return A representation of the given hash value.
+     */
+    public static String hashOf(byte[] value) {
+        int bits = value.length * Byte.SIZE;
+        char[] buffer = new char[(bits / KEY_BITS) + ((bits % KEY_BITS) == 0 ? 0 : 1)];
+        for (int index = 0; index < buffer.length; index++) {
+            int key = 0;
+            for (int bit = index * KEY_BITS; bit < (index + 1) * KEY_BITS; bit++) {
+                key <<= 1;
+                if (bit < bits && (value[bit / Byte.SIZE] & (0x80 >>> (bit % Byte.SIZE))) != 0) {
+                    key |= 1;
+                }
+            }
+            buffer[index] = SYMBOL[key];
+        }
+        return new String(buffer);
+    }
+
     /**
      * Creates a new random {@link java.lang.String}.
      *
      * @return A random {@link java.lang.String} of the given length for this instance.
      */
     public String nextString() {
+        Random random = RANDOM.get();
         char[] buffer = new char[length];
         for (int index = 0; index < length; index++) {
             buffer[index] = SYMBOL[random.nextInt(SYMBOL.length)];
@@ -98,9 +135,6 @@ public class RandomString {
 
     @Override
     public String toString() {
-        return "RandomString{" +
-                "random=" + random +
-                ", length=" + length +
-                '}';
+        return "RandomString{length=" + length + '}';
     }
 }
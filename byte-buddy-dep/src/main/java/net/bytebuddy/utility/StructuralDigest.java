@@ -0,0 +1,338 @@
+package net.bytebuddy.utility;
+
+import net.bytebuddy.instrumentation.ByteCodeElement;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.type.DeclaredInType;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.objectweb.asm.Type;
+
+import java.io.UnsupportedEncodingException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Computes a digest of an object's structure. Other than a digest of an object's string representation, this digest
+ * does not rely on an object's {@link Object#toString()} method but on a defined key that is derived from the object's
+ * type and from the values of its fields:
+ * <ul>
+ * <li>Strings, primitive wrappers, enumerations, types and type descriptions are represented by their value or
+ * name.</li>
+ * <li>Methods and fields, both loaded or described, are represented by their declaring type, name and descriptor.</li>
+ * <li>Annotations are represented by their type and by the values of their properties.</li>
+ * <li>Arrays, lists and other collections are represented by their elements in their iteration order. Sets and maps
+ * are represented independently of their iteration order.</li>
+ * <li>Any other object is represented by its type and by the values of its non-static, non-transient fields. Transient
+ * fields are expected to hold state that does not describe an object's configuration such as a cache.</li>
+ * </ul>
+ * An object that references itself or that references any other object of a type from the Java class library has no
+ * defined structure and no digest. Two objects with an equal structure result in equal digests in any JVM.
+ */
+public final class StructuralDigest {
+
+    /**
+     * The message digest algorithm that is used for computing a digest.
+     */
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+
+    /**
+     * The charset that is used for encoding an object's structure before computing its digest.
+     */
+    private static final String CHARSET = "UTF-8";
+
+    /**
+     * The prefixes of the packages of the Java class library of which the structure of a type is not defined.
+     */
+    private static final String[] OPAQUE_PACKAGES = {"java.", "javax.", "sun.", "com.sun.", "jdk."};
+
+    /**
+     * A utility class is not supposed to be instantiated.
+     */
+    private StructuralDigest() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Computes a digest of the structure of the given value.
+     *
+     * @param value The value to compute a digest for which may be {@code null}.
+     * @return The digest of the value's structure or {@code null} if the value's structure is not defined.
+     */
+    public static byte[] of(Object value) {
+        StringBuilder structure = new StringBuilder();
+        return append(value, structure, Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()))
+                ? digest(structure.toString())
+                : null;
+    }
+
+    /**
+     * Computes a SHA-1 digest of the given string.
+     *
+     * @param value The string to compute a digest for.
+     * @return The string's digest.
+     */
+    public static byte[] digest(String value) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(value.getBytes(CHARSET));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("Cannot compute a digest without " + DIGEST_ALGORITHM, exception);
+        } catch (UnsupportedEncodingException exception) {
+            throw new IllegalStateException("Cannot compute a digest without " + CHARSET + " encoding", exception);
+        }
+    }
+
+    /**
+     * Represents a digest as a string of lower case hexadecimal digits.
+     *
+     * @param digest The digest to represent.
+     * @return A hexadecimal representation of the given digest.
+     */
+    public static String toHexString(byte[] digest) {
+        StringBuilder hexString = new StringBuilder(digest.length * 2);
+        for (byte aByte : digest) {
+            hexString.append(Character.forDigit((aByte >> 4) & 0xF, 16)).append(Character.forDigit(aByte & 0xF, 16));
+        }
+        return hexString.toString();
+    }
+
+    /**
+     * Appends the structure of a value.
+     *
+     * @param value     The value of which to append the structure.
+     * @param structure The structure to append to.
+     * @param path      The values that are currently appended, i.e. the values that reference the given value.
+     * @return {@code true} if the structure of the value is defined.
+     */
+    private static boolean append(Object value, StringBuilder structure, Set<Object> path) {
+        if (value == null) {
+            structure.append('N');
+            return true;
+        } else if (value instanceof String) {
+            appendString((String) value, structure.append('S'));
+            return true;
+        } else if (value instanceof Boolean || value instanceof Character || value instanceof Number
+                && value.getClass().getName().startsWith("java.lang.")) {
+            appendString(value.toString(), structure.append('P').append(value.getClass().getName()));
+            return true;
+        } else if (value instanceof Enum<?>) {
+            appendString(((Enum<?>) value).name(), structure.append('E').append(((Enum<?>) value).getDeclaringClass().getName()));
+            return true;
+        } else if (value instanceof Class<?>) {
+            appendString(((Class<?>) value).getName(), structure.append('C'));
+            return true;
+        } else if (value instanceof TypeDescription) {
+            appendString(((TypeDescription) value).getName(), structure.append('C'));
+            return true;
+        } else if (value instanceof ByteCodeElement && value instanceof DeclaredInType) {
+            TypeDescription declaringType = ((DeclaredInType) value).getDeclaringType();
+            appendMember(declaringType == null ? null : declaringType.getName(),
+                    ((ByteCodeElement) value).getInternalName(),
+                    ((ByteCodeElement) value).getDescriptor(),
+                    structure);
+            return true;
+        } else if (value instanceof Method) {
+            appendMember(((Method) value).getDeclaringClass().getName(),
+                    ((Method) value).getName(),
+                    Type.getMethodDescriptor((Method) value),
+                    structure);
+            return true;
+        } else if (value instanceof Constructor<?>) {
+            appendMember(((Constructor<?>) value).getDeclaringClass().getName(),
+                    MethodDescription.CONSTRUCTOR_INTERNAL_NAME,
+                    Type.getConstructorDescriptor((Constructor<?>) value),
+                    structure);
+            return true;
+        } else if (value instanceof Field) {
+            appendMember(((Field) value).getDeclaringClass().getName(),
+                    ((Field) value).getName(),
+                    Type.getDescriptor(((Field) value).getType()),
+                    structure);
+            return true;
+        } else if (!path.add(value)) {
+            return false;
+        }
+        try {
+            if (value instanceof Annotation) {
+                return appendAnnotation((Annotation) value, structure, path);
+            } else if (value.getClass().isArray()) {
+                structure.append('A').append(value.getClass().getName()).append(Array.getLength(value)).append(':');
+                for (int index = 0; index < Array.getLength(value); index++) {
+                    if (!append(Array.get(value, index), structure, path)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (value instanceof Set<?>) {
+                return appendUnordered((Set<?>) value, structure.append('U'), path);
+            } else if (value instanceof Map<?, ?>) {
+                List<Object> entries = new ArrayList<Object>(((Map<?, ?>) value).size());
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    entries.add(Arrays.asList(entry.getKey(), entry.getValue()));
+                }
+                return appendUnordered(entries, structure.append('M'), path);
+            } else if (value instanceof Collection<?>) {
+                structure.append('L').append(((Collection<?>) value).size()).append(':');
+                for (Object element : (Collection<?>) value) {
+                    if (!append(element, structure, path)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else {
+                return appendFields(value, structure, path);
+            }
+        } finally {
+            path.remove(value);
+        }
+    }
+
+    /**
+     * Appends a string such that it cannot be confused with a following structure.
+     *
+     * @param value     The string to append.
+     * @param structure The structure to append to.
+     */
+    private static void appendString(String value, StringBuilder structure) {
+        structure.append(value.length()).append(':').append(value);
+    }
+
+    /**
+     * Appends a method or a field.
+     *
+     * @param declaringType The name of the member's declaring type or {@code null} if it does not have one.
+     * @param name          The internal name of the member.
+     * @param descriptor    The descriptor of the member.
+     * @param structure     The structure to append to.
+     */
+    private static void appendMember(String declaringType, String name, String descriptor, StringBuilder structure) {
+        appendString(String.valueOf(declaringType), structure.append('F'));
+        appendString(name, structure);
+        appendString(descriptor, structure);
+    }
+
+    /**
+     * Appends the elements of a collection independently of their iteration order.
+     *
+     * @param values    The elements to append.
+     * @param structure The structure to append to.
+     * @param path      The values that are currently appended.
+     * @return {@code true} if the structure of all elements is defined.
+     */
+    private static boolean appendUnordered(Collection<?> values, StringBuilder structure, Set<Object> path) {
+        List<String> elements = new ArrayList<String>(values.size());
+        for (Object value : values) {
+            StringBuilder element = new StringBuilder();
+            if (!append(value, element, path)) {
+                return false;
+            }
+            elements.add(element.toString());
+        }
+        Collections.sort(elements);
+        structure.append(elements.size()).append(':');
+        for (String element : elements) {
+            appendString(element, structure);
+        }
+        return true;
+    }
+
+    /**
+     * Appends an annotation by its type and the values of its properties.
+     *
+     * @param annotation The annotation to append.
+     * @param structure  The structure to append to.
+     * @param path       The values that are currently appended.
+     * @return {@code true} if the structure of all property values is defined.
+     */
+    private static boolean appendAnnotation(Annotation annotation, StringBuilder structure, Set<Object> path) {
+        appendString(annotation.annotationType().getName(), structure.append('@'));
+        Method[] properties = annotation.annotationType().getDeclaredMethods();
+        Arrays.sort(properties, MemberNameComparator.INSTANCE);
+        for (Method property : properties) {
+            try {
+                property.setAccessible(true);
+                appendString(property.getName(), structure);
+                if (!append(property.invoke(annotation), structure, path)) {
+                    return false;
+                }
+            } catch (IllegalAccessException ignored) {
+                return false;
+            } catch (InvocationTargetException ignored) {
+                return false;
+            } catch (RuntimeException ignored) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends an object by its type and the values of its non-static, non-transient fields.
+     *
+     * @param value     The object to append.
+     * @param structure The structure to append to.
+     * @param path      The values that are currently appended.
+     * @return {@code true} if the object's type is not a type of the Java class library and if the structure of all
+     * field values is defined.
+     */
+    private static boolean appendFields(Object value, StringBuilder structure, Set<Object> path) {
+        appendString(value.getClass().getName(), structure.append('O'));
+        for (Class<?> type = value.getClass(); type != Object.class || type == value.getClass(); type = type.getSuperclass()) {
+            if (isOpaque(type)) {
+                return false;
+            }
+            Field[] fields = type.getDeclaredFields();
+            Arrays.sort(fields, MemberNameComparator.INSTANCE);
+            for (Field field : fields) {
+                if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    appendString(field.getName(), structure);
+                    if (!append(field.get(value), structure, path)) {
+                        return false;
+                    }
+                } catch (IllegalAccessException ignored) {
+                    return false;
+                } catch (RuntimeException ignored) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a type is a type of the Java class library of which the structure is not defined.
+     *
+     * @param type The type to check.
+     * @return {@code true} if the given type's structure is not defined.
+     */
+    private static boolean isOpaque(Class<?> type) {
+        for (String opaquePackage : OPAQUE_PACKAGES) {
+            if (type.getName().startsWith(opaquePackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A comparator that orders members by their name. Members of a type are otherwise returned in an unspecified
+     * order.
+     */
+    private static enum MemberNameComparator implements Comparator<Member> {
+
+        /**
+         * The singleton instance.
+         */
+        INSTANCE;
+
+        @Override
+        public int compare(Member left, Member right) {
+            return left.getName().compareTo(right.getName());
+        }
+    }
+}
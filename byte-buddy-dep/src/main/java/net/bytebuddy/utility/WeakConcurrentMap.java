@@ -0,0 +1,244 @@
+package net.bytebuddy.utility;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A concurrent map of weakly referenced keys that are compared by their identity. Other than a synchronized
+ * {@link java.util.WeakHashMap}, this map does not require a global lock: Reading a value does not block and
+ * concurrent modifications only contend within the segments of the underlying {@link java.util.concurrent.ConcurrentHashMap}.
+ * Entries of keys that were garbage collected are removed whenever the map is modified. Note that a value must not
+ * reference its key strongly as the key would never become weakly reachable otherwise.
+ *
+ * @param <K> The type of the keys of this map.
+ * @param <V> The type of the values of this map.
+ */
+public class WeakConcurrentMap<K, V> {
+
+    /**
+     * The reference queue that is notified of garbage collected keys.
+     */
+    private final ReferenceQueue<K> referenceQueue;
+
+    /**
+     * The entries of this map, keyed by either weak keys or by lookup keys which are never stored.
+     */
+    private final ConcurrentMap<Object, V> entries;
+
+    /**
+     * Creates a new, empty map.
+     */
+    public WeakConcurrentMap() {
+        this(new ConcurrentHashMap<Object, V>());
+    }
+
+    /**
+     * Creates a new map that is backed by the given entries.
+     *
+     * @param entries The entries of this map.
+     */
+    WeakConcurrentMap(ConcurrentMap<Object, V> entries) {
+        referenceQueue = new ReferenceQueue<K>();
+        this.entries = entries;
+    }
+
+    /**
+     * Returns the value that is registered for the given key.
+     *
+     * @param key The key to look up.
+     * @return The value that is registered for the given key or {@code null} if no value is registered.
+     */
+    public V get(K key) {
+        return entries.get(new LookupKey<K>(key));
+    }
+
+    /**
+     * Checks if a value is registered for the given key.
+     *
+     * @param key The key to look up.
+     * @return {@code true} if a value is registered for the given key.
+     */
+    public boolean containsKey(K key) {
+        return entries.containsKey(new LookupKey<K>(key));
+    }
+
+    /**
+     * Registers a value for the given key, replacing any previously registered value.
+     *
+     * @param key   The key for which to register the value.
+     * @param value The value to register.
+     * @return The previously registered value or {@code null} if no value was registered.
+     */
+    public V put(K key, V value) {
+        expunge();
+        return entries.put(new WeakKey<K>(key, referenceQueue), value);
+    }
+
+    /**
+     * Registers a value for the given key if no value is registered yet.
+     *
+     * @param key   The key for which to register the value.
+     * @param value The value to register.
+     * @return The previously registered value or {@code null} if the given value was registered.
+     */
+    public V putIfAbsent(K key, V value) {
+        expunge();
+        return entries.putIfAbsent(new WeakKey<K>(key, referenceQueue), value);
+    }
+
+    /**
+     * Replaces the value that is registered for the given key if the currently registered value is the expected value.
+     *
+     * @param key           The key for which to replace the value.
+     * @param expectedValue The value that is expected to be registered.
+     * @param value         The value to register.
+     * @return {@code true} if the value was replaced.
+     */
+    public boolean replace(K key, V expectedValue, V value) {
+        expunge();
+        return entries.replace(new LookupKey<K>(key), expectedValue, value);
+    }
+
+    /**
+     * Removes the value that is registered for the given key.
+     *
+     * @param key The key for which to remove the value.
+     * @return The removed value or {@code null} if no value was registered.
+     */
+    public V remove(K key) {
+        expunge();
+        return entries.remove(new LookupKey<K>(key));
+    }
+
+    /**
+     * Removes all entries of this map.
+     */
+    public void clear() {
+        entries.clear();
+        expunge();
+    }
+
+    /**
+     * Removes all entries of keys that were garbage collected.
+     */
+    public void expunge() {
+        Reference<?> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            entries.remove(reference);
+        }
+    }
+
+    /**
+     * Returns the number of entries of this map after removing the entries of garbage collected keys.
+     *
+     * @return The number of entries of this map.
+     */
+    public int size() {
+        expunge();
+        return entries.size();
+    }
+
+    @Override
+    public String toString() {
+        return "WeakConcurrentMap{size=" + entries.size() + '}';
+    }
+
+    /**
+     * A key that is stored within the map and that references its key weakly.
+     *
+     * @param <T> The type of the referenced key.
+     */
+    private static class WeakKey<T> extends WeakReference<T> {
+
+        /**
+         * The identity hash code of the referenced key.
+         */
+        private final int hashCode;
+
+        /**
+         * Creates a new weak key.
+         *
+         * @param key            The referenced key.
+         * @param referenceQueue The reference queue to notify when the key is garbage collected.
+         */
+        private WeakKey(T key, ReferenceQueue<? super T> referenceQueue) {
+            super(key, referenceQueue);
+            if (key == null) {
+                throw new NullPointerException("A weak concurrent map does not support null keys");
+            }
+            hashCode = System.identityHashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            Object key = get();
+            if (key == null) {
+                return false;
+            } else if (other instanceof WeakKey) {
+                return ((WeakKey<?>) other).get() == key;
+            } else {
+                return other instanceof LookupKey && ((LookupKey<?>) other).key == key;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            return "WeakConcurrentMap.WeakKey{key=" + get() + '}';
+        }
+    }
+
+    /**
+     * A key that is only used for looking up or removing an entry and that is never stored within the map.
+     *
+     * @param <T> The type of the referenced key.
+     */
+    private static class LookupKey<T> {
+
+        /**
+         * The referenced key.
+         */
+        private final T key;
+
+        /**
+         * Creates a new lookup key.
+         *
+         * @param key The referenced key.
+         */
+        private LookupKey(T key) {
+            if (key == null) {
+                throw new NullPointerException("A weak concurrent map does not support null keys");
+            }
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other instanceof LookupKey) {
+                return ((LookupKey<?>) other).key == key;
+            } else {
+                return other instanceof WeakKey && ((WeakKey<?>) other).get() == key;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(key);
+        }
+
+        @Override
+        public String toString() {
+            return "WeakConcurrentMap.LookupKey{key=" + key + '}';
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package net.bytebuddy;
 
 import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.modifier.SyntheticState;
+import net.bytebuddy.modifier.TypeManifestation;
+import net.bytebuddy.modifier.Visibility;
 import net.bytebuddy.utility.HashCodeEqualsTester;
 import net.bytebuddy.utility.MockitoRule;
 import org.junit.Rule;
@@ -8,9 +11,13 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.Collections;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.mockito.Mockito.*;
 
@@ -47,6 +54,97 @@ public class NamingStrategyTest {
         HashCodeEqualsTester.of(NamingStrategy.SuffixingRandom.class).apply();
     }
 
+    @Test
+    public void testSuffixingHashIsDeterministic() throws Exception {
+        when(unnamedType.getSuperClass()).thenReturn(TypeDescription.ForLoadedType.of(MethodVisitor.class));
+        when(unnamedType.getDeclaredInterfaces()).thenReturn(Collections.<TypeDescription>emptyList());
+        when(unnamedType.getVisibility()).thenReturn(Visibility.PUBLIC);
+        when(unnamedType.getTypeManifestation()).thenReturn(TypeManifestation.PLAIN);
+        when(unnamedType.getSyntheticState()).thenReturn(SyntheticState.NON_SYNTHETIC);
+        when(unnamedType.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V6);
+        NamingStrategy namingStrategy = new NamingStrategy.SuffixingHash(FOO);
+        String name = namingStrategy.name(unnamedType);
+        assertThat(name, startsWith(MethodVisitor.class.getName() + "$" + FOO + "$"));
+        assertThat(new NamingStrategy.SuffixingHash(FOO).name(unnamedType), is(name));
+        when(unnamedType.getDeclaredInterfaces()).thenReturn(Collections.<TypeDescription>singletonList(TypeDescription.ForLoadedType.of(Runnable.class)));
+        assertThat(namingStrategy.name(unnamedType), not(name));
+    }
+
+    @Test
+    public void testSuffixingHashIncludesFingerprint() throws Exception {
+        NamingStrategy.UnnamedType first = new NamingStrategy.UnnamedType.Default(TypeDescription.ForLoadedType.of(MethodVisitor.class),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PUBLIC,
+                ClassFileVersion.JAVA_V6,
+                FOO);
+        NamingStrategy.UnnamedType second = new NamingStrategy.UnnamedType.Default(TypeDescription.ForLoadedType.of(MethodVisitor.class),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PUBLIC,
+                ClassFileVersion.JAVA_V6,
+                BAR);
+        NamingStrategy namingStrategy = new NamingStrategy.SuffixingHash(FOO);
+        assertThat(namingStrategy.name(first), startsWith(MethodVisitor.class.getName() + "$" + FOO + "$"));
+        assertThat(namingStrategy.name(first), not(namingStrategy.name(second)));
+        assertThat(namingStrategy.name(first), is(namingStrategy.name(new NamingStrategy.UnnamedType.Default(TypeDescription.ForLoadedType.of(MethodVisitor.class),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PUBLIC,
+                ClassFileVersion.JAVA_V6,
+                FOO))));
+    }
+
+    @Test
+    public void testSuffixingHashIsRandomForOpaqueFingerprint() throws Exception {
+        NamingStrategy.UnnamedType unnamedType = new NamingStrategy.UnnamedType.Default(TypeDescription.ForLoadedType.of(MethodVisitor.class),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PUBLIC,
+                ClassFileVersion.JAVA_V6,
+                new Object());
+        NamingStrategy namingStrategy = new NamingStrategy.SuffixingHash(FOO);
+        String name = namingStrategy.name(unnamedType);
+        assertThat(name, startsWith(MethodVisitor.class.getName() + "$" + FOO + "$"));
+        assertThat(namingStrategy.name(unnamedType), not(name));
+    }
+
+    @Test
+    public void testSuffixingHashIsStructural() throws Exception {
+        NamingStrategy.UnnamedType first = new NamingStrategy.UnnamedType.Default(TypeDescription.ForLoadedType.of(MethodVisitor.class),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PUBLIC,
+                ClassFileVersion.JAVA_V6,
+                new Fingerprint(FOO));
+        NamingStrategy.UnnamedType second = new NamingStrategy.UnnamedType.Default(TypeDescription.ForLoadedType.of(MethodVisitor.class),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PUBLIC,
+                ClassFileVersion.JAVA_V6,
+                new Fingerprint(BAR));
+        NamingStrategy namingStrategy = new NamingStrategy.SuffixingHash(FOO);
+        String name = namingStrategy.name(first);
+        assertThat(name, startsWith(MethodVisitor.class.getName() + "$" + FOO + "$"));
+        assertThat(namingStrategy.name(second), not(name));
+        assertThat(new NamingStrategy.SuffixingHash(FOO).name(new NamingStrategy.UnnamedType.Default(TypeDescription.ForLoadedType.of(MethodVisitor.class),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PUBLIC,
+                ClassFileVersion.JAVA_V6,
+                new Fingerprint(FOO))), is(name));
+    }
+
+    @Test
+    public void testSuffixingHashConflictingPackage() throws Exception {
+        when(unnamedType.getSuperClass()).thenReturn(TypeDescription.ForLoadedType.of(Object.class));
+        when(unnamedType.getDeclaredInterfaces()).thenReturn(Collections.<TypeDescription>emptyList());
+        when(unnamedType.getVisibility()).thenReturn(Visibility.PUBLIC);
+        when(unnamedType.getTypeManifestation()).thenReturn(TypeManifestation.PLAIN);
+        when(unnamedType.getSyntheticState()).thenReturn(SyntheticState.NON_SYNTHETIC);
+        when(unnamedType.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V6);
+        NamingStrategy namingStrategy = new NamingStrategy.SuffixingHash(FOO, BAR);
+        assertThat(namingStrategy.name(unnamedType), startsWith(BAR + "." + Object.class.getName() + "$" + FOO + "$"));
+    }
+
+    @Test
+    public void testSuffixingHashEqualsHashCode() throws Exception {
+        HashCodeEqualsTester.of(NamingStrategy.SuffixingHash.class).apply();
+    }
+
     @Test
     public void testFixed() throws Exception {
         NamingStrategy namingStrategy = new NamingStrategy.Fixed(FOO);
@@ -72,4 +170,18 @@ public class NamingStrategyTest {
     public void testPrefixingRandomEqualsHashCode() throws Exception {
         HashCodeEqualsTester.of(NamingStrategy.PrefixingRandom.class).apply();
     }
+
+    private static class Fingerprint {
+
+        private final String value;
+
+        private Fingerprint(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return FOO;
+        }
+    }
 }
@@ -0,0 +1,297 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.instrumentation.MethodDelegation;
+import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.SuperCall;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.ClassFileExtraction;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import net.bytebuddy.utility.MockitoRule;
+import net.bytebuddy.utility.ToolsJarRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.InputStream;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class AgentBuilderDefaultTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final int MAXIMUM_ATTEMPTS = 100;
+
+    @Rule
+    public MethodRule toolsJarRule = new ToolsJarRule();
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Instrumentation instrumentation;
+
+    @Mock
+    private AgentBuilder.Listener listener;
+
+    private String internalName;
+
+    private byte[] binaryRepresentation;
+
+    @Before
+    public void setUp() throws Exception {
+        internalName = Foo.class.getName().replace('.', '/');
+        binaryRepresentation = ClassFileExtraction.extract(Foo.class);
+    }
+
+    @Test
+    public void testTransformation() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .rebase(new AgentBuilder.RawMatcher.ForNamePrefix(Foo.class.getName()), new FixedValueTransformer())
+                .withListener(listener)
+                .makeRaw();
+        byte[] transformed = classFileTransformer.transform(getClass().getClassLoader(), internalName, null, null, binaryRepresentation);
+        assertThat(transformed, notNullValue());
+        verify(listener).onTransformation(any(DynamicType.class));
+        Class<?> type = new ByteArrayClassLoader.ChildFirst(getClass().getClassLoader(),
+                Collections.singletonMap(Foo.class.getName(), transformed),
+                null,
+                ByteArrayClassLoader.PersistenceHandler.LATENT).loadClass(Foo.class.getName());
+        assertThat(type, not((Object) Foo.class));
+        assertThat(type.getDeclaredMethod(FOO).invoke(type.newInstance()), is((Object) BAR));
+    }
+
+    @Test
+    public void testNonMatchedClassIsNotTransformed() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .rebase(new AgentBuilder.RawMatcher.ForNamePrefix(BAR), new FixedValueTransformer())
+                .withListener(listener)
+                .makeRaw();
+        assertThat(classFileTransformer.transform(getClass().getClassLoader(), internalName, null, null, binaryRepresentation), nullValue(byte[].class));
+        verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void testRedefinedClassIsNotTransformed() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .rebase(new AgentBuilder.RawMatcher.ForNamePrefix(Foo.class.getName()), new FixedValueTransformer())
+                .withListener(listener)
+                .makeRaw();
+        assertThat(classFileTransformer.transform(getClass().getClassLoader(), internalName, Foo.class, null, binaryRepresentation), nullValue(byte[].class));
+        verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void testLiveInitializerIsReported() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .rebase(new AgentBuilder.RawMatcher.ForNamePrefix(Foo.class.getName()), new AgentBuilder.Transformer() {
+                    @Override
+                    public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription) {
+                        return builder.method(named(FOO)).intercept(MethodDelegation.to(new Object() {
+                            @SuppressWarnings("unused")
+                            public String intercept() {
+                                return QUX;
+                            }
+                        }));
+                    }
+                })
+                .withListener(listener)
+                .makeRaw();
+        assertThat(classFileTransformer.transform(getClass().getClassLoader(), internalName, null, null, binaryRepresentation), nullValue(byte[].class));
+        verify(listener).onError(eq(Foo.class.getName()), any(IllegalStateException.class));
+    }
+
+    @Test
+    public void testMatcherErrorIsReported() throws Exception {
+        final RuntimeException exception = new RuntimeException();
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .rebase(new AgentBuilder.RawMatcher() {
+                    @Override
+                    public boolean matches(AgentBuilder.ClassFile classFile) {
+                        throw exception;
+                    }
+                }, new FixedValueTransformer())
+                .withListener(listener)
+                .makeRaw();
+        assertThat(classFileTransformer.transform(getClass().getClassLoader(), internalName, null, null, binaryRepresentation), nullValue(byte[].class));
+        verify(listener).onError(Foo.class.getName(), exception);
+        verifyNoMoreInteractions(listener);
+    }
+
+    @Test
+    public void testTypePoolIsSharedPerClassLoader() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .rebase(new AgentBuilder.RawMatcher.ForSuperClass(Base.class.getName()), new FixedValueTransformer())
+                .withListener(listener)
+                .makeRaw();
+        CountingClassLoader classLoader = new CountingClassLoader(getClass().getClassLoader());
+        assertThat(classFileTransformer.transform(classLoader,
+                FirstSub.class.getName().replace('.', '/'),
+                null,
+                null,
+                ClassFileExtraction.extract(FirstSub.class)), notNullValue(byte[].class));
+        assertThat(classFileTransformer.transform(classLoader,
+                SecondSub.class.getName().replace('.', '/'),
+                null,
+                null,
+                ClassFileExtraction.extract(SecondSub.class)), notNullValue(byte[].class));
+        verify(listener, times(2)).onTransformation(any(DynamicType.class));
+        assertThat(classLoader.count(Base.class), is(1));
+        CountingClassLoader otherClassLoader = new CountingClassLoader(getClass().getClassLoader());
+        assertThat(classFileTransformer.transform(otherClassLoader,
+                FirstSub.class.getName().replace('.', '/'),
+                null,
+                null,
+                ClassFileExtraction.extract(FirstSub.class)), notNullValue(byte[].class));
+        assertThat(otherClassLoader.count(Base.class), is(1));
+    }
+
+    @Test
+    public void testTypePoolDoesNotRetainClassLoader() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .rebase(new AgentBuilder.RawMatcher.ForSuperClass(Base.class.getName()), new FixedValueTransformer())
+                .makeRaw();
+        Reference<ClassLoader> classLoader = transformIsolated(classFileTransformer);
+        for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS && classLoader.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertThat(classLoader.get(), nullValue(ClassLoader.class));
+    }
+
+    private static Reference<ClassLoader> transformIsolated(ClassFileTransformer classFileTransformer) throws Exception {
+        ClassLoader classLoader = new CountingClassLoader(AgentBuilderDefaultTest.class.getClassLoader());
+        assertThat(classFileTransformer.transform(classLoader,
+                FirstSub.class.getName().replace('.', '/'),
+                null,
+                null,
+                ClassFileExtraction.extract(FirstSub.class)), notNullValue(byte[].class));
+        return new WeakReference<ClassLoader>(classLoader);
+    }
+
+    @Test
+    public void testInstallation() throws Exception {
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default().installOn(instrumentation);
+        verify(instrumentation).addTransformer(classFileTransformer);
+    }
+
+    @Test
+    @ToolsJarRule.Enforce
+    public void testAgentTransformationWithAuxiliaryType() throws Exception {
+        assertThat(ByteBuddyAgent.installOnOpenJDK(), instanceOf(Instrumentation.class));
+        ClassFileTransformer classFileTransformer = new AgentBuilder.Default()
+                .rebase(new AgentBuilder.RawMatcher.Conjunction(new AgentBuilder.RawMatcher.ForNamePrefix(Foo.class.getName()),
+                        new AgentBuilder.RawMatcher.ForSuperClass(Object.class.getName())), new AgentBuilder.Transformer() {
+                    @Override
+                    public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription) {
+                        return builder.method(named(FOO)).intercept(MethodDelegation.to(Interceptor.class));
+                    }
+                })
+                .installOn(ByteBuddyAgent.getInstrumentation());
+        try {
+            Class<?> type = new ByteArrayClassLoader.ChildFirst(getClass().getClassLoader(),
+                    Collections.singletonMap(Foo.class.getName(), binaryRepresentation),
+                    null,
+                    ByteArrayClassLoader.PersistenceHandler.LATENT).loadClass(Foo.class.getName());
+            assertThat(type, not((Object) Foo.class));
+            assertThat(type.getDeclaredMethod(FOO).invoke(type.newInstance()), is((Object) (FOO + BAR)));
+        } finally {
+            ByteBuddyAgent.getInstrumentation().removeTransformer(classFileTransformer);
+        }
+    }
+
+    @Test
+    public void testHashCodeEquals() throws Exception {
+        HashCodeEqualsTester.of(AgentBuilder.Default.class).apply();
+        HashCodeEqualsTester.of(AgentBuilder.Default.Entry.class).apply();
+    }
+
+    public static class Foo {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+
+    public static class Base {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+
+    public static class FirstSub extends Base {
+        /* empty */
+    }
+
+    public static class SecondSub extends Base {
+        /* empty */
+    }
+
+    public static class Interceptor {
+
+        public static String intercept(@SuperCall Callable<String> zuper) throws Exception {
+            return zuper.call() + BAR;
+        }
+    }
+
+    private static class CountingClassLoader extends ClassLoader {
+
+        private final Map<String, AtomicInteger> counts;
+
+        private CountingClassLoader(ClassLoader parent) {
+            super(parent);
+            counts = new ConcurrentHashMap<String, AtomicInteger>();
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            AtomicInteger count = counts.get(name);
+            if (count == null) {
+                count = new AtomicInteger();
+                counts.put(name, count);
+            }
+            count.incrementAndGet();
+            return super.getResourceAsStream(name);
+        }
+
+        private int count(Class<?> type) {
+            AtomicInteger count = counts.get(type.getName().replace('.', '/') + ".class");
+            return count == null
+                    ? 0
+                    : count.get();
+        }
+    }
+
+    private static class FixedValueTransformer implements AgentBuilder.Transformer {
+
+        @Override
+        public DynamicType.Builder<?> transform(DynamicType.Builder<?> builder, TypeDescription typeDescription) {
+            return builder.method(named(FOO)).intercept(FixedValue.value(BAR));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package net.bytebuddy.agent.builder;
+
+import net.bytebuddy.utility.ClassFileExtraction;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.Callable;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AgentBuilderRawMatcherTest {
+
+    private AgentBuilder.ClassFile classFile;
+
+    @Before
+    public void setUp() throws Exception {
+        classFile = new AgentBuilder.ClassFile(Sample.class.getName().replace('.', '/'), ClassFileExtraction.extract(Sample.class));
+    }
+
+    @Test
+    public void testNamePrefix() throws Exception {
+        assertThat(new AgentBuilder.RawMatcher.ForNamePrefix(Sample.class.getPackage().getName() + ".").matches(classFile), is(true));
+        assertThat(new AgentBuilder.RawMatcher.ForNamePrefix("foo.", Sample.class.getName()).matches(classFile), is(true));
+        assertThat(new AgentBuilder.RawMatcher.ForNamePrefix("foo.", "net.bytebuddy.agent.builder.Bar").matches(classFile), is(false));
+        assertThat(new AgentBuilder.RawMatcher.ForNamePrefix(Sample.class.getName() + "$").matches(classFile), is(false));
+        assertThat(new AgentBuilder.RawMatcher.ForNamePrefix().matches(classFile), is(false));
+    }
+
+    @Test
+    public void testNamePrefixDoesNotParseClassFile() throws Exception {
+        AgentBuilder.ClassFile illegalClassFile = new AgentBuilder.ClassFile("foo/Bar", new byte[0]);
+        assertThat(new AgentBuilder.RawMatcher.Conjunction(new AgentBuilder.RawMatcher.ForNamePrefix("bar."),
+                new AgentBuilder.RawMatcher.ForSuperClass(Object.class.getName())).matches(illegalClassFile), is(false));
+    }
+
+    @Test
+    public void testSuperClass() throws Exception {
+        assertThat(new AgentBuilder.RawMatcher.ForSuperClass(Base.class.getName()).matches(classFile), is(true));
+        assertThat(new AgentBuilder.RawMatcher.ForSuperClass(Object.class.getName()).matches(classFile), is(false));
+    }
+
+    @Test
+    public void testInterface() throws Exception {
+        assertThat(new AgentBuilder.RawMatcher.ForInterface(Callable.class.getName()).matches(classFile), is(true));
+        assertThat(new AgentBuilder.RawMatcher.ForInterface(Runnable.class.getName()).matches(classFile), is(false));
+    }
+
+    @Test
+    public void testAnnotation() throws Exception {
+        assertThat(new AgentBuilder.RawMatcher.ForAnnotation(RuntimeMarker.class.getName()).matches(classFile), is(true));
+        assertThat(new AgentBuilder.RawMatcher.ForAnnotation(ClassFileMarker.class.getName()).matches(classFile), is(true));
+        assertThat(new AgentBuilder.RawMatcher.ForAnnotation(Retention.class.getName()).matches(classFile), is(false));
+    }
+
+    @Test
+    public void testConjunction() throws Exception {
+        AgentBuilder.RawMatcher matching = new AgentBuilder.RawMatcher.ForSuperClass(Base.class.getName());
+        AgentBuilder.RawMatcher nonMatching = new AgentBuilder.RawMatcher.ForSuperClass(Object.class.getName());
+        assertThat(new AgentBuilder.RawMatcher.Conjunction(matching, matching).matches(classFile), is(true));
+        assertThat(new AgentBuilder.RawMatcher.Conjunction(matching, nonMatching).matches(classFile), is(false));
+    }
+
+    @Test
+    public void testDisjunction() throws Exception {
+        AgentBuilder.RawMatcher matching = new AgentBuilder.RawMatcher.ForSuperClass(Base.class.getName());
+        AgentBuilder.RawMatcher nonMatching = new AgentBuilder.RawMatcher.ForSuperClass(Object.class.getName());
+        assertThat(new AgentBuilder.RawMatcher.Disjunction(nonMatching, matching).matches(classFile), is(true));
+        assertThat(new AgentBuilder.RawMatcher.Disjunction(nonMatching, nonMatching).matches(classFile), is(false));
+    }
+
+    @Test
+    public void testHashCodeEquals() throws Exception {
+        HashCodeEqualsTester.of(AgentBuilder.RawMatcher.ForSuperClass.class).apply();
+        HashCodeEqualsTester.of(AgentBuilder.RawMatcher.ForInterface.class).apply();
+        HashCodeEqualsTester.of(AgentBuilder.RawMatcher.ForAnnotation.class).apply();
+        assertThat(new AgentBuilder.RawMatcher.ForNamePrefix("foo", "bar"), is(new AgentBuilder.RawMatcher.ForNamePrefix("bar", "foo")));
+        assertThat(new AgentBuilder.RawMatcher.ForNamePrefix("foo").hashCode(), is(new AgentBuilder.RawMatcher.ForNamePrefix("foo").hashCode()));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface RuntimeMarker {
+        /* empty */
+    }
+
+    public @interface ClassFileMarker {
+        /* empty */
+    }
+
+    public static class Base {
+        /* empty */
+    }
+
+    @RuntimeMarker
+    @ClassFileMarker
+    public static class Sample extends Base implements Callable<Object> {
+
+        @Override
+        public Object call() throws Exception {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.ClassFileExtraction;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassLoadingStrategyForPregeneratedTypesTest {
+
+    private static final String FOO = "foo";
+
+    private ClassLoader classLoader;
+
+    private TypeDescription typeDescription;
+
+    private Map<TypeDescription, byte[]> binaryRepresentations;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = getClass().getClassLoader();
+        binaryRepresentations = new LinkedHashMap<TypeDescription, byte[]>();
+        typeDescription = TypeDescription.ForLoadedType.of(Foo.class);
+        binaryRepresentations.put(typeDescription, ClassFileExtraction.extract(Foo.class));
+    }
+
+    @Test
+    public void testPregeneratedTypeIsLocated() throws Exception {
+        ClassLoadingStrategy classLoadingStrategy = new ClassLoadingStrategy.ForPregeneratedTypes(ClassLoadingStrategy.Default.WRAPPER);
+        Map<TypeDescription, Class<?>> loaded = classLoadingStrategy.load(classLoader, binaryRepresentations);
+        assertThat(loaded.size(), is(1));
+        assertThat(loaded.get(typeDescription), is((Object) Foo.class));
+    }
+
+    @Test
+    public void testMissingTypeIsDelegated() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], null /* bootstrap class loader */);
+        ClassLoadingStrategy classLoadingStrategy = new ClassLoadingStrategy.ForPregeneratedTypes(ClassLoadingStrategy.Default.WRAPPER);
+        Map<TypeDescription, Class<?>> loaded = classLoadingStrategy.load(classLoader, binaryRepresentations);
+        assertThat(loaded.size(), is(1));
+        Class<?> type = loaded.get(typeDescription);
+        assertThat(type, not((Object) Foo.class));
+        assertThat(type.getName(), is(Foo.class.getName()));
+        assertThat(type.getClassLoader().getParent(), is(classLoader));
+    }
+
+    @Test
+    public void testPartiallyPregeneratedTypesAreRegeneratedTogether() throws Exception {
+        ClassLoader classLoader = ByteArrayClassLoader.of(null,
+                Collections.singletonMap(typeDescription, binaryRepresentations.get(typeDescription)),
+                null,
+                ByteArrayClassLoader.PersistenceHandler.LATENT,
+                false);
+        TypeDescription auxiliaryType = TypeDescription.ForLoadedType.of(Bar.class);
+        binaryRepresentations.put(auxiliaryType, ClassFileExtraction.extract(Bar.class));
+        ClassLoadingStrategy classLoadingStrategy = new ClassLoadingStrategy.ForPregeneratedTypes(ClassLoadingStrategy.Default.CHILD_FIRST);
+        Map<TypeDescription, Class<?>> loaded = classLoadingStrategy.load(classLoader, binaryRepresentations);
+        assertThat(loaded.size(), is(2));
+        assertThat(loaded.get(typeDescription), not((Object) Class.forName(Foo.class.getName(), false, classLoader)));
+        assertThat(loaded.get(typeDescription).getClassLoader(), is(loaded.get(auxiliaryType).getClassLoader()));
+        assertThat(loaded.get(typeDescription).getClassLoader().getParent(), is(classLoader));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testPartiallyPregeneratedTypesCannotBeMixed() throws Exception {
+        ClassLoader classLoader = ByteArrayClassLoader.of(null,
+                Collections.singletonMap(typeDescription, binaryRepresentations.get(typeDescription)),
+                null,
+                ByteArrayClassLoader.PersistenceHandler.LATENT,
+                false);
+        binaryRepresentations.put(TypeDescription.ForLoadedType.of(Bar.class), ClassFileExtraction.extract(Bar.class));
+        new ClassLoadingStrategy.ForPregeneratedTypes(ClassLoadingStrategy.Default.WRAPPER).load(classLoader, binaryRepresentations);
+    }
+
+    @Test
+    public void testLocate() throws Exception {
+        ClassLoadingStrategy.ForPregeneratedTypes classLoadingStrategy = new ClassLoadingStrategy.ForPregeneratedTypes(ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(classLoadingStrategy.locate(classLoader, Foo.class.getName()), is((Object) Foo.class));
+        assertThat(classLoadingStrategy.locate(classLoader, FOO), nullValue(Class.class));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        HashCodeEqualsTester.of(ClassLoadingStrategy.ForPregeneratedTypes.class).apply();
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+}
@@ -0,0 +1,85 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.ClassFileExtraction;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassLoadingStrategyLazyTest {
+
+    private ClassLoader classLoader;
+
+    private TypeDescription fooTypeDescription, barTypeDescription;
+
+    private Map<TypeDescription, byte[]> binaryRepresentations;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = new URLClassLoader(new URL[0], null /* bootstrap class loader */);
+        binaryRepresentations = new LinkedHashMap<TypeDescription, byte[]>();
+        fooTypeDescription = TypeDescription.ForLoadedType.of(Foo.class);
+        barTypeDescription = TypeDescription.ForLoadedType.of(Bar.class);
+        binaryRepresentations.put(fooTypeDescription, ClassFileExtraction.extract(Foo.class));
+        binaryRepresentations.put(barTypeDescription, ClassFileExtraction.extract(Bar.class));
+    }
+
+    @Test
+    public void testEagerLoading() throws Exception {
+        Map<TypeDescription, Class<?>> loaded = ClassLoadingStrategy.Lazy.WRAPPER.load(classLoader, binaryRepresentations);
+        assertThat(loaded.size(), is(2));
+        assertThat(loaded.get(fooTypeDescription).getClassLoader(), is(loaded.get(barTypeDescription).getClassLoader()));
+        assertThat(loaded.get(fooTypeDescription).getClassLoader().getParent(), is(classLoader));
+    }
+
+    @Test
+    public void testLazyLoading() throws Exception {
+        Map<TypeDescription, Class<?>> loaded = ClassLoadingStrategy.Lazy.WRAPPER.load(classLoader,
+                binaryRepresentations,
+                Collections.singleton(fooTypeDescription));
+        assertThat(loaded.size(), is(1));
+        Class<?> type = loaded.get(fooTypeDescription);
+        assertThat(type.getName(), is(Foo.class.getName()));
+        assertThat(type.getClassLoader().getParent(), is(classLoader));
+        Method findLoadedClass = ClassLoader.class.getDeclaredMethod("findLoadedClass", String.class);
+        findLoadedClass.setAccessible(true);
+        assertThat(findLoadedClass.invoke(type.getClassLoader(), Bar.class.getName()), nullValue(Object.class));
+        Class<?> lazyType = type.getClassLoader().loadClass(Bar.class.getName());
+        assertThat(lazyType.getClassLoader(), is(type.getClassLoader()));
+        assertThat(findLoadedClass.invoke(type.getClassLoader(), Bar.class.getName()), is((Object) lazyType));
+    }
+
+    @Test
+    public void testChildFirst() throws Exception {
+        Map<TypeDescription, Class<?>> loaded = ClassLoadingStrategy.Lazy.CHILD_FIRST.load(getClass().getClassLoader(),
+                binaryRepresentations,
+                Collections.singleton(fooTypeDescription));
+        assertThat(loaded.size(), is(1));
+        Class<?> type = loaded.get(fooTypeDescription);
+        assertThat(type, not((Object) Foo.class));
+        assertThat(type.getClassLoader().loadClass(Bar.class.getName()), not((Object) Bar.class));
+    }
+
+    @Test
+    public void testHashCodeEquals() throws Exception {
+        HashCodeEqualsTester.of(ClassLoadingStrategy.Lazy.class).apply();
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+}
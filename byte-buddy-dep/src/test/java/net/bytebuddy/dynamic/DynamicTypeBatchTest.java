@@ -0,0 +1,76 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.instrumentation.MethodDelegation;
+import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.SuperCall;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class DynamicTypeBatchTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testBatchLoadsInSingleClassLoader() throws Exception {
+        DynamicType.Unloaded<Object> first = new ByteBuddy().subclass(Object.class)
+                .method(named("toString")).intercept(FixedValue.value(FOO))
+                .make();
+        DynamicType.Unloaded<Object> second = new ByteBuddy().subclass(Object.class)
+                .method(named("toString")).intercept(FixedValue.value(BAR))
+                .make();
+        List<DynamicType.Loaded<?>> loaded = DynamicType.Batch.of(first, second)
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(loaded.size(), is(2));
+        assertThat(loaded.get(0).getTypeDescription(), is(first.getTypeDescription()));
+        assertThat(loaded.get(1).getTypeDescription(), is(second.getTypeDescription()));
+        assertThat(loaded.get(0).getLoaded().newInstance().toString(), is(FOO));
+        assertThat(loaded.get(1).getLoaded().newInstance().toString(), is(BAR));
+        assertThat(loaded.get(1).getLoaded().getClassLoader(), is(loaded.get(0).getLoaded().getClassLoader()));
+        assertThat(loaded.get(0).getLoadedAuxiliaryTypes().size(), is(0));
+        assertThat(loaded.get(1).getLoadedAuxiliaryTypes().size(), is(0));
+    }
+
+    @Test
+    public void testBatchKeepsAuxiliaryTypesSeparate() throws Exception {
+        DynamicType.Unloaded<Object> first = new ByteBuddy().subclass(Object.class)
+                .method(named("toString")).intercept(MethodDelegation.to(new Interceptor()).filter(named("intercept")))
+                .make();
+        DynamicType.Unloaded<Object> second = new ByteBuddy().subclass(Object.class).make();
+        List<DynamicType.Loaded<?>> loaded = DynamicType.Batch.of(first, second)
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(loaded.get(0).getRawAuxiliaryTypes(), is(first.getRawAuxiliaryTypes()));
+        assertThat(loaded.get(0).getLoadedAuxiliaryTypes().keySet(), is(first.getRawAuxiliaryTypes().keySet()));
+        for (Class<?> type : loaded.get(0).getLoadedAuxiliaryTypes().values()) {
+            assertThat(type.getClassLoader(), is(loaded.get(0).getLoaded().getClassLoader()));
+        }
+        assertThat(loaded.get(1).getRawAuxiliaryTypes().size(), is(0));
+        assertThat(loaded.get(1).getLoadedAuxiliaryTypes().size(), is(0));
+        assertThat(loaded.get(0).getLoaded().newInstance().toString(), is(FOO));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateTypeIsRejected() throws Exception {
+        DynamicType.Unloaded<Object> dynamicType = new ByteBuddy().subclass(Object.class).make();
+        DynamicType.Batch.of(dynamicType, dynamicType).load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        HashCodeEqualsTester.of(DynamicType.Batch.class).apply();
+    }
+
+    public static class Interceptor {
+
+        public String intercept(@SuperCall Callable<String> zuper) throws Exception {
+            return FOO;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package net.bytebuddy.dynamic;
 
+import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.instrumentation.LoadedTypeInitializer;
+import net.bytebuddy.instrumentation.MethodDelegation;
+import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.SuperCall;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.utility.HashCodeEqualsTester;
 import net.bytebuddy.utility.MockitoRule;
@@ -10,13 +13,17 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.verify;
@@ -24,6 +31,8 @@ import static org.mockito.Mockito.when;
 
 public class DynamicTypeDefaultUnloadedTest {
 
+    private static final String FOO = "foo";
+
     private static final Class<?> MAIN_TYPE = Void.class, AUXILIARY_TYPE = Object.class;
 
     @Rule
@@ -82,8 +91,47 @@ public class DynamicTypeDefaultUnloadedTest {
         verify(auxiliaryLoadedTypeInitializer).onLoad(AUXILIARY_TYPE);
     }
 
+    @Test
+    public void testLazyLoading() throws Exception {
+        DynamicType.Loaded<Object> loaded = new ByteBuddy().subclass(Object.class)
+                .method(named("toString")).intercept(MethodDelegation.to(Interceptor.class))
+                .make()
+                .loadLazily(getClass().getClassLoader(), ClassLoadingStrategy.Lazy.WRAPPER);
+        assertThat(loaded.getRawAuxiliaryTypes().size(), is(1));
+        Method findLoadedClass = ClassLoader.class.getDeclaredMethod("findLoadedClass", String.class);
+        findLoadedClass.setAccessible(true);
+        String auxiliaryTypeName = loaded.getRawAuxiliaryTypes().keySet().iterator().next().getName();
+        assertThat(findLoadedClass.invoke(loaded.getLoaded().getClassLoader(), auxiliaryTypeName), nullValue());
+        assertThat(loaded.getLoaded().newInstance().toString(), is(FOO));
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(loaded.getRawAuxiliaryTypes().size()));
+        for (Class<?> type : loaded.getLoadedAuxiliaryTypes().values()) {
+            assertThat(type.getClassLoader(), is(loaded.getLoaded().getClassLoader()));
+        }
+    }
+
+    @Test
+    public void testLazyAuxiliaryTypesAreDefinedOnResolution() throws Exception {
+        DynamicType.Loaded<Object> loaded = new ByteBuddy().subclass(Object.class)
+                .method(named("toString")).intercept(MethodDelegation.to(Interceptor.class))
+                .make()
+                .loadLazily(getClass().getClassLoader(), ClassLoadingStrategy.Lazy.WRAPPER);
+        Method findLoadedClass = ClassLoader.class.getDeclaredMethod("findLoadedClass", String.class);
+        findLoadedClass.setAccessible(true);
+        String auxiliaryTypeName = loaded.getRawAuxiliaryTypes().keySet().iterator().next().getName();
+        assertThat(findLoadedClass.invoke(loaded.getLoaded().getClassLoader(), auxiliaryTypeName), nullValue());
+        Class<?> auxiliaryType = loaded.getLoadedAuxiliaryTypes().values().iterator().next();
+        assertThat(findLoadedClass.invoke(loaded.getLoaded().getClassLoader(), auxiliaryTypeName), is((Object) auxiliaryType));
+    }
+
     @Test
     public void testHashCodeEquals() throws Exception {
         HashCodeEqualsTester.of(DynamicType.Default.Unloaded.class).apply();
     }
+
+    public static class Interceptor {
+
+        public static String intercept(@SuperCall Callable<String> zuper) throws Exception {
+            return zuper.call() == null ? null : FOO;
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import net.bytebuddy.utility.MockitoRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+public class ParallelTypeGeneratorTest {
+
+    private static final int COUNT = 20;
+
+    private static final String FOO = "foo";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private DynamicType.Builder<?> builder;
+
+    private ExecutorService executorService;
+
+    private ParallelTypeGenerator parallelTypeGenerator;
+
+    @Before
+    public void setUp() throws Exception {
+        executorService = Executors.newFixedThreadPool(4);
+        parallelTypeGenerator = new ParallelTypeGenerator(executorService);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testCreationInOrder() throws Exception {
+        List<DynamicType.Builder<?>> builders = new ArrayList<DynamicType.Builder<?>>(COUNT);
+        for (int index = 0; index < COUNT; index++) {
+            builders.add(new ByteBuddy()
+                    .subclass(Object.class)
+                    .name(FOO + ".Bar" + index)
+                    .method(named("toString")).intercept(FixedValue.value(FOO + index)));
+        }
+        List<DynamicType.Unloaded<?>> dynamicTypes = parallelTypeGenerator.make(builders);
+        assertThat(dynamicTypes.size(), is(COUNT));
+        for (int index = 0; index < COUNT; index++) {
+            assertThat(dynamicTypes.get(index).getTypeDescription().getName(), is(FOO + ".Bar" + index));
+        }
+        List<DynamicType.Loaded<?>> loaded = new DynamicType.Batch(dynamicTypes)
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER);
+        assertThat(loaded.size(), is(COUNT));
+        for (int index = 0; index < COUNT; index++) {
+            assertThat(loaded.get(index).getLoaded().newInstance().toString(), is(FOO + index));
+            assertThat(loaded.get(index).getLoaded().getClassLoader(), is(loaded.get(0).getLoaded().getClassLoader()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreationFailure() throws Exception {
+        when(builder.make()).thenThrow(new IllegalArgumentException());
+        parallelTypeGenerator.make(builder);
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        HashCodeEqualsTester.of(ParallelTypeGenerator.class).apply();
+        HashCodeEqualsTester.of(ParallelTypeGenerator.Creation.class).apply();
+    }
+}
@@ -0,0 +1,274 @@
+package net.bytebuddy.dynamic;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.dynamic.scaffold.inline.ClassFileLocator;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.instrumentation.MethodDelegation;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PersistentTypeCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = temporaryFolder.newFolder();
+    }
+
+    @Test
+    public void testMissAndHit() throws Exception {
+        PersistentTypeCache persistentTypeCache = new PersistentTypeCache(directory);
+        String key = PersistentTypeCache.keyOf(builder());
+        assertThat(persistentTypeCache.find(key), nullValue(DynamicType.Unloaded.class));
+        DynamicType.Unloaded<Object> created = persistentTypeCache.make(builder());
+        DynamicType.Unloaded<?> cached = new PersistentTypeCache(directory).find(key);
+        assertThat(cached, notNullValue());
+        assertThat(cached.getTypeDescription().getName(), is(created.getTypeDescription().getName()));
+        assertThat(cached.getBytes(), is(created.getBytes()));
+        assertThat(cached.getRawAuxiliaryTypes().size(), is(created.getRawAuxiliaryTypes().size()));
+        Class<?> type = cached.load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        assertThat(type.getDeclaredMethod("toString").invoke(type.newInstance()), is((Object) BAR));
+        assertThat(new PersistentTypeCache(directory).make(builder()).getBytes(), is(created.getBytes()));
+        assertThat(new PersistentTypeCache(directory).find(BAR), nullValue(DynamicType.Unloaded.class));
+    }
+
+    @Test
+    public void testKeyDescribesConfiguration() throws Exception {
+        assertThat(PersistentTypeCache.keyOf(builder()), is(PersistentTypeCache.keyOf(builder())));
+        assertThat(PersistentTypeCache.keyOf(builder()), not(PersistentTypeCache.keyOf(new ByteBuddy()
+                .withNamingStrategy(new NamingStrategy.SuffixingHash(FOO))
+                .subclass(Object.class)
+                .method(named("toString")).intercept(FixedValue.value(FOO)))));
+        assertThat(PersistentTypeCache.keyOf(builder()), not(PersistentTypeCache.keyOf(delegatingBuilder())));
+    }
+
+    @Test
+    public void testConfigurationWithoutStructureIsNotCached() throws Exception {
+        DynamicType.Builder<Object> builder = new ByteBuddy()
+                .withNamingStrategy(new NamingStrategy.SuffixingHash(FOO))
+                .subclass(Object.class)
+                .method(named("toString")).intercept(MethodDelegation.to(new StatefulInterceptor()));
+        assertThat(PersistentTypeCache.keyOf(builder), nullValue(String.class));
+        assertThat(new PersistentTypeCache(directory).make(builder), notNullValue());
+        assertThat(directory.listFiles().length, is(0));
+    }
+
+    @Test
+    public void testStaleEntryOfInterceptorIsReplaced() throws Exception {
+        MapClassFileLocator classFileLocator = new MapClassFileLocator();
+        classFileLocator.classFiles.put(Interceptor.class.getName(), new byte[]{1, 2, 3});
+        PersistentTypeCache persistentTypeCache = new PersistentTypeCache(new PersistentTypeCache.Storage.ForDirectory(directory),
+                classFileLocator);
+        persistentTypeCache.make(delegatingBuilder());
+        String key = PersistentTypeCache.keyOf(delegatingBuilder());
+        assertThat(persistentTypeCache.find(key), notNullValue());
+        classFileLocator.classFiles.put(Interceptor.class.getName(), new byte[]{4, 5, 6});
+        assertThat(persistentTypeCache.find(key), nullValue(DynamicType.Unloaded.class));
+        assertThat(directory.listFiles().length, is(0));
+    }
+
+    @Test
+    public void testStaleEntryIsReplaced() throws Exception {
+        MapClassFileLocator classFileLocator = new MapClassFileLocator();
+        classFileLocator.classFiles.put(Object.class.getName(), new byte[]{1, 2, 3});
+        PersistentTypeCache persistentTypeCache = new PersistentTypeCache(new PersistentTypeCache.Storage.ForDirectory(directory),
+                classFileLocator);
+        persistentTypeCache.make(builder());
+        String key = PersistentTypeCache.keyOf(builder());
+        assertThat(persistentTypeCache.find(key), notNullValue());
+        classFileLocator.classFiles.put(Object.class.getName(), new byte[]{4, 5, 6});
+        assertThat(persistentTypeCache.find(key), nullValue(DynamicType.Unloaded.class));
+        assertThat(directory.listFiles().length, is(0));
+    }
+
+    @Test
+    public void testCorruptEntryIsRemoved() throws Exception {
+        PersistentTypeCache.Storage storage = new PersistentTypeCache.Storage.ForDirectory(directory);
+        storage.write(FOO, new byte[]{1, 2});
+        assertThat(new PersistentTypeCache(storage, ClassFileLocator.Default.CLASS_PATH).find(FOO),
+                nullValue(DynamicType.Unloaded.class));
+        assertThat(storage.read(FOO), nullValue(byte[].class));
+    }
+
+    @Test
+    public void testStaleEntryOfIndirectSuperClassIsReplaced() throws Exception {
+        MapClassFileLocator classFileLocator = new MapClassFileLocator();
+        classFileLocator.classFiles.put(Base.class.getName(), new byte[]{1, 2, 3});
+        PersistentTypeCache persistentTypeCache = new PersistentTypeCache(new PersistentTypeCache.Storage.ForDirectory(directory),
+                classFileLocator);
+        persistentTypeCache.make(subclassBuilder());
+        String key = PersistentTypeCache.keyOf(subclassBuilder());
+        assertThat(persistentTypeCache.find(key), notNullValue());
+        classFileLocator.classFiles.put(Base.class.getName(), new byte[]{4, 5, 6});
+        assertThat(persistentTypeCache.find(key), nullValue(DynamicType.Unloaded.class));
+        assertThat(directory.listFiles().length, is(0));
+    }
+
+    @Test
+    public void testStaleEntryOfInheritedInterfaceIsReplaced() throws Exception {
+        MapClassFileLocator classFileLocator = new MapClassFileLocator();
+        classFileLocator.classFiles.put(Serializable.class.getName(), new byte[]{1, 2, 3});
+        PersistentTypeCache persistentTypeCache = new PersistentTypeCache(new PersistentTypeCache.Storage.ForDirectory(directory),
+                classFileLocator);
+        persistentTypeCache.make(subclassBuilder());
+        String key = PersistentTypeCache.keyOf(subclassBuilder());
+        assertThat(persistentTypeCache.find(key), notNullValue());
+        classFileLocator.classFiles.put(Serializable.class.getName(), new byte[]{4, 5, 6});
+        assertThat(persistentTypeCache.find(key), nullValue(DynamicType.Unloaded.class));
+    }
+
+    @Test
+    public void testTruncatedEntryIsRemoved() throws Exception {
+        PersistentTypeCache.Storage storage = new PersistentTypeCache.Storage.ForDirectory(directory);
+        PersistentTypeCache persistentTypeCache = new PersistentTypeCache(storage, ClassFileLocator.Default.CLASS_PATH);
+        persistentTypeCache.make(builder());
+        String key = PersistentTypeCache.keyOf(builder());
+        byte[] entry = storage.read(key);
+        for (int length = entry.length - 1; length > 0; length -= Math.max(1, entry.length / 16)) {
+            storage.write(key, Arrays.copyOf(entry, length));
+            assertThat(persistentTypeCache.find(key), nullValue(DynamicType.Unloaded.class));
+            assertThat(storage.read(key), nullValue(byte[].class));
+        }
+    }
+
+    @Test
+    public void testEntryWithIllegalLengthIsRemoved() throws Exception {
+        PersistentTypeCache.Storage storage = new PersistentTypeCache.Storage.ForDirectory(directory);
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream);
+        outputStream.writeInt(0xB0DDCAC7);
+        outputStream.writeUTF(FOO);
+        outputStream.writeInt(0);
+        outputStream.writeInt(1);
+        outputStream.writeUTF(BAR);
+        outputStream.writeInt(Integer.MAX_VALUE);
+        outputStream.close();
+        storage.write(FOO, byteArrayOutputStream.toByteArray());
+        assertThat(new PersistentTypeCache(storage, ClassFileLocator.Default.CLASS_PATH).find(FOO),
+                nullValue(DynamicType.Unloaded.class));
+        assertThat(storage.read(FOO), nullValue(byte[].class));
+    }
+
+    @Test
+    public void testEntryWithIllegalClassFileIsRemoved() throws Exception {
+        PersistentTypeCache.Storage storage = new PersistentTypeCache.Storage.ForDirectory(directory);
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream);
+        outputStream.writeInt(0xB0DDCAC7);
+        outputStream.writeUTF(FOO);
+        outputStream.writeInt(0);
+        outputStream.writeInt(1);
+        outputStream.writeUTF(BAR);
+        outputStream.writeInt(3);
+        outputStream.write(new byte[]{1, 2, 3});
+        outputStream.close();
+        storage.write(FOO, byteArrayOutputStream.toByteArray());
+        assertThat(new PersistentTypeCache(storage, ClassFileLocator.Default.CLASS_PATH).find(FOO),
+                nullValue(DynamicType.Unloaded.class));
+        assertThat(storage.read(FOO), nullValue(byte[].class));
+    }
+
+    @Test
+    public void testStorageForDirectoryLeavesNoTemporaryFiles() throws Exception {
+        PersistentTypeCache.Storage storage = new PersistentTypeCache.Storage.ForDirectory(directory);
+        storage.write(FOO, new byte[]{1});
+        storage.write(BAR, new byte[]{2});
+        assertThat(directory.listFiles().length, is(2));
+        for (File file : directory.listFiles()) {
+            assertThat(file.getName().endsWith(".cache"), is(true));
+        }
+    }
+
+    @Test
+    public void testStorageForDirectory() throws Exception {
+        PersistentTypeCache.Storage storage = new PersistentTypeCache.Storage.ForDirectory(new File(directory, FOO));
+        assertThat(storage.read(FOO), nullValue(byte[].class));
+        storage.write(FOO, new byte[]{1});
+        storage.write(FOO, new byte[]{2});
+        assertThat(storage.read(FOO), is(new byte[]{2}));
+        assertThat(storage.read(BAR), nullValue(byte[].class));
+        storage.remove(FOO);
+        assertThat(storage.read(FOO), nullValue(byte[].class));
+    }
+
+    private static DynamicType.Builder<Object> builder() {
+        return new ByteBuddy()
+                .withNamingStrategy(new NamingStrategy.SuffixingHash(FOO))
+                .subclass(Object.class)
+                .method(named("toString")).intercept(FixedValue.value(BAR));
+    }
+
+    private static DynamicType.Builder<Sub> subclassBuilder() {
+        return new ByteBuddy()
+                .withNamingStrategy(new NamingStrategy.SuffixingHash(FOO))
+                .subclass(Sub.class);
+    }
+
+    private static DynamicType.Builder<Object> delegatingBuilder() {
+        return new ByteBuddy()
+                .withNamingStrategy(new NamingStrategy.SuffixingHash(FOO))
+                .subclass(Object.class)
+                .method(named("toString")).intercept(MethodDelegation.to(Interceptor.class));
+    }
+
+    public static class Interceptor {
+
+        public static String intercept() {
+            return BAR;
+        }
+    }
+
+    public static class StatefulInterceptor {
+
+        private final Object state = new Object();
+
+        public String intercept() {
+            return BAR;
+        }
+    }
+
+    public static class Base implements Serializable {
+        /* empty */
+    }
+
+    public static class Sub extends Base {
+        /* empty */
+    }
+
+    private static class MapClassFileLocator implements ClassFileLocator.Named {
+
+        private final Map<String, byte[]> classFiles = new HashMap<String, byte[]>();
+
+        @Override
+        public InputStream classFileFor(TypeDescription typeDescription) {
+            return classFileFor(typeDescription.getName());
+        }
+
+        @Override
+        public InputStream classFileFor(String typeName) {
+            byte[] classFile = classFiles.get(typeName);
+            return classFile == null
+                    ? null
+                    : new ByteArrayInputStream(classFile);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package net.bytebuddy.dynamic;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class TypeCacheTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final int MAXIMUM_ATTEMPTS = 100;
+
+    private TypeCache<String> typeCache;
+
+    private ClassLoader classLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        typeCache = new TypeCache<String>();
+        classLoader = new URLClassLoader(new URL[0]);
+    }
+
+    @Test
+    public void testFindEmpty() throws Exception {
+        assertThat(typeCache.find(classLoader, FOO), nullValue(Class.class));
+    }
+
+    @Test
+    public void testInsertAndFind() throws Exception {
+        assertThat(typeCache.insert(classLoader, FOO, Object.class), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, FOO), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, BAR), nullValue(Class.class));
+        assertThat(typeCache.find(null, FOO), nullValue(Class.class));
+        assertThat(typeCache.find(new URLClassLoader(new URL[0]), FOO), nullValue(Class.class));
+    }
+
+    @Test
+    public void testInsertDoesNotOverride() throws Exception {
+        typeCache.insert(classLoader, FOO, Object.class);
+        assertThat(typeCache.insert(classLoader, FOO, String.class), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, FOO), is((Object) Object.class));
+    }
+
+    @Test
+    public void testBootstrapClassLoader() throws Exception {
+        typeCache.insert(null, FOO, Object.class);
+        assertThat(typeCache.find(null, FOO), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, FOO), nullValue(Class.class));
+    }
+
+    @Test
+    public void testFindOrInsert() throws Exception {
+        CountingCreator countingCreator = new CountingCreator(Object.class);
+        assertThat(typeCache.findOrInsert(classLoader, FOO, countingCreator), is((Object) Object.class));
+        assertThat(typeCache.findOrInsert(classLoader, FOO, countingCreator), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, FOO), is((Object) Object.class));
+        assertThat(countingCreator.count.get(), is(1));
+    }
+
+    @Test
+    public void testFindOrInsertConcurrently() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1), release = new CountDownLatch(1);
+        final AtomicInteger count = new AtomicInteger();
+        final Callable<Class<?>> creator = new Callable<Class<?>>() {
+            @Override
+            public Class<?> call() throws Exception {
+                count.incrementAndGet();
+                started.countDown();
+                release.await();
+                return Object.class;
+            }
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Class<?>> first = executorService.submit(new Callable<Class<?>>() {
+                @Override
+                public Class<?> call() throws Exception {
+                    return typeCache.findOrInsert(classLoader, FOO, creator);
+                }
+            });
+            started.await();
+            Future<Class<?>> second = executorService.submit(new Callable<Class<?>>() {
+                @Override
+                public Class<?> call() throws Exception {
+                    return typeCache.findOrInsert(classLoader, FOO, creator);
+                }
+            });
+            release.countDown();
+            assertThat(first.get(), is((Object) Object.class));
+            assertThat(second.get(), is((Object) Object.class));
+            assertThat(count.get(), is(1));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testFindOrInsertFailureIsNotCached() throws Exception {
+        try {
+            typeCache.findOrInsert(classLoader, FOO, new Callable<Class<?>>() {
+                @Override
+                public Class<?> call() throws Exception {
+                    throw new IllegalArgumentException();
+                }
+            });
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            /* expected */
+        }
+        assertThat(typeCache.find(classLoader, FOO), nullValue(Class.class));
+        assertThat(typeCache.findOrInsert(classLoader, FOO, new CountingCreator(Object.class)), is((Object) Object.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFindOrInsertCheckedFailure() throws Exception {
+        typeCache.findOrInsert(classLoader, FOO, new Callable<Class<?>>() {
+            @Override
+            public Class<?> call() throws Exception {
+                throw new Exception();
+            }
+        });
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        typeCache.insert(classLoader, FOO, Object.class);
+        typeCache.insert(null, FOO, Object.class);
+        typeCache.clear(classLoader);
+        assertThat(typeCache.find(classLoader, FOO), nullValue(Class.class));
+        assertThat(typeCache.find(null, FOO), is((Object) Object.class));
+        typeCache.clear();
+        assertThat(typeCache.find(null, FOO), nullValue(Class.class));
+    }
+
+    @Test
+    public void testSingleSegment() throws Exception {
+        TypeCache<String> typeCache = new TypeCache<String>(1);
+        typeCache.insert(classLoader, FOO, Object.class);
+        typeCache.insert(classLoader, BAR, String.class);
+        assertThat(typeCache.find(classLoader, FOO), is((Object) Object.class));
+        assertThat(typeCache.find(classLoader, BAR), is((Object) String.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSegmentCount() throws Exception {
+        new TypeCache<String>(0);
+    }
+
+    @Test
+    public void testWeakTypeIsRetainedWhileReferenced() throws Exception {
+        TypeCache<String> typeCache = new TypeCache<String>(TypeCache.Sort.WEAK);
+        typeCache.insert(classLoader, FOO, Object.class);
+        assertThat(typeCache.find(classLoader, FOO), is((Object) Object.class));
+    }
+
+    @Test
+    public void testClassLoaderIsCollected() throws Exception {
+        TypeCache<String> typeCache = new TypeCache<String>(TypeCache.Sort.WEAK);
+        Reference<ClassLoader> classLoader = insertIsolated(typeCache);
+        for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS && classLoader.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertThat(classLoader.get(), nullValue(ClassLoader.class));
+    }
+
+    private static Reference<ClassLoader> insertIsolated(TypeCache<String> typeCache) throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[]{Isolated.class.getProtectionDomain().getCodeSource().getLocation()}, null);
+        Class<?> type = classLoader.loadClass(Isolated.class.getName());
+        assertThat(type.getClassLoader(), is(classLoader));
+        assertThat(typeCache.insert(classLoader, FOO, type), is((Object) type));
+        assertThat(typeCache.find(classLoader, FOO), is((Object) type));
+        return new WeakReference<ClassLoader>(classLoader);
+    }
+
+    public static class Isolated {
+        /* empty */
+    }
+
+    private static class CountingCreator implements Callable<Class<?>> {
+
+        private final Class<?> type;
+
+        private final AtomicInteger count;
+
+        private CountingCreator(Class<?> type) {
+            this.type = type;
+            count = new AtomicInteger();
+        }
+
+        @Override
+        public Class<?> call() throws Exception {
+            count.incrementAndGet();
+            return type;
+        }
+    }
+}
@@ -13,10 +13,16 @@ import org.objectweb.asm.commons.SimpleRemapper;
 
 import java.io.InputStream;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -34,6 +40,8 @@ public class ByteArrayClassLoaderChildFirstTest {
 
     private final Matcher<InputStream> expectedResourceLookup;
 
+    private static final int THREADS = 8;
+
     private ClassLoader classLoader;
 
     public ByteArrayClassLoaderChildFirstTest(ByteArrayClassLoader.PersistenceHandler persistenceHandler,
@@ -58,6 +66,35 @@ public class ByteArrayClassLoaderChildFirstTest {
         classLoader = new ByteArrayClassLoader.ChildFirst(getClass().getClassLoader(), values, DEFAULT_PROTECTION_DOMAIN, persistenceHandler);
     }
 
+    @Test
+    public void testConcurrentLoading() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Class<?>>> futures = new ArrayList<Future<Class<?>>>(THREADS);
+            for (int index = 0; index < THREADS; index++) {
+                futures.add(executorService.submit(new Callable<Class<?>>() {
+                    @Override
+                    public Class<?> call() throws Exception {
+                        return classLoader.loadClass(Foo.class.getName());
+                    }
+                }));
+            }
+            Class<?> type = classLoader.loadClass(Foo.class.getName());
+            for (Future<Class<?>> future : futures) {
+                assertThat(future.get(), is((Object) type));
+            }
+            assertThat(type.getClassLoader(), is(classLoader));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testClassLoadingLockIsStable() throws Exception {
+        Object lock = ((ByteArrayClassLoader) classLoader).classLoadingLock(Foo.class.getName());
+        assertThat(((ByteArrayClassLoader) classLoader).classLoadingLock(Foo.class.getName()), is(lock));
+    }
+
     @Test
     public void testResourceLookupBeforeLoading() throws Exception {
         InputStream inputStream = classLoader.getResourceAsStream(Foo.class.getName().replace('.', '/') + CLASS_FILE);
@@ -7,14 +7,21 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -27,20 +34,23 @@ public class ByteArrayClassLoaderTest {
     private static final ProtectionDomain DEFAULT_PROTECTION_DOMAIN = null;
     private static final String BAR = "bar", CLASS_FILE = ".class";
     private final ByteArrayClassLoader.PersistenceHandler persistenceHandler;
-    private final Matcher<InputStream> expectedResourceLookup;
+    private final Matcher<byte[]> expectedResource;
+    private static final int THREADS = 8;
+
     private ClassLoader classLoader;
 
     public ByteArrayClassLoaderTest(ByteArrayClassLoader.PersistenceHandler persistenceHandler,
-                                    Matcher<InputStream> expectedResourceLookup) {
+                                    Matcher<byte[]> expectedResource) {
         this.persistenceHandler = persistenceHandler;
-        this.expectedResourceLookup = expectedResourceLookup;
+        this.expectedResource = expectedResource;
     }
 
     @Parameterized.Parameters
-    public static Collection<Object[]> data() {
+    public static Collection<Object[]> data() throws Exception {
         return Arrays.asList(new Object[][]{
-                {ByteArrayClassLoader.PersistenceHandler.LATENT, nullValue(InputStream.class)},
-                {ByteArrayClassLoader.PersistenceHandler.MANIFEST, notNullValue(InputStream.class)}
+                {ByteArrayClassLoader.PersistenceHandler.LATENT, nullValue(byte[].class)},
+                {ByteArrayClassLoader.PersistenceHandler.MANIFEST, is(ClassFileExtraction.extract(Foo.class))},
+                {ByteArrayClassLoader.PersistenceHandler.MANIFEST_COMPRESSED, is(ClassFileExtraction.extract(Foo.class))}
         });
     }
 
@@ -50,6 +60,35 @@ public class ByteArrayClassLoaderTest {
         classLoader = new ByteArrayClassLoader(BOOTSTRAP_CLASS_LOADER, values, DEFAULT_PROTECTION_DOMAIN, persistenceHandler);
     }
 
+    @Test
+    public void testConcurrentLoading() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Class<?>>> futures = new ArrayList<Future<Class<?>>>(THREADS);
+            for (int index = 0; index < THREADS; index++) {
+                futures.add(executorService.submit(new Callable<Class<?>>() {
+                    @Override
+                    public Class<?> call() throws Exception {
+                        return classLoader.loadClass(Foo.class.getName());
+                    }
+                }));
+            }
+            Class<?> type = classLoader.loadClass(Foo.class.getName());
+            for (Future<Class<?>> future : futures) {
+                assertThat(future.get(), is((Object) type));
+            }
+            assertThat(type.getClassLoader(), is(classLoader));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testClassLoadingLockIsStable() throws Exception {
+        Object lock = ((ByteArrayClassLoader) classLoader).classLoadingLock(Foo.class.getName());
+        assertThat(((ByteArrayClassLoader) classLoader).classLoadingLock(Foo.class.getName()), is(lock));
+    }
+
     @Test
     public void testSuccessfulHit() throws Exception {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is(classLoader));
@@ -58,27 +97,13 @@ public class ByteArrayClassLoaderTest {
 
     @Test
     public void testResourceLookupBeforeLoading() throws Exception {
-        InputStream inputStream = classLoader.getResourceAsStream(Foo.class.getName().replace('.', '/') + CLASS_FILE);
-        try {
-            assertThat(inputStream, expectedResourceLookup);
-        } finally {
-            if (inputStream != null) {
-                inputStream.close();
-            }
-        }
+        assertThat(resourceOf(Foo.class), expectedResource);
     }
 
     @Test
     public void testResourceLookupAfterLoading() throws Exception {
         assertThat(classLoader.loadClass(Foo.class.getName()).getClassLoader(), is(classLoader));
-        InputStream inputStream = classLoader.getResourceAsStream(Foo.class.getName().replace('.', '/') + CLASS_FILE);
-        try {
-            assertThat(inputStream, expectedResourceLookup);
-        } finally {
-            if (inputStream != null) {
-                inputStream.close();
-            }
-        }
+        assertThat(resourceOf(Foo.class), expectedResource);
     }
 
     @Test(expected = ClassNotFoundException.class)
@@ -87,7 +112,54 @@ public class ByteArrayClassLoaderTest {
         classLoader.loadClass(BAR);
     }
 
+    @Test
+    public void testResourceLookupAfterRepeatedLookup() throws Exception {
+        resourceOf(Foo.class);
+        classLoader.loadClass(Foo.class.getName());
+        assertThat(resourceOf(Foo.class), expectedResource);
+    }
+
+    @Test
+    public void testAppend() throws Exception {
+        ByteArrayClassLoader byteArrayClassLoader = (ByteArrayClassLoader) classLoader;
+        assertThat(byteArrayClassLoader.append(Collections.singletonMap(Bar.class.getName(), ClassFileExtraction.extract(Bar.class))), is(true));
+        assertThat(classLoader.loadClass(Bar.class.getName()).getClassLoader(), is(classLoader));
+        assertThat(byteArrayClassLoader.append(Collections.singletonMap(Bar.class.getName(), ClassFileExtraction.extract(Bar.class))), is(false));
+        assertThat(byteArrayClassLoader.append(Collections.singletonMap(Foo.class.getName(), ClassFileExtraction.extract(Foo.class))), is(false));
+    }
+
+    @Test
+    public void testAppendIsRevertedOnConflict() throws Exception {
+        ByteArrayClassLoader byteArrayClassLoader = (ByteArrayClassLoader) classLoader;
+        Map<String, byte[]> typeDefinitions = new LinkedHashMap<String, byte[]>();
+        typeDefinitions.put(Bar.class.getName(), ClassFileExtraction.extract(Bar.class));
+        typeDefinitions.put(Foo.class.getName(), ClassFileExtraction.extract(Foo.class));
+        assertThat(byteArrayClassLoader.append(typeDefinitions), is(false));
+        assertThat(byteArrayClassLoader.append(Collections.singletonMap(Bar.class.getName(), ClassFileExtraction.extract(Bar.class))), is(true));
+    }
+
+    private byte[] resourceOf(Class<?> type) throws Exception {
+        InputStream inputStream = classLoader.getResourceAsStream(type.getName().replace('.', '/') + CLASS_FILE);
+        if (inputStream == null) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            int value;
+            while ((value = inputStream.read()) != -1) {
+                outputStream.write(value);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+
     private static class Foo {
         /* Note: Foo is know to the system class loader but not to the bootstrap class loader */
     }
+
+    private static class Bar {
+        /* empty */
+    }
 }
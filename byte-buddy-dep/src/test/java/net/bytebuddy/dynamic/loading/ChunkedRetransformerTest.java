@@ -0,0 +1,236 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import net.bytebuddy.utility.MockitoRule;
+import net.bytebuddy.utility.ToolsJarRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.*;
+
+public class ChunkedRetransformerTest {
+
+    private static final long LONG_PAUSE = 1L, NO_PAUSE = 0L, FALLBACK_PAUSE = 100L, TARGET_PAUSE = 50L;
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Rule
+    public MethodRule toolsJarRule = new ToolsJarRule();
+
+    @Mock
+    private Instrumentation instrumentation;
+
+    private List<List<Class<?>>> chunks;
+
+    @Before
+    public void setUp() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        when(instrumentation.isModifiableClass(any(Class.class))).thenReturn(true);
+        chunks = new ArrayList<List<Class<?>>>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                List<Class<?>> chunk = new ArrayList<Class<?>>();
+                for (Object argument : invocation.getArguments()) {
+                    chunk.add((Class<?>) argument);
+                }
+                chunks.add(chunk);
+                return null;
+            }
+        }).when(instrumentation).retransformClasses((Class<?>[]) anyVararg());
+    }
+
+    @Test
+    public void testHierarchyOrder() throws Exception {
+        List<Class<?>> ordered = ChunkedRetransformer.orderByHierarchy(Arrays.<Class<?>>asList(Qux.class, Bar.class, Baz.class, Foo.class));
+        assertThat(ordered.indexOf(Foo.class) < ordered.indexOf(Bar.class), is(true));
+        assertThat(ordered.indexOf(Bar.class) < ordered.indexOf(Qux.class), is(true));
+        assertThat(ordered.indexOf(Baz.class) < ordered.indexOf(Qux.class), is(true));
+    }
+
+    @Test
+    public void testChunksGrowForShortPauses() throws Exception {
+        ChunkedRetransformer.Report report = new ChunkedRetransformer(instrumentation, 1L, TimeUnit.HOURS, 1)
+                .retransform(Foo.class, Bar.class, Baz.class, Qux.class, Object.class, String.class, Integer.class);
+        assertThat(report.getChunks().size(), is(3));
+        assertThat(report.getChunks().get(0).getSize(), is(1));
+        assertThat(report.getChunks().get(1).getSize(), is(2));
+        assertThat(report.getChunks().get(2).getSize(), is(4));
+        assertThat(chunks.size(), is(3));
+        assertThat(report.getSkipped().size(), is(0));
+        assertThat(report.getFailures().size(), is(0));
+    }
+
+    @Test
+    public void testChunksShrinkForLongPauses() throws Exception {
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                Thread.sleep(LONG_PAUSE);
+                return null;
+            }
+        }).when(instrumentation).retransformClasses((Class<?>[]) anyVararg());
+        ChunkedRetransformer.Report report = new ChunkedRetransformer(instrumentation, NO_PAUSE, TimeUnit.NANOSECONDS, 2)
+                .retransform(Foo.class, Bar.class, Baz.class, Qux.class);
+        assertThat(report.getChunks().size(), is(3));
+        assertThat(report.getChunks().get(0).getSize(), is(2));
+        assertThat(report.getChunks().get(1).getSize(), is(1));
+        assertThat(report.getChunks().get(2).getSize(), is(1));
+        assertThat(report.getMaximumPause(TimeUnit.NANOSECONDS) >= TimeUnit.MILLISECONDS.toNanos(LONG_PAUSE), is(true));
+    }
+
+    @Test
+    public void testUnmodifiableClassIsSkipped() throws Exception {
+        when(instrumentation.isModifiableClass(Bar.class)).thenReturn(false);
+        ChunkedRetransformer.Report report = new ChunkedRetransformer(instrumentation, 1L, TimeUnit.HOURS, 10)
+                .retransform(Foo.class, Bar.class);
+        assertThat(report.getSkipped(), is(Arrays.<Class<?>>asList(Bar.class)));
+        assertThat(chunks.size(), is(1));
+        assertThat(chunks.get(0), is(Arrays.<Class<?>>asList(Foo.class)));
+    }
+
+    @Test
+    public void testFailingChunkIsRetransformedIndividually() throws Exception {
+        final UnmodifiableClassException exception = new UnmodifiableClassException();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                if (Arrays.asList(invocation.getArguments()).contains(Baz.class)) {
+                    throw exception;
+                }
+                return null;
+            }
+        }).when(instrumentation).retransformClasses((Class<?>[]) anyVararg());
+        ChunkedRetransformer.Report report = new ChunkedRetransformer(instrumentation, 1L, TimeUnit.HOURS, 10)
+                .retransform(Foo.class, Baz.class);
+        verify(instrumentation).retransformClasses(Foo.class);
+        assertThat(report.getFailures().size(), is(1));
+        assertThat(report.getFailures().get(Baz.class), is((Throwable) exception));
+        assertThat(report.getChunks().size(), is(1));
+    }
+
+    @Test
+    public void testFallbackIsNotConsideredForChunkSize() throws Exception {
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                if (invocation.getArguments().length == 1) {
+                    Thread.sleep(FALLBACK_PAUSE);
+                } else if (Arrays.asList(invocation.getArguments()).contains(Baz.class)) {
+                    throw new UnmodifiableClassException();
+                }
+                return null;
+            }
+        }).when(instrumentation).retransformClasses((Class<?>[]) anyVararg());
+        ChunkedRetransformer.Report report = new ChunkedRetransformer(instrumentation, TARGET_PAUSE, TimeUnit.MILLISECONDS, 2)
+                .retransform(Foo.class, Bar.class, Baz.class, Qux.class);
+        assertThat(report.getChunks().size(), is(2));
+        assertThat(report.getChunks().get(0).getSize(), is(2));
+        assertThat(report.getChunks().get(0).getPause(TimeUnit.MILLISECONDS) < TARGET_PAUSE, is(true));
+        assertThat(report.getChunks().get(0).getFallback(TimeUnit.MILLISECONDS) >= 2 * FALLBACK_PAUSE, is(true));
+        assertThat(report.getChunks().get(0).isRetransformedIndividually(), is(true));
+        assertThat(report.getChunks().get(1).getSize(), is(2));
+        assertThat(report.getChunks().get(1).getFallback(TimeUnit.NANOSECONDS), is(0L));
+        assertThat(report.getChunks().get(1).isRetransformedIndividually(), is(false));
+        assertThat(report.getMaximumPause(TimeUnit.MILLISECONDS) < TARGET_PAUSE, is(true));
+    }
+
+    @Test
+    public void testFailedChunkIsNotConsideredForChunkSize() throws Exception {
+        final AtomicBoolean failed = new AtomicBoolean();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                if (failed.compareAndSet(false, true)) {
+                    throw new UnmodifiableClassException();
+                }
+                return null;
+            }
+        }).when(instrumentation).retransformClasses((Class<?>[]) anyVararg());
+        ChunkedRetransformer.Report report = new ChunkedRetransformer(instrumentation, 1L, TimeUnit.HOURS, 2)
+                .retransform(Object.class, String.class, Integer.class, Long.class, Short.class, Byte.class, Float.class, Double.class);
+        assertThat(report.getChunks().size(), is(3));
+        assertThat(report.getChunks().get(0).getSize(), is(2));
+        assertThat(report.getChunks().get(0).isRetransformedIndividually(), is(true));
+        assertThat(report.getChunks().get(1).getSize(), is(2));
+        assertThat(report.getChunks().get(2).getSize(), is(4));
+        assertThat(report.getFailures().size(), is(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRetransformationNotSupported() throws Exception {
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(false);
+        new ChunkedRetransformer(instrumentation, 1L, TimeUnit.HOURS, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalInitialChunkSize() throws Exception {
+        new ChunkedRetransformer(instrumentation, 1L, TimeUnit.HOURS, 0);
+    }
+
+    @Test
+    @ToolsJarRule.Enforce
+    public void testAgentRetransformation() throws Exception {
+        assertThat(ByteBuddyAgent.installOnOpenJDK(), instanceOf(Instrumentation.class));
+        ChunkedRetransformer.Report report = ClassReloadingStrategy.fromInstalledAgent()
+                .chunkedRetransformer(1L, TimeUnit.SECONDS, 1)
+                .retransform(Foo.class, Bar.class, Baz.class, Qux.class, int.class);
+        assertThat(report.getSkipped(), is(Arrays.<Class<?>>asList(int.class)));
+        assertThat(report.getFailures().size(), is(0));
+        int size = 0;
+        for (ChunkedRetransformer.Chunk chunk : report.getChunks()) {
+            size += chunk.getSize();
+        }
+        assertThat(size, is(4));
+    }
+
+    @Test
+    public void testHashCodeEquals() throws Exception {
+        HashCodeEqualsTester.of(ChunkedRetransformer.class).refine(new HashCodeEqualsTester.Refinement() {
+            @Override
+            public void apply(Object mock) {
+                if (Instrumentation.class.isAssignableFrom(mock.getClass())) {
+                    when(((Instrumentation) mock).isRetransformClassesSupported()).thenReturn(true);
+                }
+            }
+        }).apply();
+        HashCodeEqualsTester.of(ChunkedRetransformer.Chunk.class).apply();
+        HashCodeEqualsTester.of(ChunkedRetransformer.Report.class).apply();
+    }
+
+    public static class Foo {
+        /* empty */
+    }
+
+    public static class Bar extends Foo {
+        /* empty */
+    }
+
+    public interface Baz {
+        /* empty */
+    }
+
+    public static class Qux extends Bar implements Baz {
+        /* empty */
+    }
+}
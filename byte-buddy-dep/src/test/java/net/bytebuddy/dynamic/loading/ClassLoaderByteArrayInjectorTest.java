@@ -1,5 +1,7 @@
 package net.bytebuddy.dynamic.loading;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.NamingStrategy;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.utility.ClassFileExtraction;
 import net.bytebuddy.utility.MockitoRule;
@@ -9,19 +11,25 @@ import org.junit.Test;
 import org.junit.rules.TestRule;
 import org.mockito.Mock;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 
 public class ClassLoaderByteArrayInjectorTest {
 
-    private static final String FOO = "foo";
+    private static final String FOO = "foo", QUX = "java.lang.Qux";
 
     private static final byte[] BYTE_ARRAY = new byte[42];
 
@@ -32,7 +40,7 @@ public class ClassLoaderByteArrayInjectorTest {
     private ClassLoaderByteArrayInjector mockInjector;
 
     @Mock
-    private TypeDescription typeDescription;
+    private TypeDescription typeDescription, otherTypeDescription;
 
     private ClassLoader classLoader;
     private ClassLoaderByteArrayInjector classLoaderByteArrayInjector;
@@ -51,17 +59,105 @@ public class ClassLoaderByteArrayInjectorTest {
 
     @Test
     public void testInjectionApplication() throws Exception {
-        when(typeDescription.getName()).thenReturn(FOO);
-        doReturn(Object.class).when(mockInjector).inject(FOO, BYTE_ARRAY);
-        Map<TypeDescription, Class<?>> result = ClassLoaderByteArrayInjector.inject(mockInjector, Collections.singletonMap(typeDescription, BYTE_ARRAY));
+        Map<TypeDescription, byte[]> types = Collections.singletonMap(typeDescription, BYTE_ARRAY);
+        doReturn(Collections.<TypeDescription, Class<?>>singletonMap(typeDescription, Object.class)).when(mockInjector).inject(types);
+        Map<TypeDescription, Class<?>> result = ClassLoaderByteArrayInjector.inject(mockInjector, types);
         assertThat(result.size(), is(1));
         assertThat(result.entrySet().iterator().next().getKey(), is(typeDescription));
         assertEquals(Object.class, result.entrySet().iterator().next().getValue());
-        verify(mockInjector).inject(FOO, BYTE_ARRAY);
+        verify(mockInjector).inject(types);
         verifyNoMoreInteractions(mockInjector);
     }
 
+    @Test
+    public void testBatchInjection() throws Exception {
+        when(typeDescription.getName()).thenReturn(Foo.class.getName());
+        when(otherTypeDescription.getName()).thenReturn(Bar.class.getName());
+        Map<TypeDescription, byte[]> types = new LinkedHashMap<TypeDescription, byte[]>();
+        types.put(typeDescription, ClassFileExtraction.extract(Foo.class));
+        types.put(otherTypeDescription, ClassFileExtraction.extract(Bar.class));
+        Map<TypeDescription, Class<?>> loadedTypes = classLoaderByteArrayInjector.inject(types);
+        assertThat(loadedTypes.size(), is(2));
+        assertThat(loadedTypes.get(typeDescription).getClassLoader(), is(classLoader));
+        assertThat(loadedTypes.get(otherTypeDescription).getClassLoader(), is(classLoader));
+        assertThat(loadedTypes.get(typeDescription).getName(), is(Foo.class.getName()));
+        assertEquals(loadedTypes.get(typeDescription), classLoader.loadClass(Foo.class.getName()));
+    }
+
+    @Test
+    public void testRepeatedInjectionReturnsLoadedClass() throws Exception {
+        Class<?> type = classLoaderByteArrayInjector.inject(Foo.class.getName(), ClassFileExtraction.extract(Foo.class));
+        assertEquals(type, classLoaderByteArrayInjector.inject(Foo.class.getName(), ClassFileExtraction.extract(Foo.class)));
+    }
+
+    @Test
+    public void testInjectionValidatesClassName() throws Exception {
+        byte[] binaryRepresentation = new ByteBuddy()
+                .withNamingStrategy(new NamingStrategy.Fixed(QUX))
+                .subclass(Object.class)
+                .make()
+                .getBytes();
+        try {
+            classLoaderByteArrayInjector.inject(QUX, binaryRepresentation);
+            fail();
+        } catch (IllegalStateException exception) {
+            assertThat(exception.getCause(), instanceOf(SecurityException.class));
+        }
+    }
+
+    @Test
+    public void testUnsafeInjection() throws Exception {
+        Class<?> type = ClassLoaderByteArrayInjector.usingUnsafe(classLoader, null)
+                .inject(Foo.class.getName(), ClassFileExtraction.extract(Foo.class));
+        assertThat(type.getClassLoader(), is(classLoader));
+        assertEquals(type, classLoader.loadClass(Foo.class.getName()));
+    }
+
+    @Test
+    public void testUnsafeClassDefinition() throws Exception {
+        Class<?> type = ClassLoaderByteArrayInjector.ClassDefinition.ForUnsafe.make(true)
+                .define(classLoader, Foo.class.getName(), ClassFileExtraction.extract(Foo.class), null);
+        assertThat(type.getName(), is(Foo.class.getName()));
+        assertThat(type.getClassLoader(), is(classLoader));
+        assertThat(type.getProtectionDomain().getClassLoader(), is(classLoader));
+        assertThat(type.getProtectionDomain().getCodeSource().getLocation(), nullValue(URL.class));
+        assertEquals(type, classLoader.loadClass(Foo.class.getName()));
+    }
+
+    @Test
+    public void testClassLoaderClassDefinitionByMethodHandle() throws Exception {
+        Class<?> type = ClassLoaderByteArrayInjector.ClassDefinition.ForClassLoader.make(true)
+                .define(classLoader, Foo.class.getName(), ClassFileExtraction.extract(Foo.class), null);
+        assertThat(type.getName(), is(Foo.class.getName()));
+        assertThat(type.getClassLoader(), is(classLoader));
+        assertEquals(type, classLoader.loadClass(Foo.class.getName()));
+    }
+
+    @Test
+    public void testClassLoaderClassDefinitionByReflection() throws Exception {
+        Class<?> type = ClassLoaderByteArrayInjector.ClassDefinition.ForClassLoader.make(false)
+                .define(classLoader, Foo.class.getName(), ClassFileExtraction.extract(Foo.class), null);
+        assertThat(type.getName(), is(Foo.class.getName()));
+        assertThat(type.getClassLoader(), is(classLoader));
+        assertEquals(type, classLoader.loadClass(Foo.class.getName()));
+    }
+
+    @Test
+    public void testMethodHandleInvokerWrapsException() throws Exception {
+        Method method = ClassLoader.class.getDeclaredMethod("loadClass", String.class);
+        try {
+            ClassLoaderByteArrayInjector.Invoker.ForMethodHandle.of(method).invoke(classLoader, FOO);
+            fail();
+        } catch (InvocationTargetException exception) {
+            assertThat(exception.getCause(), instanceOf(ClassNotFoundException.class));
+        }
+    }
+
     private static class Foo {
         /* Note: Foo is know to the system class loader but not to the bootstrap class loader */
     }
+
+    private static class Bar {
+        /* empty */
+    }
 }
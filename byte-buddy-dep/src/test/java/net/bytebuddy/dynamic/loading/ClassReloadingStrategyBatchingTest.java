@@ -0,0 +1,254 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.ClassFileExtraction;
+import net.bytebuddy.utility.MockitoRule;
+import net.bytebuddy.utility.ToolsJarRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.MethodRule;
+import org.junit.rules.TestRule;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.lang.instrument.ClassDefinition;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ClassReloadingStrategyBatchingTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private static final long DELAY = 10L;
+
+    @Rule
+    public MethodRule toolsJarRule = new ToolsJarRule();
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private Instrumentation instrumentation;
+
+    @Mock
+    private ScheduledExecutorService scheduledExecutorService;
+
+    @Mock
+    private ScheduledFuture<?> scheduledFuture;
+
+    private ClassReloadingStrategy classReloadingStrategy;
+
+    private Map<TypeDescription, byte[]> fooType, barType;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        when(scheduledExecutorService.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .thenReturn((ScheduledFuture) scheduledFuture);
+        classReloadingStrategy = new ClassReloadingStrategy(instrumentation, ClassReloadingStrategy.Engine.REDEFINITION);
+        fooType = Collections.<TypeDescription, byte[]>singletonMap(TypeDescription.ForLoadedType.of(Foo.class),
+                ClassFileExtraction.extract(Foo.class));
+        barType = Collections.<TypeDescription, byte[]>singletonMap(TypeDescription.ForLoadedType.of(Bar.class),
+                ClassFileExtraction.extract(Bar.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCoalescing() throws Exception {
+        ClassReloadingStrategy.Batching batching = classReloadingStrategy.batched(10);
+        assertThat(batching.load(Foo.class.getClassLoader(), fooType).get(fooType.keySet().iterator().next()), is((Object) Foo.class));
+        batching.load(Foo.class.getClassLoader(), fooType);
+        assertThat(batching.getQueueSize(), is(1));
+        assertThat(batching.getRequestedRedefinitions(), is(2L));
+        assertThat(batching.getAppliedRedefinitions(), is(0L));
+        verify(instrumentation, never()).redefineClasses((ClassDefinition[]) anyVararg());
+        batching.flush();
+        ArgumentCaptor<ClassDefinition> captor = ArgumentCaptor.forClass(ClassDefinition.class);
+        verify(instrumentation).redefineClasses(captor.capture());
+        assertThat(captor.getAllValues().size(), is(1));
+        assertThat(captor.getValue().getDefinitionClass(), is((Object) Foo.class));
+        assertThat(batching.getQueueSize(), is(0));
+        assertThat(batching.getAppliedRedefinitions(), is(1L));
+        batching.flush();
+        verify(instrumentation).redefineClasses((ClassDefinition[]) anyVararg());
+    }
+
+    @Test
+    public void testExplicitFlushCancelsScheduledFlush() throws Exception {
+        ClassReloadingStrategy.Batching batching = classReloadingStrategy.batched(10, DELAY, TimeUnit.MILLISECONDS, scheduledExecutorService);
+        batching.load(Foo.class.getClassLoader(), fooType);
+        batching.flush();
+        verify(scheduledFuture).cancel(false);
+        verify(instrumentation).redefineClasses(any(ClassDefinition.class));
+    }
+
+    @Test
+    public void testMaximumSize() throws Exception {
+        ClassReloadingStrategy.Batching batching = classReloadingStrategy.batched(2);
+        batching.load(Foo.class.getClassLoader(), fooType);
+        verify(instrumentation, never()).redefineClasses((ClassDefinition[]) anyVararg());
+        batching.load(Bar.class.getClassLoader(), barType);
+        verify(instrumentation).redefineClasses(any(ClassDefinition.class), any(ClassDefinition.class));
+        assertThat(batching.getQueueSize(), is(0));
+        assertThat(batching.getRequestedRedefinitions(), is(2L));
+        assertThat(batching.getAppliedRedefinitions(), is(1L));
+    }
+
+    @Test
+    public void testScheduledFlush() throws Exception {
+        ClassReloadingStrategy.Batching batching = classReloadingStrategy.batched(10, DELAY, TimeUnit.MILLISECONDS, scheduledExecutorService);
+        batching.load(Foo.class.getClassLoader(), fooType);
+        batching.load(Bar.class.getClassLoader(), barType);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduledExecutorService).schedule(captor.capture(), eq(DELAY), eq(TimeUnit.MILLISECONDS));
+        captor.getValue().run();
+        verify(instrumentation).redefineClasses(any(ClassDefinition.class), any(ClassDefinition.class));
+        verify(scheduledFuture, never()).cancel(anyBoolean());
+        assertThat(batching.getQueueSize(), is(0));
+        assertThat(batching.getAppliedRedefinitions(), is(1L));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testScheduledFlushFailureIsReported() throws Exception {
+        doThrow(new UnmodifiableClassException()).when(instrumentation).redefineClasses((ClassDefinition[]) anyVararg());
+        ClassReloadingStrategy.Batching batching = classReloadingStrategy.batched(10, DELAY, TimeUnit.MILLISECONDS, scheduledExecutorService);
+        batching.load(Foo.class.getClassLoader(), fooType);
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduledExecutorService).schedule(captor.capture(), eq(DELAY), eq(TimeUnit.MILLISECONDS));
+        captor.getValue().run();
+        batching.flush();
+    }
+
+    @Test
+    public void testFailedFlushRetainsQueue() throws Exception {
+        doThrow(new UnmodifiableClassException()).when(instrumentation).redefineClasses((ClassDefinition[]) anyVararg());
+        ClassReloadingStrategy.Batching batching = classReloadingStrategy.batched(10);
+        batching.load(Foo.class.getClassLoader(), fooType);
+        try {
+            batching.flush();
+            fail();
+        } catch (IllegalStateException ignored) {
+            /* expected */
+        }
+        assertThat(batching.getQueueSize(), is(1));
+        assertThat(batching.getAppliedRedefinitions(), is(0L));
+        doNothing().when(instrumentation).redefineClasses((ClassDefinition[]) anyVararg());
+        batching.flush();
+        verify(instrumentation, times(2)).redefineClasses(any(ClassDefinition.class));
+        assertThat(batching.getQueueSize(), is(0));
+        assertThat(batching.getAppliedRedefinitions(), is(1L));
+    }
+
+    @Test
+    public void testSnapshotIsCapturedByNoOpRetransformation() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        final byte[] original = new byte[]{1, 2, 3}, redefined = new byte[]{4, 5, 6};
+        when(instrumentation.isRetransformClassesSupported()).thenReturn(true);
+        final AtomicReference<ClassFileTransformer> transformer = new AtomicReference<ClassFileTransformer>();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                transformer.set((ClassFileTransformer) invocation.getArguments()[0]);
+                return null;
+            }
+        }).when(instrumentation).addTransformer(any(ClassFileTransformer.class), eq(true));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                for (Object argument : invocation.getArguments()) {
+                    Class<?> type = (Class<?>) argument;
+                    assertThat(transformer.get().transform(type.getClassLoader(),
+                            type.getName(),
+                            type,
+                            type.getProtectionDomain(),
+                            original), nullValue(byte[].class));
+                }
+                return null;
+            }
+        }).when(instrumentation).retransformClasses((Class<?>[]) anyVararg());
+        ClassReloadingStrategy.Batching batching = classReloadingStrategy.batched(10);
+        batching.load(type.getClassLoader(), Collections.<TypeDescription, byte[]>singletonMap(TypeDescription.ForLoadedType.of(type), redefined));
+        verify(instrumentation, never()).retransformClasses((Class<?>[]) anyVararg());
+        batching.flush();
+        verify(instrumentation).removeTransformer(transformer.get());
+        verify(instrumentation).retransformClasses(type);
+        ArgumentCaptor<ClassDefinition> captor = ArgumentCaptor.forClass(ClassDefinition.class);
+        verify(instrumentation).redefineClasses(captor.capture());
+        assertThat(captor.getValue().getDefinitionClassFile(), is(redefined));
+        new ClassReloadingStrategy(instrumentation, ClassReloadingStrategy.Engine.REDEFINITION).batched(10).reset(type).flush();
+        verify(instrumentation, times(2)).redefineClasses(captor.capture());
+        assertThat(captor.getValue().getDefinitionClassFile(), is(original));
+        verify(instrumentation).retransformClasses((Class<?>[]) anyVararg());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMaximumSize() throws Exception {
+        classReloadingStrategy.batched(0);
+    }
+
+    @Test
+    @ToolsJarRule.Enforce
+    public void testBatchedReloading() throws Exception {
+        assertThat(ByteBuddyAgent.installOnOpenJDK(), instanceOf(Instrumentation.class));
+        Foo foo = new Foo();
+        ClassReloadingStrategy.Batching batching = ClassReloadingStrategy.fromInstalledAgent().batched(10);
+        new ByteBuddy()
+                .redefine(Foo.class)
+                .method(named(FOO))
+                .intercept(FixedValue.value(BAR))
+                .make()
+                .load(Foo.class.getClassLoader(), batching);
+        assertThat(foo.foo(), is(FOO));
+        batching.flush();
+        assertThat(foo.foo(), is(BAR));
+        batching.reset(Foo.class);
+        assertThat(foo.foo(), is(BAR));
+        batching.flush();
+        assertThat(foo.foo(), is(FOO));
+        assertThat(batching.getRequestedRedefinitions(), is(2L));
+        assertThat(batching.getAppliedRedefinitions(), is(2L));
+    }
+
+    public static class Foo {
+
+        public String foo() {
+            return FOO;
+        }
+    }
+
+    public static class Bar {
+
+        public String bar() {
+            return BAR;
+        }
+    }
+}
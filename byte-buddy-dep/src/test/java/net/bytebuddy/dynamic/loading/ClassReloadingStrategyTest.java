@@ -2,6 +2,7 @@ package net.bytebuddy.dynamic.loading;
 
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.instrumentation.FixedValue;
 import net.bytebuddy.utility.HashCodeEqualsTester;
 import net.bytebuddy.utility.ToolsJarRule;
@@ -15,12 +16,13 @@ import java.lang.instrument.Instrumentation;
 import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
 
 public class ClassReloadingStrategyTest {
 
-    private static final String FOO = "foo", BAR = "bar";
+    private static final String FOO = "foo", BAR = "bar", TO_STRING = "toString";
 
     @Rule
     public MethodRule toolsJarRule = new ToolsJarRule();
@@ -90,6 +92,42 @@ public class ClassReloadingStrategyTest {
         assertThat(foo.foo(), is(FOO));
     }
 
+    @Test
+    @ToolsJarRule.Enforce
+    public void testResetWithoutClassFile() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .method(named(TO_STRING))
+                .intercept(FixedValue.value(FOO))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Object instance = type.newInstance();
+        assertThat(instance.toString(), is(FOO));
+        ClassReloadingStrategy classReloadingStrategy = ClassReloadingStrategy.fromInstalledAgent();
+        new ByteBuddy()
+                .subclass(Object.class)
+                .name(type.getName())
+                .method(named(TO_STRING))
+                .intercept(FixedValue.value(BAR))
+                .make()
+                .load(type.getClassLoader(), classReloadingStrategy);
+        assertThat(instance.toString(), is(BAR));
+        classReloadingStrategy.reset(type);
+        assertThat(instance.toString(), is(FOO));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testResetWithoutClassFileOrSnapshot() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        Instrumentation instrumentation = mock(Instrumentation.class);
+        new ClassReloadingStrategy(instrumentation, ClassReloadingStrategy.Engine.REDEFINITION).reset(type);
+    }
+
     @Test
     public void testHashCodeEquals() throws Exception {
         HashCodeEqualsTester.of(ClassReloadingStrategy.class).refine(new HashCodeEqualsTester.Refinement() {
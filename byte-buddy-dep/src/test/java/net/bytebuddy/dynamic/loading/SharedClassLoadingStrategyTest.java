@@ -0,0 +1,89 @@
+package net.bytebuddy.dynamic.loading;
+
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.ClassFileExtraction;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class SharedClassLoadingStrategyTest {
+
+    private ClassLoader classLoader;
+
+    private Map<TypeDescription, byte[]> foo, bar, qux;
+
+    @Before
+    public void setUp() throws Exception {
+        classLoader = new URLClassLoader(new URL[0], null /* bootstrap class loader */);
+        foo = Collections.singletonMap((TypeDescription) TypeDescription.ForLoadedType.of(Foo.class), ClassFileExtraction.extract(Foo.class));
+        bar = Collections.singletonMap((TypeDescription) TypeDescription.ForLoadedType.of(Bar.class), ClassFileExtraction.extract(Bar.class));
+        qux = Collections.singletonMap((TypeDescription) TypeDescription.ForLoadedType.of(Qux.class), ClassFileExtraction.extract(Qux.class));
+    }
+
+    @Test
+    public void testSharedClassLoader() throws Exception {
+        ClassLoadingStrategy classLoadingStrategy = new SharedClassLoadingStrategy();
+        Class<?> fooType = classLoadingStrategy.load(classLoader, foo).values().iterator().next();
+        Class<?> barType = classLoadingStrategy.load(classLoader, bar).values().iterator().next();
+        assertThat(fooType.getName(), is(Foo.class.getName()));
+        assertThat(barType.getName(), is(Bar.class.getName()));
+        assertThat(fooType.getClassLoader(), is(barType.getClassLoader()));
+        assertThat(fooType.getClassLoader().getParent(), is(classLoader));
+    }
+
+    @Test
+    public void testSharedClassLoaderPerParent() throws Exception {
+        ClassLoadingStrategy classLoadingStrategy = new SharedClassLoadingStrategy();
+        Class<?> fooType = classLoadingStrategy.load(classLoader, foo).values().iterator().next();
+        ClassLoader otherClassLoader = new URLClassLoader(new URL[0], null /* bootstrap class loader */);
+        Class<?> barType = classLoadingStrategy.load(otherClassLoader, bar).values().iterator().next();
+        assertThat(fooType.getClassLoader(), not(is(barType.getClassLoader())));
+        assertThat(barType.getClassLoader().getParent(), is(otherClassLoader));
+    }
+
+    @Test
+    public void testRollover() throws Exception {
+        ClassLoadingStrategy classLoadingStrategy = new SharedClassLoadingStrategy(ByteArrayClassLoader.PersistenceHandler.LATENT, 2);
+        Class<?> fooType = classLoadingStrategy.load(classLoader, foo).values().iterator().next();
+        Class<?> barType = classLoadingStrategy.load(classLoader, bar).values().iterator().next();
+        Class<?> quxType = classLoadingStrategy.load(classLoader, qux).values().iterator().next();
+        assertThat(fooType.getClassLoader(), is(barType.getClassLoader()));
+        assertThat(quxType.getClassLoader(), not(is(barType.getClassLoader())));
+    }
+
+    @Test
+    public void testConflictingName() throws Exception {
+        ClassLoadingStrategy classLoadingStrategy = new SharedClassLoadingStrategy();
+        Class<?> fooType = classLoadingStrategy.load(classLoader, foo).values().iterator().next();
+        Class<?> otherFooType = classLoadingStrategy.load(classLoader, foo).values().iterator().next();
+        assertThat(otherFooType.getName(), is(Foo.class.getName()));
+        assertThat(fooType, not(is((Object) otherFooType)));
+        assertThat(fooType.getClassLoader(), not(is(otherFooType.getClassLoader())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalMaximumTypeCount() throws Exception {
+        new SharedClassLoadingStrategy(ByteArrayClassLoader.PersistenceHandler.LATENT, 0);
+    }
+
+    private static class Foo {
+        /* empty */
+    }
+
+    private static class Bar {
+        /* empty */
+    }
+
+    private static class Qux {
+        /* empty */
+    }
+}
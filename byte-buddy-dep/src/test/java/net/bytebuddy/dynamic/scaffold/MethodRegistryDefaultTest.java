@@ -8,6 +8,7 @@ import net.bytebuddy.instrumentation.method.MethodList;
 import net.bytebuddy.instrumentation.method.MethodLookupEngine;
 import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.method.matcher.MethodMatcher;
+import net.bytebuddy.instrumentation.method.matcher.MethodMatchers;
 import net.bytebuddy.instrumentation.type.InstrumentedType;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.utility.MockitoRule;
@@ -20,6 +21,7 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.lang.reflect.Field;
+import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
@@ -31,6 +33,10 @@ public class MethodRegistryDefaultTest {
 
     private static final int BASIC_SIZE = 1, EXTENDED_SIZE = 2;
 
+    private static final String KNOWN = "known", APPENDED = "appended", UNKNOWN = "unknown";
+
+    private static final String KNOWN_SIGNATURE = KNOWN + "()V", APPENDED_SIGNATURE = APPENDED + "()V";
+
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
 
@@ -87,6 +93,20 @@ public class MethodRegistryDefaultTest {
         when(extendedMethodList.subList(anyInt(), anyInt())).thenReturn(croppedMethodList);
         when(zeroSize.size()).thenReturn(0);
         when(singleSize.size()).thenReturn(1);
+        when(knownMethod.getUniqueSignature()).thenReturn(KNOWN_SIGNATURE);
+        when(instrumentationAppendedMethod.getUniqueSignature()).thenReturn(APPENDED_SIGNATURE);
+        when(knownMethod.isMethod()).thenReturn(true);
+        when(knownMethod.getInternalName()).thenReturn(KNOWN);
+        when(instrumentationAppendedMethod.isMethod()).thenReturn(true);
+        when(instrumentationAppendedMethod.getInternalName()).thenReturn(APPENDED);
+        when(unknownMethod.isMethod()).thenReturn(true);
+        when(unknownMethod.getInternalName()).thenReturn(UNKNOWN);
+        when(croppedMethodList.iterator()).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return Collections.singletonList(instrumentationAppendedMethod).iterator();
+            }
+        });
         when(croppedMethodList.filter(any(MethodMatcher.class))).thenAnswer(new Answer<MethodList>() {
             @Override
             public MethodList answer(InvocationOnMock invocation) throws Throwable {
@@ -228,11 +248,66 @@ public class MethodRegistryDefaultTest {
         assertThat(compiled.target(instrumentationAppendedMethod).getByteCodeAppender(), is(simpleByteCodeAppender));
         assertThat(compiled.target(instrumentationAppendedMethod).getAttributeAppender(),
                 is((MethodAttributeAppender) MethodAttributeAppender.NoOp.INSTANCE));
-        verify(croppedMethodList, times(7) /* for 7 calls to compiled.target */).filter(any(MethodMatcher.class));
+        verify(croppedMethodList, times(3) /* for 3 calls to compiled.target with an appended method */).filter(any(MethodMatcher.class));
         verify(fallbackFactory).compile(extendedInstrumentationTarget);
         verifyNoMoreInteractions(fallbackFactory);
     }
 
+    @Test
+    public void testIndexedEntriesRetainOrderOfApplication() throws Exception {
+        MethodDescription toString = new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("toString"));
+        MethodDescription hashCode = new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("hashCode"));
+        MethodDescription equals = new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("equals", Object.class));
+        MethodRegistry.Compiled compiled = new MethodRegistry.Default()
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(MethodMatchers.named("toString")),
+                        simpleInstrumentation,
+                        simpleAttributeAppenderFactory)
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(MethodMatchers.returns(int.class)),
+                        otherInstrumentation,
+                        otherAttributeAppenderFactory)
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(MethodMatchers.is(Object.class.getDeclaredMethod("hashCode"))
+                                .or(MethodMatchers.named("toString"))),
+                        simpleInstrumentation,
+                        simpleAttributeAppenderFactory)
+                .prepare(basicInstrumentedType)
+                .compile(instrumentationTargetFactory, methodLookupEngine, fallbackFactory);
+        assertThat(compiled.target(toString).getByteCodeAppender(), is(simpleByteCodeAppender));
+        assertThat(compiled.target(hashCode).getByteCodeAppender(), is(otherByteCodeAppender));
+        assertThat(compiled.target(equals), is(fallback));
+    }
+
+    @Test
+    public void testIndexedEntryDoesNotPrecedeUnrestrictedEntry() throws Exception {
+        MethodDescription toString = new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("toString"));
+        MethodRegistry.Compiled compiled = new MethodRegistry.Default()
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(MethodMatchers.returns(String.class)),
+                        otherInstrumentation,
+                        otherAttributeAppenderFactory)
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(MethodMatchers.is(Object.class.getDeclaredMethod("toString"))),
+                        simpleInstrumentation,
+                        simpleAttributeAppenderFactory)
+                .prepare(basicInstrumentedType)
+                .compile(instrumentationTargetFactory, methodLookupEngine, fallbackFactory);
+        assertThat(compiled.target(toString).getByteCodeAppender(), is(otherByteCodeAppender));
+    }
+
+    @Test
+    public void testIndexedConstructorIsMatched() throws Exception {
+        MethodDescription constructor = new MethodDescription.ForLoadedConstructor(Object.class.getDeclaredConstructor());
+        MethodDescription toString = new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("toString"));
+        MethodRegistry.Compiled compiled = new MethodRegistry.Default()
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(MethodMatchers.named("toString")),
+                        otherInstrumentation,
+                        otherAttributeAppenderFactory)
+                .append(new MethodRegistry.LatentMethodMatcher.Simple(MethodMatchers.is(Object.class.getDeclaredConstructor())),
+                        simpleInstrumentation,
+                        simpleAttributeAppenderFactory)
+                .prepare(basicInstrumentedType)
+                .compile(instrumentationTargetFactory, methodLookupEngine, fallbackFactory);
+        assertThat(compiled.target(constructor).getByteCodeAppender(), is(simpleByteCodeAppender));
+        assertThat(compiled.target(toString).getByteCodeAppender(), is(otherByteCodeAppender));
+    }
+
     @Test
     public void testHashCodeEquals() throws Exception {
         assertThat(new MethodRegistry.Default().hashCode(), is(new MethodRegistry.Default().hashCode()));
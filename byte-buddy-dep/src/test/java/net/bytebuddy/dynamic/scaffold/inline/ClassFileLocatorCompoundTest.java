@@ -16,11 +16,13 @@ import static org.mockito.Mockito.*;
 
 public class ClassFileLocatorCompoundTest {
 
+    private static final String FOO = "foo";
+
     @Rule
     public TestRule mockitoRule = new MockitoRule(this);
 
     @Mock
-    private ClassFileLocator classFileLocator, otherClassFileLocator;
+    private ClassFileLocator.Named classFileLocator, otherClassFileLocator;
     @Mock
     private TypeDescription typeDescription;
     @Mock
@@ -45,6 +47,25 @@ public class ClassFileLocatorCompoundTest {
         verifyZeroInteractions(otherClassFileLocator);
     }
 
+    @Test
+    public void testApplicationOrderByNameCallsSecond() throws Exception {
+        when(otherClassFileLocator.classFileFor(FOO)).thenReturn(inputStream);
+        assertThat(new ClassFileLocator.Compound(classFileLocator, otherClassFileLocator).classFileFor(FOO), is(inputStream));
+        verify(classFileLocator).classFileFor(FOO);
+        verifyNoMoreInteractions(classFileLocator);
+        verify(otherClassFileLocator).classFileFor(FOO);
+        verifyNoMoreInteractions(otherClassFileLocator);
+    }
+
+    @Test
+    public void testApplicationOrderByNameDoesNotCallSecond() throws Exception {
+        when(classFileLocator.classFileFor(FOO)).thenReturn(inputStream);
+        assertThat(new ClassFileLocator.Compound(classFileLocator, otherClassFileLocator).classFileFor(FOO), is(inputStream));
+        verify(classFileLocator).classFileFor(FOO);
+        verifyNoMoreInteractions(classFileLocator);
+        verifyZeroInteractions(otherClassFileLocator);
+    }
+
     @Test
     public void testHashCodeEquals() throws Exception {
         HashCodeEqualsTester.of(ClassFileLocator.Compound.class).apply();
@@ -8,6 +8,7 @@ import java.net.URL;
 import java.net.URLClassLoader;
 
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -31,4 +32,16 @@ public class ClassFileLocatorDefaultTest {
         assertThat(inputStream, notNullValue());
         inputStream.close();
     }
+
+    @Test
+    public void testClassFileLocatorByName() throws Exception {
+        InputStream inputStream = ClassFileLocator.Default.CLASS_PATH.classFileFor(getClass().getName());
+        assertThat(inputStream, notNullValue());
+        inputStream.close();
+    }
+
+    @Test
+    public void testAttachedLocatorByNameIsNotSupported() throws Exception {
+        assertThat(ClassFileLocator.Default.ATTACHED.classFileFor(getClass().getName()), nullValue(InputStream.class));
+    }
 }
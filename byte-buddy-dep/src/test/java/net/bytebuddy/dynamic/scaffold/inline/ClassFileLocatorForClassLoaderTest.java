@@ -0,0 +1,46 @@
+package net.bytebuddy.dynamic.scaffold.inline;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import org.junit.Test;
+
+import java.io.InputStream;
+
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorForClassLoaderTest {
+
+    @Test
+    public void testLocatesClassFileByName() throws Exception {
+        InputStream inputStream = new ClassFileLocator.ForClassLoader(getClass().getClassLoader()).classFileFor(getClass().getName());
+        assertThat(inputStream, notNullValue());
+        inputStream.close();
+    }
+
+    @Test
+    public void testLocatesClassFileByDescription() throws Exception {
+        InputStream inputStream = new ClassFileLocator.ForClassLoader(getClass().getClassLoader())
+                .classFileFor(TypeDescription.ForLoadedType.of(getClass()));
+        assertThat(inputStream, notNullValue());
+        inputStream.close();
+    }
+
+    @Test
+    public void testNullClassLoaderQueriesSystemClassLoader() throws Exception {
+        InputStream inputStream = new ClassFileLocator.ForClassLoader(null).classFileFor(Object.class.getName());
+        assertThat(inputStream, notNullValue());
+        inputStream.close();
+    }
+
+    @Test
+    public void testUnknownClassFile() throws Exception {
+        assertThat(new ClassFileLocator.ForClassLoader(getClass().getClassLoader()).classFileFor("foo.Bar"), nullValue(InputStream.class));
+    }
+
+    @Test
+    public void testHashCodeEquals() throws Exception {
+        HashCodeEqualsTester.of(ClassFileLocator.ForClassLoader.class).apply();
+    }
+}
@@ -0,0 +1,88 @@
+package net.bytebuddy.dynamic.scaffold.inline;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import net.bytebuddy.utility.MockitoRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.io.InputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ClassFileLocatorNamedAdapterTest {
+
+    private static final String FOO = "foo.Bar";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private ClassFileLocator classFileLocator;
+    @Mock
+    private ClassFileLocator.Named namedClassFileLocator;
+    @Mock
+    private TypeDescription typeDescription;
+    @Mock
+    private InputStream inputStream;
+
+    @Test
+    public void testNamedLocatorIsNotAdapted() throws Exception {
+        assertThat(ClassFileLocator.Named.Adapter.of(namedClassFileLocator), sameInstance(namedClassFileLocator));
+    }
+
+    @Test
+    public void testLocationByDescriptionIsDelegated() throws Exception {
+        when(classFileLocator.classFileFor(typeDescription)).thenReturn(inputStream);
+        assertThat(ClassFileLocator.Named.Adapter.of(classFileLocator).classFileFor(typeDescription), is(inputStream));
+        verify(classFileLocator).classFileFor(typeDescription);
+        verifyNoMoreInteractions(classFileLocator);
+    }
+
+    @Test
+    public void testLocationByNameIsRoutedThroughDescription() throws Exception {
+        when(classFileLocator.classFileFor(any(TypeDescription.class))).thenReturn(inputStream);
+        assertThat(ClassFileLocator.Named.Adapter.of(classFileLocator).classFileFor(FOO), is(inputStream));
+        ArgumentCaptor<TypeDescription> captor = ArgumentCaptor.forClass(TypeDescription.class);
+        verify(classFileLocator).classFileFor(captor.capture());
+        verifyNoMoreInteractions(classFileLocator);
+        assertThat(captor.getValue().getName(), is(FOO));
+        assertThat(captor.getValue().getInternalName(), is("foo/Bar"));
+        assertThat(captor.getValue().getClassLoader(), nullValue(ClassLoader.class));
+    }
+
+    @Test
+    public void testNamedTypeDescriptionProperties() throws Exception {
+        TypeDescription typeDescription = new ClassFileLocator.Named.Adapter.NamedTypeDescription(FOO);
+        assertThat(typeDescription.getDescriptor(), is("Lfoo/Bar;"));
+        assertThat(typeDescription.getPackageName(), is("foo"));
+        assertThat(typeDescription.getSimpleName(), is("Bar"));
+        assertThat(typeDescription.represents(Object.class), is(false));
+        assertThat(typeDescription.isArray(), is(false));
+        assertThat(typeDescription.isPrimitive(), is(false));
+        assertThat(new ClassFileLocator.Named.Adapter.NamedTypeDescription(Object.class.getName()).represents(Object.class), is(true));
+        assertThat(typeDescription, is((TypeDescription) new ClassFileLocator.Named.Adapter.NamedTypeDescription(FOO)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNamedTypeDescriptionDoesNotResolveSuperType() throws Exception {
+        new ClassFileLocator.Named.Adapter.NamedTypeDescription(FOO).getSupertype();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNamedTypeDescriptionDoesNotResolveModifiers() throws Exception {
+        new ClassFileLocator.Named.Adapter.NamedTypeDescription(FOO).getModifiers();
+    }
+
+    @Test
+    public void testHashCodeEquals() throws Exception {
+        HashCodeEqualsTester.of(ClassFileLocator.Named.Adapter.class).apply();
+    }
+}
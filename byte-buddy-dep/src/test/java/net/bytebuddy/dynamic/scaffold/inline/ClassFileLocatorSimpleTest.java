@@ -0,0 +1,47 @@
+package net.bytebuddy.dynamic.scaffold.inline;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.junit.Test;
+
+import java.io.InputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClassFileLocatorSimpleTest {
+
+    private static final String FOO = "foo.Bar", BAR = "bar.Foo";
+
+    @Test
+    public void testLocatesClassFileByName() throws Exception {
+        InputStream inputStream = new ClassFileLocator.Simple(FOO, new byte[]{1, 2, 3}).classFileFor(FOO);
+        assertThat(inputStream.read(), is(1));
+        assertThat(inputStream.read(), is(2));
+        assertThat(inputStream.read(), is(3));
+        assertThat(inputStream.read(), is(-1));
+        inputStream.close();
+    }
+
+    @Test
+    public void testLocatesClassFileByDescription() throws Exception {
+        InputStream inputStream = new ClassFileLocator.Simple(Object.class.getName(), new byte[]{1})
+                .classFileFor(TypeDescription.ForLoadedType.of(Object.class));
+        assertThat(inputStream.read(), is(1));
+        inputStream.close();
+    }
+
+    @Test
+    public void testUnknownClassFile() throws Exception {
+        assertThat(new ClassFileLocator.Simple(FOO, new byte[]{1}).classFileFor(BAR), nullValue(InputStream.class));
+    }
+
+    @Test
+    public void testHashCodeEquals() throws Exception {
+        assertThat(new ClassFileLocator.Simple(FOO, new byte[]{1}).hashCode(), is(new ClassFileLocator.Simple(FOO, new byte[]{1}).hashCode()));
+        assertThat(new ClassFileLocator.Simple(FOO, new byte[]{1}), is(new ClassFileLocator.Simple(FOO, new byte[]{1})));
+        assertThat(new ClassFileLocator.Simple(FOO, new byte[]{1}), not(new ClassFileLocator.Simple(BAR, new byte[]{1})));
+        assertThat(new ClassFileLocator.Simple(FOO, new byte[]{1}), not(new ClassFileLocator.Simple(FOO, new byte[]{2})));
+    }
+}
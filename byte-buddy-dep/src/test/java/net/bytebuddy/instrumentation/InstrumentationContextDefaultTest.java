@@ -1,6 +1,7 @@
 package net.bytebuddy.instrumentation;
 
 import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.NamingStrategy;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.scaffold.TypeWriter;
 import net.bytebuddy.instrumentation.attribute.MethodAttributeAppender;
@@ -9,6 +10,7 @@ import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackSize;
+import net.bytebuddy.instrumentation.method.bytecode.stack.constant.MethodConstant;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
 import net.bytebuddy.instrumentation.type.auxiliary.AuxiliaryType;
@@ -24,7 +26,9 @@ import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.FieldVisitor;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
 
+import java.lang.reflect.AccessibleObject;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -149,6 +153,11 @@ public class InstrumentationContextDefaultTest {
         verifyNoMoreInteractions(injectedCode);
     }
 
+    @Test
+    public void testClassFileVersion() throws Exception {
+        assertThat(new Instrumentation.Context.Default(instrumentedType, classFileVersion).getClassFileVersion(), is(classFileVersion));
+    }
+
     @Test
     public void testAuxiliaryTypeRegistration() throws Exception {
         Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType, classFileVersion);
@@ -166,6 +175,45 @@ public class InstrumentationContextDefaultTest {
         assertThat(instrumentationContext.getRegisteredAuxiliaryTypes().contains(secondDynamicType), is(true));
     }
 
+    @Test
+    public void testFactoryResolution() throws Exception {
+        assertThat(Instrumentation.Context.Default.Factory.of(new NamingStrategy.SuffixingHash(FOO)),
+                is((Instrumentation.Context.Factory) Instrumentation.Context.Default.Factory.DETERMINISTIC));
+        assertThat(Instrumentation.Context.Default.Factory.of(new NamingStrategy.SuffixingRandom(FOO)),
+                is((Instrumentation.Context.Factory) Instrumentation.Context.Default.Factory.RANDOM));
+        assertThat(Instrumentation.Context.Default.Factory.of(new NamingStrategy.Fixed(FOO)),
+                is((Instrumentation.Context.Factory) Instrumentation.Context.Default.Factory.RANDOM));
+    }
+
+    @Test
+    public void testEnumeratingNameSuffixProviderIsDeterministic() throws Exception {
+        Instrumentation.Context.Default.NameSuffixProvider first = new Instrumentation.Context.Default.NameSuffixProvider.Enumerating();
+        Instrumentation.Context.Default.NameSuffixProvider second = new Instrumentation.Context.Default.NameSuffixProvider.Enumerating();
+        assertThat(first.nextSuffix(), is("0"));
+        assertThat(second.nextSuffix(), is("0"));
+        assertThat(first.nextSuffix(), is("1"));
+    }
+
+    @Test
+    public void testEnumeratingAuxiliaryTypeNamingStrategyIsDeterministic() throws Exception {
+        when(instrumentedType.getName()).thenReturn(FOO);
+        Instrumentation.Context.Default.AuxiliaryTypeNamingStrategy first = new Instrumentation.Context.Default.AuxiliaryTypeNamingStrategy.Enumerating(BAR);
+        Instrumentation.Context.Default.AuxiliaryTypeNamingStrategy second = new Instrumentation.Context.Default.AuxiliaryTypeNamingStrategy.Enumerating(BAR);
+        assertThat(first.name(auxiliaryType, instrumentedType), is(FOO + "$" + BAR + "$0"));
+        assertThat(second.name(otherAuxiliaryType, instrumentedType), is(FOO + "$" + BAR + "$0"));
+        assertThat(first.name(otherAuxiliaryType, instrumentedType), is(FOO + "$" + BAR + "$1"));
+    }
+
+    @Test
+    public void testDeterministicFieldCacheNames() throws Exception {
+        when(instrumentedType.getName()).thenReturn(FOO);
+        FieldDescription firstField = Instrumentation.Context.Default.Factory.DETERMINISTIC.make(instrumentedType, classFileVersion)
+                .cache(firstFieldValue, firstFieldType);
+        FieldDescription secondField = Instrumentation.Context.Default.Factory.DETERMINISTIC.make(instrumentedType, classFileVersion)
+                .cache(firstFieldValue, firstFieldType);
+        assertThat(firstField.getName(), is(secondField.getName()));
+    }
+
     @Test
     public void testFieldCachingWithoutUserCodeOrInjectedCode() throws Exception {
         Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType, classFileVersion);
@@ -337,6 +385,44 @@ public class InstrumentationContextDefaultTest {
         instrumentationContext.cache(firstFieldValue, firstFieldType);
     }
 
+    @Test
+    public void testMethodTabulation() throws Exception {
+        Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType, classFileVersion);
+        MethodDescription firstMethod = new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("toString"));
+        MethodDescription secondMethod = new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("hashCode"));
+        MethodConstant.Table.Entry firstEntry = instrumentationContext.tabulate(firstMethod);
+        assertThat(firstEntry.getIndex(), is(0));
+        assertThat(instrumentationContext.tabulate(firstMethod), is(firstEntry));
+        MethodConstant.Table.Entry secondEntry = instrumentationContext.tabulate(secondMethod);
+        assertThat(secondEntry.getIndex(), is(1));
+        assertThat(secondEntry.getTable(), is(firstEntry.getTable()));
+        assertThat(firstEntry.getTable().getFieldType().represents(AccessibleObject[].class), is(true));
+        assertThat(firstEntry.getTable().getModifiers(), is(Instrumentation.Context.ExtractableView.FIELD_CACHE_MODIFIER));
+        instrumentationContext.drain(classVisitor, methodPool, injectedCode);
+        verify(classVisitor).visitField(eq(Instrumentation.Context.ExtractableView.FIELD_CACHE_MODIFIER),
+                eq(firstEntry.getTable().getInternalName()), eq(Type.getDescriptor(AccessibleObject[].class)), isNull(String.class), isNull());
+        verify(methodVisitor).visitMethodInsn(Opcodes.INVOKEVIRTUAL,
+                Type.getInternalName(Class.class),
+                "getDeclaredMethods",
+                Type.getMethodDescriptor(Class.class.getDeclaredMethod("getDeclaredMethods")),
+                false);
+        verify(methodVisitor, never()).visitMethodInsn(eq(Opcodes.INVOKESTATIC),
+                eq(Type.getInternalName(MethodConstant.Table.class)),
+                any(String.class),
+                any(String.class),
+                anyBoolean());
+        verify(methodVisitor).visitFieldInsn(Opcodes.PUTSTATIC, BAZ,
+                firstEntry.getTable().getInternalName(),
+                Type.getDescriptor(AccessibleObject[].class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCannotTabulateMethodAfterDraining() throws Exception {
+        Instrumentation.Context.ExtractableView instrumentationContext = new Instrumentation.Context.Default(instrumentedType, classFileVersion);
+        instrumentationContext.drain(classVisitor, methodPool, injectedCode);
+        instrumentationContext.tabulate(new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("toString")));
+    }
+
     @Test
     public void testAccessorMethodRegistration() throws Exception {
         Instrumentation.Context.Default instrumentationContext = new Instrumentation.Context.Default(instrumentedType, classFileVersion);
@@ -1,6 +1,9 @@
 package net.bytebuddy.instrumentation;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.modifier.Visibility;
 import net.bytebuddy.utility.CallTraceable;
 import org.junit.Test;
 
@@ -8,6 +11,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -19,6 +23,8 @@ public class InvocationHandlerAdapterTest extends AbstractInstrumentationTest {
 
     public static final String FOO = "foo", BAR = "bar", QUX = "qux";
 
+    private static final int MANY_METHODS = 1500;
+
     @Test
     public void testStaticAdapterWithoutCache() throws Exception {
         Foo foo = new Foo();
@@ -51,6 +57,43 @@ public class InvocationHandlerAdapterTest extends AbstractInstrumentationTest {
         instance.assertZeroCalls();
     }
 
+    @Test
+    public void testStaticAdapterWithMethodTable() throws Exception {
+        Foo foo = new Foo();
+        DynamicType.Loaded<Bar> loaded = instrument(Bar.class, InvocationHandlerAdapter.of(foo).withMethodTable());
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(0));
+        assertThat(loaded.getLoaded().getDeclaredMethods().length, is(1));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(2));
+        Bar instance = loaded.getLoaded().newInstance();
+        assertThat(instance.bar(FOO), is((Object) instance));
+        assertThat(foo.methods.size(), is(1));
+        assertThat(instance.bar(FOO), is((Object) instance));
+        assertThat(foo.methods.size(), is(2));
+        assertThat(foo.methods.get(0), sameInstance(foo.methods.get(1)));
+        assertThat(foo.methods.get(0), is(Bar.class.getDeclaredMethod(BAR, Object.class)));
+        instance.assertZeroCalls();
+    }
+
+    @Test
+    public void testStaticAdapterWithMethodTableForManyMethods() throws Exception {
+        DynamicType.Builder<Object> builder = new ByteBuddy().subclass(Object.class);
+        for (int index = 0; index < MANY_METHODS; index++) {
+            builder = builder.defineMethod(BAR + index,
+                    Object.class,
+                    Collections.<Class<?>>singletonList(index % 2 == 0 ? Object.class : String[].class),
+                    Visibility.PUBLIC).intercept(StubMethod.INSTANCE);
+        }
+        Class<?> type = builder.make().load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded();
+        Qux qux = new Qux();
+        DynamicType.Loaded<?> loaded = instrument(type, InvocationHandlerAdapter.of(qux).withMethodTable());
+        Object instance = loaded.getLoaded().newInstance();
+        for (int index = 0; index < MANY_METHODS; index++) {
+            Class<?> parameterType = index % 2 == 0 ? Object.class : String[].class;
+            loaded.getLoaded().getDeclaredMethod(BAR + index, parameterType).invoke(instance, (Object) null);
+            assertThat(qux.methods.get(index), is(type.getDeclaredMethod(BAR + index, parameterType)));
+        }
+    }
+
     @Test
     public void testInstanceAdapterWithoutCache() throws Exception {
         DynamicType.Loaded<Bar> loaded = instrument(Bar.class, InvocationHandlerAdapter.toInstanceField(QUX));
@@ -91,6 +134,33 @@ public class InvocationHandlerAdapterTest extends AbstractInstrumentationTest {
         instance.assertZeroCalls();
     }
 
+    @Test
+    public void testInstanceAdapterWithMethodTable() throws Exception {
+        DynamicType.Loaded<Bar> loaded = instrument(Bar.class, InvocationHandlerAdapter.toInstanceField(QUX).withMethodTable());
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(0));
+        assertThat(loaded.getLoaded().getDeclaredMethods().length, is(1));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(2));
+        Field field = loaded.getLoaded().getDeclaredField(QUX);
+        field.setAccessible(true);
+        Bar instance = loaded.getLoaded().newInstance();
+        Foo foo = new Foo();
+        field.set(instance, foo);
+        assertThat(instance.bar(FOO), is((Object) instance));
+        assertThat(instance.bar(FOO), is((Object) instance));
+        assertThat(foo.methods.size(), is(2));
+        assertThat(foo.methods.get(0), sameInstance(foo.methods.get(1)));
+        instance.assertZeroCalls();
+    }
+
+    @Test
+    public void testEqualsHashCodeMethodTable() throws Exception {
+        assertThat(InvocationHandlerAdapter.toInstanceField(QUX).withMethodTable(), is(InvocationHandlerAdapter.toInstanceField(QUX).withMethodTable()));
+        assertThat(InvocationHandlerAdapter.toInstanceField(QUX).withMethodTable().hashCode(),
+                is(InvocationHandlerAdapter.toInstanceField(QUX).withMethodTable().hashCode()));
+        assertThat(InvocationHandlerAdapter.toInstanceField(QUX).withMethodTable(), not(is(InvocationHandlerAdapter.toInstanceField(QUX).withMethodCache())));
+        assertThat(InvocationHandlerAdapter.toInstanceField(QUX).withMethodTable(), not(is((Instrumentation) InvocationHandlerAdapter.toInstanceField(QUX))));
+    }
+
     @Test
     public void testEqualsHashCodeStaticAdapter() throws Exception {
         assertThat(InvocationHandlerAdapter.of(new Foo(FOO)).hashCode(), is(InvocationHandlerAdapter.of(new Foo(FOO)).hashCode()));
@@ -150,6 +220,17 @@ public class InvocationHandlerAdapterTest extends AbstractInstrumentationTest {
         }
     }
 
+    private static class Qux implements InvocationHandler {
+
+        public final List<Method> methods = new LinkedList<Method>();
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            methods.add(method);
+            return null;
+        }
+    }
+
     public static class Bar extends CallTraceable {
 
         public Object bar(Object o) {
@@ -0,0 +1,128 @@
+package net.bytebuddy.instrumentation;
+
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.Arguments;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class MethodDelegationArgumentsTest extends AbstractInstrumentationTest {
+
+    private static final int FOO = 42;
+    private static final long BAR = 21L;
+    private static final String QUX = "qux";
+
+    @Test
+    public void testPrimitiveArguments() throws Exception {
+        DynamicType.Loaded<Foo> loaded = instrument(Foo.class, MethodDelegation.to(PrimitiveTarget.class));
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(1));
+        Foo instance = loaded.getLoaded().newInstance();
+        assertThat(instance.foo(FOO, BAR, QUX), is((Object) (FOO + BAR + QUX)));
+        assertThat(instance.bar(FOO, BAR, QUX), is((Object) (FOO + BAR + QUX)));
+    }
+
+    @Test
+    public void testWidenedArguments() throws Exception {
+        DynamicType.Loaded<Foo> loaded = instrument(Foo.class, MethodDelegation.to(WideningTarget.class));
+        Foo instance = loaded.getLoaded().newInstance();
+        assertThat(instance.foo(FOO, BAR, QUX), is((Object) (FOO * 1d + BAR + QUX)));
+    }
+
+    @Test
+    public void testBoxedArguments() throws Exception {
+        DynamicType.Loaded<Foo> loaded = instrument(Foo.class, MethodDelegation.to(BoxingTarget.class));
+        Foo instance = loaded.getLoaded().newInstance();
+        assertThat(instance.foo(FOO, BAR, QUX), is((Object) ("" + FOO + BAR + QUX + 3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncompatibleArgumentThrowsException() throws Exception {
+        DynamicType.Loaded<Foo> loaded = instrument(Foo.class, MethodDelegation.to(IncompatibleTarget.class));
+        loaded.getLoaded().newInstance().foo(FOO, BAR, QUX);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalIndexThrowsException() throws Exception {
+        DynamicType.Loaded<Foo> loaded = instrument(Foo.class, MethodDelegation.to(IllegalIndexTarget.class));
+        loaded.getLoaded().newInstance().foo(FOO, BAR, QUX);
+    }
+
+    @Test
+    public void testNoArguments() throws Exception {
+        DynamicType.Loaded<Bar> loaded = instrument(Bar.class, MethodDelegation.to(SizeTarget.class));
+        assertThat(loaded.getLoaded().newInstance().foo(), is((Object) 0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIllegalTypeThrowsException() throws Exception {
+        instrument(Foo.class, MethodDelegation.to(IllegalTypeTarget.class));
+    }
+
+    public static class Foo {
+
+        public Object foo(int first, long second, String third) {
+            return null;
+        }
+
+        public Object bar(int first, long second, String third) {
+            return null;
+        }
+    }
+
+    public static class Bar {
+
+        public Object foo() {
+            return null;
+        }
+    }
+
+    public static class PrimitiveTarget {
+
+        public static Object intercept(@Arguments Arguments.View arguments) {
+            return arguments.getInt(0) + arguments.getLong(1) + (String) arguments.get(2);
+        }
+    }
+
+    public static class WideningTarget {
+
+        public static Object intercept(@Arguments Arguments.View arguments) {
+            return arguments.getDouble(0) + arguments.getLong(1) + (String) arguments.get(2);
+        }
+    }
+
+    public static class BoxingTarget {
+
+        public static Object intercept(@Arguments Arguments.View arguments) {
+            return "" + arguments.get(0) + arguments.get(1) + arguments.get(2) + arguments.size();
+        }
+    }
+
+    public static class IncompatibleTarget {
+
+        public static Object intercept(@Arguments Arguments.View arguments) {
+            return arguments.getInt(1);
+        }
+    }
+
+    public static class IllegalIndexTarget {
+
+        public static Object intercept(@Arguments Arguments.View arguments) {
+            return arguments.get(3);
+        }
+    }
+
+    public static class SizeTarget {
+
+        public static Object intercept(@Arguments Object arguments) {
+            return ((Arguments.View) arguments).size();
+        }
+    }
+
+    public static class IllegalTypeTarget {
+
+        public static Object intercept(@Arguments String arguments) {
+            return arguments;
+        }
+    }
+}
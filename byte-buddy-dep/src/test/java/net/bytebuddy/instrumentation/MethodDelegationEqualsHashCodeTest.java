@@ -52,6 +52,15 @@ public class MethodDelegationEqualsHashCodeTest {
         assertThat(MethodDelegation.toConstructor(Foo.class), not(is(MethodDelegation.toConstructor(Bar.class))));
     }
 
+    @Test
+    public void testDynamicInvocation() throws Exception {
+        assertThat(MethodDelegation.to(Foo.class).withInvokeDynamic().hashCode(), is(MethodDelegation.to(Foo.class).withInvokeDynamic().hashCode()));
+        assertThat(MethodDelegation.to(Foo.class).withInvokeDynamic(), is(MethodDelegation.to(Foo.class).withInvokeDynamic()));
+        assertThat(MethodDelegation.to(Foo.class).withInvokeDynamic(), is(MethodDelegation.to(Foo.class).withInvokeDynamic().withInvokeDynamic()));
+        assertThat(MethodDelegation.to(Foo.class).withInvokeDynamic().hashCode(), not(is(MethodDelegation.to(Foo.class).hashCode())));
+        assertThat(MethodDelegation.to(Foo.class).withInvokeDynamic(), not(is(MethodDelegation.to(Foo.class))));
+    }
+
     public static class Foo {
 
         public static void foo() {
@@ -19,7 +19,7 @@ import static org.junit.Assert.assertEquals;
 
 public class MethodDelegationOriginTest extends AbstractInstrumentationTest {
 
-    private static final String FOO = "foo", TYPE = "TYPE";
+    private static final String FOO = "foo", BAR = "bar", TYPE = "TYPE";
 
     private static final String ORIGIN_METHOD_HANDLE = "net.bytebuddy.test.precompiled.OriginMethodHandle";
     private static final String ORIGIN_METHOD_TYPE = "net.bytebuddy.test.precompiled.OriginMethodType";
@@ -60,6 +60,19 @@ public class MethodDelegationOriginTest extends AbstractInstrumentationTest {
         assertThat(method, sameInstance(instance.foo()));
     }
 
+    @Test
+    public void testOriginMethodWithTable() throws Exception {
+        DynamicType.Loaded<Bar> loaded = instrument(Bar.class, MethodDelegation.to(OriginMethodWithTable.class));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(1));
+        Bar instance = loaded.getLoaded().newInstance();
+        Object method = instance.foo();
+        assertThat(method, instanceOf(Method.class));
+        assertThat(method, is((Object) Bar.class.getDeclaredMethod(FOO)));
+        assertThat(method, sameInstance(instance.foo()));
+        assertThat(instance.bar(), is((Object) Bar.class.getDeclaredMethod(BAR)));
+        assertThat(instance.bar(), sameInstance(instance.bar()));
+    }
+
     @Test
     public void testOriginString() throws Exception {
         DynamicType.Loaded<Foo> loaded = instrument(Foo.class, MethodDelegation.to(OriginString.class));
@@ -99,6 +112,17 @@ public class MethodDelegationOriginTest extends AbstractInstrumentationTest {
         }
     }
 
+    public static class Bar {
+
+        public Object foo() {
+            return null;
+        }
+
+        public Object bar() {
+            return null;
+        }
+    }
+
     public static class OriginClass {
 
         public static Object foo(@Origin Class<?> type) {
@@ -120,6 +144,13 @@ public class MethodDelegationOriginTest extends AbstractInstrumentationTest {
         }
     }
 
+    public static class OriginMethodWithTable {
+
+        public static Object foo(@Origin(tabulateMethod = true) Method method) {
+            return method;
+        }
+    }
+
     public static class OriginString {
 
         public static Object foo(@Origin String string) {
@@ -1,5 +1,8 @@
 package net.bytebuddy.instrumentation;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.NamingStrategy;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.RuntimeType;
 import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.SuperCall;
@@ -8,11 +11,15 @@ import org.hamcrest.CoreMatchers;
 import org.junit.Test;
 
 import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
 
 public class MethodDelegationSuperCallTest extends AbstractInstrumentationTest {
 
@@ -34,6 +41,27 @@ public class MethodDelegationSuperCallTest extends AbstractInstrumentationTest {
         assertThat(instance.bar(), is(FOO));
     }
 
+    @Test
+    public void testDeterministicNamingCreatesEqualClassFiles() throws Exception {
+        DynamicType.Unloaded<Bar> first = new ByteBuddy()
+                .withNamingStrategy(new NamingStrategy.SuffixingHash(FOO))
+                .subclass(Bar.class)
+                .method(named(BAR)).intercept(MethodDelegation.to(CallableClass.class))
+                .make();
+        DynamicType.Unloaded<Bar> second = new ByteBuddy()
+                .withNamingStrategy(new NamingStrategy.SuffixingHash(FOO))
+                .subclass(Bar.class)
+                .method(named(BAR)).intercept(MethodDelegation.to(CallableClass.class))
+                .make();
+        assertThat(first.getTypeDescription().getName(), is(second.getTypeDescription().getName()));
+        assertThat(Arrays.equals(first.getBytes(), second.getBytes()), is(true));
+        assertThat(first.getRawAuxiliaryTypes().size(), is(1));
+        assertThat(Arrays.equals(first.getRawAuxiliaryTypes().values().iterator().next(),
+                second.getRawAuxiliaryTypes().values().iterator().next()), is(true));
+        Bar instance = first.load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER).getLoaded().newInstance();
+        assertThat(instance.bar(), is(FOO));
+    }
+
     @Test
     public void testVoidToNonVoidSuperCall() throws Exception {
         DynamicType.Loaded<VoidTest> loaded = instrument(VoidTest.class, MethodDelegation.to(NonVoidTarget.class));
@@ -56,6 +84,44 @@ public class MethodDelegationSuperCallTest extends AbstractInstrumentationTest {
         assertThat(instance.bar(), is(FOO));
     }
 
+    @Test
+    public void testDispatchedSuperCall() throws Exception {
+        DynamicType.Loaded<Baz> loaded = instrument(Baz.class, MethodDelegation.to(DispatchedTarget.class));
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(1));
+        Baz instance = loaded.getLoaded().newInstance();
+        assertThat(instance.foo(), is(FOO));
+        assertThat(instance.bar(BAR, 1L), is(BAR + 1L));
+        assertThat(instance.qux(2, 3d), is(5d));
+        instance.baz();
+        assertThat(instance.value, is(BAR));
+    }
+
+    @Test
+    public void testSerializableDispatchedSuperCall() throws Exception {
+        DynamicType.Loaded<Bar> loaded = instrument(Bar.class, MethodDelegation.to(DispatchedSerializationCheck.class));
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(1));
+        Bar instance = loaded.getLoaded().newInstance();
+        assertThat(instance.bar(), is(FOO));
+    }
+
+    @Test
+    public void testDeterministicNamingDistinguishesConfigurations() throws Exception {
+        DynamicType.Unloaded<Bar> first = new ByteBuddy()
+                .withNamingStrategy(new NamingStrategy.SuffixingHash(FOO))
+                .subclass(Bar.class)
+                .method(named(BAR)).intercept(MethodDelegation.to(CallableClass.class))
+                .make();
+        DynamicType.Unloaded<Bar> second = new ByteBuddy()
+                .withNamingStrategy(new NamingStrategy.SuffixingHash(FOO))
+                .subclass(Bar.class)
+                .method(named(BAR)).intercept(FixedValue.value(BAR))
+                .make();
+        assertThat(first.getTypeDescription().getName(), CoreMatchers.not(second.getTypeDescription().getName()));
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        assertThat(first.load(classLoader, ClassLoadingStrategy.Default.INJECTION).getLoaded().newInstance().bar(), is(FOO));
+        assertThat(second.load(classLoader, ClassLoadingStrategy.Default.INJECTION).getLoaded().newInstance().bar(), is(BAR));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testAbstractMethodNonBindable() throws Exception {
         instrument(Qux.class, MethodDelegation.to(CallableClass.class));
@@ -140,6 +206,44 @@ public class MethodDelegationSuperCallTest extends AbstractInstrumentationTest {
         }
     }
 
+    public static class Baz {
+
+        public String value;
+
+        public String foo() {
+            return FOO;
+        }
+
+        public String bar(String value, long number) {
+            return value + number;
+        }
+
+        public double qux(int first, double second) {
+            return first + second;
+        }
+
+        public void baz() {
+            value = BAR;
+        }
+    }
+
+    public static class DispatchedTarget {
+
+        @RuntimeType
+        public static Object intercept(@SuperCall(dispatched = true) Callable<?> zuper) throws Exception {
+            assertThat(zuper, CoreMatchers.not(instanceOf(Serializable.class)));
+            return zuper.call();
+        }
+    }
+
+    public static class DispatchedSerializationCheck {
+
+        public static String bar(@SuperCall(serializableProxy = true, dispatched = true) Callable<String> callable) throws Exception {
+            assertThat(callable, instanceOf(Serializable.class));
+            return callable.call();
+        }
+    }
+
     public static class SerializationCheck {
 
         public static String bar(@SuperCall(serializableProxy = true) Callable<String> callable) throws Exception {
@@ -2,8 +2,11 @@ package net.bytebuddy.instrumentation;
 
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.utility.CallTraceable;
+import net.bytebuddy.utility.JavaVersionRule;
 import org.hamcrest.Matcher;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.MethodRule;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
@@ -40,6 +43,10 @@ public class MethodDelegationTest<T extends CallTraceable>
     private static final long DEFAULT_LONG = 1L;
     private static final float DEFAULT_FLOAT = 1f;
     private static final double DEFAULT_DOUBLE = 1d;
+
+    @Rule
+    public MethodRule java7Rule = new JavaVersionRule(7);
+
     private final Class<T> sourceType;
     private final Class<?> targetType;
     private final Class<?>[] parameterTypes;
@@ -121,6 +128,46 @@ public class MethodDelegationTest<T extends CallTraceable>
         instance.assertZeroCalls();
     }
 
+    @Test
+    @JavaVersionRule.Enforce
+    @SuppressWarnings("unchecked")
+    public void testStaticMethodDynamicBinding() throws Exception {
+        DynamicType.Loaded<T> loaded = instrument(sourceType, MethodDelegation.to(targetType).withInvokeDynamic());
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(0));
+        assertThat(loaded.getLoaded().getDeclaredMethods().length, is(1));
+        T instance = loaded.getLoaded().newInstance();
+        assertThat(loaded.getLoaded().getDeclaredMethod(FOO, parameterTypes).invoke(instance, arguments), (Matcher) matcher);
+        instance.assertZeroCalls();
+    }
+
+    @Test
+    @JavaVersionRule.Enforce
+    @SuppressWarnings("unchecked")
+    public void testStaticFieldDynamicBinding() throws Exception {
+        DynamicType.Loaded<T> loaded = instrument(sourceType, MethodDelegation.to(targetType.newInstance())
+                .filter(isDeclaredBy(targetType))
+                .withInvokeDynamic());
+        assertThat(loaded.getLoadedAuxiliaryTypes().size(), is(0));
+        assertThat(loaded.getLoaded().getDeclaredFields().length, is(1));
+        T instance = loaded.getLoaded().newInstance();
+        assertThat(loaded.getLoaded().getDeclaredMethod(FOO, parameterTypes).invoke(instance, arguments), (Matcher) matcher);
+        instance.assertZeroCalls();
+    }
+
+    @Test
+    @JavaVersionRule.Enforce
+    @SuppressWarnings("unchecked")
+    public void testInstanceFieldDynamicBinding() throws Exception {
+        DynamicType.Loaded<T> loaded = instrument(sourceType, MethodDelegation.toInstanceField(targetType, FIELD_NAME)
+                .filter(isDeclaredBy(targetType))
+                .withInvokeDynamic());
+        T instance = loaded.getLoaded().newInstance();
+        Field field = loaded.getLoaded().getDeclaredField(FIELD_NAME);
+        field.set(instance, targetType.newInstance());
+        assertThat(loaded.getLoaded().getDeclaredMethod(FOO, parameterTypes).invoke(instance, arguments), (Matcher) matcher);
+        instance.assertZeroCalls();
+    }
+
     public static class BooleanSource extends CallTraceable {
 
         public boolean foo(boolean b) {
@@ -1,11 +1,16 @@
 package net.bytebuddy.instrumentation;
 
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.NamingStrategy;
 import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.instrumentation.method.bytecode.bind.annotation.SuperCall;
+import net.bytebuddy.instrumentation.type.TypeDescription;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.Callable;
 
 import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
@@ -68,6 +73,23 @@ public class RebaseInstrumentationTest {
         assertThat((String) barMethod.invoke(dynamicType.newInstance()), is(FOO + BAR));
     }
 
+    @Test
+    public void testDeterministicNamingDoesNotRepeatAuxiliaryTypeNames() throws Exception {
+        Set<String> auxiliaryTypeNames = new HashSet<String>();
+        for (int index = 0; index < 2; index++) {
+            DynamicType.Unloaded<Foo> dynamicType = new ByteBuddy()
+                    .withNamingStrategy(new NamingStrategy.SuffixingHash(FOO))
+                    .rebase(Foo.class)
+                    .method(named(BAR))
+                    .intercept(MethodDelegation.to(SuperInterceptor.class))
+                    .make();
+            assertThat(dynamicType.getRawAuxiliaryTypes().isEmpty(), is(false));
+            for (TypeDescription auxiliaryType : dynamicType.getRawAuxiliaryTypes().keySet()) {
+                assertThat(auxiliaryTypeNames.add(auxiliaryType.getName()), is(true));
+            }
+        }
+    }
+
     @Test
     public void testSuperCallStaticMethod() throws Exception {
         Class<?> dynamicType = new ByteBuddy()
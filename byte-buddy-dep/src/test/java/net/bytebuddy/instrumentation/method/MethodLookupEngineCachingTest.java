@@ -0,0 +1,189 @@
+package net.bytebuddy.instrumentation.method;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+public class MethodLookupEngineCachingTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux";
+
+    private static final int MAXIMUM_ATTEMPTS = 100;
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private TypeDescription instrumentedType, otherInstrumentedType;
+
+    private MethodLookupEngine.Caching.Factory factory;
+
+    @Before
+    public void setUp() throws Exception {
+        factory = new MethodLookupEngine.Caching.Factory();
+        mockInstrumentedType(instrumentedType, Base.class.getPackage().getName());
+        mockInstrumentedType(otherInstrumentedType, Base.class.getPackage().getName());
+    }
+
+    private static void mockInstrumentedType(TypeDescription instrumentedType, String packageName) {
+        when(instrumentedType.getSupertype()).thenReturn((TypeDescription) TypeDescription.ForLoadedType.of(Base.class));
+        when(instrumentedType.getInterfaces()).thenReturn((TypeList) new TypeList.ForLoadedType(new Class<?>[]{Serializable.class}));
+        when(instrumentedType.getDeclaredMethods()).thenReturn((MethodList) new MethodList.Empty());
+        when(instrumentedType.getPackageName()).thenReturn(packageName);
+    }
+
+    private static Set<MethodDescription> methodsOf(MethodLookupEngine methodLookupEngine, TypeDescription typeDescription) {
+        return new HashSet<MethodDescription>(methodLookupEngine.process(typeDescription).getInvokableMethods());
+    }
+
+    @Test
+    public void testEquivalentToDefaultEngine() throws Exception {
+        for (Class<?> type : Arrays.<Class<?>>asList(Object.class,
+                String.class,
+                ArrayList.class,
+                ConcurrentHashMap.class,
+                Thread.class,
+                Runnable.class,
+                Base.class,
+                Sub.class)) {
+            for (boolean extractDefaultMethods : new boolean[]{false, true}) {
+                TypeDescription typeDescription = TypeDescription.ForLoadedType.of(type);
+                MethodLookupEngine.Finding finding = factory.make(extractDefaultMethods).process(typeDescription);
+                MethodLookupEngine.Finding defaultFinding = MethodLookupEngine.Default.Factory.INSTANCE.make(extractDefaultMethods).process(typeDescription);
+                assertThat(finding.getTypeDescription(), is(typeDescription));
+                assertThat(finding.getInvokableMethods().size(), is(defaultFinding.getInvokableMethods().size()));
+                assertThat(new HashSet<MethodDescription>(finding.getInvokableMethods()),
+                        is((Set<MethodDescription>) new HashSet<MethodDescription>(defaultFinding.getInvokableMethods())));
+                assertThat(finding.getInvokableDefaultMethods(), is(defaultFinding.getInvokableDefaultMethods()));
+            }
+        }
+    }
+
+    @Test
+    public void testRepeatedLookupIsEquivalent() throws Exception {
+        TypeDescription typeDescription = TypeDescription.ForLoadedType.of(Sub.class);
+        assertThat(methodsOf(factory.make(false), typeDescription), is(methodsOf(factory.make(false), typeDescription)));
+        assertThat(methodsOf(factory.make(false), typeDescription),
+                is(methodsOf(MethodLookupEngine.Default.Factory.INSTANCE.make(false), typeDescription)));
+    }
+
+    @Test
+    public void testInheritedMethodsAreShared() throws Exception {
+        MethodDescription first = factory.make(false).process(instrumentedType).getInvokableMethods().filter(named(FOO)).getOnly();
+        MethodDescription second = factory.make(false).process(otherInstrumentedType).getInvokableMethods().filter(named(FOO)).getOnly();
+        assertThat(first, sameInstance(second));
+        assertThat(first.getDeclaringType().represents(Sub.class), is(false));
+        assertThat(first.getDeclaringType().represents(Base.class), is(true));
+    }
+
+    @Test
+    public void testPackagePrivateMethodVisibility() throws Exception {
+        assertThat(factory.make(false).process(instrumentedType).getInvokableMethods().filter(named(QUX)).size(), is(1));
+        mockInstrumentedType(otherInstrumentedType, FOO);
+        assertThat(factory.make(false).process(otherInstrumentedType).getInvokableMethods().filter(named(QUX)).size(), is(0));
+        assertThat(methodsOf(factory.make(false), otherInstrumentedType),
+                is(methodsOf(MethodLookupEngine.Default.Factory.INSTANCE.make(false), otherInstrumentedType)));
+    }
+
+    @Test
+    public void testNonCacheableTypeIsAnalyzed() throws Exception {
+        assertThat(methodsOf(factory.make(false), instrumentedType),
+                is(methodsOf(MethodLookupEngine.Default.Factory.INSTANCE.make(false), instrumentedType)));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        MethodDescription first = factory.make(false).process(instrumentedType).getInvokableMethods().filter(named(FOO)).getOnly();
+        factory.clear();
+        MethodDescription second = factory.make(false).process(otherInstrumentedType).getInvokableMethods().filter(named(FOO)).getOnly();
+        assertThat(first, not(sameInstance(second)));
+        assertThat(first, is(second));
+    }
+
+    @Test
+    public void testStoreDoesNotRetainClassLoader() throws Exception {
+        Reference<ClassLoader> classLoader = new WeakReference<ClassLoader>(processIsolated());
+        for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS && classLoader.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertThat(classLoader.get(), nullValue(ClassLoader.class));
+    }
+
+    private ClassLoader processIsolated() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[]{Sub.class.getProtectionDomain().getCodeSource().getLocation()}, null);
+        Class<?> type = classLoader.loadClass(Sub.class.getName());
+        assertThat(type.getClassLoader(), is(classLoader));
+        TypeDescription typeDescription = TypeDescription.ForLoadedType.of(type);
+        assertThat(methodsOf(factory.make(false), typeDescription),
+                is(methodsOf(MethodLookupEngine.Default.Factory.INSTANCE.make(false), typeDescription)));
+        return classLoader;
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        assertThat(factory.make(false), is(factory.make(false)));
+        assertThat(factory.make(false).hashCode(), is(factory.make(false).hashCode()));
+        assertThat(factory.make(false), not(is(factory.make(true))));
+        assertThat(factory.make(false), not(is(new MethodLookupEngine.Caching.Factory().make(false))));
+    }
+
+    public static class Base implements Runnable {
+
+        public void foo() {
+            /* empty */
+        }
+
+        protected Object bar() {
+            return null;
+        }
+
+        void qux() {
+            /* empty */
+        }
+
+        @Override
+        public void run() {
+            /* empty */
+        }
+    }
+
+    public static class Sub extends Base implements Comparable<Sub> {
+
+        @Override
+        protected Object bar() {
+            return null;
+        }
+
+        @Override
+        public int compareTo(Sub other) {
+            return 0;
+        }
+
+        private void foo(int value) {
+            /* empty */
+        }
+
+        public static void baz() {
+            /* empty */
+        }
+    }
+}
@@ -47,4 +47,11 @@ public class MethodLookupEngineOverridenClassMethodTest {
         verify(first).isSpecializableFor(firstType);
         verify(second).isSpecializableFor(firstType);
     }
+
+    @Test
+    public void testOverriddenMethodChainIsFlattened() throws Exception {
+        MethodDescription overriddenClassMethod = MethodLookupEngine.OverridenClassMethod.of(first,
+                MethodLookupEngine.OverridenClassMethod.of(second, first));
+        assertThat(overriddenClassMethod.toString(), is(MethodLookupEngine.OverridenClassMethod.of(MethodLookupEngine.OverridenClassMethod.of(first, second), first).toString()));
+    }
 }
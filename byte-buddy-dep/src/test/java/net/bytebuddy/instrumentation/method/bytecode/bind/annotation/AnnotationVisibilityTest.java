@@ -26,6 +26,7 @@ public class AnnotationVisibilityTest {
         return Arrays.asList(new Object[][]{
                 {AllArguments.class},
                 {Argument.class},
+                {Arguments.class},
                 {BindingPriority.class},
                 {IgnoreForBinding.class},
                 {Origin.class},
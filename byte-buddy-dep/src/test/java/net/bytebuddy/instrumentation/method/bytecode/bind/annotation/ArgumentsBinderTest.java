@@ -0,0 +1,57 @@
+package net.bytebuddy.instrumentation.method.bytecode.bind.annotation;
+
+import net.bytebuddy.instrumentation.method.bytecode.bind.MethodDelegationBinder;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class ArgumentsBinderTest extends AbstractAnnotationBinderTest<Arguments> {
+
+    @Mock
+    private TypeDescription targetParameterType;
+
+    public ArgumentsBinderTest() {
+        super(Arguments.class);
+    }
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        when(targetTypeList.get(0)).thenReturn(targetParameterType);
+    }
+
+    @Test
+    public void testAnnotationType() throws Exception {
+        assertEquals(Arguments.class, Arguments.Binder.INSTANCE.getHandledType());
+    }
+
+    @Test
+    public void testViewBinding() throws Exception {
+        when(targetParameterType.represents(Arguments.View.class)).thenReturn(true);
+        MethodDelegationBinder.ParameterBinding<?> parameterBinding = Arguments.Binder.INSTANCE
+                .bind(annotation, 0, source, target, instrumentationTarget, assigner);
+        assertThat(parameterBinding.isValid(), is(true));
+        verifyZeroInteractions(instrumentationTarget);
+    }
+
+    @Test
+    public void testObjectBinding() throws Exception {
+        when(targetParameterType.represents(Object.class)).thenReturn(true);
+        MethodDelegationBinder.ParameterBinding<?> parameterBinding = Arguments.Binder.INSTANCE
+                .bind(annotation, 0, source, target, instrumentationTarget, assigner);
+        assertThat(parameterBinding.isValid(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIllegalTypeThrowsException() throws Exception {
+        Arguments.Binder.INSTANCE.bind(annotation, 0, source, target, instrumentationTarget, assigner);
+    }
+}
@@ -1,12 +1,16 @@
 package net.bytebuddy.instrumentation.method.bytecode.stack.constant;
 
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
 import net.bytebuddy.instrumentation.Instrumentation;
 import net.bytebuddy.instrumentation.field.FieldDescription;
 import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.bytecode.ByteCodeAppender;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackSize;
 import net.bytebuddy.instrumentation.type.TypeDescription;
 import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.utility.HashCodeEqualsTester;
 import net.bytebuddy.utility.MockitoRule;
 import org.junit.Before;
 import org.junit.Rule;
@@ -15,10 +19,14 @@ import org.junit.rules.TestRule;
 import org.mockito.Mock;
 import org.mockito.asm.Opcodes;
 import org.mockito.asm.Type;
+import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.MethodVisitor;
 
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -87,6 +95,21 @@ public class MethodConstantTest {
         verifyNoMoreInteractions(instrumentationContext);
     }
 
+    @Test
+    public void testMethodTabulated() throws Exception {
+        when(instrumentationContext.tabulate(methodDescription)).thenReturn(new MethodConstant.Table.Entry(fieldDescription, 1));
+        StackManipulation.Size size = MethodConstant.forMethod(methodDescription).tabulated().apply(methodVisitor, instrumentationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(2));
+        verify(methodVisitor).visitFieldInsn(Opcodes.GETSTATIC, BAZ, FOO, QUX);
+        verify(methodVisitor).visitInsn(Opcodes.ICONST_1);
+        verify(methodVisitor).visitInsn(Opcodes.AALOAD);
+        verify(methodVisitor).visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(Method.class));
+        verifyNoMoreInteractions(methodVisitor);
+        verify(instrumentationContext).tabulate(methodDescription);
+        verifyNoMoreInteractions(instrumentationContext);
+    }
+
     @Test
     public void testConstructor() throws Exception {
         when(methodDescription.isConstructor()).thenReturn(true);
@@ -114,6 +137,119 @@ public class MethodConstantTest {
         verifyNoMoreInteractions(instrumentationContext);
     }
 
+    @Test
+    public void testConstructorTabulated() throws Exception {
+        when(methodDescription.isConstructor()).thenReturn(true);
+        when(instrumentationContext.tabulate(methodDescription)).thenReturn(new MethodConstant.Table.Entry(fieldDescription, 0));
+        StackManipulation.Size size = MethodConstant.forMethod(methodDescription).tabulated().apply(methodVisitor, instrumentationContext);
+        assertThat(size.getSizeImpact(), is(1));
+        assertThat(size.getMaximalSize(), is(2));
+        verify(methodVisitor).visitFieldInsn(Opcodes.GETSTATIC, BAZ, FOO, QUX);
+        verify(methodVisitor).visitInsn(Opcodes.ICONST_0);
+        verify(methodVisitor).visitInsn(Opcodes.AALOAD);
+        verify(methodVisitor).visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(Constructor.class));
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testTableInitialization() throws Exception {
+        AccessibleObject[] table = tableOf(getClass().getClassLoader(),
+                new MethodDescription.ForLoadedMethod(Foo.class.getDeclaredMethod(FOO)),
+                new MethodDescription.ForLoadedConstructor(Foo.class.getDeclaredConstructor(String.class)),
+                new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("toString")),
+                new MethodDescription.ForLoadedMethod(Foo.class.getDeclaredMethod(FOO, int.class)));
+        assertThat(table.length, is(4));
+        assertThat(table[0], is((AccessibleObject) Foo.class.getDeclaredMethod(FOO)));
+        assertThat(table[1], is((AccessibleObject) Foo.class.getDeclaredConstructor(String.class)));
+        assertThat(table[2], is((AccessibleObject) Object.class.getDeclaredMethod("toString")));
+        assertThat(table[3], is((AccessibleObject) Foo.class.getDeclaredMethod(FOO, int.class)));
+    }
+
+    @Test
+    public void testTableInitializationDoesNotRequireByteBuddy() throws Exception {
+        AccessibleObject[] table = tableOf(null,
+                new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("equals", Object.class)),
+                new MethodDescription.ForLoadedConstructor(Object.class.getDeclaredConstructor()));
+        assertThat(table.length, is(2));
+        assertThat(table[0], is((AccessibleObject) Object.class.getDeclaredMethod("equals", Object.class)));
+        assertThat(table[1], is((AccessibleObject) Object.class.getDeclaredConstructor()));
+    }
+
+    @Test(expected = NoSuchMethodError.class)
+    public void testTableInitializationUnknownMethod() throws Exception {
+        tableOf(getClass().getClassLoader(), new MethodDescription.Latent(BAR,
+                TypeDescription.ForLoadedType.of(Foo.class),
+                TypeDescription.ForLoadedType.of(void.class),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PRIVATE,
+                Collections.<TypeDescription>emptyList()));
+    }
+
+    @Test(expected = NoSuchMethodError.class)
+    public void testTableInitializationIncompatibleReturnType() throws Exception {
+        tableOf(getClass().getClassLoader(), new MethodDescription.Latent(FOO,
+                TypeDescription.ForLoadedType.of(Foo.class),
+                TypeDescription.ForLoadedType.of(Object.class),
+                Collections.<TypeDescription>emptyList(),
+                Opcodes.ACC_PRIVATE,
+                Collections.<TypeDescription>emptyList()));
+    }
+
+    @Test
+    public void testTableInitializationFramesAtJumpTargetsOnly() throws Exception {
+        TypeDescription instrumentedType = mock(TypeDescription.class);
+        when(instrumentedType.getInternalName()).thenReturn(QUX);
+        FieldDescription table = new FieldDescription.Latent(FOO,
+                instrumentedType,
+                TypeDescription.ForLoadedType.of(AccessibleObject[].class),
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC);
+        when(instrumentationContext.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V7);
+        new MethodConstant.Table.Initialization(table,
+                Collections.<MethodDescription>singletonList(new MethodDescription.ForLoadedMethod(Foo.class.getDeclaredMethod(FOO))))
+                .apply(methodVisitor, instrumentationContext, MethodDescription.Latent.typeInitializerOf(instrumentedType));
+        verify(methodVisitor, times(8)).visitFrame(anyInt(), anyInt(), any(Object[].class), anyInt(), any(Object[].class));
+        verify(methodVisitor, times(5)).visitFrame(eq(Opcodes.F_FULL), eq(5), any(Object[].class), eq(0), any(Object[].class));
+        verify(methodVisitor, times(3)).visitFrame(eq(Opcodes.F_FULL), eq(8), any(Object[].class), eq(0), any(Object[].class));
+    }
+
+    private AccessibleObject[] tableOf(ClassLoader parent, MethodDescription... methodDescription) throws Exception {
+        String typeName = MethodConstantTest.class.getName() + "$" + QUX;
+        TypeDescription instrumentedType = mock(TypeDescription.class);
+        when(instrumentedType.getInternalName()).thenReturn(typeName.replace('.', '/'));
+        FieldDescription table = new FieldDescription.Latent(FOO,
+                instrumentedType,
+                TypeDescription.ForLoadedType.of(AccessibleObject[].class),
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC);
+        when(instrumentationContext.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V7);
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(ClassFileVersion.JAVA_V7.getVersionNumber(),
+                Opcodes.ACC_PUBLIC,
+                table.getDeclaringType().getInternalName(),
+                null,
+                Type.getInternalName(Object.class),
+                null);
+        classWriter.visitField(table.getModifiers(), table.getInternalName(), table.getDescriptor(), null, null).visitEnd();
+        MethodVisitor typeInitializer = classWriter.visitMethod(Opcodes.ACC_STATIC, MethodDescription.TYPE_INITIALIZER_INTERNAL_NAME, "()V", null, null);
+        typeInitializer.visitCode();
+        ByteCodeAppender.Size size = new MethodConstant.Table.Initialization(table, Arrays.asList(methodDescription))
+                .apply(typeInitializer, instrumentationContext, MethodDescription.Latent.typeInitializerOf(instrumentedType));
+        typeInitializer.visitInsn(Opcodes.RETURN);
+        typeInitializer.visitMaxs(size.getOperandStackSize(), size.getLocalVariableSize());
+        typeInitializer.visitEnd();
+        classWriter.visitEnd();
+        ClassLoader classLoader = new ByteArrayClassLoader(parent,
+                Collections.singletonMap(typeName, classWriter.toByteArray()),
+                null,
+                ByteArrayClassLoader.PersistenceHandler.LATENT);
+        return (AccessibleObject[]) Class.forName(typeName, true, classLoader).getDeclaredField(FOO).get(null);
+    }
+
+    @Test
+    public void testTableHashCodeEquals() throws Exception {
+        HashCodeEqualsTester.of(MethodConstant.Table.Entry.class).apply();
+        HashCodeEqualsTester.of(MethodConstant.Table.Initialization.class).apply();
+    }
+
     @Test
     public void testHashCodeEquals() throws Exception {
         assertThat(MethodConstant.forMethod(methodDescription).hashCode(), is(MethodConstant.forMethod(methodDescription).hashCode()));
@@ -128,5 +264,25 @@ public class MethodConstantTest {
         assertThat(MethodConstant.forMethod(methodDescription).cached(), not(is(MethodConstant.forMethod(mock(MethodDescription.class)).cached())));
         assertThat(MethodConstant.forMethod(methodDescription).cached().hashCode(), not(is(MethodConstant.forMethod(methodDescription).hashCode())));
         assertThat(MethodConstant.forMethod(methodDescription).cached(), not(is((StackManipulation) MethodConstant.forMethod(methodDescription))));
+        assertThat(MethodConstant.forMethod(methodDescription).tabulated().hashCode(), is(MethodConstant.forMethod(methodDescription).tabulated().hashCode()));
+        assertThat(MethodConstant.forMethod(methodDescription).tabulated(), is(MethodConstant.forMethod(methodDescription).tabulated()));
+        assertThat(MethodConstant.forMethod(methodDescription).tabulated(), not(is(MethodConstant.forMethod(mock(MethodDescription.class)).tabulated())));
+        assertThat(MethodConstant.forMethod(methodDescription).tabulated(), not(is(MethodConstant.forMethod(methodDescription).cached())));
+    }
+
+    @SuppressWarnings("unused")
+    public static class Foo {
+
+        private Foo(String value) {
+            /* empty */
+        }
+
+        private void foo() {
+            /* empty */
+        }
+
+        private void foo(int value) {
+            /* empty */
+        }
     }
 }
@@ -0,0 +1,128 @@
+package net.bytebuddy.instrumentation.method.bytecode.stack.member;
+
+import net.bytebuddy.ClassFileVersion;
+import net.bytebuddy.instrumentation.Instrumentation;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.bytecode.stack.StackManipulation;
+import net.bytebuddy.instrumentation.method.bytecode.stack.StackSize;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.instrumentation.type.TypeList;
+import net.bytebuddy.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class DynamicMethodInvocationTest {
+
+    private static final String FOO = "foo", BAR = "bar", QUX = "qux", DESCRIPTOR = "(I)J";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private MethodDescription methodDescription;
+
+    @Mock
+    private TypeDescription declaringType, otherType, returnType;
+
+    @Mock
+    private TypeList parameterTypes;
+
+    @Mock
+    private MethodVisitor methodVisitor;
+
+    @Mock
+    private Instrumentation.Context instrumentationContext;
+
+    @Before
+    public void setUp() throws Exception {
+        when(methodDescription.getDeclaringType()).thenReturn(declaringType);
+        when(methodDescription.getReturnType()).thenReturn(returnType);
+        when(methodDescription.getInternalName()).thenReturn(FOO);
+        when(methodDescription.getDescriptor()).thenReturn(DESCRIPTOR);
+        when(methodDescription.getParameterTypes()).thenReturn(parameterTypes);
+        when(methodDescription.getStackSize()).thenReturn(2);
+        when(returnType.getStackSize()).thenReturn(StackSize.DOUBLE);
+        when(declaringType.getInternalName()).thenReturn(BAR);
+        when(declaringType.getDescriptor()).thenReturn("L" + BAR + ";");
+        when(otherType.getInternalName()).thenReturn(QUX);
+        when(otherType.getDescriptor()).thenReturn("L" + QUX + ";");
+        when(otherType.isAssignableTo(declaringType)).thenReturn(true);
+        when(declaringType.isAssignableTo(declaringType)).thenReturn(true);
+        when(instrumentationContext.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V7);
+    }
+
+    @Test
+    public void testStaticMethod() throws Exception {
+        when(methodDescription.isStatic()).thenReturn(true);
+        StackManipulation stackManipulation = DynamicMethodInvocation.invoke(methodDescription, otherType);
+        assertThat(stackManipulation.isValid(), is(true));
+        StackManipulation.Size size = stackManipulation.apply(methodVisitor, instrumentationContext);
+        assertThat(size.getSizeImpact(), is(0));
+        assertThat(size.getMaximalSize(), is(0));
+        verify(methodVisitor).visitInvokeDynamicInsn(eq(FOO),
+                eq(DESCRIPTOR),
+                any(Handle.class),
+                eq(new Handle(Opcodes.H_INVOKESTATIC, BAR, FOO, DESCRIPTOR)));
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testVirtualMethod() throws Exception {
+        StackManipulation stackManipulation = DynamicMethodInvocation.invoke(methodDescription, otherType);
+        assertThat(stackManipulation.isValid(), is(true));
+        stackManipulation.apply(methodVisitor, instrumentationContext);
+        verify(methodVisitor).visitInvokeDynamicInsn(eq(FOO),
+                eq("(L" + QUX + ";I)J"),
+                any(Handle.class),
+                eq(new Handle(Opcodes.H_INVOKEVIRTUAL, QUX, FOO, DESCRIPTOR)));
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test
+    public void testInterfaceMethod() throws Exception {
+        when(declaringType.isInterface()).thenReturn(true);
+        DynamicMethodInvocation.invoke(methodDescription).apply(methodVisitor, instrumentationContext);
+        verify(methodVisitor).visitInvokeDynamicInsn(eq(FOO),
+                eq("(L" + BAR + ";I)J"),
+                any(Handle.class),
+                eq(new Handle(Opcodes.H_INVOKEINTERFACE, BAR, FOO, DESCRIPTOR)));
+        verifyNoMoreInteractions(methodVisitor);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLegacyClassFileVersionThrowsException() throws Exception {
+        when(instrumentationContext.getClassFileVersion()).thenReturn(ClassFileVersion.JAVA_V6);
+        DynamicMethodInvocation.invoke(methodDescription).apply(methodVisitor, instrumentationContext);
+    }
+
+    @Test
+    public void testIllegalInvocations() throws Exception {
+        when(otherType.isAssignableTo(declaringType)).thenReturn(false);
+        assertThat(DynamicMethodInvocation.invoke(methodDescription, otherType).isValid(), is(false));
+        when(methodDescription.isPrivate()).thenReturn(true);
+        assertThat(DynamicMethodInvocation.invoke(methodDescription).isValid(), is(false));
+        when(methodDescription.isConstructor()).thenReturn(true);
+        assertThat(DynamicMethodInvocation.invoke(methodDescription).isValid(), is(false));
+    }
+
+    @Test
+    public void testHashCodeEquals() throws Exception {
+        assertThat(DynamicMethodInvocation.invoke(methodDescription).hashCode(), is(DynamicMethodInvocation.invoke(methodDescription).hashCode()));
+        assertThat(DynamicMethodInvocation.invoke(methodDescription), is(DynamicMethodInvocation.invoke(methodDescription)));
+        assertThat(DynamicMethodInvocation.invoke(methodDescription).hashCode(), not(is(DynamicMethodInvocation.invoke(methodDescription, otherType).hashCode())));
+        assertThat(DynamicMethodInvocation.invoke(methodDescription), not(is(DynamicMethodInvocation.invoke(methodDescription, otherType))));
+    }
+}
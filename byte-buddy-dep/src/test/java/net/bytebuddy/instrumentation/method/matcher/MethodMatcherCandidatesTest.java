@@ -0,0 +1,88 @@
+package net.bytebuddy.instrumentation.method.matcher;
+
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class MethodMatcherCandidatesTest {
+
+    private static final String FOO = "foo", BAR = "bar", FOO_SIGNATURE = "foo()V", BAR_SIGNATURE = "bar()V";
+
+    @Test
+    public void testAny() throws Exception {
+        assertThat(MethodMatcher.Candidates.any().isUnrestricted(), is(true));
+        assertThat(MethodMatcher.Candidates.of(mock(MethodMatcher.class)).isUnrestricted(), is(true));
+    }
+
+    @Test
+    public void testNone() throws Exception {
+        assertThat(MethodMatcher.Candidates.none().isUnrestricted(), is(false));
+        assertThat(MethodMatcher.Candidates.none().getNames().size(), is(0));
+        assertThat(MethodMatcher.Candidates.none().getUniqueSignatures().size(), is(0));
+        assertThat(MethodMatcher.Candidates.of(MethodMatchers.none()), is(MethodMatcher.Candidates.none()));
+    }
+
+    @Test
+    public void testNamed() throws Exception {
+        assertThat(MethodMatcher.Candidates.of(MethodMatchers.named(FOO)), is(MethodMatcher.Candidates.ofName(FOO)));
+        assertThat(MethodMatcher.Candidates.of(MethodMatchers.nameStartsWith(FOO)).isUnrestricted(), is(true));
+    }
+
+    @Test
+    public void testExactMethod() throws Exception {
+        assertThat(MethodMatcher.Candidates.of(MethodMatchers.is(Sample.class.getDeclaredMethod(FOO))),
+                is(MethodMatcher.Candidates.ofUniqueSignature(FOO_SIGNATURE)));
+        assertThat(MethodMatcher.Candidates.of(MethodMatchers.is(new MethodDescription.ForLoadedMethod(Sample.class.getDeclaredMethod(BAR)))),
+                is(MethodMatcher.Candidates.ofUniqueSignature(BAR_SIGNATURE)));
+        assertThat(MethodMatcher.Candidates.of(MethodMatchers.is(Sample.class.getDeclaredConstructor())),
+                is(MethodMatcher.Candidates.ofUniqueSignature(MethodDescription.CONSTRUCTOR_INTERNAL_NAME + "()V")));
+    }
+
+    @Test
+    public void testDisjunction() throws Exception {
+        MethodMatcher.Candidates candidates = MethodMatcher.Candidates.of(MethodMatchers.named(FOO).or(MethodMatchers.named(BAR)));
+        assertThat(candidates.isUnrestricted(), is(false));
+        assertThat(candidates.getNames(), is((Object) new HashSet<String>(Arrays.asList(FOO, BAR))));
+        assertThat(MethodMatcher.Candidates.of(MethodMatchers.named(FOO).or(MethodMatchers.isPublic())).isUnrestricted(), is(true));
+    }
+
+    @Test
+    public void testConjunction() throws Exception {
+        assertThat(MethodMatcher.Candidates.of(MethodMatchers.named(FOO).and(MethodMatchers.isPublic())),
+                is(MethodMatcher.Candidates.ofName(FOO)));
+        assertThat(MethodMatcher.Candidates.of(MethodMatchers.named(FOO).and(MethodMatchers.named(BAR))),
+                is(MethodMatcher.Candidates.none()));
+        MethodMatcher.Candidates candidates = MethodMatcher.Candidates.of(MethodMatchers.named(FOO)
+                .and(MethodMatchers.is(Sample.class.getDeclaredMethod(FOO))));
+        assertThat(candidates.getUniqueSignatures(), is((Object) Collections.singleton(FOO_SIGNATURE)));
+        assertThat(candidates.getNames().size(), is(0));
+    }
+
+    @Test
+    public void testHashCodeEquals() throws Exception {
+        assertThat(MethodMatcher.Candidates.ofName(FOO).hashCode(), is(MethodMatcher.Candidates.ofName(FOO).hashCode()));
+        assertThat(MethodMatcher.Candidates.ofName(FOO), is(MethodMatcher.Candidates.ofName(FOO)));
+        assertThat(MethodMatcher.Candidates.ofName(FOO), not(is(MethodMatcher.Candidates.ofName(BAR))));
+        assertThat(MethodMatcher.Candidates.ofName(FOO), not(is(MethodMatcher.Candidates.ofUniqueSignature(FOO))));
+        assertThat(MethodMatcher.Candidates.any(), not(is(MethodMatcher.Candidates.none())));
+    }
+
+    public static class Sample {
+
+        public void foo() {
+            /* empty */
+        }
+
+        public void bar() {
+            /* empty */
+        }
+    }
+}
@@ -13,12 +13,18 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 public class MethodMatchersTest {
 
@@ -832,6 +838,151 @@ public class MethodMatchersTest {
         assertThat(MethodMatchers.none(), not(is(MethodMatchers.any())));
     }
 
+    @Test
+    public void testOptimizeRetainsMatches() throws Exception {
+        MethodMatcher methodMatcher = MethodMatchers.isAnnotatedBy(Foo.class)
+                .and(MethodMatchers.named(FOO_METHOD_NAME).or(MethodMatchers.named(BAR_METHOD_NAME)))
+                .and(MethodMatchers.isPublic().or(MethodMatchers.isProtected()));
+        MethodMatcher optimized = MethodMatchers.optimize(methodMatcher);
+        for (MethodDescription methodDescription : new MethodDescription[]{testClassBase$foo, testClassBase$bar,
+                testClassBase$baz, testClassExtension$foo, testClassExtension$bar}) {
+            assertThat(optimized.matches(methodDescription), is(methodMatcher.matches(methodDescription)));
+        }
+    }
+
+    @Test
+    public void testOptimizeRetainsMatchesOfConjunctions() throws Exception {
+        assertOptimizationRetainsMatches(MethodMatchers.takesArguments(0)
+                .and(MethodMatchers.isPublic())
+                .and(MethodMatchers.returns(String.class).and(MethodMatchers.not(MethodMatchers.isStatic()))));
+        assertOptimizationRetainsMatches(MethodMatchers.isOverridable()
+                .and(MethodMatchers.isDeclaredBySuperTypeOf(String.class))
+                .and(MethodMatchers.not(MethodMatchers.named(FINALIZE_METHOD_NAME).or(MethodMatchers.named(HASH_CODE_METHOD_NAME)))));
+        assertOptimizationRetainsMatches(MethodMatchers.isMethod()
+                .and(MethodMatchers.named(FOO_METHOD_NAME).and(MethodMatchers.named(FOO_METHOD_NAME)))
+                .and(MethodMatchers.isBridge().or(MethodMatchers.not(MethodMatchers.isBridge()))));
+    }
+
+    @Test
+    public void testOptimizeRetainsMatchesOfDisjunctions() throws Exception {
+        assertOptimizationRetainsMatches(MethodMatchers.named(HASH_CODE_METHOD_NAME)
+                .or(MethodMatchers.named(FOO_METHOD_NAME))
+                .or(MethodMatchers.named(FOOBAR_METHOD_NAME).or(MethodMatchers.isConstructor())));
+        assertOptimizationRetainsMatches(MethodMatchers.isGetter()
+                .or(MethodMatchers.isSetter())
+                .or(MethodMatchers.named(FOO_METHOD_NAME).or(MethodMatchers.nameStartsWith(BAR_METHOD_NAME))));
+        assertOptimizationRetainsMatches(MethodMatchers.isStatic()
+                .or(MethodMatchers.none())
+                .or(MethodMatchers.named(QUX_METHOD_NAME).or(MethodMatchers.isStatic())));
+    }
+
+    @Test
+    public void testOptimizeRetainsMatchesOfNestedJunctions() throws Exception {
+        assertOptimizationRetainsMatches(MethodMatchers.not(MethodMatchers.isPublic().and(MethodMatchers.any()))
+                .or(MethodMatchers.isStatic().and(MethodMatchers.none())));
+        assertOptimizationRetainsMatches(MethodMatchers.isDeclaredBy(Object.class)
+                .and(MethodMatchers.named("wait").or(MethodMatchers.named("notify")).and(MethodMatchers.isFinal()))
+                .or(MethodMatchers.isConstructor().and(MethodMatchers.takesArguments(1))));
+        assertOptimizationRetainsMatches(MethodMatchers.returns(void.class).or(MethodMatchers.returns(boolean.class))
+                .and(MethodMatchers.takesArguments(1).or(MethodMatchers.takesArguments(2)))
+                .and(MethodMatchers.not(MethodMatchers.isAnnotatedBy(Foo.class).or(MethodMatchers.isPrivate()))));
+    }
+
+    private static void assertOptimizationRetainsMatches(MethodMatcher methodMatcher) {
+        MethodMatcher optimized = MethodMatchers.optimize(methodMatcher);
+        List<MethodDescription> methodDescriptions = new ArrayList<MethodDescription>();
+        for (Class<?> type : new Class<?>[]{Object.class, String.class, ArrayList.class, Comparable.class,
+                TestClassBase.class, TestClassExtension.class, TestInterface.class}) {
+            for (Method method : type.getDeclaredMethods()) {
+                methodDescriptions.add(new MethodDescription.ForLoadedMethod(method));
+            }
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                methodDescriptions.add(new MethodDescription.ForLoadedConstructor(constructor));
+            }
+        }
+        int matched = 0;
+        for (MethodDescription methodDescription : methodDescriptions) {
+            boolean matches = methodMatcher.matches(methodDescription);
+            assertEquals(optimized + " for " + methodDescription, matches, optimized.matches(methodDescription));
+            if (matches) {
+                matched++;
+            }
+        }
+        assertThat(methodMatcher + " matches some", matched > 0, is(true));
+        assertThat(methodMatcher + " does not match all", matched < methodDescriptions.size(), is(true));
+    }
+
+    @Test
+    public void testOptimizeFlattensAndReordersConjunction() throws Exception {
+        assertThat(MethodMatchers.optimize(MethodMatchers.isAnnotatedBy(Foo.class)
+                        .and(MethodMatchers.takesArguments(0).and(MethodMatchers.named(FOO_METHOD_NAME)))
+                        .and(MethodMatchers.isPublic())).toString(),
+                is("allOf([" + MethodMatchers.isPublic() + ", " + MethodMatchers.named(FOO_METHOD_NAME) + ", "
+                        + MethodMatchers.takesArguments(0) + ", " + MethodMatchers.isAnnotatedBy(Foo.class) + "])"));
+    }
+
+    @Test
+    public void testOptimizeAppliesCheapMatcherFirst() throws Exception {
+        MethodMatcher methodMatcher = mock(MethodMatcher.class);
+        assertThat(MethodMatchers.optimize(MethodMatchers.isAnnotatedBy(Foo.class)
+                .and(MethodMatchers.named(BAR_METHOD_NAME))
+                .and(methodMatcher))
+                .matches(testClassBase$foo), is(false));
+        verifyZeroInteractions(methodMatcher);
+    }
+
+    @Test
+    public void testOptimizeDoesNotReorderAcrossUnknownMatcher() throws Exception {
+        MethodMatcher methodMatcher = mock(MethodMatcher.class);
+        assertThat(MethodMatchers.optimize(new JunctionMethodMatcher.Conjunction(methodMatcher, MethodMatchers.named(BAR_METHOD_NAME)))
+                .matches(testClassBase$foo), is(false));
+        verify(methodMatcher).matches(testClassBase$foo);
+        assertThat(MethodMatchers.optimize(MethodMatchers.isAnnotatedBy(Foo.class)
+                        .and(MethodMatchers.takesArguments(0))
+                        .and(methodMatcher)
+                        .and(MethodMatchers.isAnnotatedBy(Foo.class))
+                        .and(MethodMatchers.named(FOO_METHOD_NAME))
+                        .and(MethodMatchers.isPublic())).toString(),
+                is("allOf([" + MethodMatchers.takesArguments(0) + ", " + MethodMatchers.isAnnotatedBy(Foo.class) + ", "
+                        + methodMatcher + ", " + MethodMatchers.isPublic() + ", " + MethodMatchers.named(FOO_METHOD_NAME) + "])"));
+    }
+
+    @Test
+    public void testOptimizeRetainsUnknownMatcher() throws Exception {
+        MethodMatcher methodMatcher = mock(MethodMatcher.class);
+        assertThat(MethodMatchers.optimize(new JunctionMethodMatcher.Disjunction(MethodMatchers.named(FOO_METHOD_NAME),
+                new JunctionMethodMatcher.Disjunction(methodMatcher, MethodMatchers.any()))).toString(),
+                is("anyOf([" + MethodMatchers.named(FOO_METHOD_NAME) + ", " + methodMatcher + ", " + MethodMatchers.any() + "])"));
+        assertThat(MethodMatchers.optimize(new JunctionMethodMatcher.Disjunction(MethodMatchers.named(FOO_METHOD_NAME),
+                new JunctionMethodMatcher.Disjunction(methodMatcher, methodMatcher))).toString(),
+                is("anyOf([" + MethodMatchers.named(FOO_METHOD_NAME) + ", " + methodMatcher + ", " + methodMatcher + "])"));
+        assertThat(MethodMatchers.optimize(new JunctionMethodMatcher.Disjunction(MethodMatchers.any(), methodMatcher)),
+                is((MethodMatcher) MethodMatchers.any()));
+    }
+
+    @Test
+    public void testOptimizeMergesNamedDisjunction() throws Exception {
+        MethodMatcher methodMatcher = MethodMatchers.optimize(MethodMatchers.named(FOO_METHOD_NAME)
+                .or(MethodMatchers.named(BAR_METHOD_NAME).or(MethodMatchers.named(QUX_METHOD_NAME))));
+        assertThat(methodMatcher.toString(), is("namedOneOf([" + FOO_METHOD_NAME + ", " + BAR_METHOD_NAME + ", " + QUX_METHOD_NAME + "])"));
+        assertThat(methodMatcher.matches(testClassBase$foo), is(true));
+        assertThat(methodMatcher.matches(testClassBase$qux), is(true));
+        assertThat(methodMatcher.matches(testClassBase$baz), is(false));
+        assertThat(MethodMatcher.Candidates.of(methodMatcher).getNames().size(), is(3));
+    }
+
+    @Test
+    public void testOptimizeDeduplicates() throws Exception {
+        assertThat(MethodMatchers.optimize(MethodMatchers.named(FOO_METHOD_NAME).and(MethodMatchers.named(FOO_METHOD_NAME))),
+                is((MethodMatcher) MethodMatchers.named(FOO_METHOD_NAME)));
+        assertThat(MethodMatchers.optimize(MethodMatchers.isPublic().or(MethodMatchers.any())),
+                is((MethodMatcher) MethodMatchers.any()));
+        assertThat(MethodMatchers.optimize(MethodMatchers.isPublic().and(MethodMatchers.none())),
+                is((MethodMatcher) MethodMatchers.none()));
+        assertThat(MethodMatchers.optimize(MethodMatchers.not(MethodMatchers.isPublic().and(MethodMatchers.any()))),
+                is((MethodMatcher) MethodMatchers.not(MethodMatchers.isPublic())));
+    }
+
     @Test
     public void testConstructorIsHidden() throws Exception {
         MatcherAssert.assertThat(MethodMatchers.class.getDeclaredConstructors().length, is(1));
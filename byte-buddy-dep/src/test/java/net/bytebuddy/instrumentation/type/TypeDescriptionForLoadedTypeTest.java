@@ -1,5 +1,7 @@
 package net.bytebuddy.instrumentation.type;
 
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
 import net.bytebuddy.instrumentation.method.MethodDescription;
 import net.bytebuddy.instrumentation.method.bytecode.stack.StackSize;
 import net.bytebuddy.test.packaging.PackagePrivateType;
@@ -8,9 +10,14 @@ import org.junit.Test;
 import org.mockito.asm.Type;
 
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
@@ -18,6 +25,8 @@ import static org.mockito.Mockito.*;
 
 public class TypeDescriptionForLoadedTypeTest {
 
+    private static final int MAXIMUM_ATTEMPTS = 100;
+
     private TypeDescription objectType;
     private TypeDescription intType;
     private TypeDescription longType;
@@ -345,6 +354,56 @@ public class TypeDescriptionForLoadedTypeTest {
         assertThat(objectType.getInterfaces().size(), is(0));
     }
 
+    @Test
+    public void testCanonicalInstance() throws Exception {
+        TypeDescription typeDescription = TypeDescription.ForLoadedType.of(Integer.class);
+        assertThat(TypeDescription.ForLoadedType.of(Integer.class), sameInstance(typeDescription));
+        assertThat(typeDescription, equalTo(integerType));
+        assertThat(TypeDescription.ForLoadedType.of(Number.class), sameInstance(typeDescription.getSupertype()));
+    }
+
+    @Test
+    public void testCanonicalInstanceIsRetainedWhileReferenced() throws Exception {
+        TypeDescription typeDescription = TypeDescription.ForLoadedType.of(Canonical.class);
+        System.gc();
+        assertThat(TypeDescription.ForLoadedType.of(Canonical.class), sameInstance(typeDescription));
+    }
+
+    @Test
+    public void testCanonicalInstanceIsRetainedForPersistentType() throws Exception {
+        int identityHashCode = System.identityHashCode(TypeDescription.ForLoadedType.of(Canonical.class));
+        for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS; attempt++) {
+            System.gc();
+        }
+        assertThat(System.identityHashCode(TypeDescription.ForLoadedType.of(Canonical.class)), is(identityHashCode));
+    }
+
+    @Test
+    public void testCanonicalInstanceDoesNotRetainClassLoader() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(Object.class)
+                .make()
+                .load(new URLClassLoader(new URL[0], null), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(TypeDescription.ForLoadedType.of(type).represents(type), is(true));
+        Reference<ClassLoader> reference = new WeakReference<ClassLoader>(type.getClassLoader());
+        type = null;
+        for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS && reference.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertThat(reference.get(), nullValue(ClassLoader.class));
+    }
+
+    @Test
+    public void testHierarchyIsMemoized() throws Exception {
+        assertThat(integerType.getSupertype(), sameInstance(integerType.getSupertype()));
+        assertThat(integerType.getSupertype().getSupertype(), sameInstance(integerType.getSupertype().getSupertype()));
+        assertThat(integerType.getInterfaces(), sameInstance(integerType.getInterfaces()));
+        assertThat(integerType.getInterfaces().get(0), sameInstance(integerType.getInterfaces().get(0)));
+        assertThat(objectArrayType.getComponentType(), sameInstance(objectArrayType.getComponentType()));
+    }
+
     @Test
     public void testGetStackSize() throws Exception {
         assertThat(objectType.getStackSize(), is(StackSize.SINGLE));
@@ -440,4 +499,15 @@ public class TypeDescriptionForLoadedTypeTest {
         assertTypeEquality(serializableType, Serializable.class);
         assertTypeEquality(objectArrayType, Object[].class);
     }
+
+    @Test
+    public void testPersistentClassLoader() throws Exception {
+        assertThat(TypeDescription.ForLoadedType.isPersistent(null), is(true));
+        assertThat(TypeDescription.ForLoadedType.isPersistent(TypeDescription.class.getClassLoader()), is(true));
+        assertThat(TypeDescription.ForLoadedType.isPersistent(new URLClassLoader(new URL[0])), is(false));
+    }
+
+    private static class Canonical {
+        /* empty */
+    }
 }
@@ -0,0 +1,22 @@
+package net.bytebuddy.instrumentation.type.auxiliary;
+
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import org.junit.Test;
+
+public class ArgumentCarrierEqualsHashCodeTest {
+
+    @Test
+    public void testEqualsHashCode() throws Exception {
+        HashCodeEqualsTester.of(ArgumentCarrier.class).apply();
+    }
+
+    @Test
+    public void testAssignableSignatureCallEqualsHashCode() throws Exception {
+        HashCodeEqualsTester.of(ArgumentCarrier.AssignableSignatureCall.class).apply();
+    }
+
+    @Test
+    public void testArgumentAccessEqualsHashCode() throws Exception {
+        HashCodeEqualsTester.of(ArgumentCarrier.ArgumentAccess.class).apply();
+    }
+}
@@ -0,0 +1,27 @@
+package net.bytebuddy.instrumentation.type.auxiliary;
+
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import org.junit.Test;
+
+public class MethodCallDispatcherEqualsHashCodeTest {
+
+    @Test
+    public void testEqualsHashCode() throws Exception {
+        HashCodeEqualsTester.of(MethodCallDispatcher.class).apply();
+    }
+
+    @Test
+    public void testAssignableSignatureCallEqualsHashCode() throws Exception {
+        HashCodeEqualsTester.of(MethodCallDispatcher.AssignableSignatureCall.class).apply();
+    }
+
+    @Test
+    public void testEntryEqualsHashCode() throws Exception {
+        HashCodeEqualsTester.of(MethodCallDispatcher.Entry.class).apply();
+    }
+
+    @Test
+    public void testMethodDispatchEqualsHashCode() throws Exception {
+        HashCodeEqualsTester.of(MethodCallDispatcher.MethodDispatch.class).apply();
+    }
+}
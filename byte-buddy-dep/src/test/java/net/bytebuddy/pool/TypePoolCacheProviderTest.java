@@ -0,0 +1,50 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.MockitoRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+import org.mockito.Mock;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+public class TypePoolCacheProviderTest {
+
+    private static final String FOO = "foo";
+
+    @Rule
+    public TestRule mockitoRule = new MockitoRule(this);
+
+    @Mock
+    private TypeDescription typeDescription, otherTypeDescription;
+
+    @Before
+    public void setUp() throws Exception {
+        when(typeDescription.getName()).thenReturn(FOO);
+        when(otherTypeDescription.getName()).thenReturn(FOO);
+    }
+
+    @Test
+    public void testNoOp() throws Exception {
+        assertThat(TypePool.CacheProvider.NoOp.INSTANCE.find(FOO), nullValue(TypeDescription.class));
+        assertThat(TypePool.CacheProvider.NoOp.INSTANCE.register(typeDescription), is(typeDescription));
+        assertThat(TypePool.CacheProvider.NoOp.INSTANCE.find(FOO), nullValue(TypeDescription.class));
+        TypePool.CacheProvider.NoOp.INSTANCE.clear();
+    }
+
+    @Test
+    public void testSimple() throws Exception {
+        TypePool.CacheProvider cacheProvider = new TypePool.CacheProvider.Simple();
+        assertThat(cacheProvider.find(FOO), nullValue(TypeDescription.class));
+        assertThat(cacheProvider.register(typeDescription), is(typeDescription));
+        assertThat(cacheProvider.find(FOO), is(typeDescription));
+        assertThat(cacheProvider.register(otherTypeDescription), is(typeDescription));
+        cacheProvider.clear();
+        assertThat(cacheProvider.find(FOO), nullValue(TypeDescription.class));
+    }
+}
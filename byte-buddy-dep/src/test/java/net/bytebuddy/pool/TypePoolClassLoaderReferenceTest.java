@@ -0,0 +1,82 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.dynamic.scaffold.inline.ClassFileLocator;
+import net.bytebuddy.utility.ClassFileExtraction;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import org.junit.Test;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolClassLoaderReferenceTest {
+
+    private static final int MAXIMUM_ATTEMPTS = 100;
+
+    @Test
+    public void testStrong() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        assertThat(new TypePool.ClassLoaderReference.Strong(classLoader).getClassLoader(), is(classLoader));
+        assertThat(new TypePool.ClassLoaderReference.Strong(null).getClassLoader(), nullValue(ClassLoader.class));
+    }
+
+    @Test
+    public void testWeak() throws Exception {
+        ClassLoader classLoader = getClass().getClassLoader();
+        assertThat(new TypePool.ClassLoaderReference.Weak(classLoader).getClassLoader(), is(classLoader));
+        assertThat(new TypePool.ClassLoaderReference.Weak(classLoader), is((TypePool.ClassLoaderReference) new TypePool.ClassLoaderReference.Weak(classLoader)));
+        assertThat(new TypePool.ClassLoaderReference.Weak(classLoader).hashCode(), is(new TypePool.ClassLoaderReference.Weak(classLoader).hashCode()));
+        assertThat(new TypePool.ClassLoaderReference.Weak(classLoader), not((TypePool.ClassLoaderReference) new TypePool.ClassLoaderReference.Weak(new URLClassLoader(new URL[0]))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWeakBootstrapClassLoader() throws Exception {
+        new TypePool.ClassLoaderReference.Weak(null);
+    }
+
+    @Test
+    public void testWeakDoesNotRetainClassLoader() throws Exception {
+        TypePool typePool = makeIsolated();
+        Reference<ClassLoader> classLoader = new WeakReference<ClassLoader>(typePool.describe(Foo.class.getName()).getClassLoader());
+        for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS && classLoader.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        assertThat(classLoader.get(), nullValue(ClassLoader.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testWeakCollectedClassLoader() throws Exception {
+        TypePool.ClassLoaderReference classLoaderReference = new TypePool.ClassLoaderReference.Weak(new URLClassLoader(new URL[0]));
+        for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS; attempt++) {
+            System.gc();
+            Thread.sleep(10L);
+            classLoaderReference.getClassLoader();
+        }
+    }
+
+    @Test
+    public void testHashCodeEquals() throws Exception {
+        HashCodeEqualsTester.of(TypePool.ClassLoaderReference.Strong.class).apply();
+    }
+
+    private static TypePool makeIsolated() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[]{Foo.class.getProtectionDomain().getCodeSource().getLocation()}, null);
+        TypePool.ClassLoaderReference classLoaderReference = new TypePool.ClassLoaderReference.Weak(classLoader);
+        TypePool typePool = new TypePool.Default(new TypePool.CacheProvider.Simple(),
+                new ClassFileLocator.Simple(Foo.class.getName(), ClassFileExtraction.extract(Foo.class)),
+                classLoaderReference);
+        assertThat(typePool.describe(Foo.class.getName()).getClassLoader(), is(classLoader));
+        return typePool;
+    }
+
+    public static class Foo {
+        /* empty */
+    }
+}
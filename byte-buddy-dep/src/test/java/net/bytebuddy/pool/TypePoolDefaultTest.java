@@ -0,0 +1,348 @@
+package net.bytebuddy.pool;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.inline.ClassFileLocator;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.instrumentation.field.FieldDescription;
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.method.MethodLookupEngine;
+import net.bytebuddy.instrumentation.method.matcher.MethodMatchers;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import net.bytebuddy.utility.HashCodeEqualsTester;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypePoolDefaultTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private TypePool typePool;
+
+    @Before
+    public void setUp() throws Exception {
+        typePool = TypePool.Default.of(getClass().getClassLoader());
+    }
+
+    @Test
+    public void testTypeProperties() throws Exception {
+        assertEqualType(typePool.describe(Sample.class.getName()), TypeDescription.ForLoadedType.of(Sample.class));
+        assertEqualType(typePool.describe(SampleInterface.class.getName()), TypeDescription.ForLoadedType.of(SampleInterface.class));
+        assertEqualType(typePool.describe(Object.class.getName()), TypeDescription.ForLoadedType.of(Object.class));
+        assertEqualType(typePool.describe(String.class.getName()), TypeDescription.ForLoadedType.of(String.class));
+    }
+
+    @Test
+    public void testTypeHierarchy() throws Exception {
+        TypeDescription typeDescription = typePool.describe(Sample.class.getName());
+        assertThat(typeDescription.getSupertype(), is((TypeDescription) TypeDescription.ForLoadedType.of(SampleBase.class)));
+        assertThat(typeDescription.getSupertype().getSupertype(), is((TypeDescription) TypeDescription.ForLoadedType.of(Object.class)));
+        assertThat(typeDescription.getSupertype().getSupertype().getSupertype(), nullValue(TypeDescription.class));
+        assertThat(typeDescription.getInterfaces().size(), is(2));
+        assertThat(typeDescription.getInterfaces().get(0).represents(SampleInterface.class), is(true));
+        assertThat(typePool.describe(SampleInterface.class.getName()).getSupertype(), nullValue(TypeDescription.class));
+        assertThat(typeDescription.isAssignableTo(SampleInterface.class), is(true));
+        assertThat(typeDescription.isAssignableTo(Serializable.class), is(true));
+        assertThat(typeDescription.isAssignableTo(Object.class), is(true));
+        assertThat(typeDescription.isAssignableTo(String.class), is(false));
+        assertThat(typeDescription.isAssignableFrom(Sample.class), is(true));
+        assertThat(typeDescription.isAssignableFrom(SampleBase.class), is(false));
+        assertThat(typePool.describe(SampleInterface.class.getName()).isAssignableFrom(Sample.class), is(true));
+    }
+
+    @Test
+    public void testInterfaceIsAssignableToObject() throws Exception {
+        TypeDescription interfaceType = typePool.describe(SampleInterface.class.getName());
+        TypeDescription objectType = typePool.describe(Object.class.getName());
+        assertThat(interfaceType.isAssignableTo(Object.class), is(true));
+        assertThat(interfaceType.isAssignableTo(objectType), is(true));
+        assertThat(objectType.isAssignableFrom(interfaceType), is(true));
+        assertThat(objectType.isAssignableFrom(int.class), is(false));
+        assertThat(interfaceType.isAssignableTo(String.class), is(false));
+    }
+
+    @Test
+    public void testNestingProperties() throws Exception {
+        TypeDescription typeDescription = typePool.describe(Sample.class.getName());
+        assertThat(typeDescription.isMemberClass(), is(true));
+        assertThat(typeDescription.isAnonymousClass(), is(false));
+        assertThat(typeDescription.isLocalClass(), is(false));
+        assertThat(typeDescription.getDeclaringType().represents(TypePoolDefaultTest.class), is(true));
+        assertThat(typeDescription.getSimpleName(), is(Sample.class.getSimpleName()));
+        assertThat(typeDescription.getCanonicalName(), is(Sample.class.getCanonicalName()));
+        Class<?> anonymousType = new Object() {
+            /* empty */
+        }.getClass();
+        TypeDescription anonymousTypeDescription = typePool.describe(anonymousType.getName());
+        assertThat(anonymousTypeDescription.isAnonymousClass(), is(true));
+        assertThat(anonymousTypeDescription.getSimpleName(), is(anonymousType.getSimpleName()));
+        assertThat(anonymousTypeDescription.getCanonicalName(), nullValue(String.class));
+        assertThat(anonymousTypeDescription.getEnclosingMethod().getInternalName(), is("testNestingProperties"));
+        class Local {
+            /* empty */
+        }
+        TypeDescription localTypeDescription = typePool.describe(Local.class.getName());
+        assertThat(localTypeDescription.isLocalClass(), is(true));
+        assertThat(localTypeDescription.getSimpleName(), is(Local.class.getSimpleName()));
+        assertThat(localTypeDescription.getCanonicalName(), nullValue(String.class));
+    }
+
+    @Test
+    public void testMethods() throws Exception {
+        TypeDescription typeDescription = typePool.describe(Sample.class.getName());
+        TypeDescription loadedType = TypeDescription.ForLoadedType.of(Sample.class);
+        assertThat(typeDescription.getDeclaredMethods().size(), is(loadedType.getDeclaredMethods().size()));
+        for (MethodDescription methodDescription : loadedType.getDeclaredMethods()) {
+            MethodDescription pooledMethod = typeDescription.getDeclaredMethods()
+                    .filter(MethodMatchers.is(methodDescription))
+                    .getOnly();
+            assertThat(pooledMethod, is(methodDescription));
+            assertThat(pooledMethod.hashCode(), is(methodDescription.hashCode()));
+            assertThat(pooledMethod.getModifiers(), is(methodDescription.getModifiers()));
+            assertThat(pooledMethod.getReturnType(), is(methodDescription.getReturnType()));
+            assertThat(pooledMethod.getParameterTypes(), is(methodDescription.getParameterTypes()));
+            assertThat(pooledMethod.getExceptionTypes(), is(methodDescription.getExceptionTypes()));
+            assertThat(pooledMethod.getStackSize(), is(methodDescription.getStackSize()));
+            assertThat(pooledMethod.getDeclaringType(), is(typeDescription));
+        }
+        MethodDescription methodDescription = typeDescription.getDeclaredMethods().filter(named(FOO)).getOnly();
+        Method method = Sample.class.getDeclaredMethod(FOO, long.class, String[].class);
+        assertThat(methodDescription.represents(method), is(true));
+        assertThat(methodDescription.getAnnotation(SampleAnnotation.class), is(method.getAnnotation(SampleAnnotation.class)));
+        assertThat(methodDescription.getParameterAnnotations()[0].length, is(0));
+        assertThat(methodDescription.getParameterAnnotations()[1].length, is(1));
+        assertThat(methodDescription.getParameterAnnotations()[1][0], is(method.getParameterAnnotations()[1][0]));
+        assertThat(typeDescription.getDeclaredMethods().filter(MethodMatchers.isConstructor())
+                .getOnly().represents(Sample.class.getDeclaredConstructor()), is(true));
+    }
+
+    @Test
+    public void testFields() throws Exception {
+        TypeDescription typeDescription = typePool.describe(Sample.class.getName());
+        TypeDescription loadedType = TypeDescription.ForLoadedType.of(Sample.class);
+        assertThat(typeDescription.getDeclaredFields().size(), is(loadedType.getDeclaredFields().size()));
+        for (FieldDescription fieldDescription : loadedType.getDeclaredFields()) {
+            FieldDescription pooledField = typeDescription.getDeclaredFields().named(fieldDescription.getName());
+            assertThat(pooledField, is(fieldDescription));
+            assertThat(pooledField.hashCode(), is(fieldDescription.hashCode()));
+            assertThat(pooledField.getModifiers(), is(fieldDescription.getModifiers()));
+            assertThat(pooledField.getFieldType(), is(fieldDescription.getFieldType()));
+            assertThat(pooledField.getDescriptor(), is(fieldDescription.getDescriptor()));
+        }
+        assertThat(typeDescription.getDeclaredFields().named(BAR).isAnnotationPresent(SampleAnnotation.class), is(true));
+        assertThat(typeDescription.getDeclaredFields().named(BAR).getAnnotation(SampleAnnotation.class),
+                is(Sample.class.getDeclaredField(BAR).getAnnotation(SampleAnnotation.class)));
+    }
+
+    @Test
+    public void testTypeAnnotations() throws Exception {
+        TypeDescription typeDescription = typePool.describe(Sample.class.getName());
+        SampleAnnotation annotation = Sample.class.getAnnotation(SampleAnnotation.class);
+        SampleAnnotation pooledAnnotation = typeDescription.getAnnotation(SampleAnnotation.class);
+        assertThat(typeDescription.isAnnotationPresent(SampleAnnotation.class), is(true));
+        assertThat(pooledAnnotation, is(annotation));
+        assertThat(annotation, is(pooledAnnotation));
+        assertThat(pooledAnnotation.hashCode(), is(annotation.hashCode()));
+        assertThat(pooledAnnotation.annotationType(), is((Object) SampleAnnotation.class));
+        assertThat(pooledAnnotation.value(), is(annotation.value()));
+        assertThat(pooledAnnotation.values(), is(annotation.values()));
+        assertThat(pooledAnnotation.type(), is((Object) annotation.type()));
+        assertThat(pooledAnnotation.elementType(), is(annotation.elementType()));
+        assertThat(pooledAnnotation.nested(), is(annotation.nested()));
+        assertThat(pooledAnnotation.defaulted(), is(annotation.defaulted()));
+        assertThat(typeDescription.getDeclaredAnnotations().length, is(1));
+        assertThat(typeDescription.getDeclaredAnnotations()[0], is((Annotation) annotation));
+        assertThat(typeDescription.isAnnotationPresent(Retention.class), is(false));
+        assertThat(typeDescription.getAnnotation(Retention.class), nullValue(Retention.class));
+    }
+
+    @Test
+    public void testArrayType() throws Exception {
+        TypeDescription typeDescription = typePool.describe(Sample[][].class.getName());
+        TypeDescription loadedType = TypeDescription.ForLoadedType.of(Sample[][].class);
+        assertThat(typeDescription, is(loadedType));
+        assertThat(typeDescription.getName(), is(loadedType.getName()));
+        assertThat(typeDescription.getDescriptor(), is(loadedType.getDescriptor()));
+        assertThat(typeDescription.getInternalName(), is(loadedType.getInternalName()));
+        assertThat(typeDescription.getModifiers(), is(loadedType.getModifiers()));
+        assertThat(typeDescription.isArray(), is(true));
+        assertThat(typeDescription.getComponentType(), is(loadedType.getComponentType()));
+        assertThat(typeDescription.getSimpleName(), is(loadedType.getSimpleName()));
+        assertThat(typeDescription.getCanonicalName(), is(loadedType.getCanonicalName()));
+        assertThat(typeDescription.represents(Sample[][].class), is(true));
+        assertThat(typeDescription.isAssignableTo(Object[].class), is(true));
+        assertThat(typeDescription.isAssignableTo(SampleInterface[][].class), is(true));
+        assertThat(typeDescription.isAssignableTo(Cloneable.class), is(true));
+        assertThat(typeDescription.isAssignableTo(Sample[].class), is(false));
+        assertThat(typePool.describe(int[].class.getName()), is((TypeDescription) TypeDescription.ForLoadedType.of(int[].class)));
+        assertThat(typePool.describe(int[].class.getName()).isAssignableTo(long[].class), is(false));
+    }
+
+    @Test
+    public void testPrimitiveType() throws Exception {
+        assertThat(typePool.describe(int.class.getName()), is((TypeDescription) TypeDescription.ForLoadedType.of(int.class)));
+        assertThat(typePool.describe(void.class.getName()), is((TypeDescription) TypeDescription.ForLoadedType.of(void.class)));
+    }
+
+    @Test
+    public void testCaching() throws Exception {
+        assertThat(typePool.describe(Sample.class.getName()), sameInstance(typePool.describe(Sample.class.getName())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownType() throws Exception {
+        typePool.describe(FOO + "." + BAR);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInternalName() throws Exception {
+        typePool.describe(Sample.class.getName().replace('.', '/'));
+    }
+
+    @Test
+    public void testTypeIsNotLoaded() throws Exception {
+        ObservingClassLoader classLoader = new ObservingClassLoader();
+        TypePool typePool = TypePool.Default.of(classLoader);
+        TypeDescription typeDescription = typePool.describe(Sample.class.getName());
+        assertThat(typeDescription.getDeclaredMethods().size() > 0, is(true));
+        assertThat(typeDescription.getSupertype().getDeclaredMethods().size() > 0, is(true));
+        assertThat(typeDescription.getInterfaces().get(0).getDeclaredMethods().size() > 0, is(true));
+        assertThat(classLoader.isLoaded(Sample.class.getName()), is(false));
+        assertThat(classLoader.isLoaded(SampleBase.class.getName()), is(false));
+        assertThat(classLoader.isLoaded(SampleInterface.class.getName()), is(false));
+    }
+
+    @Test
+    public void testMethodLookup() throws Exception {
+        TypeDescription typeDescription = typePool.describe(Sample.class.getName());
+        MethodLookupEngine.Finding finding = MethodLookupEngine.Default.Factory.INSTANCE.make(false).process(typeDescription);
+        MethodLookupEngine.Finding loadedFinding = MethodLookupEngine.Default.Factory.INSTANCE.make(false)
+                .process(TypeDescription.ForLoadedType.of(Sample.class));
+        assertThat(finding.getInvokableMethods().size(), is(loadedFinding.getInvokableMethods().size()));
+        List<MethodDescription> methodDescriptions = new ArrayList<MethodDescription>(loadedFinding.getInvokableMethods());
+        assertThat(new ArrayList<MethodDescription>(finding.getInvokableMethods()).containsAll(methodDescriptions), is(true));
+    }
+
+    @Test
+    public void testSubclass() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .subclass(typePool.describe(SampleBase.class.getName()))
+                .method(named(BAR)).intercept(FixedValue.value(FOO))
+                .make()
+                .load(getClass().getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+        assertThat(type.getSuperclass(), is((Object) SampleBase.class));
+        assertThat(((SampleBase) type.newInstance()).bar(), is((Object) FOO));
+    }
+
+    @Test
+    public void testRebase() throws Exception {
+        Class<?> type = new ByteBuddy()
+                .rebase(typePool.describe(SampleBase.class.getName()), new ClassFileLocator.ForClassLoader(getClass().getClassLoader()))
+                .method(named(BAR)).intercept(FixedValue.value(FOO))
+                .make()
+                .load(null, ClassLoadingStrategy.Default.CHILD_FIRST)
+                .getLoaded();
+        assertThat(type.getName(), is(SampleBase.class.getName()));
+        assertThat(type, not(is((Object) SampleBase.class)));
+        Object instance = type.newInstance();
+        assertThat(type.getDeclaredMethod(BAR).invoke(instance), is((Object) FOO));
+    }
+
+    @Test
+    public void testObjectProperties() throws Exception {
+        HashCodeEqualsTester.of(TypePool.Default.class).apply();
+    }
+
+    private static void assertEqualType(TypeDescription typeDescription, TypeDescription loadedType) {
+        assertThat(typeDescription, is(loadedType));
+        assertThat(typeDescription.hashCode(), is(loadedType.hashCode()));
+        assertThat(typeDescription.getName(), is(loadedType.getName()));
+        assertThat(typeDescription.getInternalName(), is(loadedType.getInternalName()));
+        assertThat(typeDescription.getDescriptor(), is(loadedType.getDescriptor()));
+        assertThat(typeDescription.getModifiers(), is(loadedType.getModifiers()));
+        assertThat(typeDescription.getPackageName(), is(loadedType.getPackageName()));
+        assertThat(typeDescription.getSimpleName(), is(loadedType.getSimpleName()));
+        assertThat(typeDescription.getCanonicalName(), is(loadedType.getCanonicalName()));
+        assertThat(typeDescription.isInterface(), is(loadedType.isInterface()));
+        assertThat(typeDescription.getStackSize(), is(loadedType.getStackSize()));
+        assertThat(typeDescription.getSupertype(), is(loadedType.getSupertype()));
+        assertThat(typeDescription.getInterfaces(), is(loadedType.getInterfaces()));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public static @interface SampleAnnotation {
+
+        String value();
+
+        int[] values() default {};
+
+        Class<?> type() default Object.class;
+
+        ElementType elementType() default ElementType.TYPE;
+
+        Retention nested() default @Retention(RetentionPolicy.CLASS);
+
+        String defaulted() default BAR;
+    }
+
+    public static interface SampleInterface {
+
+        Object foo(long first, String[] second) throws Exception;
+    }
+
+    public static class SampleBase {
+
+        public Object bar() {
+            return null;
+        }
+    }
+
+    @SampleAnnotation(value = FOO, values = {1, 2, 3}, type = String.class, elementType = ElementType.METHOD,
+            nested = @Retention(RetentionPolicy.RUNTIME))
+    public static class Sample extends SampleBase implements SampleInterface, Serializable {
+
+        protected static final long serialVersionUID = 42L;
+
+        @SampleAnnotation(BAR)
+        private transient volatile int bar;
+
+        public double[] qux;
+
+        @Override
+        @SampleAnnotation(FOO)
+        public Object foo(long first, @SampleAnnotation(BAR) String[] second) throws Exception {
+            return null;
+        }
+
+        protected static synchronized void baz() throws RuntimeException {
+            /* empty */
+        }
+    }
+
+    private static class ObservingClassLoader extends URLClassLoader {
+
+        private ObservingClassLoader() {
+            super(new URL[]{TypePoolDefaultTest.class.getProtectionDomain().getCodeSource().getLocation()}, null);
+        }
+
+        public boolean isLoaded(String name) {
+            return findLoadedClass(name) != null;
+        }
+    }
+}
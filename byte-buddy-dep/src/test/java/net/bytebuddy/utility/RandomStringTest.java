@@ -2,13 +2,19 @@ package net.bytebuddy.utility;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class RandomStringTest {
 
-    private static final int LENGTH = RandomString.DEFAULT_LENGTH * 2;
+    private static final int LENGTH = RandomString.DEFAULT_LENGTH * 2, THREADS = 4, VALUES = 100;
 
     @Test
     public void testRandomStringLength() throws Exception {
@@ -24,6 +30,56 @@ public class RandomStringTest {
         assertThat(randomString.nextString(), not(randomString.nextString()));
     }
 
+    @Test
+    public void testConcurrentUse() throws Exception {
+        final RandomString randomString = new RandomString();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Set<String>>> futures = new ArrayList<Future<Set<String>>>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executorService.submit(new Callable<Set<String>>() {
+                    @Override
+                    public Set<String> call() throws Exception {
+                        Set<String> values = new HashSet<String>();
+                        for (int index = 0; index < VALUES; index++) {
+                            values.add(randomString.nextString());
+                        }
+                        return values;
+                    }
+                }));
+            }
+            Set<String> values = new HashSet<String>();
+            for (Future<Set<String>> future : futures) {
+                for (String value : future.get()) {
+                    assertThat(value.length(), is(RandomString.DEFAULT_LENGTH));
+                    values.add(value);
+                }
+            }
+            assertThat(values.size() > VALUES, is(true));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testHashOf() throws Exception {
+        assertThat(RandomString.hashOf(new byte[]{42}), is(RandomString.hashOf(new byte[]{42})));
+        assertThat(RandomString.hashOf(new byte[]{42}), not(RandomString.hashOf(new byte[]{43})));
+        assertThat(RandomString.hashOf(new byte[]{-1}).length(), is(RandomString.hashOf(new byte[]{0}).length()));
+        assertThat(RandomString.hashOf(new byte[20]).length(), is(32));
+    }
+
+    @Test
+    public void testHashOfRepresentsAllBits() throws Exception {
+        byte[] value = new byte[20];
+        String hash = RandomString.hashOf(value);
+        for (int bit = 0; bit < value.length * Byte.SIZE; bit++) {
+            value[bit / Byte.SIZE] ^= 0x80 >>> (bit % Byte.SIZE);
+            assertThat(RandomString.hashOf(value), not(hash));
+            value[bit / Byte.SIZE] ^= 0x80 >>> (bit % Byte.SIZE);
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testNegativeLengthThrowsException() throws Exception {
         new RandomString(-1);
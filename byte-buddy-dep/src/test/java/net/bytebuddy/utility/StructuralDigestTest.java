@@ -0,0 +1,122 @@
+package net.bytebuddy.utility;
+
+import net.bytebuddy.instrumentation.method.MethodDescription;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class StructuralDigestTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    @Test
+    public void testEqualStructure() throws Exception {
+        assertThat(StructuralDigest.of(new Sample(FOO, new Sample(BAR, null))),
+                is(StructuralDigest.of(new Sample(FOO, new Sample(BAR, null)))));
+        assertThat(StructuralDigest.of(new Sample(FOO, new Sample(BAR, null))),
+                not(StructuralDigest.of(new Sample(FOO, new Sample(FOO, null)))));
+        assertThat(StructuralDigest.of(new Sample(FOO, null)), not(StructuralDigest.of(new OtherSample(FOO, null))));
+    }
+
+    @Test
+    public void testTransientFieldIsIgnored() throws Exception {
+        assertThat(StructuralDigest.of(new Sample(FOO, null, 1)), is(StructuralDigest.of(new Sample(FOO, null, 2))));
+    }
+
+    @Test
+    public void testStringRepresentationIsIgnored() throws Exception {
+        assertThat(StructuralDigest.of(new Sample(FOO, null)), not(StructuralDigest.of(new Sample(BAR, null))));
+        assertThat(new Sample(FOO, null).toString(), is(new Sample(BAR, null).toString()));
+    }
+
+    @Test
+    public void testValues() throws Exception {
+        assertThat(StructuralDigest.of(Arrays.<Object>asList(1, 1L, 'a', true, FOO, Thread.State.NEW, Object.class)),
+                is(StructuralDigest.of(Arrays.<Object>asList(1, 1L, 'a', true, FOO, Thread.State.NEW, Object.class))));
+        assertThat(StructuralDigest.of(1), not(StructuralDigest.of(1L)));
+        assertThat(StructuralDigest.of(Arrays.asList(FOO + BAR)), not(StructuralDigest.of(Arrays.asList(FOO, BAR))));
+        assertThat(StructuralDigest.of(new int[]{1, 2}), is(StructuralDigest.of(new int[]{1, 2})));
+        assertThat(StructuralDigest.of(new int[]{1, 2}), not(StructuralDigest.of(new int[]{2, 1})));
+        assertThat(StructuralDigest.of(null), notNullValue(byte[].class));
+    }
+
+    @Test
+    public void testDescriptions() throws Exception {
+        assertThat(StructuralDigest.of(TypeDescription.ForLoadedType.of(Object.class)), is(StructuralDigest.of(Object.class)));
+        assertThat(StructuralDigest.of(new MethodDescription.ForLoadedMethod(Object.class.getDeclaredMethod("toString"))),
+                is(StructuralDigest.of(Object.class.getDeclaredMethod("toString"))));
+    }
+
+    @Test
+    public void testUnorderedCollections() throws Exception {
+        assertThat(StructuralDigest.of(new HashSet<String>(Arrays.asList(FOO, BAR))),
+                is(StructuralDigest.of(new LinkedHashSet<String>(Arrays.asList(BAR, FOO)))));
+        Map<String, String> first = new LinkedHashMap<String, String>(), second = new LinkedHashMap<String, String>();
+        first.put(FOO, BAR);
+        first.put(BAR, FOO);
+        second.put(BAR, FOO);
+        second.put(FOO, BAR);
+        assertThat(StructuralDigest.of(first), is(StructuralDigest.of(second)));
+        assertThat(StructuralDigest.of(Arrays.asList(FOO, BAR)), not(StructuralDigest.of(Arrays.asList(BAR, FOO))));
+    }
+
+    @Test
+    public void testOpaqueValueHasNoDigest() throws Exception {
+        assertThat(StructuralDigest.of(new Object()), nullValue(byte[].class));
+        assertThat(StructuralDigest.of(new Sample(FOO, new Random())), nullValue(byte[].class));
+    }
+
+    @Test
+    public void testCyclicValueHasNoDigest() throws Exception {
+        Sample sample = new Sample(FOO, null);
+        sample.value = sample;
+        assertThat(StructuralDigest.of(sample), nullValue(byte[].class));
+    }
+
+    @Test
+    public void testSharedValue() throws Exception {
+        Sample shared = new Sample(FOO, null);
+        assertThat(StructuralDigest.of(Arrays.asList(shared, shared)), notNullValue(byte[].class));
+    }
+
+    @Test
+    public void testHexString() throws Exception {
+        assertThat(StructuralDigest.toHexString(new byte[]{0, 10, -1}), is("000aff"));
+        assertThat(StructuralDigest.toHexString(StructuralDigest.digest(FOO)).length(), is(40));
+    }
+
+    private static class Sample {
+
+        private final String name;
+
+        private Object value;
+
+        private transient int cache;
+
+        private Sample(String name, Object value) {
+            this(name, value, 0);
+        }
+
+        private Sample(String name, Object value, int cache) {
+            this.name = name;
+            this.value = value;
+            this.cache = cache;
+        }
+
+        @Override
+        public String toString() {
+            return "Sample";
+        }
+    }
+
+    private static class OtherSample extends Sample {
+
+        private OtherSample(String name, Object value) {
+            super(name, value);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package net.bytebuddy.utility;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.ref.Reference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class WeakConcurrentMapTest {
+
+    private static final String FOO = "foo", BAR = "bar";
+
+    private WeakConcurrentMap<Object, String> map;
+
+    @Before
+    public void setUp() throws Exception {
+        map = new WeakConcurrentMap<Object, String>();
+    }
+
+    @Test
+    public void testPutAndGet() throws Exception {
+        Object key = new Object();
+        assertThat(map.get(key), nullValue(String.class));
+        assertThat(map.containsKey(key), is(false));
+        assertThat(map.put(key, FOO), nullValue(String.class));
+        assertThat(map.get(key), is(FOO));
+        assertThat(map.containsKey(key), is(true));
+        assertThat(map.put(key, BAR), is(FOO));
+        assertThat(map.get(key), is(BAR));
+        assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void testPutIfAbsent() throws Exception {
+        Object key = new Object();
+        assertThat(map.putIfAbsent(key, FOO), nullValue(String.class));
+        assertThat(map.putIfAbsent(key, BAR), is(FOO));
+        assertThat(map.get(key), is(FOO));
+    }
+
+    @Test
+    public void testReplace() throws Exception {
+        Object key = new Object();
+        assertThat(map.replace(key, FOO, BAR), is(false));
+        map.put(key, FOO);
+        assertThat(map.replace(key, BAR, FOO), is(false));
+        assertThat(map.replace(key, FOO, BAR), is(true));
+        assertThat(map.get(key), is(BAR));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        Object key = new Object();
+        map.put(key, FOO);
+        assertThat(map.remove(key), is(FOO));
+        assertThat(map.get(key), nullValue(String.class));
+        assertThat(map.size(), is(0));
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        Object key = new Object();
+        map.put(key, FOO);
+        map.clear();
+        assertThat(map.get(key), nullValue(String.class));
+        assertThat(map.size(), is(0));
+    }
+
+    @Test
+    public void testKeysAreComparedByIdentity() throws Exception {
+        map.put(new String(FOO), FOO);
+        assertThat(map.get(new String(FOO)), nullValue(String.class));
+        assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void testCollectedKeyIsExpunged() throws Exception {
+        ConcurrentMap<Object, String> entries = new ConcurrentHashMap<Object, String>();
+        WeakConcurrentMap<Object, String> map = new WeakConcurrentMap<Object, String>(entries);
+        Object key = new Object();
+        map.put(key, FOO);
+        Reference<?> reference = (Reference<?>) entries.keySet().iterator().next();
+        assertThat(map.size(), is(1));
+        reference.clear();
+        assertThat(reference.enqueue(), is(true));
+        assertThat(map.get(key), nullValue(String.class));
+        assertThat(map.size(), is(0));
+        assertThat(entries.isEmpty(), is(true));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullKeyIsRejected() throws Exception {
+        map.put(null, FOO);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullKeyLookupIsRejected() throws Exception {
+        map.get(null);
+    }
+}
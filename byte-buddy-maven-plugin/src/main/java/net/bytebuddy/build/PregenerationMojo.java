@@ -0,0 +1,156 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.type.TypeDescription;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the dynamic types of any declared {@link net.bytebuddy.build.TypeConfiguration} after the compilation
+ * of a project and writes these types and their auxiliary types into the project's output directory. The type
+ * configurations are loaded from the project's compile class path. A type that requires a live
+ * {@link net.bytebuddy.instrumentation.LoadedTypeInitializer}, for example for injecting an interceptor instance
+ * into a {@code static} field, cannot be pregenerated as such an initializer is only applied when a type is loaded
+ * by Byte Buddy such that the build fails for such types.
+ */
+@Mojo(name = "pregenerate",
+        defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+        requiresDependencyResolution = ResolutionScope.COMPILE,
+        threadSafe = true)
+public class PregenerationMojo extends AbstractMojo {
+
+    /**
+     * The directory into which the pregenerated types are written.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}", required = true)
+    private File outputDirectory;
+
+    /**
+     * The elements of the project's compile class path.
+     */
+    @Parameter(defaultValue = "${project.compileClasspathElements}", required = true, readonly = true)
+    private List<String> classPathElements;
+
+    /**
+     * The fully qualified names of the type configurations to apply.
+     */
+    @Parameter
+    private List<String> configurations;
+
+    /**
+     * Creates a new pregeneration mojo which is configured by Maven.
+     */
+    public PregenerationMojo() {
+        configurations = Collections.emptyList();
+    }
+
+    /**
+     * Creates a new pregeneration mojo with an explicit configuration.
+     *
+     * @param outputDirectory   The directory into which the pregenerated types are written.
+     * @param classPathElements The elements of the class path from which the type configurations are loaded.
+     * @param configurations    The fully qualified names of the type configurations to apply.
+     */
+    protected PregenerationMojo(File outputDirectory, List<String> classPathElements, List<String> configurations) {
+        this.outputDirectory = outputDirectory;
+        this.classPathElements = classPathElements;
+        this.configurations = configurations;
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (configurations == null || configurations.isEmpty()) {
+            getLog().info("No type configurations declared, skipping pregeneration");
+            return;
+        }
+        ClassLoader classLoader = new URLClassLoader(toUrls(classPathElements), PregenerationMojo.class.getClassLoader());
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            for (String configuration : configurations) {
+                for (DynamicType.Builder<?> builder : resolve(configuration, classLoader).builders()) {
+                    DynamicType.Unloaded<?> dynamicType = builder.make();
+                    if (dynamicType.hasAliveLoadedTypeInitializers()) {
+                        throw new MojoExecutionException(dynamicType.getTypeDescription() + " of " + configuration
+                                + " requires a live type initializer and cannot be pregenerated");
+                    }
+                    for (Map.Entry<TypeDescription, File> entry : dynamicType.saveIn(outputDirectory).entrySet()) {
+                        getLog().debug("Pregenerated " + entry.getKey() + " to " + entry.getValue());
+                    }
+                }
+                getLog().info("Applied type configuration " + configuration);
+            }
+        } catch (IOException exception) {
+            throw new MojoExecutionException("Could not write pregenerated types to " + outputDirectory, exception);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    /**
+     * Resolves a type configuration by its name.
+     *
+     * @param name        The fully qualified name of the type configuration.
+     * @param classLoader The class loader to load the type configuration from.
+     * @return An instance of the type configuration.
+     * @throws MojoExecutionException If the type configuration cannot be resolved.
+     */
+    private static TypeConfiguration resolve(String name, ClassLoader classLoader) throws MojoExecutionException {
+        try {
+            Class<?> type = Class.forName(name, true, classLoader);
+            if (!TypeConfiguration.class.isAssignableFrom(type)) {
+                throw new MojoExecutionException(name + " does not implement " + TypeConfiguration.class.getName());
+            }
+            return (TypeConfiguration) type.newInstance();
+        } catch (ClassNotFoundException exception) {
+            throw new MojoExecutionException("Could not find type configuration " + name, exception);
+        } catch (InstantiationException exception) {
+            throw new MojoExecutionException("Could not instantiate type configuration " + name, exception);
+        } catch (IllegalAccessException exception) {
+            throw new MojoExecutionException("Could not access default constructor of " + name, exception);
+        }
+    }
+
+    /**
+     * Converts class path elements to URLs.
+     *
+     * @param classPathElements The class path elements to convert.
+     * @return The URLs of the given class path elements.
+     * @throws MojoExecutionException If a class path element cannot be converted.
+     */
+    private static URL[] toUrls(List<String> classPathElements) throws MojoExecutionException {
+        URL[] url = new URL[classPathElements.size()];
+        int index = 0;
+        for (String classPathElement : classPathElements) {
+            try {
+                url[index++] = new File(classPathElement).toURI().toURL();
+            } catch (MalformedURLException exception) {
+                throw new MojoExecutionException("Invalid class path element " + classPathElement, exception);
+            }
+        }
+        return url;
+    }
+
+    @Override
+    public String toString() {
+        return "PregenerationMojo{" +
+                "outputDirectory=" + outputDirectory +
+                ", classPathElements=" + classPathElements +
+                ", configurations=" + configurations +
+                '}';
+    }
+}
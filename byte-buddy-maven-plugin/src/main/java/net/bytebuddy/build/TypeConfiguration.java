@@ -0,0 +1,21 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.util.Collection;
+
+/**
+ * A configuration of dynamic types that are pregenerated during a build. Any implementation must define a public
+ * default constructor. Any type should be named deterministically, either explicitly or by a deterministic
+ * {@link net.bytebuddy.NamingStrategy}, such that a pregenerated type can be located at runtime by the
+ * {@link net.bytebuddy.dynamic.ClassLoadingStrategy.ForPregeneratedTypes} class loading strategy.
+ */
+public interface TypeConfiguration {
+
+    /**
+     * Returns the builders of the types to pregenerate.
+     *
+     * @return The builders of the types to pregenerate.
+     */
+    Collection<? extends DynamicType.Builder<?>> builders();
+}
@@ -0,0 +1,4 @@
+/**
+ * The Byte Buddy Maven plugin allows the creation of dynamic types during a build.
+ */
+package net.bytebuddy.build;
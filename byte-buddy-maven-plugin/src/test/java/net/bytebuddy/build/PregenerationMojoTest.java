@@ -0,0 +1,102 @@
+package net.bytebuddy.build;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.instrumentation.FixedValue;
+import net.bytebuddy.instrumentation.InvocationHandlerAdapter;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+
+import static net.bytebuddy.instrumentation.method.matcher.MethodMatchers.named;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class PregenerationMojoTest {
+
+    private static final String FOO = "foo.Bar";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File outputDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        outputDirectory = temporaryFolder.newFolder();
+    }
+
+    @Test
+    public void testPregeneration() throws Exception {
+        new PregenerationMojo(outputDirectory,
+                Collections.<String>emptyList(),
+                Collections.singletonList(Configuration.class.getName())).execute();
+        assertThat(new File(outputDirectory, FOO.replace('.', File.separatorChar) + ".class").isFile(), is(true));
+    }
+
+    @Test
+    public void testNoConfiguration() throws Exception {
+        new PregenerationMojo(outputDirectory, Collections.<String>emptyList(), Collections.<String>emptyList()).execute();
+        assertThat(outputDirectory.list().length, is(0));
+    }
+
+    @Test(expected = MojoExecutionException.class)
+    public void testMissingConfiguration() throws Exception {
+        new PregenerationMojo(outputDirectory, Collections.<String>emptyList(), Collections.singletonList(FOO)).execute();
+    }
+
+    @Test(expected = MojoExecutionException.class)
+    public void testIllegalConfiguration() throws Exception {
+        new PregenerationMojo(outputDirectory,
+                Collections.<String>emptyList(),
+                Collections.singletonList(Object.class.getName())).execute();
+    }
+
+    @Test
+    public void testLiveInitializerFailsBuild() throws Exception {
+        try {
+            new PregenerationMojo(outputDirectory,
+                    Collections.<String>emptyList(),
+                    Collections.singletonList(LiveInitializerConfiguration.class.getName())).execute();
+            fail();
+        } catch (MojoExecutionException ignored) {
+            assertThat(outputDirectory.list().length, is(0));
+        }
+    }
+
+    public static class Configuration implements TypeConfiguration {
+
+        @Override
+        public Collection<? extends DynamicType.Builder<?>> builders() {
+            return Collections.singletonList(new ByteBuddy()
+                    .subclass(Object.class)
+                    .name(FOO)
+                    .method(named("toString")).intercept(FixedValue.value(FOO)));
+        }
+    }
+
+    public static class LiveInitializerConfiguration implements TypeConfiguration {
+
+        @Override
+        public Collection<? extends DynamicType.Builder<?>> builders() {
+            return Collections.singletonList(new ByteBuddy()
+                    .subclass(Object.class)
+                    .name(FOO)
+                    .method(named("toString")).intercept(InvocationHandlerAdapter.of(new InvocationHandler() {
+                        @Override
+                        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                            return FOO;
+                        }
+                    })));
+        }
+    }
+}